@@ -16,6 +16,7 @@ import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw2d.IFigure;
 import org.eclipse.draw2d.ToolbarLayout;
 import org.eclipse.draw2d.geometry.Insets;
+import org.eclipse.draw2d.geometry.Rectangle;
 
 /**
  * A simple Figure that represents an 'Attributes' or 'Methods' compartment in a
@@ -40,7 +41,8 @@ public class CompartmentFigure extends Figure {
 
 		@Override
 		public void paint(IFigure figure, Graphics graphics, Insets insets) {
-			graphics.drawLine(getPaintRectangle(figure, insets).getTopLeft(), tempRect.getTopRight());
+			Rectangle rect = getPaintRectangle(figure, insets);
+			graphics.drawLine(rect.getTopLeft(), rect.getTopRight());
 		}
 
 	}
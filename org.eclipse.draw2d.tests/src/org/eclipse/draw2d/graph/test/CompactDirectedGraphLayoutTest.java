@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.draw2d.graph.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+
+import org.eclipse.draw2d.PositionConstants;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.graph.CompactDirectedGraph;
+import org.eclipse.draw2d.graph.CompactDirectedGraphLayout;
+import org.eclipse.draw2d.graph.DirectedGraph;
+import org.eclipse.draw2d.graph.Edge;
+import org.eclipse.draw2d.graph.Node;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("nls")
+public class CompactDirectedGraphLayoutTest {
+	CompactDirectedGraph g;
+	CompactDirectedGraphLayout layout;
+
+	@Before
+	public void setUp() {
+		g = new CompactDirectedGraph(2, 2);
+		layout = new CompactDirectedGraphLayout();
+	}
+
+	@Test
+	public void test_ranksAndCycles() {
+		for (int i = 0; i < 4; i++) {
+			g.addNode(50, 40);
+		}
+		int e01 = g.addEdge(0, 1);
+		int e12 = g.addEdge(1, 2);
+		int e20 = g.addEdge(2, 0);
+		int e03 = g.addEdge(0, 3);
+		layout.visit(g);
+
+		assertEquals(0, g.getRank(0));
+		assertEquals(1, g.getRank(1));
+		assertEquals(2, g.getRank(2));
+		assertEquals(1, g.getRank(3));
+		assertFalse(g.isFeedback(e01));
+		assertFalse(g.isFeedback(e12));
+		assertTrue(g.isFeedback(e20));
+		assertFalse(g.isFeedback(e03));
+		assertEquals(g.getY(1), g.getY(3));
+		assertTrue(g.getY(0) + g.getHeight(0) <= g.getY(1));
+		assertTrue(Math.abs(g.getX(1) - g.getX(3)) >= 50);
+
+		PointList points = g.getPoints(e01);
+		assertEquals(new Point(g.getX(0) + 25, g.getY(0) + 40), points.getFirstPoint());
+		assertEquals(new Point(g.getX(1) + 25, g.getY(1)), points.getLastPoint());
+		// the reversed edge still runs from its source to its target
+		points = g.getPoints(e20);
+		assertEquals(new Point(g.getX(2) + 25, g.getY(2)), points.getFirstPoint());
+		assertEquals(new Point(g.getX(0) + 25, g.getY(0) + 40), points.getLastPoint());
+		assertEquals(4, points.size());
+	}
+
+	@Test
+	public void test_noCrossings() {
+		for (int i = 0; i < 6; i++) {
+			g.addNode(50, 40);
+		}
+		g.addEdge(0, 5);
+		g.addEdge(1, 4);
+		g.addEdge(2, 3);
+		g.addEdge(0, 3);
+		layout.visit(g);
+
+		assertEquals(g.getX(0) < g.getX(1), g.getX(5) < g.getX(4));
+		assertEquals(g.getX(1) < g.getX(2), g.getX(4) < g.getX(3));
+	}
+
+	@Test
+	public void test_direction() {
+		g.addNode(50, 40);
+		g.addNode(50, 40);
+		g.addEdge(0, 1);
+		g.setDirection(PositionConstants.EAST);
+		layout.visit(g);
+
+		assertEquals(50, g.getWidth(0));
+		assertEquals(g.getY(0), g.getY(1));
+		assertTrue(g.getX(0) + 50 <= g.getX(1));
+		assertEquals(new Point(g.getX(0) + 50, g.getY(0) + 20), g.getPoints(0).getFirstPoint());
+	}
+
+	@Test
+	public void test_applyTo() {
+		DirectedGraph graph = new DirectedGraph();
+		Node n1 = new Node("n1");
+		Node n2 = new Node("n2");
+		Node n3 = new Node("n3");
+		graph.nodes.add(n1);
+		graph.nodes.add(n2);
+		graph.nodes.add(n3);
+		Edge e1 = new Edge(n1, n2);
+		Edge e2 = new Edge(n1, n3);
+		graph.edges.add(e1);
+		graph.edges.add(e2);
+
+		CompactDirectedGraph compact = CompactDirectedGraph.create(graph);
+		layout.visit(compact);
+		compact.applyTo(graph);
+
+		assertEquals(n2.y, n3.y);
+		assertTrue(n1.y + n1.height <= n2.y);
+		assertEquals(new Point(n1.x + n1.width / 2, n1.y + n1.height), e1.getPoints().getFirstPoint());
+		assertEquals(new Point(n3.x + n3.width / 2, n3.y), e2.getPoints().getLastPoint());
+		assertEquals(compact.getLayoutSize(), graph.getLayoutSize());
+	}
+
+	@Test
+	public void test_createKeepsGraph() throws ReflectiveOperationException {
+		DirectedGraph graph = new DirectedGraph();
+		Node n1 = new Node("n1");
+		Node n2 = new Node("n2");
+		graph.nodes.add(n1);
+		graph.nodes.add(n2);
+		graph.edges.add(new Edge(n1, n2));
+		Field index = Node.class.getDeclaredField("index");
+		index.setAccessible(true);
+		index.setInt(n1, 5);
+		index.setInt(n2, 7);
+
+		CompactDirectedGraph compact = CompactDirectedGraph.create(graph);
+		assertEquals(1, compact.getOutgoingCount(0));
+		assertEquals(1, compact.getTarget(0));
+		assertEquals(5, index.getInt(n1));
+		assertEquals(7, index.getInt(n2));
+
+		graph.edges.add(new Edge(n2, new Node("outside")));
+		assertThrows(IllegalArgumentException.class, () -> CompactDirectedGraph.create(graph));
+	}
+
+}
@@ -17,13 +17,17 @@ import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.eclipse.draw2d.graph.CompoundDirectedGraph;
+import org.eclipse.draw2d.graph.CompoundDirectedGraphLayout;
 import org.eclipse.draw2d.graph.DirectedGraph;
 import org.eclipse.draw2d.graph.DirectedGraphLayout;
 import org.eclipse.draw2d.graph.Edge;
 import org.eclipse.draw2d.graph.EdgeList;
 import org.eclipse.draw2d.graph.Node;
 import org.eclipse.draw2d.graph.NodeList;
+import org.eclipse.draw2d.graph.Subgraph;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -90,6 +94,120 @@ public class DirectedGraphLayoutTest {
 		assertEquals(getRank(n3), 0);
 	}
 
+	@Test
+	public void test_crossingReductionRestarts() {
+		AtomicInteger tasks = new AtomicInteger();
+		DirectedGraph first = createGraph(60);
+		layout.setCrossingReductionRestarts(4);
+		layout.setExecutor(task -> {
+			tasks.incrementAndGet();
+			task.run();
+		});
+		layout.visit(first);
+		assertEquals(3, tasks.get());
+
+		DirectedGraph second = createGraph(60);
+		DirectedGraphLayout secondLayout = new DirectedGraphLayout();
+		secondLayout.setCrossingReductionRestarts(4);
+		secondLayout.visit(second);
+		for (int i = 0; i < first.nodes.size(); i++) {
+			assertEquals(first.nodes.get(i).x, second.nodes.get(i).x);
+			assertEquals(first.nodes.get(i).y, second.nodes.get(i).y);
+		}
+	}
+
+	@Test
+	public void test_crossingReductionRestartsKeepConstraints() {
+		DirectedGraph graph = createGraph(30);
+		Node first = new Node("first");
+		Node second = new Node("second");
+		graph.nodes.add(first);
+		graph.nodes.add(second);
+		graph.edges.add(new Edge(graph.nodes.get(0), first));
+		graph.edges.add(new Edge(graph.nodes.get(0), second));
+		first.setRowConstraint(2);
+		second.setRowConstraint(1);
+		layout.setCrossingReductionRestarts(4);
+		layout.visit(graph);
+		assertTrue(second.x < first.x);
+	}
+
+	@Test
+	public void test_compoundCrossingReductionRestarts() {
+		CompoundDirectedGraph graph = new CompoundDirectedGraph();
+		Subgraph[] subgraphs = new Subgraph[3];
+		for (int i = 0; i < subgraphs.length; i++) {
+			subgraphs[i] = new Subgraph("s" + i);
+			graph.nodes.add(subgraphs[i]);
+		}
+		Node[] nodes = new Node[30];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new Node("n" + i, subgraphs[i % subgraphs.length]);
+			graph.nodes.add(nodes[i]);
+		}
+		for (int i = 1; i < nodes.length; i++) {
+			graph.edges.add(new Edge(nodes[i / 2], nodes[i]));
+			graph.edges.add(new Edge(nodes[(i * 7) % i], nodes[i]));
+		}
+		AtomicInteger tasks = new AtomicInteger();
+		CompoundDirectedGraphLayout compoundLayout = new CompoundDirectedGraphLayout();
+		compoundLayout.setCrossingReductionRestarts(4);
+		compoundLayout.setExecutor(task -> {
+			tasks.incrementAndGet();
+			task.run();
+		});
+		compoundLayout.visit(graph);
+		assertEquals(3, tasks.get());
+		for (Node node : nodes) {
+			Subgraph parent = node.getParent();
+			assertTrue(parent.x <= node.x && node.x + node.width <= parent.x + parent.width);
+			assertTrue(parent.y <= node.y && node.y + node.height <= parent.y + parent.height);
+		}
+	}
+
+	@Test
+	public void test_incrementalLayout() {
+		DirectedGraph previous = createTree(40);
+		layout.visit(previous);
+
+		DirectedGraph graph = createTree(41);
+		new DirectedGraphLayout().visit(graph, previous);
+		for (int i = 0; i < previous.nodes.size(); i++) {
+			Node before = previous.nodes.get(i);
+			Node after = graph.nodes.get(i);
+			assertEquals(getRank(before), getRank(after));
+			for (int j = 0; j < i; j++) {
+				Node other = previous.nodes.get(j);
+				if (getRank(other) == getRank(before)) {
+					assertEquals(other.x < before.x, graph.nodes.get(j).x < after.x);
+				}
+			}
+		}
+	}
+
+	private static DirectedGraph createTree(int size) {
+		DirectedGraph graph = new DirectedGraph();
+		for (int i = 0; i < size; i++) {
+			graph.nodes.add(new Node("n" + i));
+		}
+		for (int i = 1; i < size; i++) {
+			graph.edges.add(new Edge(graph.nodes.get((i - 1) / 3), graph.nodes.get(i)));
+		}
+		return graph;
+	}
+
+	private static DirectedGraph createGraph(int size) {
+		DirectedGraph graph = new DirectedGraph();
+		for (int i = 0; i < size; i++) {
+			graph.nodes.add(new Node("n" + i));
+		}
+		for (int i = 1; i < size; i++) {
+			graph.edges.add(new Edge(graph.nodes.get(i / 2), graph.nodes.get(i)));
+			graph.edges.add(new Edge(graph.nodes.get((i * 7) % i), graph.nodes.get(i)));
+		}
+		return graph;
+	}
+
 	private static final int getRank(Node n) {
 		try {
 			Field f = Node.class.getDeclaredField("rank");
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.XYLayout;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Measures the bytes allocated per figure by layout and repaint code paths
+ * which should not allocate. The measurement needs the allocation counter of
+ * the HotSpot thread bean; the tests are skipped on VMs without it.
+ */
+public class AllocationRateTest extends Assert {
+
+	private static final int CHILDREN = 1000;
+	private static final int WARM_UP = 200;
+	private static final int RUNS = 100;
+	/** a Rectangle alone takes more than this, so a single one per figure fails */
+	private static final long MAX_BYTES_PER_FIGURE = 8;
+
+	private ThreadMXBean threads;
+	private Method allocatedBytes;
+	private Figure parent;
+
+	@Before
+	public void setUp() throws Exception {
+		threads = ManagementFactory.getThreadMXBean();
+		try {
+			Class<?> type = ClassLoader.getPlatformClassLoader().loadClass("com.sun.management.ThreadMXBean"); //$NON-NLS-1$
+			Assume.assumeTrue(type.isInstance(threads));
+			allocatedBytes = type.getMethod("getCurrentThreadAllocatedBytes"); //$NON-NLS-1$
+			Assume.assumeTrue(((Long) allocatedBytes.invoke(threads)).longValue() >= 0);
+		} catch (ReflectiveOperationException e) {
+			Assume.assumeNoException(e);
+		}
+
+		parent = new Figure();
+		parent.setLayoutManager(new XYLayout());
+		parent.setBounds(new Rectangle(10, 10, 2000, 2000));
+		for (int i = 0; i < CHILDREN; i++) {
+			Figure child = new Figure();
+			child.setPreferredSize(30, 30);
+			parent.add(child, new Rectangle(i % 40 * 50, i / 40 * 50, 40, i % 2 == 0 ? 40 : -1));
+		}
+	}
+
+	private long getAllocatedBytes() throws ReflectiveOperationException {
+		return ((Long) allocatedBytes.invoke(threads)).longValue();
+	}
+
+	private long measure(Runnable run) throws ReflectiveOperationException {
+		for (int i = 0; i < WARM_UP; i++) {
+			run.run();
+		}
+		long before = getAllocatedBytes();
+		for (int i = 0; i < RUNS; i++) {
+			run.run();
+		}
+		return (getAllocatedBytes() - before) / RUNS / CHILDREN;
+	}
+
+	@Test
+	public void testXYLayout() throws ReflectiveOperationException {
+		XYLayout layout = (XYLayout) parent.getLayoutManager();
+		long bytes = measure(() -> layout.layout(parent));
+		assertTrue(bytes + " bytes per child", bytes <= MAX_BYTES_PER_FIGURE); //$NON-NLS-1$
+		assertEquals(new Rectangle(60, 10, 40, 30), parent.getChildren().get(1).getBounds());
+	}
+
+	@Test
+	public void testErase() throws ReflectiveOperationException {
+		long bytes = measure(() -> parent.getChildren().forEach(IFigure::erase));
+		assertTrue(bytes + " bytes per child", bytes <= MAX_BYTES_PER_FIGURE); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testLocationAndSize() throws ReflectiveOperationException {
+		Point location = new Point();
+		Dimension size = new Dimension();
+		long bytes = measure(() -> {
+			for (IFigure child : parent.getChildren()) {
+				child.getLocation(location);
+				child.getSize(size);
+				child.setLocation(location);
+			}
+		});
+		assertTrue(bytes + " bytes per child", bytes <= MAX_BYTES_PER_FIGURE); //$NON-NLS-1$
+	}
+
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.draw2d.BufferedImageExport;
+import org.eclipse.draw2d.ColorConstants;
+import org.eclipse.draw2d.Ellipse;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.FreeformLayer;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.Label;
+import org.eclipse.draw2d.LineBorder;
+import org.eclipse.draw2d.PolylineConnection;
+import org.eclipse.draw2d.RectangleFigure;
+import org.eclipse.draw2d.ScalableFreeformLayeredPane;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BufferedImageExportTest extends Assert {
+
+	private static final int TRANSPARENT = 0;
+	private static final int WHITE = 0xFFFFFFFF;
+	private static final int BLACK = 0xFF000000;
+
+	private static Figure createDiagram(boolean connections) {
+		Figure diagram = new Figure();
+		diagram.setBounds(new Rectangle(0, 0, 1200, 900));
+		Random random = new Random(17);
+		for (int i = 0; i < 300; i++) {
+			Figure child = random.nextBoolean() ? new RectangleFigure() : new Ellipse();
+			child.setBounds(new Rectangle(random.nextInt(1100), random.nextInt(800), 10 + random.nextInt(90),
+					10 + random.nextInt(90)));
+			if (i % 3 == 0)
+				child.setBorder(new LineBorder(3));
+			diagram.add(child);
+		}
+		for (int i = 0; connections && i < 100; i++) {
+			PolylineConnection connection = new PolylineConnection();
+			PointList points = new PointList();
+			for (int j = 0; j < 4; j++)
+				points.addPoint(new Point(random.nextInt(1200), random.nextInt(900)));
+			connection.setPoints(points);
+			diagram.add(connection);
+		}
+		return diagram;
+	}
+
+	/**
+	 * Paints the diagram in one tile, and in tiles of 100 pixels in parallel, and
+	 * returns the number of pixels which differ.
+	 */
+	private static int compareTiles(Figure diagram, double scale) {
+		Rectangle area = new Rectangle(-10, -10, 1220, 920);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			BufferedImage single = BufferedImageExport.paint(diagram, area, scale, 4096, Runnable::run);
+			BufferedImage tiled = BufferedImageExport.paint(diagram, area, scale, 100, executor);
+			assertEquals(single.getWidth(), tiled.getWidth());
+			assertEquals(single.getHeight(), tiled.getHeight());
+			int count = 0;
+			for (int y = 0; y < single.getHeight(); y++)
+				for (int x = 0; x < single.getWidth(); x++)
+					if (single.getRGB(x, y) != tiled.getRGB(x, y))
+						count++;
+			return count;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testPaint() {
+		Figure diagram = new Figure();
+		diagram.setBounds(new Rectangle(100, 100, 50, 40));
+		RectangleFigure rectangle = new RectangleFigure();
+		rectangle.setBounds(new Rectangle(110, 110, 20, 10));
+		diagram.add(rectangle);
+
+		BufferedImage image = BufferedImageExport.paint(diagram, new Rectangle(100, 100, 50, 40), 2);
+		assertEquals(100, image.getWidth());
+		assertEquals(80, image.getHeight());
+		assertEquals(TRANSPARENT, image.getRGB(5, 5));
+		assertEquals(BLACK, image.getRGB(20, 20));
+		assertEquals(WHITE, image.getRGB(30, 30));
+		assertEquals(TRANSPARENT, image.getRGB(70, 50));
+	}
+
+	@Test
+	public void testPaintZoomedLabel() {
+		ScalableFreeformLayeredPane pane = new ScalableFreeformLayeredPane();
+		FreeformLayer layer = new FreeformLayer();
+		pane.add(layer);
+		Label label = new Label("Label"); //$NON-NLS-1$
+		label.setFont(Display.getDefault().getSystemFont());
+		label.setForegroundColor(ColorConstants.black);
+		label.setBounds(new Rectangle(0, 0, 100, 50));
+		layer.add(label);
+		pane.setScale(2);
+		pane.setFreeformBounds(new Rectangle(0, 0, 200, 100));
+
+		BufferedImage image = BufferedImageExport.paint(pane, pane.getBounds(), 1);
+		// the text is centered in the scaled label, which is 200 pixels wide
+		int right = 0;
+		for (int y = 0; y < image.getHeight(); y++)
+			for (int x = 0; x < image.getWidth(); x++)
+				if (image.getRGB(x, y) != TRANSPARENT)
+					right = Math.max(right, x);
+		assertTrue(right > 100);
+	}
+
+	@Test
+	public void testPaintOnCallingThread() {
+		List<Thread> threads = new ArrayList<>();
+		Figure diagram = new Figure() {
+			@Override
+			protected void paintFigure(Graphics graphics) {
+				threads.add(Thread.currentThread());
+			}
+		};
+		diagram.setBounds(new Rectangle(0, 0, 2000, 2000));
+		BufferedImageExport.paint(diagram, diagram.getBounds(), 1);
+		assertEquals(Collections.singletonList(Thread.currentThread()), threads);
+	}
+
+	@Test
+	public void testTilesMatchSingleImage() {
+		Figure diagram = createDiagram(false);
+		for (double scale : new double[] { 1, 0.5, 1.5 })
+			assertEquals(0, compareTiles(diagram, scale));
+	}
+
+	@Test
+	public void testTilesWithConnections() {
+		// Sloped edges are stepped from where they enter a tile's clip, and may be
+		// off by a pixel in places
+		Figure diagram = createDiagram(true);
+		for (double scale : new double[] { 1, 0.5, 1.5 })
+			assertTrue(compareTiles(diagram, scale) < 1220 * 920 * scale * scale / 50);
+	}
+
+	@Test
+	public void testFailure() {
+		Figure diagram = new Figure() {
+			@Override
+			protected void paintFigure(Graphics graphics) {
+				throw new IllegalStateException("failed"); //$NON-NLS-1$
+			}
+		};
+		diagram.setBounds(new Rectangle(0, 0, 300, 300));
+		try {
+			BufferedImageExport.paint(diagram, diagram.getBounds(), 1, 100, Runnable::run);
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("failed", e.getMessage()); //$NON-NLS-1$
+		}
+	}
+
+}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.draw2d.CachedFreeformLayer;
+import org.eclipse.draw2d.CachedLayer;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.GraphicsSource;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.SWTGraphics;
+import org.eclipse.draw2d.UpdateManager;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachedLayerTest extends Assert {
+
+	/**
+	 * Collects the dirty regions and reports them to its listeners on request.
+	 */
+	private static class TestUpdateManager extends UpdateManager {
+
+		private final Map<IFigure, Rectangle> dirtyRegions = new HashMap<>();
+
+		@Override
+		public void addDirtyRegion(IFigure figure, int x, int y, int w, int h) {
+			dirtyRegions.merge(figure, new Rectangle(x, y, w, h), Rectangle::union);
+		}
+
+		@Override
+		public void addInvalidFigure(IFigure figure) {
+		}
+
+		@Override
+		public void performUpdate() {
+			firePainting(new Rectangle(), dirtyRegions);
+			dirtyRegions.clear();
+		}
+
+		@Override
+		public void performUpdate(Rectangle exposed) {
+			performUpdate();
+		}
+
+		@Override
+		public void setGraphicsSource(GraphicsSource gs) {
+		}
+
+		@Override
+		public void setRoot(IFigure figure) {
+		}
+	}
+
+	private static class CountingFigure extends Figure {
+
+		int paints;
+
+		@Override
+		protected void paintFigure(Graphics graphics) {
+			paints++;
+			super.paintFigure(graphics);
+		}
+	}
+
+	private TestUpdateManager updateManager;
+	private Figure root;
+	private Image image;
+
+	@Before
+	public void setUp() {
+		updateManager = new TestUpdateManager();
+		root = new Figure() {
+			@Override
+			public UpdateManager getUpdateManager() {
+				return updateManager;
+			}
+		};
+		root.setBounds(new Rectangle(0, 0, 100, 100));
+		image = new Image(Display.getDefault(), 100, 100);
+	}
+
+	@After
+	public void tearDown() {
+		root.removeNotify();
+		image.dispose();
+	}
+
+	private CountingFigure addContent(Figure layer) {
+		layer.setBounds(new Rectangle(0, 0, 100, 100));
+		CountingFigure content = new CountingFigure();
+		content.setBounds(new Rectangle(10, 10, 20, 20));
+		layer.add(content);
+		root.add(layer);
+		root.addNotify();
+		return content;
+	}
+
+	private void paint(IFigure figure, double scale) {
+		GC gc = new GC(image);
+		SWTGraphics graphics = new SWTGraphics(gc);
+		try {
+			graphics.scale(scale);
+			figure.paint(graphics);
+		} finally {
+			graphics.dispose();
+			gc.dispose();
+		}
+	}
+
+	@Test
+	public void testPaintsFromTiles() {
+		CachedLayer layer = new CachedLayer();
+		CountingFigure content = addContent(layer);
+		paint(layer, 1);
+		paint(layer, 1);
+		assertEquals(1, content.paints);
+
+		// damage outside of the layer keeps its tiles
+		Figure other = new Figure();
+		other.setBounds(new Rectangle(0, 0, 50, 50));
+		root.add(other);
+		other.repaint();
+		updateManager.performUpdate();
+		paint(layer, 1);
+		assertEquals(1, content.paints);
+	}
+
+	@Test
+	public void testRendersDirtyTilesAgain() {
+		CachedLayer layer = new CachedLayer();
+		CountingFigure content = addContent(layer);
+		paint(layer, 1);
+		content.repaint();
+		updateManager.performUpdate();
+		paint(layer, 1);
+		assertEquals(2, content.paints);
+
+		layer.invalidateCache();
+		paint(layer, 1);
+		assertEquals(3, content.paints);
+	}
+
+	@Test
+	public void testPaintsDirectlyWhenScaled() {
+		CachedLayer layer = new CachedLayer();
+		CountingFigure content = addContent(layer);
+		paint(layer, 2);
+		paint(layer, 2);
+		assertEquals(2, content.paints);
+	}
+
+	@Test
+	public void testDisposesTilesWithUpdateManager() {
+		CachedLayer layer = new CachedLayer();
+		CountingFigure content = addContent(layer);
+		paint(layer, 1);
+		// the layer is still added, but its tiles are gone
+		updateManager.dispose();
+		paint(layer, 1);
+		assertEquals(2, content.paints);
+	}
+
+	@Test
+	public void testFreeformLayerPaintsFromTiles() {
+		CachedFreeformLayer layer = new CachedFreeformLayer();
+		CountingFigure content = addContent(layer);
+		paint(layer, 1);
+		paint(layer, 1);
+		assertEquals(1, content.paints);
+
+		updateManager.dispose();
+		paint(layer, 1);
+		assertEquals(2, content.paints);
+	}
+
+}
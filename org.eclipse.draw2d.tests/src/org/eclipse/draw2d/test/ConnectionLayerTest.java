@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.draw2d.AbstractRouter;
+import org.eclipse.draw2d.Connection;
+import org.eclipse.draw2d.ConnectionLayer;
+import org.eclipse.draw2d.FanRouter;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.PolylineConnection;
+import org.eclipse.draw2d.XYAnchor;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConnectionLayerTest extends Assert {
+
+	private ConnectionLayer layer;
+	private List<PolylineConnection> connections;
+
+	@Before
+	public void setUp() {
+		layer = new ConnectionLayer();
+		layer.setBounds(new Rectangle(0, 0, 2000, 2000));
+		connections = new ArrayList<>();
+		Random random = new Random(7);
+		for (int i = 0; i < 200; i++) {
+			PolylineConnection connection = new PolylineConnection();
+			layer.add(connection);
+			connection.setPoints(createPoints(random));
+			connections.add(connection);
+		}
+	}
+
+	private static PointList createPoints(Random random) {
+		PointList points = new PointList();
+		int x = random.nextInt(1800);
+		int y = random.nextInt(1800);
+		int size = 2 + random.nextInt(20);
+		for (int i = 0; i < size; i++) {
+			points.addPoint(x, y);
+			if (random.nextBoolean()) {
+				x += random.nextInt(101) - 50;
+			} else {
+				y += random.nextInt(101) - 50;
+			}
+		}
+		return points;
+	}
+
+	private IFigure findTopmost(int x, int y) {
+		for (int i = connections.size() - 1; i >= 0; i--) {
+			if (connections.get(i).containsPoint(x, y)) {
+				return connections.get(i);
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void testFindFigureAt() {
+		Random random = new Random(11);
+		for (int i = 0; i < 2000; i++) {
+			int x = random.nextInt(2000);
+			int y = random.nextInt(2000);
+			assertSame(findTopmost(x, y), layer.findFigureAt(x, y));
+		}
+		// every connection can be found on one of its points
+		for (PolylineConnection connection : connections) {
+			int x = connection.getPoints().getPoint(1).x;
+			int y = connection.getPoints().getPoint(1).y;
+			assertSame(findTopmost(x, y), layer.findFigureAt(x, y));
+			assertNotNull(layer.findFigureAt(x, y));
+		}
+	}
+
+	@Test
+	public void testFindFigureAtAfterPointsChange() {
+		PolylineConnection connection = connections.get(connections.size() - 1);
+		PointList points = new PointList();
+		points.addPoint(1950, 10);
+		points.addPoint(1990, 10);
+		connection.setPoints(points);
+		assertSame(connection, layer.findFigureAt(1970, 10));
+
+		layer.remove(connection);
+		connections.remove(connection);
+		assertSame(findTopmost(1970, 10), layer.findFigureAt(1970, 10));
+	}
+
+	private PolylineConnection addConnection(PointList points) {
+		PolylineConnection connection = new PolylineConnection();
+		layer.add(connection);
+		connection.setPoints(points);
+		connections.add(connection);
+		// index the connection before it is changed
+		layer.findFigureAt(0, 0);
+		return connection;
+	}
+
+	@Test
+	public void testFindFigureAtAfterPointMutations() {
+		PointList points = new PointList();
+		points.addPoint(10, 10);
+		points.addPoint(20, 10);
+		PolylineConnection connection = addConnection(points);
+
+		connection.setEndpoints(new Point(1500, 1500), new Point(1600, 1500));
+		assertTrue(connection.containsPoint(1550, 1500));
+		assertSame(connection, layer.findFigureAt(1550, 1500));
+
+		connection.setPoint(new Point(1700, 1500), 1);
+		assertSame(connection, layer.findFigureAt(1650, 1500));
+
+		connection.addPoint(new Point(1700, 1300));
+		assertSame(connection, layer.findFigureAt(1700, 1400));
+
+		connection.insertPoint(new Point(1500, 1300), 1);
+		assertSame(connection, layer.findFigureAt(1500, 1400));
+
+		connection.removePoint(1);
+		assertSame(findTopmost(1500, 1400), layer.findFigureAt(1500, 1400));
+		assertSame(connection, layer.findFigureAt(1600, 1500));
+	}
+
+	@Test
+	public void testFindFigureAtAfterChildChange() {
+		PointList points = new PointList();
+		for (int i = 0; i < 20; i++) {
+			points.addPoint(1000 + i * 20, 1000 + i * 20);
+			points.addPoint(1020 + i * 20, 1000 + i * 20);
+		}
+		PolylineConnection connection = addConnection(points);
+
+		Figure label = new Figure();
+		label.setBounds(new Rectangle(1000, 1300, 20, 20));
+		connection.add(label);
+		assertSame(label, layer.findFigureAt(1010, 1310));
+
+		// moved within the bounds of the connection, away from its segments
+		label.setBounds(new Rectangle(1350, 1010, 20, 20));
+		assertSame(label, layer.findFigureAt(1360, 1020));
+
+		connection.remove(label);
+		assertSame(findTopmost(1360, 1020), layer.findFigureAt(1360, 1020));
+	}
+
+	@Test
+	public void testFindConnectionsTouching() {
+		Random random = new Random(13);
+		for (int i = 0; i < 200; i++) {
+			Rectangle rect = new Rectangle(random.nextInt(2000), random.nextInt(2000), random.nextInt(300),
+					random.nextInt(300));
+			List<Connection> expected = new ArrayList<>();
+			for (int j = connections.size() - 1; j >= 0; j--) {
+				if (connections.get(j).getPoints().intersects(rect)) {
+					expected.add(connections.get(j));
+				}
+			}
+			assertEquals(expected, layer.findConnectionsTouching(rect));
+		}
+	}
+
+	@Test
+	public void testConnectionsRoutedInOneBatch() {
+		List<List<Connection>> batches = new ArrayList<>();
+		int[] single = new int[1];
+		layer.setConnectionRouter(new AbstractRouter() {
+			@Override
+			public void route(Connection connection) {
+				single[0]++;
+			}
+
+			@Override
+			public void route(List<? extends Connection> list) {
+				batches.add(new ArrayList<>(list));
+			}
+		});
+		for (PolylineConnection connection : connections) {
+			connection.setSourceAnchor(new XYAnchor(connection.getStart()));
+			connection.setTargetAnchor(new XYAnchor(connection.getEnd()));
+		}
+		layer.validate();
+		assertEquals(1, batches.size());
+		assertEquals(connections, batches.get(0));
+		assertEquals(0, single[0]);
+
+		batches.clear();
+		connections.get(3).revalidate();
+		connections.get(7).revalidate();
+		layer.validate();
+		assertEquals(List.of(List.of(connections.get(3), connections.get(7))), batches);
+		assertEquals(0, single[0]);
+	}
+
+	@Test
+	public void testFanRouterBatch() {
+		XYAnchor source = new XYAnchor(new Point(100, 100));
+		XYAnchor target = new XYAnchor(new Point(300, 100));
+		List<PolylineConnection> fanned = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			PolylineConnection connection = new PolylineConnection();
+			connection.setSourceAnchor(source);
+			connection.setTargetAnchor(target);
+			fanned.add(connection);
+		}
+		layer.setConnectionRouter(new FanRouter());
+		fanned.forEach(layer::add);
+		layer.validate();
+		assertEquals(2, fanned.get(0).getPoints().size());
+		assertEquals(new Point(200, 90), fanned.get(1).getPoints().getPoint(1));
+		assertEquals(new Point(200, 110), fanned.get(2).getPoints().getPoint(1));
+		assertEquals(new Point(200, 80), fanned.get(3).getPoints().getPoint(1));
+
+		// removing a connection moves the ones after it
+		layer.remove(fanned.get(1));
+		layer.validate();
+		assertEquals(2, fanned.get(0).getPoints().size());
+		assertEquals(new Point(200, 90), fanned.get(2).getPoints().getPoint(1));
+		assertEquals(new Point(200, 110), fanned.get(3).getPoints().getPoint(1));
+	}
+
+}
@@ -11,6 +11,7 @@
  *******************************************************************************/
 package org.eclipse.draw2d.test;
 
+import org.eclipse.draw2d.graph.test.CompactDirectedGraphLayoutTest;
 import org.eclipse.draw2d.graph.test.DirectedGraphLayoutTest;
 
 import org.junit.runner.RunWith;
@@ -54,9 +55,17 @@ import org.junit.runners.Suite;
 	GeometryTest.class,
 	ScalablePolygonShapeTest.class,
 	LayerTest.class,
+	CachedLayerTest.class,
+	ConnectionLayerTest.class,
+	FigureChildrenTest.class,
+	AllocationRateTest.class,
+	LevelOfDetailTest.class,
+	BufferedImageExportTest.class,
+	SVGExportTest.class,
 	ShapeTest.class,
 	InsetsTest.class,
-	DirectedGraphLayoutTest.class
+	DirectedGraphLayoutTest.class,
+	CompactDirectedGraphLayoutTest.class
 })
 public class Draw2dTestSuite {
 }
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.Layer;
+import org.eclipse.draw2d.LayeredPane;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FigureChildrenTest extends Assert {
+
+	private static List<IFigure> createFigures(int count) {
+		List<IFigure> figures = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			figures.add(new Figure());
+		}
+		return figures;
+	}
+
+	@Test
+	public void testAddAll() {
+		Figure parent = new Figure();
+		List<IFigure> first = createFigures(100);
+		parent.addAll(first);
+		assertEquals(first, parent.getChildren());
+
+		List<IFigure> second = createFigures(10);
+		parent.addAll(second, 50);
+		List<IFigure> expected = new ArrayList<>(first);
+		expected.addAll(50, second);
+		assertEquals(expected, parent.getChildren());
+		for (IFigure child : expected) {
+			assertSame(parent, child.getParent());
+		}
+
+		// figures of another parent are moved
+		Figure other = new Figure();
+		other.addAll(first.subList(0, 5));
+		assertEquals(105, parent.getChildren().size());
+		assertEquals(first.subList(0, 5), other.getChildren());
+	}
+
+	@Test
+	public void testRemoveAll() {
+		Figure parent = new Figure();
+		List<IFigure> figures = createFigures(100);
+		parent.addAll(figures);
+
+		List<IFigure> removed = new ArrayList<>();
+		for (int i = 0; i < figures.size(); i += 3) {
+			removed.add(figures.get(i));
+		}
+		parent.removeAll(removed);
+		List<IFigure> expected = new ArrayList<>(figures);
+		expected.removeAll(removed);
+		assertEquals(expected, parent.getChildren());
+		for (IFigure figure : removed) {
+			assertNull(figure.getParent());
+		}
+
+		try {
+			parent.removeAll(List.of(removed.get(0)));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(expected, parent.getChildren());
+		}
+
+		parent.removeAll();
+		assertTrue(parent.getChildren().isEmpty());
+	}
+
+	@Test
+	public void testRemoveAllLayers() {
+		LayeredPane pane = new LayeredPane();
+		List<Layer> layers = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			Layer layer = new Layer();
+			pane.add(layer, Integer.valueOf(i));
+			layers.add(layer);
+		}
+		pane.removeAll(List.of(layers.get(1), layers.get(4), layers.get(2)));
+		assertEquals(List.of(layers.get(0), layers.get(3), layers.get(5)), pane.getChildren());
+		assertSame(layers.get(3), pane.getLayer(Integer.valueOf(3)));
+		assertSame(layers.get(5), pane.getLayer(Integer.valueOf(5)));
+		assertNull(pane.getLayer(Integer.valueOf(4)));
+	}
+
+}
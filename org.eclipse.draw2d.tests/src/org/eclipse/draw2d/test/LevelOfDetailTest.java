@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.LevelOfDetail;
+import org.eclipse.draw2d.SWTGraphics;
+import org.eclipse.draw2d.ScalableFreeformLayeredPane;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LevelOfDetailTest extends Assert {
+
+	private final List<String> painted = new ArrayList<>();
+
+	private class LoggingFigure extends Figure {
+		private final String name;
+
+		LoggingFigure(String name) {
+			this.name = name;
+		}
+
+		@Override
+		protected void paintFigure(Graphics graphics) {
+			painted.add(name);
+		}
+	}
+
+	private LevelOfDetail log(String name) {
+		return (figure, graphics) -> painted.add(name);
+	}
+
+	@Test
+	public void testSelection() {
+		Figure figure = new Figure();
+		assertNull(figure.getLevelOfDetail(0.01));
+		LevelOfDetail outline = log("outline");
+		figure.setLevelOfDetail(0.5, outline);
+		figure.setLevelOfDetail(0.1, LevelOfDetail.HIDDEN);
+		assertSame(LevelOfDetail.HIDDEN, figure.getLevelOfDetail(0.05));
+		assertSame(outline, figure.getLevelOfDetail(0.1));
+		assertSame(outline, figure.getLevelOfDetail(0.3));
+		assertNull(figure.getLevelOfDetail(0.5));
+		assertNull(figure.getLevelOfDetail(2));
+
+		figure.setLevelOfDetail(0.1, null);
+		assertSame(outline, figure.getLevelOfDetail(0.05));
+		figure.setLevelOfDetail(0.5, LevelOfDetail.FILLED_BOUNDS);
+		assertSame(LevelOfDetail.FILLED_BOUNDS, figure.getLevelOfDetail(0.05));
+		figure.setLevelOfDetail(0.5, null);
+		assertNull(figure.getLevelOfDetail(0.05));
+	}
+
+	@Test
+	public void testScaledPaneSwitchesRepresentations() {
+		ScalableFreeformLayeredPane pane = new ScalableFreeformLayeredPane();
+		pane.setBounds(new Rectangle(0, 0, 100, 100));
+		Figure parent = new LoggingFigure("parent");
+		parent.setBounds(new Rectangle(0, 0, 400, 400));
+		parent.setLevelOfDetail(0.25, log("parent overview"));
+		Figure child = new LoggingFigure("child");
+		child.setBounds(new Rectangle(10, 10, 50, 50));
+		parent.add(child);
+		pane.add(parent);
+
+		Image image = new Image(Display.getDefault(), 100, 100);
+		GC gc = new GC(image);
+		SWTGraphics graphics = new SWTGraphics(gc);
+		try {
+			pane.setScale(0.5);
+			pane.paint(graphics);
+			assertEquals(List.of("parent", "child"), painted);
+
+			painted.clear();
+			pane.setScale(0.2);
+			pane.paint(graphics);
+			assertEquals(List.of("parent overview"), painted);
+			assertEquals(1.0, graphics.getAbsoluteScale(), 0);
+		} finally {
+			graphics.dispose();
+			gc.dispose();
+			image.dispose();
+		}
+	}
+
+}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.FreeformLayer;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.Label;
+import org.eclipse.draw2d.LineBorder;
+import org.eclipse.draw2d.RectangleFigure;
+import org.eclipse.draw2d.SVGExport;
+import org.eclipse.draw2d.ScalableFreeformLayeredPane;
+import org.eclipse.draw2d.SVGGraphics;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+public class SVGExportTest extends Assert {
+
+	private static Document parse(String svg) throws Exception {
+		return DocumentBuilderFactory.newInstance().newDocumentBuilder()
+				.parse(new ByteArrayInputStream(svg.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static String export(Figure figure, Rectangle area, double scale) {
+		StringWriter out = new StringWriter();
+		SVGExport.write(figure, area, scale, out);
+		return out.toString();
+	}
+
+	@Test
+	public void testWrite() throws Exception {
+		Figure diagram = new Figure();
+		diagram.setBounds(new Rectangle(100, 100, 50, 40));
+		RectangleFigure rectangle = new RectangleFigure();
+		rectangle.setBounds(new Rectangle(110, 110, 20, 10));
+		diagram.add(rectangle);
+
+		Document document = parse(export(diagram, new Rectangle(100, 100, 50, 40), 2));
+		Element svg = document.getDocumentElement();
+		assertEquals("svg", svg.getTagName()); //$NON-NLS-1$
+		assertEquals("100", svg.getAttribute("width")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("80", svg.getAttribute("height")); //$NON-NLS-1$ //$NON-NLS-2$
+		NodeList paths = svg.getElementsByTagName("path"); //$NON-NLS-1$
+		assertEquals(2, paths.getLength());
+		// The fill covers the rectangle, the outline is centered on its pixels
+		assertEquals("M20 20L60 20L60 40L20 40L20 20Z", ((Element) paths.item(0)).getAttribute("d")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("M21 21L59 21L59 39L21 39L21 21Z", ((Element) paths.item(1)).getAttribute("d")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testCulling() throws Exception {
+		Figure diagram = new Figure();
+		diagram.setBounds(new Rectangle(0, 0, 10000, 10000));
+		for (int i = 0; i < 100; i++) {
+			RectangleFigure child = new RectangleFigure();
+			child.setBounds(new Rectangle(i * 100, i * 100, 50, 50));
+			diagram.add(child);
+		}
+		Document document = parse(export(diagram, new Rectangle(0, 0, 300, 300), 1));
+		// Only the three rectangles inside the area are written
+		assertEquals(6, document.getElementsByTagName("path").getLength()); //$NON-NLS-1$
+		assertEquals(0, document.getElementsByTagName("clipPath").getLength()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testClipping() throws Exception {
+		Figure diagram = new Figure();
+		diagram.setBounds(new Rectangle(0, 0, 100, 100));
+		RectangleFigure child = new RectangleFigure();
+		child.setBounds(new Rectangle(80, 80, 50, 50));
+		diagram.add(child);
+		Document document = parse(export(diagram, new Rectangle(0, 0, 100, 100), 1));
+		NodeList clips = document.getElementsByTagName("clipPath"); //$NON-NLS-1$
+		assertEquals(1, clips.getLength());
+		String reference = "url(#" + ((Element) clips.item(0)).getAttribute("id") + ")"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		NodeList paths = document.getElementsByTagName("path"); //$NON-NLS-1$
+		for (int i = 0; i < paths.getLength(); i++)
+			assertEquals(reference, ((Element) paths.item(i)).getAttribute("clip-path")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testStylesAreShared() throws Exception {
+		Figure diagram = new Figure();
+		diagram.setBounds(new Rectangle(0, 0, 1000, 1000));
+		for (int i = 0; i < 50; i++) {
+			RectangleFigure child = new RectangleFigure();
+			child.setBounds(new Rectangle(i * 20, i * 20, 10, 10));
+			child.setBorder(new LineBorder(2));
+			diagram.add(child);
+		}
+		Document document = parse(export(diagram, diagram.getBounds(), 1));
+		assertEquals(150, document.getElementsByTagName("path").getLength()); //$NON-NLS-1$
+		assertEquals(3, document.getElementsByTagName("style").getLength()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testText() throws Exception {
+		StringWriter out = new StringWriter();
+		Graphics graphics = new SVGGraphics(out, 100, 100);
+		graphics.translate(10, 20);
+		graphics.drawText("a < b\n&c", 5, 5); //$NON-NLS-1$
+		graphics.dispose();
+		NodeList texts = parse(out.toString()).getElementsByTagName("text"); //$NON-NLS-1$
+		assertEquals(2, texts.getLength());
+		assertEquals("a < b", texts.item(0).getTextContent()); //$NON-NLS-1$
+		assertEquals("&c", texts.item(1).getTextContent()); //$NON-NLS-1$
+		assertEquals("matrix(1 0 0 1 10 20)", //$NON-NLS-1$
+				((Element) texts.item(0).getParentNode()).getAttribute("transform")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testZoomedLabel() throws Exception {
+		ScalableFreeformLayeredPane pane = new ScalableFreeformLayeredPane();
+		FreeformLayer layer = new FreeformLayer();
+		pane.add(layer);
+		Label label = new Label("Label"); //$NON-NLS-1$
+		label.setFont(Display.getDefault().getSystemFont());
+		label.setBounds(new Rectangle(0, 0, 100, 50));
+		layer.add(label);
+		pane.setScale(2);
+		pane.setFreeformBounds(new Rectangle(0, 0, 200, 100));
+
+		NodeList texts = parse(export(pane, pane.getBounds(), 1)).getElementsByTagName("text"); //$NON-NLS-1$
+		assertEquals(1, texts.getLength());
+		assertEquals("Label", texts.item(0).getTextContent()); //$NON-NLS-1$
+		// The text is scaled by the transform, not by a zoomed font
+		assertTrue(((Element) texts.item(0).getParentNode()).getAttribute("transform") //$NON-NLS-1$
+				.startsWith("matrix(2 0 0 2 ")); //$NON-NLS-1$
+	}
+
+}
@@ -27,10 +27,12 @@ public abstract class AbstractBorder implements Border {
 	protected static Rectangle tempRect = new Rectangle();
 
 	/**
-	 * Returns a temporary rectangle representing the figure's bounds cropped by the
-	 * specified insets. This method exists for convenience and performance; the
-	 * method does not new any Objects and returns a rectangle which the caller can
-	 * manipulate.
+	 * Returns a new rectangle representing the figure's bounds cropped by the
+	 * specified insets, which the caller can manipulate. A new rectangle is
+	 * returned, rather than {@link #tempRect}, so that borders can be painted by
+	 * several threads at once. For compatibility, {@link #tempRect} is set to the
+	 * same bounds; borders which read it instead of the returned rectangle must
+	 * not be painted by several threads at once.
 	 * 
 	 * @since 2.0
 	 * @param figure Figure for which the paintable rectangle is needed
@@ -38,8 +40,9 @@ public abstract class AbstractBorder implements Border {
 	 * @return The paintable region on the Figure f
 	 */
 	protected static final Rectangle getPaintRectangle(IFigure figure, Insets insets) {
-		tempRect.setBounds(figure.getBounds());
-		return tempRect.crop(insets);
+		Rectangle paintRectangle = new Rectangle(figure.getBounds()).crop(insets);
+		tempRect.setBounds(paintRectangle);
+		return paintRectangle;
 	}
 
 	/**
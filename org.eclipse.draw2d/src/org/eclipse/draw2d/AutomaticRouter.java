@@ -11,10 +11,13 @@
 package org.eclipse.draw2d;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PointList;
-import org.eclipse.draw2d.internal.MultiValueMap;
 
 /**
  * An abstract router implementation which detects when multiple connections are
@@ -29,7 +32,10 @@ import org.eclipse.draw2d.internal.MultiValueMap;
 public abstract class AutomaticRouter extends AbstractRouter {
 
 	private ConnectionRouter nextRouter;
-	private MultiValueMap connections = new MultiValueMap();
+	/** the colliding connections, in the order in which they were routed */
+	private final Map<HashKey, List<Connection>> connections = new HashMap<>();
+	/** the key under which each connection is stored in the map above */
+	private final Map<Connection, HashKey> keys = new IdentityHashMap<>();
 
 	private static final class HashKey {
 
@@ -102,15 +108,7 @@ public abstract class AutomaticRouter extends AbstractRouter {
 			next().invalidate(conn);
 		if (conn.getSourceAnchor() == null || conn.getTargetAnchor() == null)
 			return;
-		HashKey connectionKey = new HashKey(conn);
-		ArrayList connectionList = connections.get(connectionKey);
-		int affected = connections.remove(connectionKey, conn);
-		if (affected != -1) {
-			for (int i = affected; i < connectionList.size(); i++)
-				((Connection) connectionList.get(i)).revalidate();
-		} else
-			connections.removeValue(conn);
-
+		unregister(conn);
 	}
 
 	/**
@@ -130,17 +128,29 @@ public abstract class AutomaticRouter extends AbstractRouter {
 	public void remove(Connection conn) {
 		if (conn.getSourceAnchor() == null || conn.getTargetAnchor() == null)
 			return;
-		HashKey connectionKey = new HashKey(conn);
-		ArrayList connectionList = connections.get(connectionKey);
-		if (connectionList != null) {
-			int index = connections.remove(connectionKey, conn);
-			for (int i = index + 1; i < connectionList.size(); i++)
-				((Connection) connectionList.get(i)).revalidate();
-		}
+		unregister(conn);
 		if (next() != null)
 			next().remove(conn);
 	}
 
+	/**
+	 * Removes the given connection from its group of colliding connections, and
+	 * revalidates the connections after it, whose index in the group changes.
+	 */
+	private void unregister(Connection conn) {
+		HashKey connectionKey = keys.remove(conn);
+		if (connectionKey == null)
+			return;
+		List<Connection> connectionList = connections.get(connectionKey);
+		int index = connectionList.indexOf(conn);
+		connectionList.remove(index);
+		if (connectionList.isEmpty())
+			connections.remove(connectionKey);
+		else
+			for (int i = index; i < connectionList.size(); i++)
+				connectionList.get(i).revalidate();
+	}
+
 	/**
 	 * Routes the given connection. Calls the 'next' router first (if one exists)
 	 * and if no bendpoints were added by the next router, collisions are dealt with
@@ -156,29 +166,52 @@ public abstract class AutomaticRouter extends AbstractRouter {
 			conn.getPoints().removeAllPoints();
 			setEndPoints(conn);
 		}
+		routeCollision(conn);
+	}
 
-		if (conn.getPoints().size() == 2) {
-			PointList points = conn.getPoints();
-			HashKey connectionKey = new HashKey(conn);
-			ArrayList connectionList = connections.get(connectionKey);
-
-			if (connectionList != null) {
-
-				int index;
-
-				if (connectionList.contains(conn)) {
-					index = connectionList.indexOf(conn) + 1;
-				} else {
-					index = connectionList.size() + 1;
-					connections.put(connectionKey, conn);
-				}
+	/**
+	 * Routes the given connections. Passes them all to the 'next' router first (if
+	 * one exists), then deals with collisions as {@link #route(Connection)} does.
+	 *
+	 * @param connections The connections to route
+	 * @since 3.15
+	 */
+	@Override
+	public void route(List<? extends Connection> connections) {
+		if (next() != null)
+			next().route(connections);
+		else
+			connections.forEach(conn -> {
+				conn.getPoints().removeAllPoints();
+				setEndPoints(conn);
+			});
+		connections.forEach(this::routeCollision);
+	}
 
-				handleCollision(points, index);
-				conn.setPoints(points);
-			} else {
-				connections.put(connectionKey, conn);
-			}
+	private void routeCollision(Connection conn) {
+		if (conn.getPoints().size() != 2)
+			return;
+		HashKey connectionKey = new HashKey(conn);
+		HashKey oldKey = keys.get(conn);
+		if (oldKey != null && !oldKey.equals(connectionKey))
+			unregister(conn);
+		List<Connection> connectionList = connections.get(connectionKey);
+		if (connectionList == null) {
+			connectionList = new ArrayList<>(2);
+			connectionList.add(conn);
+			connections.put(connectionKey, connectionList);
+			keys.put(conn, connectionKey);
+			return;
 		}
+		int index = connectionList.indexOf(conn) + 1;
+		if (index == 0) {
+			connectionList.add(conn);
+			keys.put(conn, connectionKey);
+			index = connectionList.size();
+		}
+		PointList points = conn.getPoints();
+		handleCollision(points, index);
+		conn.setPoints(points);
 	}
 
 	/**
@@ -20,6 +20,12 @@ import org.eclipse.swt.widgets.Control;
 
 import org.eclipse.draw2d.geometry.Rectangle;
 
+/**
+ * A graphics source which paints into an image the size of the control, and
+ * copies the painted region to the control. The image is retained between
+ * updates, so that only damaged regions are painted into it, and paint events
+ * of the control are satisfied by copying from it.
+ */
 class BufferedGraphicsSource implements GraphicsSource {
 
 	private Image imageBuffer;
@@ -27,6 +33,11 @@ class BufferedGraphicsSource implements GraphicsSource {
 	private GC controlGC;
 	private Control control;
 	private Rectangle inUse;
+	/**
+	 * The bounds of the parts of the image buffer which do not show the current
+	 * contents, or <code>null</code>.
+	 */
+	private Rectangle invalid;
 
 	/**
 	 * Constructs a new buffered graphics source using the given control.
@@ -36,6 +47,7 @@ class BufferedGraphicsSource implements GraphicsSource {
 	 */
 	public BufferedGraphicsSource(Control c) {
 		control = c;
+		control.addDisposeListener(e -> disposeImage());
 	}
 
 	/**
@@ -61,11 +73,9 @@ class BufferedGraphicsSource implements GraphicsSource {
 		 */
 		if (imageBuffer != null) {
 			imageGC.dispose();
-			controlGC.drawImage(getImage(), 0, 0, inUse.width, inUse.height, inUse.x, inUse.y, inUse.width,
-					inUse.height);
-			imageBuffer.dispose();
-			imageBuffer = null;
 			imageGC = null;
+			controlGC.drawImage(getImage(), inUse.x, inUse.y, inUse.width, inUse.height, inUse.x, inUse.y,
+					inUse.width, inUse.height);
 		}
 		controlGC.dispose();
 		controlGC = null;
@@ -88,36 +98,152 @@ class BufferedGraphicsSource implements GraphicsSource {
 		if (inUse.isEmpty())
 			return null;
 
+		controlGC = new GC(control, control.getStyle() & (SWT.RIGHT_TO_LEFT | SWT.LEFT_TO_RIGHT));
+		Graphics graphics;
+		if (updateImage()) {
+			// Repair the stale parts of the buffer along with the damage
+			if (invalid != null) {
+				inUse.union(invalid).intersect(new Rectangle(0, 0, ptSWT.x, ptSWT.y));
+				invalid = null;
+			}
+			imageGC = createImageGC(controlGC);
+			graphics = new SWTGraphics(imageGC);
+		} else {
+			graphics = new SWTGraphics(controlGC);
+		}
+
+		graphics.setClip(inUse);
+		return graphics;
+	}
+
+	/**
+	 * Returns whether paint events can be served from the image buffer, which is
+	 * created if needed.
+	 * 
+	 * @return <code>false</code> if the image buffer could not be created
+	 */
+	boolean canPaint() {
+		return !control.isDisposed() && updateImage();
+	}
+
+	/**
+	 * Returns the region of the image buffer which has to be painted before the
+	 * given area can be copied from it, or <code>null</code> if the buffer is up to
+	 * date there.
+	 * 
+	 * @param area the area of a paint event
+	 * @return the stale region, or <code>null</code>
+	 */
+	Rectangle getStaleRegion(Rectangle area) {
+		if (invalid != null && invalid.intersects(area))
+			return area.getUnion(invalid);
+		return null;
+	}
+
+	/**
+	 * Paints the area of the given paint event's GC from the image buffer, after
+	 * painting the given stale region into it.
+	 * 
+	 * @param gc    the GC of the paint event
+	 * @param root  the root figure
+	 * @param stale the stale region as returned by
+	 *              {@link #getStaleRegion(Rectangle)}, or <code>null</code>
+	 */
+	void paint(GC gc, IFigure root, Rectangle stale) {
+		if (stale != null) {
+			invalid = null;
+			GC bufferGC = createImageGC(gc);
+			Graphics graphics = new SWTGraphics(bufferGC);
+			graphics.setClip(stale);
+			root.paint(graphics);
+			graphics.dispose();
+			bufferGC.dispose();
+		}
+		Rectangle clip = new Rectangle(gc.getClipping());
+		gc.drawImage(imageBuffer, clip.x, clip.y, clip.width, clip.height, clip.x, clip.y, clip.width, clip.height);
+	}
+
+	/**
+	 * Moves the pixels of the image buffer along with those of the control.
+	 * 
+	 * @param destX   the x coordinate of the destination
+	 * @param destY   the y coordinate of the destination
+	 * @param source  the area which is moved
+	 * @param exposed the area which is left behind
+	 */
+	void scroll(int destX, int destY, Rectangle source, Rectangle exposed) {
+		if (imageBuffer == null)
+			return;
+		if (!source.isEmpty()) {
+			GC bufferGC = new GC(imageBuffer, control.getStyle() & (SWT.RIGHT_TO_LEFT | SWT.LEFT_TO_RIGHT));
+			bufferGC.copyArea(source.x, source.y, source.width, source.height, destX, destY);
+			bufferGC.dispose();
+			if (invalid != null)
+				invalid.union(invalid.getTranslated(destX - source.x, destY - source.y));
+		}
+		invalidate(exposed);
+	}
+
+	/**
+	 * Marks the given area of the image buffer as stale, so that it is painted
+	 * again before it is copied to the control.
+	 * 
+	 * @param area the stale area
+	 */
+	void invalidate(Rectangle area) {
+		if (area.isEmpty())
+			return;
+		if (invalid == null)
+			invalid = new Rectangle(area);
+		else
+			invalid.union(area);
+	}
+
+	/**
+	 * Creates the image buffer if there is none, or if the size of the control has
+	 * changed. A new image buffer is stale everywhere.
+	 * 
+	 * @return <code>false</code> if the image buffer could not be created
+	 */
+	private boolean updateImage() {
+		org.eclipse.swt.graphics.Point size = control.getSize();
+		if (imageBuffer != null) {
+			org.eclipse.swt.graphics.Rectangle bounds = imageBuffer.getBounds();
+			if (bounds.width == size.x && bounds.height == size.y)
+				return true;
+			disposeImage();
+		}
 		/*
 		 * Bugzilla 53632 - Attempts to create large images on some platforms will fail.
 		 * When this happens, do not use double-buffering for painting.
 		 */
 		try {
-			imageBuffer = new Image(null, inUse.width, inUse.height);
+			imageBuffer = new Image(null, Math.max(size.x, 1), Math.max(size.y, 1));
 		} catch (SWTError noMoreHandles) {
 			imageBuffer = null;
 		} catch (IllegalArgumentException tooBig) {
 			imageBuffer = null;
 		}
+		invalid = new Rectangle(0, 0, size.x, size.y);
+		return imageBuffer != null;
+	}
 
-		controlGC = new GC(control, control.getStyle() & (SWT.RIGHT_TO_LEFT | SWT.LEFT_TO_RIGHT));
-		Graphics graphics;
+	private GC createImageGC(GC template) {
+		GC gc = new GC(imageBuffer, control.getStyle() & (SWT.RIGHT_TO_LEFT | SWT.LEFT_TO_RIGHT));
+		gc.setBackground(template.getBackground());
+		gc.setForeground(template.getForeground());
+		gc.setFont(template.getFont());
+		gc.setLineStyle(template.getLineStyle());
+		gc.setLineWidth(template.getLineWidth());
+		gc.setXORMode(template.getXORMode());
+		return gc;
+	}
+
+	private void disposeImage() {
 		if (imageBuffer != null) {
-			imageGC = new GC(imageBuffer, control.getStyle() & (SWT.RIGHT_TO_LEFT | SWT.LEFT_TO_RIGHT));
-			imageGC.setBackground(controlGC.getBackground());
-			imageGC.setForeground(controlGC.getForeground());
-			imageGC.setFont(controlGC.getFont());
-			imageGC.setLineStyle(controlGC.getLineStyle());
-			imageGC.setLineWidth(controlGC.getLineWidth());
-			imageGC.setXORMode(controlGC.getXORMode());
-			graphics = new SWTGraphics(imageGC);
-			graphics.translate(inUse.getLocation().negate());
-		} else {
-			graphics = new SWTGraphics(controlGC);
+			imageBuffer.dispose();
+			imageBuffer = null;
 		}
-
-		graphics.setClip(inUse);
-		return graphics;
 	}
 
 	/**
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Paints figures into {@link BufferedImage}s with a
+ * {@link BufferedImageGraphics}, without a <code>Display</code>. The image is
+ * painted on the calling thread, unless an {@link Executor} is given, which
+ * paints tiles of the image, for example in parallel.
+ * <P>
+ * The figure must be valid, and must not be changed while it is painted. Parts
+ * of the image which are not painted by the figure stay transparent. When the
+ * tiles are painted by several threads, the figures must not share mutable
+ * state while painting, for example a static temporary rectangle. Figures and
+ * labels of draw2d take care of this while an export is running.
+ *
+ * @since 3.15
+ */
+public final class BufferedImageExport {
+
+	/**
+	 * A width and height of a tile, in pixels, which suits painting the tiles in
+	 * parallel
+	 */
+	public static final int DEFAULT_TILE_SIZE = 512;
+
+	private BufferedImageExport() {
+	}
+
+	/**
+	 * Paints the given area of the figure into a new image, on the calling thread.
+	 *
+	 * @param figure the figure
+	 * @param area   the area to paint, in the coordinates of the figure's bounds
+	 * @param scale  the scale of the image
+	 * @return the image
+	 * @see #paint(IFigure, Rectangle, double, int, Executor)
+	 */
+	public static BufferedImage paint(IFigure figure, Rectangle area, double scale) {
+		BufferedImage image = createImage(area, scale);
+		Figure.RUNNING_EXPORTS.incrementAndGet();
+		try {
+			paintTile(figure, area, scale, image, new Rectangle(0, 0, image.getWidth(), image.getHeight()));
+		} finally {
+			Figure.RUNNING_EXPORTS.decrementAndGet();
+		}
+		return image;
+	}
+
+	/**
+	 * Paints the given area of the figure into a new image. The image is divided
+	 * into tiles of the given size, which are painted by the given executor, and
+	 * this method returns when all of them have been painted. If painting a tile
+	 * fails, its exception is thrown.
+	 *
+	 * @param figure   the figure
+	 * @param area     the area to paint, in the coordinates of the figure's bounds
+	 * @param scale    the scale of the image
+	 * @param tileSize the width and height of a tile, in pixels
+	 * @param executor the executor which paints the tiles
+	 * @return the image
+	 */
+	public static BufferedImage paint(IFigure figure, Rectangle area, double scale, int tileSize,
+			Executor executor) {
+		if (tileSize <= 0)
+			throw new IllegalArgumentException("The tile size must be positive"); //$NON-NLS-1$
+		BufferedImage image = createImage(area, scale);
+		int width = image.getWidth();
+		int height = image.getHeight();
+		measureLabels(figure);
+		List<CompletableFuture<Void>> tiles = new ArrayList<>();
+		Figure.RUNNING_EXPORTS.incrementAndGet();
+		try {
+			for (int y = 0; y < height; y += tileSize) {
+				for (int x = 0; x < width; x += tileSize) {
+					Rectangle tile = new Rectangle(x, y, Math.min(tileSize, width - x),
+							Math.min(tileSize, height - y));
+					tiles.add(CompletableFuture.runAsync(() -> paintTile(figure, area, scale, image, tile), executor));
+				}
+			}
+			CompletableFuture.allOf(tiles.toArray(new CompletableFuture<?>[tiles.size()])).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException)
+				throw runtimeException;
+			if (e.getCause() instanceof Error error)
+				throw error;
+			throw e;
+		} finally {
+			Figure.RUNNING_EXPORTS.decrementAndGet();
+		}
+		return image;
+	}
+
+	/**
+	 * Lets the labels measure their text on the calling thread. They measure it
+	 * lazily with the shared GC of {@link FigureUtilities}, which the threads
+	 * painting the tiles must not use.
+	 */
+	private static void measureLabels(IFigure figure) {
+		if (figure instanceof Label label) {
+			label.getSubStringText();
+			label.getTextLocation();
+		}
+		for (IFigure child : figure.getChildren())
+			measureLabels(child);
+	}
+
+	private static BufferedImage createImage(Rectangle area, double scale) {
+		int width = Math.max(1, (int) Math.ceil(area.width * scale));
+		int height = Math.max(1, (int) Math.ceil(area.height * scale));
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+	}
+
+	/**
+	 * Paints the figure into the given tile of the image. Every tile is painted
+	 * with the same transformation, so that shapes crossing tiles line up exactly.
+	 */
+	private static void paintTile(IFigure figure, Rectangle area, double scale, BufferedImage image,
+			Rectangle tile) {
+		Graphics graphics = new BufferedImageGraphics(image);
+		try {
+			graphics.setClip(tile);
+			graphics.scale(scale);
+			graphics.translate(-area.x, -area.y);
+			figure.paint(graphics);
+		} finally {
+			graphics.dispose();
+		}
+	}
+
+}
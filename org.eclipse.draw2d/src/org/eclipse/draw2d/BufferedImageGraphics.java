@@ -0,0 +1,965 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.FontMetrics;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.LineAttributes;
+import org.eclipse.swt.graphics.RGB;
+
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * A <code>Graphics</code> which renders into a {@link BufferedImage} with Java
+ * 2D, without a <code>GC</code> or a <code>Display</code>. Each instance must be
+ * used by one thread at a time, but any number of instances may render
+ * concurrently, which makes it suitable for exporting diagrams on servers.
+ * <P>
+ * Colors, fonts and images are read from their SWT objects, which must still
+ * exist while painting. Font sizes are converted from points to pixels at 96
+ * pixels per inch. Paths, patterns and text layouts are not supported, and
+ * {@link #getFontMetrics()} returns <code>null</code>. Scalable panes therefore
+ * scale this graphics directly instead of through a {@link ScaledGraphics},
+ * which also gives smoother text.
+ * <P>
+ * WARNING: This class is not intended to be subclassed.
+ *
+ * @since 3.15
+ */
+public class BufferedImageGraphics extends Graphics {
+
+	private static final java.awt.Color DEFAULT_FOREGROUND = java.awt.Color.BLACK;
+	private static final java.awt.Color DEFAULT_BACKGROUND = java.awt.Color.WHITE;
+	private static final java.awt.Font DEFAULT_FONT = new java.awt.Font(java.awt.Font.DIALOG, java.awt.Font.PLAIN,
+			12);
+	private static final int TAB_WIDTH = 8;
+
+	/**
+	 * The parts of the state which are not kept by the Java 2D graphics.
+	 */
+	private static class State implements Cloneable {
+		AffineTransform transform;
+		/** the clip, in device coordinates */
+		Shape clip;
+		Color fgColor;
+		Color bgColor;
+		Font font;
+		int alpha = 255;
+		boolean xorMode;
+		int antialias = SWT.DEFAULT;
+		int textAntialias = SWT.DEFAULT;
+		int interpolation = SWT.DEFAULT;
+		int fillRule = SWT.FILL_EVEN_ODD;
+		LineAttributes lineAttributes = new LineAttributes(1);
+
+		@Override
+		protected State clone() {
+			try {
+				State copy = (State) super.clone();
+				copy.lineAttributes = copy(lineAttributes);
+				return copy;
+			} catch (CloneNotSupportedException e) {
+				throw new AssertionError(e);
+			}
+		}
+	}
+
+	private final Graphics2D g2d;
+	private State currentState = new State();
+	private final List<State> stack = new ArrayList<>();
+	private BasicStroke stroke;
+	private final Map<Image, BufferedImage> images = new IdentityHashMap<>();
+	private final Map<Font, java.awt.Font> fonts = new HashMap<>();
+
+	/**
+	 * Creates a graphics which renders into the given image. The clip is set to
+	 * the bounds of the image.
+	 *
+	 * @param image the image
+	 */
+	public BufferedImageGraphics(BufferedImage image) {
+		g2d = image.createGraphics();
+		g2d.setClip(0, 0, image.getWidth(), image.getHeight());
+		// Outlines are filled like other shapes, so they don't depend on the clip
+		g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+		applyHints();
+	}
+
+	private static LineAttributes copy(LineAttributes attributes) {
+		return new LineAttributes(attributes.width, attributes.cap, attributes.join, attributes.style,
+				attributes.dash == null ? null : attributes.dash.clone(), attributes.dashOffset,
+				attributes.miterLimit);
+	}
+
+	private static java.awt.Color toAWT(Color color, java.awt.Color defaultColor) {
+		if (color == null)
+			return defaultColor;
+		return new java.awt.Color(color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha());
+	}
+
+	private void setPaint(Color color, java.awt.Color defaultColor) {
+		g2d.setColor(toAWT(color, defaultColor));
+	}
+
+	private void setForegroundPaint() {
+		setPaint(currentState.fgColor, DEFAULT_FOREGROUND);
+	}
+
+	private void setBackgroundPaint() {
+		setPaint(currentState.bgColor, DEFAULT_BACKGROUND);
+	}
+
+	/**
+	 * Draws the outline of the given shape with the foreground color and the line
+	 * attributes. The outline is centered on the pixels, like in SWT.
+	 */
+	private void drawShape(Shape shape) {
+		setForegroundPaint();
+		if (stroke == null)
+			stroke = createStroke(currentState.lineAttributes);
+		g2d.translate(0.5, 0.5);
+		g2d.fill(stroke.createStrokedShape(shape));
+		g2d.translate(-0.5, -0.5);
+	}
+
+	private static BasicStroke createStroke(LineAttributes attributes) {
+		float width = Math.max(attributes.width, 1);
+		float[] dash = switch (attributes.style) {
+		case SWT.LINE_DASH -> new float[] { 18, 6 };
+		case SWT.LINE_DOT -> new float[] { 3, 3 };
+		case SWT.LINE_DASHDOT -> new float[] { 9, 6, 3, 6 };
+		case SWT.LINE_DASHDOTDOT -> new float[] { 9, 3, 3, 3, 3, 3 };
+		case SWT.LINE_CUSTOM -> attributes.dash == null ? null : attributes.dash.clone();
+		default -> null;
+		};
+		if (dash != null && attributes.style != SWT.LINE_CUSTOM)
+			for (int i = 0; i < dash.length; i++)
+				dash[i] *= width;
+		int cap = switch (attributes.cap) {
+		case SWT.CAP_ROUND -> BasicStroke.CAP_ROUND;
+		case SWT.CAP_SQUARE -> BasicStroke.CAP_SQUARE;
+		default -> BasicStroke.CAP_BUTT;
+		};
+		int join = switch (attributes.join) {
+		case SWT.JOIN_ROUND -> BasicStroke.JOIN_ROUND;
+		case SWT.JOIN_BEVEL -> BasicStroke.JOIN_BEVEL;
+		default -> BasicStroke.JOIN_MITER;
+		};
+		return new BasicStroke(width, cap, join, Math.max(attributes.miterLimit, 1), dash, attributes.dashOffset);
+	}
+
+	private void applyHints() {
+		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+				currentState.antialias == SWT.ON ? RenderingHints.VALUE_ANTIALIAS_ON
+						: RenderingHints.VALUE_ANTIALIAS_OFF);
+		g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+				currentState.textAntialias == SWT.OFF ? RenderingHints.VALUE_TEXT_ANTIALIAS_OFF
+						: RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, switch (currentState.interpolation) {
+		case SWT.HIGH -> RenderingHints.VALUE_INTERPOLATION_BICUBIC;
+		case SWT.LOW -> RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+		default -> RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR;
+		});
+	}
+
+	private void applyComposite() {
+		if (currentState.xorMode) {
+			// Java 2D xors the source with this color and the destination
+			g2d.setXORMode(java.awt.Color.BLACK);
+		} else {
+			g2d.setPaintMode();
+			g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, currentState.alpha / 255f));
+		}
+	}
+
+	/**
+	 * @see Graphics#clipRect(Rectangle)
+	 */
+	@Override
+	public void clipRect(Rectangle r) {
+		g2d.clipRect(r.x, r.y, r.width, r.height);
+	}
+
+	/**
+	 * Disposes the Java 2D graphics. The image is not disposed.
+	 *
+	 * @see Graphics#dispose()
+	 */
+	@Override
+	public void dispose() {
+		g2d.dispose();
+		images.clear();
+		fonts.clear();
+	}
+
+	/**
+	 * @see Graphics#drawArc(int, int, int, int, int, int)
+	 */
+	@Override
+	public void drawArc(int x, int y, int w, int h, int offset, int length) {
+		drawShape(new Arc2D.Float(x, y, w, h, offset, length, Arc2D.OPEN));
+	}
+
+	/**
+	 * @see Graphics#drawFocus(int, int, int, int)
+	 */
+	@Override
+	public void drawFocus(int x, int y, int w, int h) {
+		setForegroundPaint();
+		g2d.setStroke(new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 1, new float[] { 1, 1 }, 0));
+		g2d.translate(0.5, 0.5);
+		g2d.draw(new Rectangle2D.Float(x, y, w, h));
+		g2d.translate(-0.5, -0.5);
+	}
+
+	/**
+	 * @see Graphics#drawImage(Image, int, int)
+	 */
+	@Override
+	public void drawImage(Image srcImage, int x, int y) {
+		g2d.drawImage(toAWT(srcImage), x, y, null);
+	}
+
+	/**
+	 * @see Graphics#drawImage(Image, int, int, int, int, int, int, int, int)
+	 */
+	@Override
+	public void drawImage(Image srcImage, int x1, int y1, int w1, int h1, int x2, int y2, int w2, int h2) {
+		g2d.drawImage(toAWT(srcImage), x2, y2, x2 + w2, y2 + h2, x1, y1, x1 + w1, y1 + h1, null);
+	}
+
+	private BufferedImage toAWT(Image image) {
+		return images.computeIfAbsent(image, i -> toAWT(i.getImageData()));
+	}
+
+	/**
+	 * Converts the pixels and the transparency of the given image data.
+	 */
+	static BufferedImage toAWT(ImageData data) {
+		BufferedImage result = new BufferedImage(data.width, data.height, BufferedImage.TYPE_INT_ARGB);
+		int[] pixels = new int[data.width];
+		int[] argb = new int[data.width];
+		boolean alpha = data.alphaData != null || data.alpha != -1;
+		for (int y = 0; y < data.height; y++) {
+			data.getPixels(0, y, data.width, pixels, 0);
+			for (int x = 0; x < data.width; x++) {
+				RGB rgb = data.palette.getRGB(pixels[x]);
+				int a;
+				if (pixels[x] == data.transparentPixel)
+					a = 0;
+				else
+					a = alpha ? data.getAlpha(x, y) : 255;
+				argb[x] = a << 24 | rgb.red << 16 | rgb.green << 8 | rgb.blue;
+			}
+			result.setRGB(0, y, data.width, 1, argb, 0, data.width);
+		}
+		return result;
+	}
+
+	/**
+	 * @see Graphics#drawLine(int, int, int, int)
+	 */
+	@Override
+	public void drawLine(int x1, int y1, int x2, int y2) {
+		drawShape(new Line2D.Float(x1, y1, x2, y2));
+	}
+
+	/**
+	 * @see Graphics#drawOval(int, int, int, int)
+	 */
+	@Override
+	public void drawOval(int x, int y, int w, int h) {
+		drawShape(new Ellipse2D.Float(x, y, w, h));
+	}
+
+	/**
+	 * @see Graphics#drawPolygon(PointList)
+	 */
+	@Override
+	public void drawPolygon(PointList points) {
+		drawShape(createPath(points, true));
+	}
+
+	/**
+	 * @see Graphics#drawPolyline(PointList)
+	 */
+	@Override
+	public void drawPolyline(PointList points) {
+		drawShape(createPath(points, false));
+	}
+
+	private Path2D createPath(PointList points, boolean closed) {
+		Path2D.Float path = new Path2D.Float(
+				currentState.fillRule == SWT.FILL_WINDING ? Path2D.WIND_NON_ZERO : Path2D.WIND_EVEN_ODD,
+				points.size());
+		int[] coordinates = points.toIntArray();
+		for (int i = 0; i < points.size(); i++) {
+			if (i == 0)
+				path.moveTo(coordinates[0], coordinates[1]);
+			else
+				path.lineTo(coordinates[i * 2], coordinates[i * 2 + 1]);
+		}
+		if (closed)
+			path.closePath();
+		return path;
+	}
+
+	/**
+	 * @see Graphics#drawRectangle(int, int, int, int)
+	 */
+	@Override
+	public void drawRectangle(int x, int y, int width, int height) {
+		drawShape(new Rectangle2D.Float(x, y, width, height));
+	}
+
+	/**
+	 * @see Graphics#drawRoundRectangle(Rectangle, int, int)
+	 */
+	@Override
+	public void drawRoundRectangle(Rectangle r, int arcWidth, int arcHeight) {
+		drawShape(new RoundRectangle2D.Float(r.x, r.y, r.width, r.height, arcWidth, arcHeight));
+	}
+
+	/**
+	 * @see Graphics#drawString(String, int, int)
+	 */
+	@Override
+	public void drawString(String s, int x, int y) {
+		paintText(new String[] { s }, x, y, false);
+	}
+
+	/**
+	 * @see Graphics#drawText(String, int, int)
+	 */
+	@Override
+	public void drawText(String s, int x, int y) {
+		paintText(getLines(s), x, y, false);
+	}
+
+	/**
+	 * @see Graphics#drawText(String, int, int, int)
+	 */
+	@Override
+	public void drawText(String s, int x, int y, int style) {
+		String[] lines = (style & SWT.DRAW_DELIMITER) != 0 ? s.split("\r\n|\r|\n", -1) : new String[] { s }; //$NON-NLS-1$
+		if ((style & SWT.DRAW_TAB) != 0)
+			for (int i = 0; i < lines.length; i++)
+				lines[i] = expandTabs(lines[i]);
+		paintText(lines, x, y, (style & SWT.DRAW_TRANSPARENT) == 0);
+	}
+
+	private static String[] getLines(String s) {
+		String[] lines = s.split("\r\n|\r|\n", -1); //$NON-NLS-1$
+		for (int i = 0; i < lines.length; i++)
+			lines[i] = expandTabs(lines[i]);
+		return lines;
+	}
+
+	private static String expandTabs(String line) {
+		if (line.indexOf('\t') == -1)
+			return line;
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (c == '\t')
+				do
+					result.append(' ');
+				while (result.length() % TAB_WIDTH != 0);
+			else
+				result.append(c);
+		}
+		return result.toString();
+	}
+
+	private void paintText(String[] lines, int x, int y, boolean fill) {
+		g2d.setFont(toAWT(currentState.font));
+		java.awt.FontMetrics metrics = g2d.getFontMetrics();
+		if (fill) {
+			int width = 0;
+			for (String line : lines)
+				width = Math.max(width, metrics.stringWidth(line));
+			setBackgroundPaint();
+			g2d.fillRect(x, y, width, metrics.getHeight() * lines.length);
+		}
+		setForegroundPaint();
+		for (int i = 0; i < lines.length; i++)
+			g2d.drawString(lines[i], x, y + metrics.getAscent() + i * metrics.getHeight());
+	}
+
+	private java.awt.Font toAWT(Font font) {
+		if (font == null)
+			return DEFAULT_FONT;
+		return fonts.computeIfAbsent(font, f -> {
+			FontData data = f.getFontData()[0];
+			int style = java.awt.Font.PLAIN;
+			if ((data.getStyle() & SWT.BOLD) != 0)
+				style |= java.awt.Font.BOLD;
+			if ((data.getStyle() & SWT.ITALIC) != 0)
+				style |= java.awt.Font.ITALIC;
+			return new java.awt.Font(data.getName(), style, 1).deriveFont(data.height * 96 / 72f);
+		});
+	}
+
+	/**
+	 * @see Graphics#fillArc(int, int, int, int, int, int)
+	 */
+	@Override
+	public void fillArc(int x, int y, int w, int h, int offset, int length) {
+		setBackgroundPaint();
+		g2d.fillArc(x, y, w, h, offset, length);
+	}
+
+	/**
+	 * @see Graphics#fillGradient(int, int, int, int, boolean)
+	 */
+	@Override
+	public void fillGradient(int x, int y, int w, int h, boolean vertical) {
+		java.awt.Color from = toAWT(currentState.fgColor, DEFAULT_FOREGROUND);
+		java.awt.Color to = toAWT(currentState.bgColor, DEFAULT_BACKGROUND);
+		g2d.setPaint(vertical ? new GradientPaint(x, y, from, x, y + h, to)
+				: new GradientPaint(x, y, from, x + w, y, to));
+		g2d.fillRect(x, y, w, h);
+	}
+
+	/**
+	 * @see Graphics#fillOval(int, int, int, int)
+	 */
+	@Override
+	public void fillOval(int x, int y, int w, int h) {
+		setBackgroundPaint();
+		g2d.fillOval(x, y, w, h);
+	}
+
+	/**
+	 * @see Graphics#fillPolygon(PointList)
+	 */
+	@Override
+	public void fillPolygon(PointList points) {
+		setBackgroundPaint();
+		g2d.fill(createPath(points, true));
+	}
+
+	/**
+	 * @see Graphics#fillRectangle(int, int, int, int)
+	 */
+	@Override
+	public void fillRectangle(int x, int y, int width, int height) {
+		setBackgroundPaint();
+		g2d.fillRect(x, y, width, height);
+	}
+
+	/**
+	 * @see Graphics#fillRoundRectangle(Rectangle, int, int)
+	 */
+	@Override
+	public void fillRoundRectangle(Rectangle r, int arcWidth, int arcHeight) {
+		setBackgroundPaint();
+		g2d.fillRoundRect(r.x, r.y, r.width, r.height, arcWidth, arcHeight);
+	}
+
+	/**
+	 * @see Graphics#fillString(String, int, int)
+	 */
+	@Override
+	public void fillString(String s, int x, int y) {
+		paintText(new String[] { s }, x, y, true);
+	}
+
+	/**
+	 * @see Graphics#fillText(String, int, int)
+	 */
+	@Override
+	public void fillText(String s, int x, int y) {
+		paintText(getLines(s), x, y, true);
+	}
+
+	/**
+	 * @see Graphics#getAbsoluteScale()
+	 */
+	@Override
+	public double getAbsoluteScale() {
+		AffineTransform transform = g2d.getTransform();
+		return Math.hypot(transform.getScaleX(), transform.getShearY());
+	}
+
+	/**
+	 * Returns <code>true</code>, as transformations and the other advanced
+	 * features are always available.
+	 *
+	 * @see Graphics#getAdvanced()
+	 */
+	@Override
+	public boolean getAdvanced() {
+		return true;
+	}
+
+	/**
+	 * @see Graphics#getAlpha()
+	 */
+	@Override
+	public int getAlpha() {
+		return currentState.alpha;
+	}
+
+	/**
+	 * @see Graphics#getAntialias()
+	 */
+	@Override
+	public int getAntialias() {
+		return currentState.antialias;
+	}
+
+	/**
+	 * Returns the color set last, or <code>null</code> if no color has been set,
+	 * in which case white is used.
+	 *
+	 * @see Graphics#getBackgroundColor()
+	 */
+	@Override
+	public Color getBackgroundColor() {
+		return currentState.bgColor;
+	}
+
+	/**
+	 * @see Graphics#getClip(Rectangle)
+	 */
+	@Override
+	public Rectangle getClip(Rectangle rect) {
+		java.awt.Rectangle bounds = g2d.getClipBounds();
+		return rect.setBounds(bounds.x, bounds.y, bounds.width, bounds.height);
+	}
+
+	/**
+	 * @see Graphics#getFillRule()
+	 */
+	@Override
+	public int getFillRule() {
+		return currentState.fillRule;
+	}
+
+	/**
+	 * Returns the font set last, or <code>null</code> if no font has been set, in
+	 * which case a 12 pixel dialog font is used.
+	 *
+	 * @see Graphics#getFont()
+	 */
+	@Override
+	public Font getFont() {
+		return currentState.font;
+	}
+
+	/**
+	 * Returns <code>null</code>, as SWT font metrics can not be created without a
+	 * <code>GC</code>. Text is scaled by {@link #scale(double)} instead.
+	 *
+	 * @see Graphics#getFontMetrics()
+	 */
+	@Override
+	public FontMetrics getFontMetrics() {
+		return null;
+	}
+
+	/**
+	 * Returns the color set last, or <code>null</code> if no color has been set,
+	 * in which case black is used.
+	 *
+	 * @see Graphics#getForegroundColor()
+	 */
+	@Override
+	public Color getForegroundColor() {
+		return currentState.fgColor;
+	}
+
+	/**
+	 * @see Graphics#getInterpolation()
+	 */
+	@Override
+	public int getInterpolation() {
+		return currentState.interpolation;
+	}
+
+	/**
+	 * @see Graphics#getLineAttributes()
+	 */
+	@Override
+	public LineAttributes getLineAttributes() {
+		return copy(currentState.lineAttributes);
+	}
+
+	/**
+	 * @see Graphics#getLineCap()
+	 */
+	@Override
+	public int getLineCap() {
+		return currentState.lineAttributes.cap;
+	}
+
+	/**
+	 * @see Graphics#getLineJoin()
+	 */
+	@Override
+	public int getLineJoin() {
+		return currentState.lineAttributes.join;
+	}
+
+	/**
+	 * @see Graphics#getLineMiterLimit()
+	 */
+	@Override
+	public float getLineMiterLimit() {
+		return currentState.lineAttributes.miterLimit;
+	}
+
+	/**
+	 * @see Graphics#getLineStyle()
+	 */
+	@Override
+	public int getLineStyle() {
+		return currentState.lineAttributes.style;
+	}
+
+	/**
+	 * @see Graphics#getLineWidth()
+	 */
+	@Override
+	public int getLineWidth() {
+		return (int) currentState.lineAttributes.width;
+	}
+
+	/**
+	 * @see Graphics#getLineWidthFloat()
+	 */
+	@Override
+	public float getLineWidthFloat() {
+		return currentState.lineAttributes.width;
+	}
+
+	/**
+	 * @see Graphics#getTextAntialias()
+	 */
+	@Override
+	public int getTextAntialias() {
+		return currentState.textAntialias;
+	}
+
+	/**
+	 * @see Graphics#getXORMode()
+	 */
+	@Override
+	public boolean getXORMode() {
+		return currentState.xorMode;
+	}
+
+	/**
+	 * @see Graphics#popState()
+	 */
+	@Override
+	public void popState() {
+		restoreState(stack.remove(stack.size() - 1));
+	}
+
+	/**
+	 * @see Graphics#pushState()
+	 */
+	@Override
+	public void pushState() {
+		State s = currentState.clone();
+		s.transform = g2d.getTransform();
+		s.clip = s.transform.createTransformedShape(g2d.getClip());
+		stack.add(s);
+	}
+
+	/**
+	 * @see Graphics#restoreState()
+	 */
+	@Override
+	public void restoreState() {
+		restoreState(stack.get(stack.size() - 1));
+	}
+
+	private void restoreState(State s) {
+		AffineTransform transform = s.transform;
+		Shape clip = s.clip;
+		currentState = s.clone();
+		g2d.setTransform(new AffineTransform());
+		g2d.setClip(clip);
+		g2d.setTransform(transform);
+		stroke = null;
+		applyHints();
+		applyComposite();
+	}
+
+	/**
+	 * @see Graphics#rotate(float)
+	 */
+	@Override
+	public void rotate(float degrees) {
+		g2d.rotate(Math.toRadians(degrees));
+	}
+
+	/**
+	 * @see Graphics#scale(double)
+	 */
+	@Override
+	public void scale(double amount) {
+		g2d.scale(amount, amount);
+	}
+
+	/**
+	 * @see Graphics#scale(float, float)
+	 */
+	@Override
+	public void scale(float horizontal, float vertical) {
+		g2d.scale(horizontal, vertical);
+	}
+
+	/**
+	 * Has no effect, as advanced graphics are always used.
+	 *
+	 * @see Graphics#setAdvanced(boolean)
+	 */
+	@Override
+	public void setAdvanced(boolean advanced) {
+	}
+
+	/**
+	 * @see Graphics#setAlpha(int)
+	 */
+	@Override
+	public void setAlpha(int alpha) {
+		currentState.alpha = alpha;
+		applyComposite();
+	}
+
+	/**
+	 * @see Graphics#setAntialias(int)
+	 */
+	@Override
+	public void setAntialias(int value) {
+		currentState.antialias = value;
+		applyHints();
+	}
+
+	/**
+	 * @see Graphics#setBackgroundColor(Color)
+	 */
+	@Override
+	public void setBackgroundColor(Color rgb) {
+		currentState.bgColor = rgb;
+	}
+
+	/**
+	 * @see Graphics#setClip(Rectangle)
+	 */
+	@Override
+	public void setClip(Rectangle r) {
+		g2d.setClip(r.x, r.y, r.width, r.height);
+	}
+
+	/**
+	 * @see Graphics#setFillRule(int)
+	 */
+	@Override
+	public void setFillRule(int rule) {
+		currentState.fillRule = rule;
+	}
+
+	/**
+	 * @see Graphics#setFont(Font)
+	 */
+	@Override
+	public void setFont(Font f) {
+		currentState.font = f;
+	}
+
+	/**
+	 * @see Graphics#setForegroundColor(Color)
+	 */
+	@Override
+	public void setForegroundColor(Color rgb) {
+		currentState.fgColor = rgb;
+	}
+
+	/**
+	 * @see Graphics#setInterpolation(int)
+	 */
+	@Override
+	public void setInterpolation(int interpolation) {
+		currentState.interpolation = interpolation;
+		applyHints();
+	}
+
+	/**
+	 * @see Graphics#setLineAttributes(LineAttributes)
+	 */
+	@Override
+	public void setLineAttributes(LineAttributes attributes) {
+		currentState.lineAttributes = copy(attributes);
+		stroke = null;
+	}
+
+	/**
+	 * @see Graphics#setLineCap(int)
+	 */
+	@Override
+	public void setLineCap(int cap) {
+		currentState.lineAttributes.cap = cap;
+		stroke = null;
+	}
+
+	/**
+	 * @see Graphics#setLineDash(int[])
+	 */
+	@Override
+	public void setLineDash(int[] dash) {
+		if (dash == null) {
+			setLineDash((float[]) null);
+			return;
+		}
+		float[] value = new float[dash.length];
+		for (int i = 0; i < dash.length; i++)
+			value[i] = dash[i];
+		setLineDash(value);
+	}
+
+	/**
+	 * @see Graphics#setLineDash(float[])
+	 */
+	@Override
+	public void setLineDash(float[] value) {
+		LineAttributes attributes = currentState.lineAttributes;
+		attributes.dash = value == null ? null : value.clone();
+		attributes.style = value == null ? SWT.LINE_SOLID : SWT.LINE_CUSTOM;
+		stroke = null;
+	}
+
+	/**
+	 * @see Graphics#setLineDashOffset(float)
+	 */
+	@Override
+	public void setLineDashOffset(float value) {
+		currentState.lineAttributes.dashOffset = value;
+		stroke = null;
+	}
+
+	/**
+	 * @see Graphics#setLineJoin(int)
+	 */
+	@Override
+	public void setLineJoin(int join) {
+		currentState.lineAttributes.join = join;
+		stroke = null;
+	}
+
+	/**
+	 * @see Graphics#setLineMiterLimit(float)
+	 */
+	@Override
+	public void setLineMiterLimit(float miterLimit) {
+		currentState.lineAttributes.miterLimit = miterLimit;
+		stroke = null;
+	}
+
+	/**
+	 * @see Graphics#setLineStyle(int)
+	 */
+	@Override
+	public void setLineStyle(int style) {
+		currentState.lineAttributes.style = style;
+		stroke = null;
+	}
+
+	/**
+	 * @see Graphics#setLineWidth(int)
+	 */
+	@Override
+	public void setLineWidth(int width) {
+		setLineWidthFloat(width);
+	}
+
+	/**
+	 * @see Graphics#setLineWidthFloat(float)
+	 */
+	@Override
+	public void setLineWidthFloat(float width) {
+		currentState.lineAttributes.width = width;
+		stroke = null;
+	}
+
+	/**
+	 * @see Graphics#setTextAntialias(int)
+	 */
+	@Override
+	public void setTextAntialias(int value) {
+		currentState.textAntialias = value;
+		applyHints();
+	}
+
+	/**
+	 * @see Graphics#setXORMode(boolean)
+	 */
+	@Override
+	public void setXORMode(boolean b) {
+		currentState.xorMode = b;
+		applyComposite();
+	}
+
+	/**
+	 * @see Graphics#shear(float, float)
+	 */
+	@Override
+	public void shear(float horz, float vert) {
+		g2d.shear(horz, vert);
+	}
+
+	/**
+	 * @see Graphics#translate(int, int)
+	 */
+	@Override
+	public void translate(int dx, int dy) {
+		g2d.translate(dx, dy);
+	}
+
+	/**
+	 * @see Graphics#translate(float, float)
+	 */
+	@Override
+	public void translate(float dx, float dy) {
+		g2d.translate(dx, dy);
+	}
+
+}
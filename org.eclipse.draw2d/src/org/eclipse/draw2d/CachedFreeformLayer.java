@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+/**
+ * A {@link FreeformLayer} which paints from cached image tiles in the same way
+ * as a {@link CachedLayer}. As the tiles are aligned to the layer's bounds, all
+ * tiles are rendered again whenever the freeform extent grows to the left or
+ * to the top.
+ *
+ * @since 3.15
+ */
+public class CachedFreeformLayer extends FreeformLayer {
+
+	private final TileCache cache;
+
+	/**
+	 * Constructs a layer using tiles of {@link CachedLayer#DEFAULT_TILE_SIZE}.
+	 */
+	public CachedFreeformLayer() {
+		this(CachedLayer.DEFAULT_TILE_SIZE);
+	}
+
+	/**
+	 * Constructs a layer using tiles of the given size.
+	 *
+	 * @param tileSize the width and height of a tile in pixels
+	 */
+	public CachedFreeformLayer(int tileSize) {
+		cache = new TileCache(this, super::paint, tileSize);
+	}
+
+	/**
+	 * @see IFigure#addNotify()
+	 */
+	@Override
+	public void addNotify() {
+		super.addNotify();
+		cache.hook();
+	}
+
+	/**
+	 * Discards the rendered tiles, so that the whole layer is rendered again on
+	 * the next paint. Clients need to call this only if the content changes
+	 * without being repainted.
+	 */
+	public void invalidateCache() {
+		cache.invalidate();
+	}
+
+	/**
+	 * Paints the layer from its cached tiles.
+	 *
+	 * @see IFigure#paint(Graphics)
+	 */
+	@Override
+	public void paint(Graphics graphics) {
+		cache.paint(graphics);
+	}
+
+	/**
+	 * @see IFigure#removeNotify()
+	 */
+	@Override
+	public void removeNotify() {
+		cache.unhook();
+		super.removeNotify();
+	}
+
+}
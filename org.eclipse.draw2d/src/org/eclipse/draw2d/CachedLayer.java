@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+/**
+ * A {@link Layer} which renders its content into off-screen image tiles and
+ * paints by copying those tiles. Only the tiles intersecting regions that this
+ * layer or its descendants have marked dirty are rendered again, so repainting
+ * other layers, e.g. while feedback is dragged over this layer, does not paint
+ * the content of this layer again.
+ * <P>
+ * This is intended for layers whose content rarely changes. The tiles include
+ * the background color of the layer, so it should be the bottom-most layer or
+ * opaque. While painting at a scale other than 1, the layer is painted
+ * directly. The least recently painted tiles are discarded once the cache
+ * holds 16 million pixels.
+ *
+ * @since 3.15
+ */
+public class CachedLayer extends Layer {
+
+	/**
+	 * The default width and height of a tile in pixels.
+	 */
+	public static final int DEFAULT_TILE_SIZE = TileCache.DEFAULT_TILE_SIZE;
+
+	private final TileCache cache;
+
+	/**
+	 * Constructs a layer using tiles of {@link #DEFAULT_TILE_SIZE}.
+	 */
+	public CachedLayer() {
+		this(DEFAULT_TILE_SIZE);
+	}
+
+	/**
+	 * Constructs a layer using tiles of the given size.
+	 *
+	 * @param tileSize the width and height of a tile in pixels
+	 */
+	public CachedLayer(int tileSize) {
+		cache = new TileCache(this, super::paint, tileSize);
+	}
+
+	/**
+	 * @see IFigure#addNotify()
+	 */
+	@Override
+	public void addNotify() {
+		super.addNotify();
+		cache.hook();
+	}
+
+	/**
+	 * Discards the rendered tiles, so that the whole layer is rendered again on
+	 * the next paint. Clients need to call this only if the content changes
+	 * without being repainted.
+	 */
+	public void invalidateCache() {
+		cache.invalidate();
+	}
+
+	/**
+	 * Paints the layer from its cached tiles.
+	 *
+	 * @see IFigure#paint(Graphics)
+	 */
+	@Override
+	public void paint(Graphics graphics) {
+		cache.paint(graphics);
+	}
+
+	/**
+	 * @see IFigure#removeNotify()
+	 */
+	@Override
+	public void removeNotify() {
+		cache.unhook();
+		super.removeNotify();
+	}
+
+}
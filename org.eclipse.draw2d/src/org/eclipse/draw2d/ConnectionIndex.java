@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * A uniform grid over the children of a {@link ConnectionLayer}. Polylines are
+ * registered in the cells touched by the boxes of their
+ * {@link SegmentBoundsTree} leaves and by the bounds of their children, other
+ * connections in the cells touched by their bounds. Figures which are not
+ * connections, and figures whose boxes cover too many cells, are returned by
+ * every query. Entries are refreshed lazily when their figure has moved, its
+ * points or children have changed, or one of its children has moved.
+ */
+final class ConnectionIndex {
+
+	private static final int CELL_SIZE = 128;
+	private static final int MAX_CELLS = 64;
+	private static final int SLACK = 2;
+
+	private static final class Entry {
+		final IFigure figure;
+		int order;
+		long[] cells;
+		int cellCount;
+		IFigure[] children;
+		boolean dirty = true;
+
+		Entry(IFigure figure, int order) {
+			this.figure = figure;
+			this.order = order;
+		}
+	}
+
+	private final Map<Long, List<Entry>> grid = new HashMap<>();
+	private final Map<IFigure, Entry> entries = new IdentityHashMap<>();
+	private final Set<Entry> unindexed = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final Set<Entry> dirty = new LinkedHashSet<>();
+	private final Rectangle box = new Rectangle();
+	private int nextOrder;
+
+	private final FigureListener moveListener = source -> invalidate(source);
+	private final PropertyChangeListener pointsListener = event -> invalidate((IFigure) event.getSource());
+	private final FigureListener childListener = source -> {
+		if (source.getParent() != null) {
+			invalidate(source.getParent());
+		}
+	};
+
+	/**
+	 * Adds a child of the layer.
+	 *
+	 * @param figure   the child
+	 * @param children the children of the layer, after adding the figure
+	 */
+	void add(IFigure figure, List<? extends IFigure> children) {
+		Entry entry = new Entry(figure, nextOrder++);
+		entries.put(figure, entry);
+		if (children.get(children.size() - 1) != figure) {
+			// inserted below other children, so renumber the z-order
+			nextOrder = 0;
+			for (IFigure child : children) {
+				Entry e = entries.get(child);
+				if (e != null) {
+					e.order = nextOrder++;
+				}
+			}
+		}
+		if (figure instanceof Connection) {
+			figure.addFigureListener(moveListener);
+			figure.addPropertyChangeListener(Connection.PROPERTY_POINTS, pointsListener);
+			dirty.add(entry);
+		} else {
+			unindexed.add(entry);
+		}
+	}
+
+	/**
+	 * Removes a child of the layer.
+	 *
+	 * @param figure the child
+	 */
+	void remove(IFigure figure) {
+		Entry entry = entries.remove(figure);
+		if (entry == null) {
+			return;
+		}
+		figure.removeFigureListener(moveListener);
+		figure.removePropertyChangeListener(Connection.PROPERTY_POINTS, pointsListener);
+		unregister(entry);
+		unhookChildren(entry);
+		unindexed.remove(entry);
+		dirty.remove(entry);
+	}
+
+	/**
+	 * Marks the entry of the given child of the layer as stale.
+	 *
+	 * @param figure the child
+	 */
+	void invalidate(IFigure figure) {
+		Entry entry = entries.get(figure);
+		// other figures are not indexed, and are returned by every query
+		if (entry != null && !entry.dirty && figure instanceof Connection) {
+			entry.dirty = true;
+			dirty.add(entry);
+		}
+	}
+
+	private void refresh() {
+		for (Entry entry : dirty) {
+			unregister(entry);
+			unhookChildren(entry);
+			unindexed.remove(entry);
+			entry.dirty = false;
+			if (!register(entry)) {
+				unregister(entry);
+				unindexed.add(entry);
+			}
+		}
+		dirty.clear();
+	}
+
+	/**
+	 * Registers the boxes of the entry's figure. Returns false if they cover too
+	 * many cells.
+	 */
+	private boolean register(Entry entry) {
+		IFigure figure = entry.figure;
+		if (figure instanceof Polyline polyline) {
+			int slack = Math.max(polyline.getTolerance(), (int) polyline.getLineWidthFloat()) + SLACK;
+			SegmentBoundsTree tree = polyline.getSegmentTree();
+			for (int leaf = 0; leaf < tree.getLeafCount(); leaf++) {
+				if (!register(entry, tree.getLeafBounds(leaf, box).expand(slack, slack))) {
+					return false;
+				}
+			}
+			if (polyline.getPoints().size() == 1) {
+				box.setBounds(polyline.getPoints().getFirstPoint().x, polyline.getPoints().getFirstPoint().y, 1, 1);
+				if (!register(entry, box.expand(slack, slack))) {
+					return false;
+				}
+			}
+			hookChildren(entry);
+			for (IFigure child : figure.getChildren()) {
+				int childSlack = slack;
+				if (child instanceof Polyline line) {
+					childSlack += Math.max(line.getTolerance(), (int) line.getLineWidthFloat());
+				}
+				if (!register(entry, box.setBounds(child.getBounds()).expand(childSlack, childSlack))) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return register(entry, box.setBounds(figure.getBounds()).expand(SLACK, SLACK));
+	}
+
+	private void hookChildren(Entry entry) {
+		List<? extends IFigure> children = entry.figure.getChildren();
+		if (children.isEmpty()) {
+			return;
+		}
+		entry.children = children.toArray(new IFigure[children.size()]);
+		for (IFigure child : entry.children) {
+			child.addFigureListener(childListener);
+		}
+	}
+
+	private void unhookChildren(Entry entry) {
+		if (entry.children == null) {
+			return;
+		}
+		for (IFigure child : entry.children) {
+			child.removeFigureListener(childListener);
+		}
+		entry.children = null;
+	}
+
+	private boolean register(Entry entry, Rectangle r) {
+		int left = Math.floorDiv(r.x, CELL_SIZE);
+		int top = Math.floorDiv(r.y, CELL_SIZE);
+		int right = Math.floorDiv(r.x + r.width - 1, CELL_SIZE);
+		int bottom = Math.floorDiv(r.y + r.height - 1, CELL_SIZE);
+		if ((long) (right - left + 1) * (bottom - top + 1) > MAX_CELLS) {
+			return false;
+		}
+		for (int row = top; row <= bottom; row++) {
+			for (int column = left; column <= right; column++) {
+				long key = key(column, row);
+				if (contains(entry, key)) {
+					continue;
+				}
+				if (entry.cellCount == MAX_CELLS) {
+					return false;
+				}
+				if (entry.cells == null) {
+					entry.cells = new long[4];
+				} else if (entry.cellCount == entry.cells.length) {
+					entry.cells = Arrays.copyOf(entry.cells, entry.cellCount * 2);
+				}
+				entry.cells[entry.cellCount++] = key;
+				grid.computeIfAbsent(Long.valueOf(key), k -> new ArrayList<>(4)).add(entry);
+			}
+		}
+		return true;
+	}
+
+	private static boolean contains(Entry entry, long key) {
+		for (int i = 0; i < entry.cellCount; i++) {
+			if (entry.cells[i] == key) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void unregister(Entry entry) {
+		for (int i = 0; i < entry.cellCount; i++) {
+			Long key = Long.valueOf(entry.cells[i]);
+			List<Entry> cell = grid.get(key);
+			cell.remove(entry);
+			if (cell.isEmpty()) {
+				grid.remove(key);
+			}
+		}
+		entry.cellCount = 0;
+	}
+
+	private static long key(int column, int row) {
+		return ((long) column << 32) | (row & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Returns the children which may contain the given point, topmost first.
+	 *
+	 * @param x the x coordinate, relative to the layer's children
+	 * @param y the y coordinate, relative to the layer's children
+	 * @return the candidates
+	 */
+	List<IFigure> getCandidates(int x, int y) {
+		refresh();
+		List<Entry> result = new ArrayList<>(unindexed);
+		List<Entry> cell = grid.get(Long.valueOf(key(Math.floorDiv(x, CELL_SIZE), Math.floorDiv(y, CELL_SIZE))));
+		if (cell != null) {
+			result.addAll(cell);
+		}
+		return sort(result);
+	}
+
+	/**
+	 * Returns the children which may touch the given rectangle, topmost first.
+	 *
+	 * @param r the rectangle, relative to the layer's children
+	 * @return the candidates
+	 */
+	List<IFigure> getCandidates(Rectangle r) {
+		refresh();
+		int left = Math.floorDiv(r.x, CELL_SIZE);
+		int top = Math.floorDiv(r.y, CELL_SIZE);
+		int right = Math.floorDiv(r.x + r.width - 1, CELL_SIZE);
+		int bottom = Math.floorDiv(r.y + r.height - 1, CELL_SIZE);
+		Set<Entry> result = Collections.newSetFromMap(new IdentityHashMap<>());
+		result.addAll(unindexed);
+		if ((long) (right - left + 1) * (bottom - top + 1) > grid.size()) {
+			for (List<Entry> cell : grid.values()) {
+				result.addAll(cell);
+			}
+		} else {
+			for (int row = top; row <= bottom; row++) {
+				for (int column = left; column <= right; column++) {
+					List<Entry> cell = grid.get(Long.valueOf(key(column, row)));
+					if (cell != null) {
+						result.addAll(cell);
+					}
+				}
+			}
+		}
+		return sort(new ArrayList<>(result));
+	}
+
+	private static List<IFigure> sort(List<Entry> candidates) {
+		candidates.sort((a, b) -> Integer.compare(b.order, a.order));
+		List<IFigure> result = new ArrayList<>(candidates.size());
+		Entry previous = null;
+		for (Entry entry : candidates) {
+			if (entry != previous) {
+				result.add(entry.figure);
+			}
+			previous = entry;
+		}
+		return result;
+	}
+
+}
@@ -12,11 +12,27 @@
  *******************************************************************************/
 package org.eclipse.draw2d;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.swt.SWT;
 
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+
 /**
  * Layer designed specifically to handle the presence of connections. This is
  * done due to the necessity of having a router for the connections added.
+ * <P>
+ * The layer keeps a spatial index of the segments of its connections, so that
+ * hit tests and {@link #findConnectionsTouching(Rectangle)} only examine the
+ * connections near the location in question.
+ * <P>
+ * When the layer is validated, its invalid connections are routed together,
+ * with one call to {@link ConnectionRouter#route(List)} per router, before
+ * they are laid out.
  */
 public class ConnectionLayer extends FreeformLayer {
 
@@ -27,6 +43,8 @@ public class ConnectionLayer extends FreeformLayer {
 	 */
 	protected ConnectionRouter connectionRouter;
 
+	private final ConnectionIndex index = new ConnectionIndex();
+
 	/**
 	 * Adds the given figure with the given contraint at the given index. If the
 	 * figure is a {@link Connection}, its {@link ConnectionRouter} is set.
@@ -39,6 +57,7 @@ public class ConnectionLayer extends FreeformLayer {
 	@Override
 	public void add(IFigure figure, Object constraint, int index) {
 		super.add(figure, constraint, index);
+		this.index.add(figure, getChildren());
 
 		// If the connection layout manager is set, then every
 		// figure added should use this layout manager.
@@ -46,6 +65,114 @@ public class ConnectionLayer extends FreeformLayer {
 			((Connection) figure).setConnectionRouter(getConnectionRouter());
 	}
 
+	/**
+	 * Tells the layer containing the given figure, as a child or as a child of a
+	 * child, that the figure's points or children may have changed.
+	 *
+	 * @param figure the changed figure
+	 */
+	static void invalidateIndex(IFigure figure) {
+		IFigure parent = figure.getParent();
+		if (parent instanceof ConnectionLayer layer) {
+			layer.index.invalidate(figure);
+		} else if (parent != null && parent.getParent() instanceof ConnectionLayer layer) {
+			layer.index.invalidate(parent);
+		}
+	}
+
+	/**
+	 * Overridden to test only the children near the point.
+	 *
+	 * @see Layer#containsPoint(int, int)
+	 */
+	@Override
+	public boolean containsPoint(int x, int y) {
+		if (isOpaque())
+			return super.containsPoint(x, y);
+		Point pt = Point.SINGLETON;
+		pt.setLocation(x, y);
+		translateFromParent(pt);
+		x = pt.x;
+		y = pt.y;
+		for (IFigure child : index.getCandidates(x, y)) {
+			if (child.containsPoint(x, y))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Overridden to search only the children near the point.
+	 *
+	 * @see Figure#findDescendantAtExcluding(int, int, TreeSearch)
+	 */
+	@Override
+	protected IFigure findDescendantAtExcluding(int x, int y, TreeSearch search) {
+		Point pt = Point.SINGLETON;
+		pt.setLocation(x, y);
+		translateFromParent(pt);
+		if (!getClientArea(Rectangle.SINGLETON).contains(pt))
+			return null;
+		x = pt.x;
+		y = pt.y;
+		for (IFigure fig : index.getCandidates(x, y)) {
+			if (fig.isVisible()) {
+				fig = fig.findFigureAt(x, y, search);
+				if (fig != null)
+					return fig;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Overridden to search only the children near the point.
+	 *
+	 * @see Figure#findMouseEventTargetInDescendantsAt(int, int)
+	 */
+	@Override
+	protected IFigure findMouseEventTargetInDescendantsAt(int x, int y) {
+		Point pt = Point.SINGLETON;
+		pt.setLocation(x, y);
+		translateFromParent(pt);
+		if (!getClientArea(Rectangle.SINGLETON).contains(pt))
+			return null;
+		x = pt.x;
+		y = pt.y;
+		for (IFigure fig : index.getCandidates(x, y)) {
+			if (fig.isVisible() && fig.isEnabled() && fig.containsPoint(x, y)) {
+				fig = fig.findMouseEventTargetAt(x, y);
+				if (fig != null)
+					return fig;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the connections on this layer whose points touch the given
+	 * rectangle, as defined by
+	 * {@link org.eclipse.draw2d.geometry.PointList#intersects(Rectangle)}. The
+	 * topmost connection comes first. Only the connections near the rectangle are
+	 * examined.
+	 *
+	 * @param rect the rectangle, in the coordinates of this layer's children
+	 * @return the touched connections
+	 * @since 3.15
+	 */
+	public List<Connection> findConnectionsTouching(Rectangle rect) {
+		List<Connection> result = new ArrayList<>();
+		for (IFigure fig : index.getCandidates(rect)) {
+			if (fig instanceof Polyline polyline && fig instanceof Connection connection) {
+				if (polyline.pointsIntersect(rect))
+					result.add(connection);
+			} else if (fig instanceof Connection connection && connection.getPoints().intersects(rect)) {
+				result.add(connection);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Returns the ConnectionRouter being used by this layer.
 	 * 
@@ -77,6 +204,7 @@ public class ConnectionLayer extends FreeformLayer {
 		if (figure instanceof Connection)
 			((Connection) figure).setConnectionRouter(null);
 		super.remove(figure);
+		index.remove(figure);
 	}
 
 	/**
@@ -94,6 +222,35 @@ public class ConnectionLayer extends FreeformLayer {
 		});
 	}
 
+	/**
+	 * Routes the invalid connections of this layer in batches, one per router,
+	 * before validating the layer.
+	 *
+	 * @see IFigure#validate()
+	 */
+	@Override
+	public void validate() {
+		if (!isValid())
+			routeConnections();
+		super.validate();
+	}
+
+	private void routeConnections() {
+		Map<ConnectionRouter, List<PolylineConnection>> batches = new IdentityHashMap<>();
+		for (IFigure child : getChildren()) {
+			if (child instanceof PolylineConnection connection) {
+				ConnectionRouter router = connection.getBatchRouter();
+				if (router != null)
+					batches.computeIfAbsent(router, r -> new ArrayList<>()).add(connection);
+			}
+		}
+		batches.forEach((router, connections) -> {
+			// connections revalidated while routing are routed again when laid out
+			connections.forEach(PolylineConnection::setRouted);
+			router.route(connections);
+		});
+	}
+
 	/**
 	 * Sets whether antialiasing should be enabled for the connection layer. If this
 	 * value is set to something other than {@link SWT#DEFAULT},
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.draw2d;
 
+import java.util.List;
+
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PointList;
 
@@ -45,6 +47,20 @@ public interface ConnectionRouter {
 	 */
 	void route(Connection connection);
 
+	/**
+	 * Routes the given Connections, which all use this router. A
+	 * {@link ConnectionLayer} calls this method once per validation with all of
+	 * its invalid connections, before they are laid out. Routers which can share
+	 * work between connections should override it. The default implementation
+	 * routes each connection in turn.
+	 *
+	 * @param connections The Connections to route
+	 * @since 3.15
+	 */
+	default void route(List<? extends Connection> connections) {
+		connections.forEach(this::route);
+	}
+
 	/**
 	 * Removes the Connection from this router.
 	 * 
@@ -147,20 +147,31 @@ public class DeferredUpdateManager extends UpdateManager {
 	@Override
 	protected void paint(GC gc) {
 		if (!validating) {
-			SWTGraphics graphics = new SWTGraphics(gc);
-			if (!updating) {
+			Rectangle rect = new Rectangle(gc.getClipping());
+			// A retained buffer only needs to paint its stale parts
+			BufferedGraphicsSource buffer = null;
+			if (graphicsSource instanceof BufferedGraphicsSource source && source.canPaint()) {
+				buffer = source;
+				rect = buffer.getStaleRegion(rect);
+			}
+			if (!updating && rect != null) {
 				/**
 				 * If a paint occurs not as part of an update, we should notify that the region
 				 * is being painted. Otherwise, notification already occurs in repairDamage().
+				 * Nothing is painted if the region is copied from the retained buffer.
 				 */
-				Rectangle rect = graphics.getClip(new Rectangle());
 				HashMap map = new HashMap();
 				map.put(root, rect);
 				firePainting(rect, map);
 			}
 			performValidation();
-			root.paint(graphics);
-			graphics.dispose();
+			if (buffer != null) {
+				buffer.paint(gc, root, rect);
+			} else {
+				SWTGraphics graphics = new SWTGraphics(gc);
+				root.paint(graphics);
+				graphics.dispose();
+			}
 		} else {
 			/*
 			 * If figures are being validated then we can simply add a dirty region here and
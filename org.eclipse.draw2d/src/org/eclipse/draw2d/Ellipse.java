@@ -70,7 +70,7 @@ public class Ellipse extends Shape {
 		int inset1 = (int) Math.floor(lineInset);
 		int inset2 = (int) Math.ceil(lineInset);
 
-		Rectangle r = Rectangle.SINGLETON.setBounds(getBounds());
+		Rectangle r = getBounds().getCopy();
 		r.x += inset1;
 		r.y += inset1;
 		r.width -= inset1 + inset2;
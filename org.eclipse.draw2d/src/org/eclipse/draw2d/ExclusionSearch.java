@@ -11,6 +11,8 @@
 package org.eclipse.draw2d;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * A <code>TreeSearch</code> that excludes figures contained in a
@@ -21,15 +23,25 @@ import java.util.Collection;
  */
 public class ExclusionSearch implements TreeSearch {
 
+	// larger collections that are not sets are copied into a hash set, as the
+	// collection is probed for every figure visited by the search
+	private static final int MAX_LINEAR_PROBE_SIZE = 8;
+
 	private final Collection<IFigure> c;
 
 	/**
-	 * Constructs an Exclusion search using the given collection.
+	 * Constructs an Exclusion search using the given collection. If the collection
+	 * is not a {@link Set}, it may be copied, so changes to it after the search has
+	 * been constructed are not guaranteed to be seen by the search.
 	 * 
 	 * @param collection the exclusion set
 	 */
 	public ExclusionSearch(Collection<IFigure> collection) {
-		this.c = collection;
+		if (collection instanceof Set || collection.size() <= MAX_LINEAR_PROBE_SIZE) {
+			this.c = collection;
+		} else {
+			this.c = new HashSet<>(collection);
+		}
 	}
 
 	/**
@@ -16,9 +16,12 @@ import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -41,6 +44,14 @@ public class Figure implements IFigure {
 	private static final Rectangle PRIVATE_RECT = new Rectangle();
 	private static final Point PRIVATE_POINT = new Point();
 
+	/**
+	 * The number of running {@link BufferedImageExport exports}, which may paint
+	 * figures on several threads. While there are any, painting uses a scratch
+	 * rectangle per thread instead of the shared ones.
+	 */
+	static final AtomicInteger RUNNING_EXPORTS = new AtomicInteger();
+	private static final ThreadLocal<Rectangle> THREAD_RECT = ThreadLocal.withInitial(Rectangle::new);
+
 	private static final int FLAG_VALID = 1;
 	private static final int FLAG_OPAQUE = 1 << 1;
 	private static final int FLAG_VISIBLE = 1 << 2;
@@ -49,6 +60,8 @@ public class Figure implements IFigure {
 	private static final int FLAG_FOCUS_TRAVERSABLE = 1 << 5;
 
 	static final int FLAG_REALIZED = 1 << 31;
+	/** set while children are added or removed by addAll or removeAll */
+	private static final int FLAG_BULK_CHANGE = 1 << 30;
 
 	/**
 	 * The largest flag defined in this class. If subclasses define flags, they
@@ -123,6 +136,13 @@ public class Figure implements IFigure {
 
 	private AncestorHelper ancestorHelper;
 
+	/**
+	 * The scale thresholds of the levels of detail, in ascending order, and the
+	 * representations painted below them.
+	 */
+	private double[] detailScales;
+	private LevelOfDetail[] detailLevels;
+
 	/**
 	 * Calls {@link #add(IFigure, Object, int)} with -1 as the index.
 	 * 
@@ -161,11 +181,58 @@ public class Figure implements IFigure {
 		if (layoutManager != null)
 			layoutManager.setConstraint(figure, constraint);
 
-		revalidate();
+		boolean bulk = getFlag(FLAG_BULK_CHANGE);
+		if (!bulk)
+			revalidate();
 
 		if (getFlag(FLAG_REALIZED))
 			figure.addNotify();
-		figure.repaint();
+		if (!bulk)
+			figure.repaint();
+	}
+
+	/**
+	 * Calls {@link #addAll(List, int)} with -1 as the index.
+	 *
+	 * @param figures the figures to add
+	 * @since 3.15
+	 */
+	public final void addAll(List<? extends IFigure> figures) {
+		addAll(figures, -1);
+	}
+
+	/**
+	 * Adds the given figures as children of this figure, starting at the given
+	 * index, with <code>null</code> constraints. Each figure is added with
+	 * {@link #add(IFigure, Object, int)}, but this figure is revalidated and
+	 * repainted only once, after all figures have been added.
+	 *
+	 * @param figures the figures to add, in order
+	 * @param index   the index of the first figure, or -1 to append them
+	 * @since 3.15
+	 */
+	public void addAll(List<? extends IFigure> figures, int index) {
+		if (index < -1 || index > children.size())
+			throw new IndexOutOfBoundsException("Index does not exist"); //$NON-NLS-1$
+		if (figures.isEmpty())
+			return;
+		if (children.equals(Collections.emptyList()))
+			children = new ArrayList<>(figures.size());
+		else if (children instanceof ArrayList<IFigure> list)
+			list.ensureCapacity(children.size() + figures.size());
+
+		boolean bulk = getFlag(FLAG_BULK_CHANGE);
+		setFlag(FLAG_BULK_CHANGE, true);
+		try {
+			for (IFigure figure : figures)
+				add(figure, null, index == -1 ? -1 : index++);
+		} finally {
+			setFlag(FLAG_BULK_CHANGE, bulk);
+			Rectangle dirty = getChildrenBounds(figures);
+			if (dirty != null)
+				repaint(dirty);
+			revalidate();
+		}
 	}
 
 	/**
@@ -334,7 +401,7 @@ public class Figure implements IFigure {
 		if (getParent() == null || !isVisible())
 			return;
 
-		Rectangle r = new Rectangle(getBounds());
+		Rectangle r = PRIVATE_RECT.setBounds(getBounds());
 		getParent().translateToParent(r);
 		getParent().repaint(r.x, r.y, r.width, r.height);
 	}
@@ -699,6 +766,26 @@ public class Figure implements IFigure {
 		return layoutManager;
 	}
 
+	/**
+	 * Returns the representation painted in place of this figure at the given
+	 * scale. This is the representation with the smallest threshold above the
+	 * scale, or <code>null</code> if the figure is painted in full.
+	 * 
+	 * @param scale the absolute scale
+	 * @return <code>null</code> or the level of detail for the scale
+	 * @see #setLevelOfDetail(double, LevelOfDetail)
+	 * @since 3.15
+	 */
+	public LevelOfDetail getLevelOfDetail(double scale) {
+		if (detailScales != null) {
+			for (int i = 0; i < detailScales.length; i++) {
+				if (scale < detailScales[i])
+					return detailLevels[i];
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Returns an Iterator over the listeners of type <i>clazz</i> that are
 	 * listening to this Figure. If there are no listeners of type <i>clazz</i>, an
@@ -1169,8 +1256,13 @@ public class Figure implements IFigure {
 		if (font != null)
 			graphics.setFont(font);
 
+		LevelOfDetail levelOfDetail = detailLevels == null ? null : getLevelOfDetail(graphics.getAbsoluteScale());
 		graphics.pushState();
 		try {
+			if (levelOfDetail != null) {
+				levelOfDetail.paint(this, graphics);
+				return;
+			}
 			paintFigure(graphics);
 			graphics.restoreState();
 			paintClientArea(graphics);
@@ -1205,24 +1297,32 @@ public class Figure implements IFigure {
 	 */
 	protected void paintChildren(Graphics graphics) {
 		for (IFigure child : children) {
-			if (child.isVisible()) {
-				// determine clipping areas for child
-				Rectangle[] clipping = null;
-				if (clippingStrategy != null) {
-					clipping = clippingStrategy.getClip(child);
-				} else {
-					// default clipping behaviour is to clip at bounds
-					clipping = new Rectangle[] { child.getBounds() };
-				}
-				// child may now paint inside the clipping areas
-				for (int j = 0; j < clipping.length; j++) {
-					if (clipping[j].intersects(graphics.getClip(Rectangle.SINGLETON))) {
-						graphics.clipRect(clipping[j]);
-						child.paint(graphics);
-						graphics.restoreState();
-					}
-				}
+			if (!child.isVisible())
+				continue;
+			if (clippingStrategy == null) {
+				// default clipping behaviour is to clip at bounds
+				paintChild(graphics, child, child.getBounds());
+				continue;
 			}
+			// child may now paint inside the clipping areas
+			for (Rectangle clipping : clippingStrategy.getClip(child))
+				paintChild(graphics, child, clipping);
+		}
+	}
+
+	/**
+	 * Returns the given shared rectangle for use as a scratch object while
+	 * painting, or a rectangle of the current thread while exports are running.
+	 */
+	private static Rectangle getPaintScratch(Rectangle shared) {
+		return RUNNING_EXPORTS.get() == 0 ? shared : THREAD_RECT.get();
+	}
+
+	private static void paintChild(Graphics graphics, IFigure child, Rectangle clipping) {
+		if (clipping.intersects(graphics.getClip(getPaintScratch(Rectangle.SINGLETON)))) {
+			graphics.clipRect(clipping);
+			child.paint(graphics);
+			graphics.restoreState();
 		}
 	}
 
@@ -1242,7 +1342,7 @@ public class Figure implements IFigure {
 		if (useLocalCoordinates()) {
 			graphics.translate(getBounds().x + getInsets().left, getBounds().y + getInsets().top);
 			if (!optimizeClip())
-				graphics.clipRect(getClientArea(PRIVATE_RECT));
+				graphics.clipRect(getClientArea(getPaintScratch(PRIVATE_RECT)));
 			graphics.pushState();
 			paintChildren(graphics);
 			graphics.popState();
@@ -1251,7 +1351,7 @@ public class Figure implements IFigure {
 			if (optimizeClip())
 				paintChildren(graphics);
 			else {
-				graphics.clipRect(getClientArea(PRIVATE_RECT));
+				graphics.clipRect(getClientArea(getPaintScratch(PRIVATE_RECT)));
 				graphics.pushState();
 				paintChildren(graphics);
 				graphics.popState();
@@ -1318,6 +1418,12 @@ public class Figure implements IFigure {
 			figure.removeNotify();
 		if (layoutManager != null)
 			layoutManager.remove(figure);
+		if (getFlag(FLAG_BULK_CHANGE)) {
+			figure.setParent(null);
+			// removeAll goes from the last child to the first
+			children.remove(children.lastIndexOf(figure));
+			return;
+		}
 		// The updates in the UpdateManager *have* to be
 		// done asynchronously, else will result in
 		// incorrect dirty region corrections.
@@ -1330,12 +1436,68 @@ public class Figure implements IFigure {
 	/**
 	 * Removes all children from this Figure.
 	 * 
-	 * @see #remove(IFigure)
+	 * @see #removeAll(Collection)
 	 * @since 2.0
 	 */
 	public void removeAll() {
-		List<? extends IFigure> list = new ArrayList<>(getChildren());
-		list.forEach(this::remove);
+		removeAll(getChildren());
+	}
+
+	/**
+	 * Removes the given children from this Figure. Each child is removed with
+	 * {@link #remove(IFigure)}, from the last one to the first one, but this
+	 * figure is revalidated and repainted only once, after all children have been
+	 * removed.
+	 *
+	 * @param figures the children to remove
+	 * @throws IllegalArgumentException if a figure is not a child of this figure
+	 * @since 3.15
+	 */
+	public void removeAll(Collection<? extends IFigure> figures) {
+		if (figures.isEmpty())
+			return;
+		Map<IFigure, Integer> indices = new IdentityHashMap<>(children.size());
+		for (int i = 0; i < children.size(); i++)
+			indices.put(children.get(i), Integer.valueOf(i));
+		List<IFigure> list = new ArrayList<>(figures);
+		for (IFigure figure : list)
+			if (figure.getParent() != this)
+				throw new IllegalArgumentException("Figure is not a child"); //$NON-NLS-1$
+		list.sort((a, b) -> indices.get(b).compareTo(indices.get(a)));
+
+		Rectangle dirty = getChildrenBounds(list);
+		boolean bulk = getFlag(FLAG_BULK_CHANGE);
+		setFlag(FLAG_BULK_CHANGE, true);
+		try {
+			for (IFigure figure : list)
+				if (figure.getParent() == this)
+					remove(figure);
+		} finally {
+			setFlag(FLAG_BULK_CHANGE, bulk);
+			if (dirty != null)
+				repaint(dirty);
+			revalidate();
+		}
+	}
+
+	/**
+	 * Returns the union of the bounds of the given figures which are visible
+	 * children of this figure, in the coordinates of this figure's bounds, or
+	 * <code>null</code> if there are none.
+	 */
+	private Rectangle getChildrenBounds(Collection<? extends IFigure> figures) {
+		Rectangle result = null;
+		for (IFigure figure : figures) {
+			if (figure.getParent() != this || !figure.isVisible())
+				continue;
+			if (result == null)
+				result = figure.getBounds().getCopy();
+			else
+				result.union(figure.getBounds());
+		}
+		if (result != null)
+			translateToParent(result);
+		return result;
 	}
 
 	/**
@@ -1749,12 +1911,66 @@ public class Figure implements IFigure {
 		revalidate();
 	}
 
+	/**
+	 * Registers a cheaper representation which is painted in place of this figure,
+	 * its children and its border whenever the figure is painted at an absolute
+	 * scale below the given threshold. Several representations may be registered
+	 * for different thresholds; the one with the smallest threshold above the scale
+	 * is used. Passing <code>null</code> removes the representation registered for
+	 * the threshold.
+	 * 
+	 * @param scale          the threshold, such as 0.25
+	 * @param representation <code>null</code> or the representation
+	 * @see Graphics#getAbsoluteScale()
+	 * @since 3.15
+	 */
+	public void setLevelOfDetail(double scale, LevelOfDetail representation) {
+		int count = detailScales == null ? 0 : detailScales.length;
+		int index = 0;
+		while (index < count && detailScales[index] < scale)
+			index++;
+		boolean present = index < count && detailScales[index] == scale;
+		if (representation == null) {
+			if (!present)
+				return;
+			if (count == 1) {
+				detailScales = null;
+				detailLevels = null;
+			} else {
+				double[] scales = new double[count - 1];
+				LevelOfDetail[] levels = new LevelOfDetail[count - 1];
+				System.arraycopy(detailScales, 0, scales, 0, index);
+				System.arraycopy(detailScales, index + 1, scales, index, count - index - 1);
+				System.arraycopy(detailLevels, 0, levels, 0, index);
+				System.arraycopy(detailLevels, index + 1, levels, index, count - index - 1);
+				detailScales = scales;
+				detailLevels = levels;
+			}
+		} else if (present) {
+			detailLevels[index] = representation;
+		} else {
+			double[] scales = new double[count + 1];
+			LevelOfDetail[] levels = new LevelOfDetail[count + 1];
+			if (count > 0) {
+				System.arraycopy(detailScales, 0, scales, 0, index);
+				System.arraycopy(detailScales, index, scales, index + 1, count - index);
+				System.arraycopy(detailLevels, 0, levels, 0, index);
+				System.arraycopy(detailLevels, index, levels, index + 1, count - index);
+			}
+			scales[index] = scale;
+			levels[index] = representation;
+			detailScales = scales;
+			detailLevels = levels;
+		}
+		repaint();
+	}
+
 	/**
 	 * @see IFigure#setLocation(Point)
 	 */
 	@Override
 	public void setLocation(Point p) {
-		if (getLocation().equals(p))
+		if (getBounds().x == p.x() && getBounds().y == p.y())
 			return;
 		Rectangle r = new Rectangle(getBounds());
 		r.setLocation(p);
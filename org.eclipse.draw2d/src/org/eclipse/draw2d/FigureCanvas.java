@@ -290,11 +290,13 @@ public class FigureCanvas extends Canvas {
 	private void hookViewport() {
 		getViewport().getHorizontalRangeModel().addPropertyChangeListener(horizontalChangeListener);
 		getViewport().getVerticalRangeModel().addPropertyChangeListener(verticalChangeListener);
+		getViewport().setScroller(this::scrollViewport);
 	}
 
 	private void unhookViewport() {
 		getViewport().getHorizontalRangeModel().removePropertyChangeListener(horizontalChangeListener);
 		getViewport().getVerticalRangeModel().removePropertyChangeListener(verticalChangeListener);
+		getViewport().setScroller(null);
 	}
 
 	private void layoutViewport() {
@@ -318,6 +320,28 @@ public class FigureCanvas extends Canvas {
 		}
 	}
 
+	/**
+	 * @see org.eclipse.swt.widgets.Control#redraw()
+	 */
+	@Override
+	public void redraw() {
+		if (lws != null) {
+			lws.controlRedrawn(new Rectangle(0, 0, getSize().x, getSize().y));
+		}
+		super.redraw();
+	}
+
+	/**
+	 * @see org.eclipse.swt.widgets.Control#redraw(int, int, int, int, boolean)
+	 */
+	@Override
+	public void redraw(int x, int y, int width, int height, boolean all) {
+		if (lws != null) {
+			lws.controlRedrawn(new Rectangle(x, y, width, height));
+		}
+		super.redraw(x, y, width, height, all);
+	}
+
 	/**
 	 * Scrolls in an animated way to the new x and y location.
 	 *
@@ -364,7 +388,8 @@ public class FigureCanvas extends Canvas {
 	 * Scrolls the contents to the new x and y location. If this scroll operation
 	 * only consists of a vertical or horizontal scroll, a call will be made to
 	 * {@link #scrollToY(int)} or {@link #scrollToX(int)}, respectively, to increase
-	 * performance.
+	 * performance. Otherwise the pixels of the viewport are moved along both axes,
+	 * and only the exposed areas are repainted.
 	 *
 	 * @param x the x coordinate to scroll to
 	 * @param y the y coordinate to scroll to
@@ -393,39 +418,7 @@ public class FigureCanvas extends Canvas {
 		if (hOffset == hOffsetOld) {
 			return;
 		}
-		int dx = -hOffset + hOffsetOld;
-
-		Rectangle clientArea = getViewport().getBounds().getCropped(getViewport().getInsets());
-		Rectangle blit = clientArea.getResized(-Math.abs(dx), 0);
-		Rectangle expose = clientArea.getCopy();
-		Point dest = clientArea.getTopLeft();
-		expose.width = Math.abs(dx);
-		if (dx < 0) { // Moving left?
-			blit.translate(-dx, 0); // Move blit area to the right
-			expose.x = dest.x + blit.width;
-		} else {
-			// Moving right
-			dest.x += dx; // Move expose area to the right
-		}
-
-		// fix for bug 41111
-		Control[] children = getChildren();
-		boolean[] manualMove = new boolean[children.length];
-		for (int i = 0; i < children.length; i++) {
-			org.eclipse.swt.graphics.Rectangle bounds = children[i].getBounds();
-			manualMove[i] = blit.width <= 0 || bounds.x > blit.x + blit.width || bounds.y > blit.y + blit.height
-					|| bounds.x + bounds.width < blit.x || bounds.y + bounds.height < blit.y;
-		}
-		scroll(dest.x, dest.y, blit.x, blit.y, blit.width, blit.height, true);
-		for (int i = 0; i < children.length; i++) {
-			if (children[i].isDisposed()) {
-				continue;
-			}
-			org.eclipse.swt.graphics.Rectangle bounds = children[i].getBounds();
-			if (manualMove[i]) {
-				children[i].setBounds(bounds.x + dx, bounds.y, bounds.width, bounds.height);
-			}
-		}
+		Rectangle expose = blit(-hOffset + hOffsetOld, 0);
 
 		getViewport().setIgnoreScroll(true);
 		getViewport().setHorizontalLocation(hOffset);
@@ -445,19 +438,45 @@ public class FigureCanvas extends Canvas {
 		if (vOffset == vOffsetOld) {
 			return;
 		}
-		int dy = -vOffset + vOffsetOld;
+		Rectangle expose = blit(0, -vOffset + vOffsetOld);
+
+		getViewport().setIgnoreScroll(true);
+		getViewport().setVerticalLocation(vOffset);
+		getViewport().setIgnoreScroll(false);
+		redraw(expose.x, expose.y, expose.width, expose.height, true);
+	}
 
+	/**
+	 * Moves the pixels of the viewport's client area by the given amount along one
+	 * axis, and returns the area which is exposed.
+	 *
+	 * @param dx the horizontal amount, or zero
+	 * @param dy the vertical amount, or zero
+	 * @return the exposed area
+	 */
+	private Rectangle blit(int dx, int dy) {
 		Rectangle clientArea = getViewport().getBounds().getCropped(getViewport().getInsets());
-		Rectangle blit = clientArea.getResized(0, -Math.abs(dy));
+		Rectangle blit = clientArea.getResized(-Math.abs(dx), -Math.abs(dy));
 		Rectangle expose = clientArea.getCopy();
 		Point dest = clientArea.getTopLeft();
-		expose.height = Math.abs(dy);
-		if (dy < 0) { // Moving up?
-			blit.translate(0, -dy); // Move blit area down
-			expose.y = dest.y + blit.height; // Move expose area down
+		if (dx != 0) {
+			expose.width = Math.abs(dx);
+			if (dx < 0) { // Moving left?
+				blit.translate(-dx, 0); // Move blit area to the right
+				expose.x = dest.x + blit.width;
+			} else {
+				// Moving right
+				dest.x += dx; // Move expose area to the right
+			}
 		} else {
-			// Moving down
-			dest.y += dy;
+			expose.height = Math.abs(dy);
+			if (dy < 0) { // Moving up?
+				blit.translate(0, -dy); // Move blit area down
+				expose.y = dest.y + blit.height; // Move expose area down
+			} else {
+				// Moving down
+				dest.y += dy;
+			}
 		}
 
 		// fix for bug 41111
@@ -465,24 +484,34 @@ public class FigureCanvas extends Canvas {
 		boolean[] manualMove = new boolean[children.length];
 		for (int i = 0; i < children.length; i++) {
 			org.eclipse.swt.graphics.Rectangle bounds = children[i].getBounds();
-			manualMove[i] = blit.height <= 0 || bounds.x > blit.x + blit.width || bounds.y > blit.y + blit.height
+			manualMove[i] = blit.isEmpty() || bounds.x > blit.x + blit.width || bounds.y > blit.y + blit.height
 					|| bounds.x + bounds.width < blit.x || bounds.y + bounds.height < blit.y;
 		}
 		scroll(dest.x, dest.y, blit.x, blit.y, blit.width, blit.height, true);
+		lws.controlScrolled(dest.x, dest.y, blit, expose);
 		for (int i = 0; i < children.length; i++) {
 			if (children[i].isDisposed()) {
 				continue;
 			}
 			org.eclipse.swt.graphics.Rectangle bounds = children[i].getBounds();
 			if (manualMove[i]) {
-				children[i].setBounds(bounds.x, bounds.y + dy, bounds.width, bounds.height);
+				children[i].setBounds(bounds.x + dx, bounds.y + dy, bounds.width, bounds.height);
 			}
 		}
+		return expose;
+	}
 
-		getViewport().setIgnoreScroll(true);
-		getViewport().setVerticalLocation(vOffset);
-		getViewport().setIgnoreScroll(false);
-		redraw(expose.x, expose.y, expose.width, expose.height, true);
+	/**
+	 * Moves the pixels of the viewport when its view location is changed by other
+	 * means than the scroll bars, and damages only the exposed area, so that it is
+	 * painted with the next update.
+	 */
+	private boolean scrollViewport(int dx, int dy) {
+		if (isDisposed()) {
+			return false;
+		}
+		getViewport().repaint(blit(dx, dy));
+		return true;
 	}
 
 	/**
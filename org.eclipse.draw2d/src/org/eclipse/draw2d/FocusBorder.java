@@ -11,6 +11,7 @@
 package org.eclipse.draw2d;
 
 import org.eclipse.draw2d.geometry.Insets;
+import org.eclipse.draw2d.geometry.Rectangle;
 
 /**
  * A Border that looks like the system's focus rectangle.
@@ -46,12 +47,12 @@ public class FocusBorder extends AbstractBorder {
 	 */
 	@Override
 	public void paint(IFigure figure, Graphics graphics, Insets insets) {
-		tempRect.setBounds(getPaintRectangle(figure, insets));
-		tempRect.width--;
-		tempRect.height--;
+		Rectangle r = getPaintRectangle(figure, insets);
+		r.width--;
+		r.height--;
 		graphics.setForegroundColor(ColorConstants.black);
 		graphics.setBackgroundColor(ColorConstants.white);
-		graphics.drawFocus(tempRect);
+		graphics.drawFocus(r);
 	}
 
 }
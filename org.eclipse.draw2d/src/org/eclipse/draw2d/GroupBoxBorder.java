@@ -67,8 +67,7 @@ public class GroupBoxBorder extends AbstractLabeledBorder {
 	 */
 	@Override
 	public void paint(IFigure figure, Graphics g, Insets insets) {
-		tempRect.setBounds(getPaintRectangle(figure, insets));
-		Rectangle r = tempRect;
+		Rectangle r = getPaintRectangle(figure, insets);
 		if (r.isEmpty())
 			return;
 
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Records all figures containing a point in the order in which
+ * {@link IFigure#findFigureAt(int, int, TreeSearch)} visits them, so that
+ * several searches at the same point only walk the figure tree once. Searches
+ * are answered by replaying the recorded traversal, which yields the same
+ * result as searching the figure tree as long as it does not change.
+ * <P>
+ * Figures which override the search methods of {@link Figure} (other than the
+ * transparency of {@link Layer} and the index of {@link ConnectionLayer}) may
+ * implement arbitrary search logic. If such a figure contains the point, the
+ * searches are delegated to the figure tree.
+ */
+final class HitTestResult {
+
+	private static final ClassValue<Boolean> REPLAYABLE = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			if (!Figure.class.isAssignableFrom(type))
+				return Boolean.FALSE;
+			for (Class<?> c = type; c != Figure.class; c = c.getSuperclass()) {
+				// the connection layer searches the same children, using its index
+				if ((c != Layer.class && declares(c, "findFigureAt", int.class, int.class, TreeSearch.class)) //$NON-NLS-1$
+						|| (c != ConnectionLayer.class
+								&& declares(c, "findDescendantAtExcluding", int.class, int.class, TreeSearch.class)) //$NON-NLS-1$
+						|| declares(c, "findMouseEventTargetAt", int.class, int.class) //$NON-NLS-1$
+						|| (c != ConnectionLayer.class
+								&& declares(c, "findMouseEventTargetInDescendantsAt", int.class, int.class))) //$NON-NLS-1$
+					return Boolean.FALSE;
+			}
+			return Boolean.TRUE;
+		}
+
+		private boolean declares(Class<?> type, String name, Class<?>... parameterTypes) {
+			try {
+				type.getDeclaredMethod(name, parameterTypes);
+				return true;
+			} catch (NoSuchMethodException e) {
+				return false;
+			}
+		}
+	};
+
+	private static final class Node {
+		final IFigure figure;
+		final List<Node> children = new ArrayList<>(2);
+
+		Node(IFigure figure) {
+			this.figure = figure;
+		}
+	}
+
+	/**
+	 * A search which accepts nothing, so the whole traversal is performed, and
+	 * records the figures it is asked about.
+	 */
+	private final class Recorder implements TreeSearch {
+		private final Deque<Node> path = new ArrayDeque<>();
+
+		@Override
+		public boolean accept(IFigure figure) {
+			if (path.isEmpty() || path.pop().figure != figure)
+				replayable = false;
+			return false;
+		}
+
+		@Override
+		public boolean prune(IFigure figure) {
+			Node node = new Node(figure);
+			if (path.isEmpty()) {
+				if (top != null)
+					replayable = false;
+				top = node;
+			} else {
+				path.peek().children.add(node);
+			}
+			path.push(node);
+			if (!REPLAYABLE.get(figure.getClass()).booleanValue())
+				replayable = false;
+			return false;
+		}
+	}
+
+	private final IFigure root;
+	private final int x;
+	private final int y;
+	private Node top;
+	private boolean replayable = true;
+
+	/**
+	 * Records the figures of the given tree that contain the given point.
+	 *
+	 * @param root the root of the figure tree
+	 * @param x    the x coordinate, relative to the root's parent
+	 * @param y    the y coordinate, relative to the root's parent
+	 */
+	HitTestResult(IFigure root, int x, int y) {
+		this.root = root;
+		this.x = x;
+		this.y = y;
+		Recorder recorder = new Recorder();
+		root.findFigureAt(x, y, recorder);
+		if (!recorder.path.isEmpty())
+			replayable = false;
+	}
+
+	/**
+	 * Returns the figure that {@link IFigure#findFigureAt(int, int, TreeSearch)}
+	 * returns for the recorded root and point.
+	 *
+	 * @param search the search
+	 * @return the figure accepted by the search, or <code>null</code>
+	 */
+	IFigure findFigureAt(TreeSearch search) {
+		if (!replayable)
+			return root.findFigureAt(x, y, search);
+		return top == null ? null : find(top, search);
+	}
+
+	private static IFigure find(Node node, TreeSearch search) {
+		if (search.prune(node.figure))
+			return null;
+		for (Node child : node.children) {
+			IFigure result = find(child, search);
+			if (result != null)
+				return result;
+		}
+		if (search.accept(node.figure)) {
+			// transparent layers are never found themselves
+			if (node.figure instanceof Layer && !node.figure.isOpaque())
+				return null;
+			return node.figure;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the figure that {@link IFigure#findMouseEventTargetAt(int, int)}
+	 * returns for the recorded root and point.
+	 *
+	 * @return the mouse event target, or <code>null</code>
+	 */
+	IFigure findMouseEventTargetAt() {
+		// a disabled root layer is not recorded, but is asked for a target
+		if (!replayable || top == null)
+			return root.findMouseEventTargetAt(x, y);
+		return findMouseEventTarget(top);
+	}
+
+	private static IFigure findMouseEventTarget(Node node) {
+		for (Node child : node.children) {
+			if (child.figure.isEnabled()) {
+				IFigure result = findMouseEventTarget(child);
+				if (result != null)
+					return result;
+			}
+		}
+		if (((Figure) node.figure).isMouseEventTarget())
+			return node.figure;
+		return null;
+	}
+
+	/**
+	 * @param figure the root of the figure tree
+	 * @param x      the x coordinate
+	 * @param y      the y coordinate
+	 * @return <code>true</code> if this result has been recorded for the given
+	 *         root and point
+	 */
+	boolean isFor(IFigure figure, int x, int y) {
+		return root == figure && this.x == x && this.y == y;
+	}
+
+}
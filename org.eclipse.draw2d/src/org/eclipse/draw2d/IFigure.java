@@ -384,6 +384,18 @@ public interface IFigure {
 		return getBounds().getLocation();
 	}
 
+	/**
+	 * Stores the top-left corner of this Figure's bounds in the given Point,
+	 * without allocating a new one.
+	 * 
+	 * @param result the Point to set
+	 * @return <code>result</code> for convenience
+	 * @since 3.15
+	 */
+	default Point getLocation(Point result) {
+		return getBounds().getLocation(result);
+	}
+
 	/**
 	 * Returns a hint indicating the largest desireable size for the IFigure.
 	 * Returned Dimension is by value.
@@ -449,6 +461,18 @@ public interface IFigure {
 	 */
 	Dimension getSize();
 
+	/**
+	 * Stores the current size in the given Dimension, without allocating a new
+	 * one.
+	 * 
+	 * @param result the Dimension to set
+	 * @return <code>result</code> for convenience
+	 * @since 3.15
+	 */
+	default Dimension getSize(Dimension result) {
+		return getBounds().getSize(result);
+	}
+
 	/**
 	 * Returns a IFigure that is the tooltip for this IFigure.
 	 * 
@@ -38,7 +38,9 @@ public interface IScalablePane extends ScalableFigure {
 	public static final class IScalablePaneHelper {
 
 		static Graphics prepareScaledGraphics(final Graphics graphics, IScalablePane figurePane) {
-			Graphics graphicsToUse = (figurePane.useScaledGraphics()) ? new ScaledGraphics(graphics) : graphics;
+			Graphics graphicsToUse = (figurePane.useScaledGraphics() && !scalesText(graphics))
+					? new ScaledGraphics(graphics)
+					: graphics;
 			if (!figurePane.optimizeClip()) {
 				graphicsToUse.clipRect(figurePane.getBounds().getShrinked(figurePane.getInsets()));
 			}
@@ -47,6 +49,14 @@ public interface IScalablePane extends ScalableFigure {
 			return graphicsToUse;
 		}
 
+		/**
+		 * Returns whether the graphics scales text itself. A ScaledGraphics would
+		 * need font metrics, which the export graphics can not provide.
+		 */
+		private static boolean scalesText(Graphics graphics) {
+			return graphics instanceof BufferedImageGraphics || graphics instanceof SVGGraphics;
+		}
+
 		static void cleanupScaledGraphics(final Graphics graphics, final Graphics graphicsUsed) {
 			graphicsUsed.popState();
 
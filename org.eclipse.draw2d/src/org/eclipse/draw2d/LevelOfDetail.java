@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+/**
+ * A cheaper representation of a figure, painted in place of the figure, its
+ * children and its border when the figure is shown at a small scale. The scale
+ * is the {@link Graphics#getAbsoluteScale() absolute scale} of the Graphics
+ * passed to {@link IFigure#paint(Graphics)}, so figures inside a zoomed
+ * {@link ScalableFreeformLayeredPane} or {@link ScalableLayeredPane} switch
+ * representations as the zoom changes.
+ *
+ * @see Figure#setLevelOfDetail(double, LevelOfDetail)
+ * @since 3.15
+ */
+@FunctionalInterface
+public interface LevelOfDetail {
+
+	/**
+	 * Fills the bounds of the figure with its background color.
+	 */
+	LevelOfDetail FILLED_BOUNDS = (figure, graphics) -> {
+		graphics.setBackgroundColor(figure.getBackgroundColor());
+		graphics.fillRectangle(figure.getBounds());
+	};
+
+	/**
+	 * Paints nothing. Used for text and decorations which cannot be read at small
+	 * scales.
+	 */
+	LevelOfDetail HIDDEN = (figure, graphics) -> {
+		// nothing to paint
+	};
+
+	/**
+	 * Paints the given figure. The figure's local colors and font have been set on
+	 * the Graphics, and its state is restored afterwards.
+	 *
+	 * @param figure   the figure
+	 * @param graphics the graphics used to paint
+	 */
+	void paint(IFigure figure, Graphics graphics);
+
+}
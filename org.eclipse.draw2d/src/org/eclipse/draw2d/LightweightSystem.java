@@ -54,11 +54,13 @@ import org.eclipse.draw2d.geometry.Rectangle;
 public class LightweightSystem {
 
 	private Canvas canvas;
+	private BufferedGraphicsSource bufferedSource;
 	IFigure contents;
 	private IFigure root;
 	private EventDispatcher dispatcher;
 	private UpdateManager manager = new DeferredUpdateManager();
 	private int ignoreResize;
+	private boolean coalesceMouseMoves;
 
 	/**
 	 * Constructs a LightweightSystem on Canvas <i>c</i>.
@@ -200,9 +202,38 @@ public class LightweightSystem {
 	 * @since 2.0
 	 */
 	public void paint(GC gc) {
+		// Only a FigureCanvas reports when it is asked to redraw, so the image buffer
+		// of other controls can not be trusted where they are painted
+		if (bufferedSource != null && !(canvas instanceof FigureCanvas))
+			bufferedSource.invalidate(new Rectangle(gc.getClipping()));
 		getUpdateManager().paint(gc);
 	}
 
+	/**
+	 * Keeps the image buffer of the graphics source in sync with the pixels of the
+	 * control after they have been moved with {@link Canvas#scroll}.
+	 * 
+	 * @param destX   the x coordinate of the destination
+	 * @param destY   the y coordinate of the destination
+	 * @param source  the area which was moved
+	 * @param exposed the area which was left behind
+	 */
+	void controlScrolled(int destX, int destY, Rectangle source, Rectangle exposed) {
+		if (bufferedSource != null)
+			bufferedSource.scroll(destX, destY, source, exposed);
+	}
+
+	/**
+	 * Marks the given area of the graphics source's image buffer as stale, after
+	 * the control has been asked to redraw it.
+	 * 
+	 * @param area the area to redraw
+	 */
+	void controlRedrawn(Rectangle area) {
+		if (bufferedSource != null)
+			bufferedSource.invalidate(area);
+	}
+
 	/**
 	 * Sets the contents of the LightweightSystem to the passed figure. This figure
 	 * should be the top-level Figure in a Draw2d application.
@@ -227,10 +258,13 @@ public class LightweightSystem {
 		if (canvas == c)
 			return;
 		canvas = c;
-		if ((c.getStyle() & SWT.DOUBLE_BUFFERED) != 0)
+		if ((c.getStyle() & SWT.DOUBLE_BUFFERED) != 0) {
+			bufferedSource = null;
 			getUpdateManager().setGraphicsSource(new NativeGraphicsSource(canvas));
-		else
-			getUpdateManager().setGraphicsSource(new BufferedGraphicsSource(canvas));
+		} else {
+			bufferedSource = new BufferedGraphicsSource(canvas);
+			getUpdateManager().setGraphicsSource(bufferedSource);
+		}
 		getEventDispatcher().setControl(c);
 		addListeners();
 
@@ -241,6 +275,31 @@ public class LightweightSystem {
 		root.revalidate();
 	}
 
+	/**
+	 * Returns whether mouse move events are coalesced.
+	 * 
+	 * @return <code>true</code> if mouse moves are coalesced
+	 * @see #setMouseMoveCoalescing(boolean)
+	 * @since 3.15
+	 */
+	public boolean isMouseMoveCoalescing() {
+		return coalesceMouseMoves;
+	}
+
+	/**
+	 * Sets whether mouse move events are coalesced. If enabled, a mouse move is
+	 * dispatched once the events queued before it have been processed, and only if
+	 * no further mouse move has been received meanwhile. Thus, only the latest
+	 * location is processed when the UI thread falls behind. Pending mouse moves
+	 * are dispatched before any other event. Disabled by default.
+	 * 
+	 * @param value <code>true</code> to coalesce mouse moves
+	 * @since 3.15
+	 */
+	public void setMouseMoveCoalescing(boolean value) {
+		coalesceMouseMoves = value;
+	}
+
 	/**
 	 * Sets this LightweightSystem's EventDispatcher.
 	 * 
@@ -350,15 +409,43 @@ public class LightweightSystem {
 	 */
 	protected class EventHandler implements MouseMoveListener, MouseListener, AccessibleControlListener, KeyListener,
 			TraverseListener, FocusListener, AccessibleListener, MouseTrackListener, Listener, DisposeListener {
+		private MouseEvent pendingMouseMove;
+		private final Runnable mouseMoveFlusher = this::flushMouseMove;
+
+		private void dispatchMouseMoved(MouseEvent e) {
+			EventDispatcher eventDispatcher = getEventDispatcher();
+			if (eventDispatcher instanceof SWTEventDispatcher swtDispatcher) {
+				// the dispatcher and the handlers of the move share one
+				// traversal of the figure tree
+				swtDispatcher.setCacheHitTests(true);
+				try {
+					swtDispatcher.dispatchMouseMoved(e);
+				} finally {
+					swtDispatcher.setCacheHitTests(false);
+				}
+			} else {
+				eventDispatcher.dispatchMouseMoved(e);
+			}
+		}
+
+		private void flushMouseMove() {
+			MouseEvent e = pendingMouseMove;
+			pendingMouseMove = null;
+			if (e != null && !e.widget.isDisposed())
+				dispatchMouseMoved(e);
+		}
+
 		/** @see FocusListener#focusGained(FocusEvent) */
 		@Override
 		public void focusGained(FocusEvent e) {
+			flushMouseMove();
 			getEventDispatcher().dispatchFocusGained(e);
 		}
 
 		/** @see FocusListener#focusLost(FocusEvent) */
 		@Override
 		public void focusLost(FocusEvent e) {
+			flushMouseMove();
 			getEventDispatcher().dispatchFocusLost(e);
 		}
 
@@ -503,6 +590,7 @@ public class LightweightSystem {
 		 */
 		@Override
 		public void handleEvent(Event event) {
+			flushMouseMove();
 			// Mouse wheel events
 			if (event.type == SWT.MouseWheel)
 				getEventDispatcher().dispatchMouseWheelScrolled(event);
@@ -511,18 +599,21 @@ public class LightweightSystem {
 		/** @see KeyListener#keyPressed(KeyEvent) */
 		@Override
 		public void keyPressed(KeyEvent e) {
+			flushMouseMove();
 			getEventDispatcher().dispatchKeyPressed(e);
 		}
 
 		/** @see KeyListener#keyReleased(KeyEvent) */
 		@Override
 		public void keyReleased(KeyEvent e) {
+			flushMouseMove();
 			getEventDispatcher().dispatchKeyReleased(e);
 		}
 
 		/** @see TraverseListener#keyTraversed(TraverseEvent) */
 		@Override
 		public void keyTraversed(TraverseEvent e) {
+			flushMouseMove();
 			/*
 			 * Doit is almost always false by default for Canvases with KeyListeners. Set to
 			 * true to allow normal behavior. For example, in Dialogs ESC should close.
@@ -534,42 +625,54 @@ public class LightweightSystem {
 		/** @see MouseListener#mouseDoubleClick(MouseEvent) */
 		@Override
 		public void mouseDoubleClick(MouseEvent e) {
+			flushMouseMove();
 			getEventDispatcher().dispatchMouseDoubleClicked(e);
 		}
 
 		/** @see MouseListener#mouseDown(MouseEvent) */
 		@Override
 		public void mouseDown(MouseEvent e) {
+			flushMouseMove();
 			getEventDispatcher().dispatchMousePressed(e);
 		}
 
 		/** @see MouseTrackListener#mouseEnter(MouseEvent) */
 		@Override
 		public void mouseEnter(MouseEvent e) {
+			flushMouseMove();
 			getEventDispatcher().dispatchMouseEntered(e);
 		}
 
 		/** @see MouseTrackListener#mouseExit(MouseEvent) */
 		@Override
 		public void mouseExit(MouseEvent e) {
+			flushMouseMove();
 			getEventDispatcher().dispatchMouseExited(e);
 		}
 
 		/** @see MouseTrackListener#mouseHover(MouseEvent) */
 		@Override
 		public void mouseHover(MouseEvent e) {
+			flushMouseMove();
 			getEventDispatcher().dispatchMouseHover(e);
 		}
 
 		/** @see MouseMoveListener#mouseMove(MouseEvent) */
 		@Override
 		public void mouseMove(MouseEvent e) {
-			getEventDispatcher().dispatchMouseMoved(e);
+			if (!coalesceMouseMoves) {
+				dispatchMouseMoved(e);
+				return;
+			}
+			if (pendingMouseMove == null)
+				e.display.asyncExec(mouseMoveFlusher);
+			pendingMouseMove = e;
 		}
 
 		/** @see MouseListener#mouseUp(MouseEvent) */
 		@Override
 		public void mouseUp(MouseEvent e) {
+			flushMouseMove();
 			getEventDispatcher().dispatchMouseReleased(e);
 		}
 
@@ -13,6 +13,7 @@ package org.eclipse.draw2d;
 import org.eclipse.swt.graphics.Color;
 
 import org.eclipse.draw2d.geometry.Insets;
+import org.eclipse.draw2d.geometry.Rectangle;
 
 /**
  * Provides for a line border with sides of equal widths.
@@ -124,17 +125,17 @@ public class LineBorder extends AbstractBorder {
 	 */
 	@Override
 	public void paint(IFigure figure, Graphics graphics, Insets insets) {
-		tempRect.setBounds(getPaintRectangle(figure, insets));
+		Rectangle r = getPaintRectangle(figure, insets);
 		if (getWidth() % 2 == 1) {
-			tempRect.width--;
-			tempRect.height--;
+			r.width--;
+			r.height--;
 		}
-		tempRect.shrink(getWidth() / 2, getWidth() / 2);
+		r.shrink(getWidth() / 2, getWidth() / 2);
 		graphics.setLineWidth(getWidth());
 		graphics.setLineStyle(getStyle());
 		if (getColor() != null)
 			graphics.setForegroundColor(getColor());
-		graphics.drawRectangle(tempRect);
+		graphics.drawRectangle(r);
 	}
 
 	/**
@@ -28,8 +28,14 @@ import org.eclipse.draw2d.geometry.Rectangle;
  */
 public class Polyline extends AbstractPointListShape {
 
+	/**
+	 * The number of points above which hit tests use a {@link SegmentBoundsTree}.
+	 */
+	private static final int SEGMENT_TREE_THRESHOLD = 2 * SegmentBoundsTree.LEAF_SIZE;
+
 	private int tolerance = 2;
 	private static final Rectangle LINEBOUNDS = Rectangle.SINGLETON;
+	private SegmentBoundsTree segmentTree;
 
 	{
 		setFill(false);
@@ -51,7 +57,36 @@ public class Polyline extends AbstractPointListShape {
 
 	@Override
 	protected boolean shapeContainsPoint(int x, int y) {
-		return Geometry.polylineContainsPoint(points, x, y, tolerance);
+		if (points.size() <= SEGMENT_TREE_THRESHOLD)
+			return Geometry.polylineContainsPoint(points, x, y, tolerance);
+		return getSegmentTree().containsPoint(x, y, tolerance);
+	}
+
+	/**
+	 * Returns the bounding box hierarchy of the current points. It is discarded
+	 * whenever the points change through this figure.
+	 */
+	SegmentBoundsTree getSegmentTree() {
+		if (segmentTree == null)
+			segmentTree = new SegmentBoundsTree(points);
+		return segmentTree;
+	}
+
+	/**
+	 * Returns whether the polyline touches the given rectangle, as defined by
+	 * {@link PointList#intersects(Rectangle)}.
+	 *
+	 * @param rect the rectangle
+	 * @return <code>true</code> if a point or segment touches the rectangle
+	 */
+	boolean pointsIntersect(Rectangle rect) {
+		if (points.size() <= SEGMENT_TREE_THRESHOLD)
+			return points.intersects(rect);
+		return getSegmentTree().intersects(rect);
+	}
+
+	int getTolerance() {
+		return tolerance;
 	}
 
 	/**
@@ -107,6 +142,7 @@ public class Polyline extends AbstractPointListShape {
 	public void removeAllPoints() {
 		super.removeAllPoints();
 		bounds = null;
+		segmentTree = null;
 	}
 
 	/**
@@ -151,6 +187,20 @@ public class Polyline extends AbstractPointListShape {
 	@Override
 	public void repaint() {
 		bounds = null;
+		segmentTree = null;
+		ConnectionLayer.invalidateIndex(this);
 		super.repaint();
 	}
+
+	/**
+	 * Overridden to update the hit testing of a {@link ConnectionLayer}, as
+	 * children have been added, removed or changed.
+	 *
+	 * @see Figure#invalidate()
+	 */
+	@Override
+	public void invalidate() {
+		ConnectionLayer.invalidateIndex(this);
+		super.invalidate();
+	}
 }
\ No newline at end of file
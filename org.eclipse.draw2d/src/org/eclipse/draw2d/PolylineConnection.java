@@ -35,6 +35,8 @@ public class PolylineConnection extends Polyline implements Connection, AnchorLi
 	private ConnectionAnchor startAnchor, endAnchor;
 	private ConnectionRouter connectionRouter = ConnectionRouter.NULL;
 	private RotatableDecoration startArrow, endArrow;
+	/** set while this connection has been routed by its layer but not laid out */
+	private boolean routed;
 
 	{
 		setLayoutManager(new DelegatingLayout());
@@ -170,8 +172,9 @@ public class PolylineConnection extends Polyline implements Connection, AnchorLi
 	 */
 	@Override
 	public void layout() {
-		if (getSourceAnchor() != null && getTargetAnchor() != null)
+		if (!routed && getSourceAnchor() != null && getTargetAnchor() != null)
 			connectionRouter.route(this);
+		routed = false;
 
 		Rectangle oldBounds = bounds;
 		super.layout();
@@ -219,6 +222,7 @@ public class PolylineConnection extends Polyline implements Connection, AnchorLi
 	 */
 	@Override
 	public void revalidate() {
+		routed = false;
 		super.revalidate();
 		connectionRouter.invalidate(this);
 	}
@@ -325,6 +329,27 @@ public class PolylineConnection extends Polyline implements Connection, AnchorLi
 			add(endArrow, new ArrowLocator(this, ConnectionLocator.TARGET));
 	}
 
+	/**
+	 * Returns the router which may route this connection together with the other
+	 * connections of the layer, or <code>null</code> if this connection routes
+	 * itself when it is laid out. Connections with routing listeners route
+	 * themselves, so that the listeners see each connection.
+	 */
+	ConnectionRouter getBatchRouter() {
+		if (isValid() || connectionRouter instanceof RoutingNotifier || getSourceAnchor() == null
+				|| getTargetAnchor() == null)
+			return null;
+		return connectionRouter;
+	}
+
+	/**
+	 * Marks this connection as routed, so that it is not routed again when it is
+	 * laid out. The mark is cleared by {@link #revalidate()}.
+	 */
+	void setRouted() {
+		routed = true;
+	}
+
 	private void unhookSourceAnchor() {
 		if (getSourceAnchor() != null)
 			getSourceAnchor().removeAnchorListener(this);
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.io.Writer;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Writes figures as SVG documents with an {@link SVGGraphics}, without a
+ * <code>Display</code>. The document is written while the figure is painted,
+ * and figures outside the exported area are not painted, so the memory needed
+ * does not grow with the size of the figure.
+ * <P>
+ * The figure must be valid, and must not be changed while it is written.
+ *
+ * @since 3.15
+ */
+public final class SVGExport {
+
+	private SVGExport() {
+	}
+
+	/**
+	 * Writes the given area of the figure as an SVG document. The writer is
+	 * flushed, but not closed. An {@link java.io.UncheckedIOException} is thrown if
+	 * writing fails.
+	 *
+	 * @param figure the figure
+	 * @param area   the area to write, in the coordinates of the figure's bounds
+	 * @param scale  the scale of the document
+	 * @param out    the writer
+	 */
+	public static void write(IFigure figure, Rectangle area, double scale, Writer out) {
+		int width = Math.max(1, (int) Math.ceil(area.width * scale));
+		int height = Math.max(1, (int) Math.ceil(area.height * scale));
+		Graphics graphics = new SVGGraphics(out, width, height);
+		try {
+			graphics.scale(scale);
+			graphics.translate(-area.x, -area.y);
+			figure.paint(graphics);
+		} finally {
+			graphics.dispose();
+		}
+	}
+
+}
@@ -0,0 +1,1086 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.FontMetrics;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.LineAttributes;
+
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * A <code>Graphics</code> which writes what is drawn as SVG elements to a
+ * {@link Writer}, as it is drawn. Nothing but the state of the graphics is
+ * retained, so documents of any size are written with constant memory.
+ * <P>
+ * Elements outside the clip are dropped, and elements crossing it are clipped.
+ * Styles are written as CSS classes, which are shared by the elements using the
+ * same style. The clip is kept as the bounds of the clipped rectangles, in
+ * document coordinates. Font sizes are converted from points to pixels at 96
+ * pixels per inch. XOR mode, paths, patterns and text layouts are not
+ * supported, and {@link #getFontMetrics()} returns <code>null</code>. Scalable
+ * panes therefore scale this graphics directly instead of through a
+ * {@link ScaledGraphics}, so text keeps its font size and is transformed.
+ * <P>
+ * WARNING: This class is not intended to be subclassed.
+ *
+ * @since 3.15
+ */
+public class SVGGraphics extends Graphics {
+
+	private static final String DEFAULT_FOREGROUND = "#000000"; //$NON-NLS-1$
+	private static final String DEFAULT_BACKGROUND = "#ffffff"; //$NON-NLS-1$
+	private static final String DEFAULT_FONT = "font-family:sans-serif;font-size:12px"; //$NON-NLS-1$
+	/** the most styles and clips whose definitions are remembered for reuse */
+	private static final int MAX_DEFINITIONS = 1024;
+
+	private static class State implements Cloneable {
+		AffineTransform transform = new AffineTransform();
+		/** the clip, in document coordinates */
+		Rectangle2D clip;
+		Color fgColor;
+		Color bgColor;
+		Font font;
+		int alpha = 255;
+		boolean xorMode;
+		int antialias = SWT.DEFAULT;
+		int textAntialias = SWT.DEFAULT;
+		int interpolation = SWT.DEFAULT;
+		int fillRule = SWT.FILL_EVEN_ODD;
+		LineAttributes lineAttributes = new LineAttributes(1);
+
+		@Override
+		protected State clone() {
+			try {
+				State copy = (State) super.clone();
+				copy.transform = new AffineTransform(transform);
+				copy.clip = (Rectangle2D) clip.clone();
+				copy.lineAttributes = new LineAttributes(lineAttributes.width, lineAttributes.cap,
+						lineAttributes.join, lineAttributes.style,
+						lineAttributes.dash == null ? null : lineAttributes.dash.clone(), lineAttributes.dashOffset,
+						lineAttributes.miterLimit);
+				return copy;
+			} catch (CloneNotSupportedException e) {
+				throw new AssertionError(e);
+			}
+		}
+	}
+
+	private final Writer out;
+	private State currentState = new State();
+	private final List<State> stack = new ArrayList<>();
+	private final Map<String, String> styles = createCache();
+	private final Map<Rectangle2D, String> clips = createCache();
+	private final Map<Image, String> images = new IdentityHashMap<>();
+	private int nextId;
+	private boolean disposed;
+
+	/**
+	 * Creates a graphics which writes an SVG document of the given size to the
+	 * given writer. The clip is set to the bounds of the document. The document is
+	 * completed by {@link #dispose()}.
+	 *
+	 * @param out    the writer
+	 * @param width  the width of the document, in pixels
+	 * @param height the height of the document, in pixels
+	 */
+	public SVGGraphics(Writer out, int width, int height) {
+		this.out = out;
+		currentState.clip = new Rectangle2D.Double(0, 0, width, height);
+		write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"); //$NON-NLS-1$
+		write("<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"" //$NON-NLS-1$
+				+ width + "\" height=\"" + height + "\" viewBox=\"0 0 " + width + " " + height + "\">\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	private static <K> Map<K, String> createCache() {
+		return new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, String> eldest) {
+				return size() > MAX_DEFINITIONS;
+			}
+		};
+	}
+
+	private void write(String s) {
+		try {
+			out.write(s);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private String nextId(String prefix) {
+		return prefix + Integer.toString(nextId++, 36);
+	}
+
+	static String format(double value) {
+		long rounded = Math.round(value * 1000);
+		if (rounded % 1000 == 0)
+			return Long.toString(rounded / 1000);
+		return BigDecimal.valueOf(rounded, 3).stripTrailingZeros().toPlainString();
+	}
+
+	private static String toHex(Color color, String defaultColor) {
+		if (color == null)
+			return defaultColor;
+		return String.format("#%02x%02x%02x", Integer.valueOf(color.getRed()), Integer.valueOf(color.getGreen()), //$NON-NLS-1$
+				Integer.valueOf(color.getBlue()));
+	}
+
+	private static String escape(String text) {
+		StringBuilder result = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+			case '<' -> result.append("&lt;"); //$NON-NLS-1$
+			case '>' -> result.append("&gt;"); //$NON-NLS-1$
+			case '&' -> result.append("&amp;"); //$NON-NLS-1$
+			case '"' -> result.append("&quot;"); //$NON-NLS-1$
+			default -> {
+				if (c >= 0x20 || c == '\t')
+					result.append(c);
+			}
+			}
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Returns the class of the given style, and writes its definition the first
+	 * time it is used.
+	 */
+	private String getStyleClass(String style) {
+		String styleClass = styles.get(style);
+		if (styleClass == null) {
+			styleClass = nextId("s"); //$NON-NLS-1$
+			styles.put(style, styleClass);
+			write("<style>." + styleClass + "{" + style + "}</style>\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		return styleClass;
+	}
+
+	private String getOpacity(Color color) {
+		int alpha = currentState.alpha * (color == null ? 255 : color.getAlpha()) / 255;
+		return alpha == 255 ? "" : ";opacity:" + format(alpha / 255.0); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private String getFillStyle() {
+		Color color = currentState.bgColor;
+		return "fill:" + toHex(color, DEFAULT_BACKGROUND) + ";stroke:none" //$NON-NLS-1$ //$NON-NLS-2$
+				+ (currentState.fillRule == SWT.FILL_WINDING ? ";fill-rule:nonzero" : ";fill-rule:evenodd") //$NON-NLS-1$ //$NON-NLS-2$
+				+ getOpacity(color);
+	}
+
+	private String getStrokeStyle() {
+		Color color = currentState.fgColor;
+		LineAttributes attributes = currentState.lineAttributes;
+		double width = Math.max(attributes.width, 1) * getAbsoluteScale();
+		StringBuilder style = new StringBuilder("fill:none;stroke:").append(toHex(color, DEFAULT_FOREGROUND)); //$NON-NLS-1$
+		style.append(";stroke-width:").append(format(width)); //$NON-NLS-1$
+		float[] dash = switch (attributes.style) {
+		case SWT.LINE_DASH -> new float[] { 18, 6 };
+		case SWT.LINE_DOT -> new float[] { 3, 3 };
+		case SWT.LINE_DASHDOT -> new float[] { 9, 6, 3, 6 };
+		case SWT.LINE_DASHDOTDOT -> new float[] { 9, 3, 3, 3, 3, 3 };
+		case SWT.LINE_CUSTOM -> attributes.dash;
+		default -> null;
+		};
+		if (dash != null) {
+			double unit = attributes.style == SWT.LINE_CUSTOM ? getAbsoluteScale() : width;
+			style.append(";stroke-dasharray:"); //$NON-NLS-1$
+			for (int i = 0; i < dash.length; i++)
+				style.append(i == 0 ? "" : ",").append(format(dash[i] * unit)); //$NON-NLS-1$ //$NON-NLS-2$
+			if (attributes.dashOffset != 0)
+				style.append(";stroke-dashoffset:").append(format(attributes.dashOffset * unit)); //$NON-NLS-1$
+		}
+		if (attributes.cap == SWT.CAP_ROUND)
+			style.append(";stroke-linecap:round"); //$NON-NLS-1$
+		else if (attributes.cap == SWT.CAP_SQUARE)
+			style.append(";stroke-linecap:square"); //$NON-NLS-1$
+		if (attributes.join == SWT.JOIN_ROUND)
+			style.append(";stroke-linejoin:round"); //$NON-NLS-1$
+		else if (attributes.join == SWT.JOIN_BEVEL)
+			style.append(";stroke-linejoin:bevel"); //$NON-NLS-1$
+		return style.append(getOpacity(color)).toString();
+	}
+
+	/**
+	 * Returns the attribute referring to the current clip, or <code>null</code> if
+	 * the given bounds are outside of it. Returns an empty string if the bounds
+	 * are inside the clip.
+	 */
+	private String getClipAttribute(Rectangle2D bounds) {
+		Rectangle2D clip = currentState.clip;
+		if (clip.isEmpty() || !clip.intersects(bounds))
+			return null;
+		if (clip.contains(bounds))
+			return ""; //$NON-NLS-1$
+		String id = clips.get(clip);
+		if (id == null) {
+			id = nextId("c"); //$NON-NLS-1$
+			clips.put((Rectangle2D) clip.clone(), id);
+			write("<clipPath id=\"" + id + "\"><rect x=\"" + format(clip.getX()) + "\" y=\"" + format(clip.getY()) //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					+ "\" width=\"" + format(clip.getWidth()) + "\" height=\"" + format(clip.getHeight()) //$NON-NLS-1$ //$NON-NLS-2$
+					+ "\"/></clipPath>\n"); //$NON-NLS-1$
+		}
+		return " clip-path=\"url(#" + id + ")\""; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Writes the given shape, in the current user space, as a path with the given
+	 * style. Outlines are centered on the pixels, like in SWT.
+	 */
+	private void writeShape(Shape shape, boolean outline) {
+		AffineTransform transform = new AffineTransform(currentState.transform);
+		if (outline)
+			transform.translate(0.5, 0.5);
+		Shape transformed = transform.createTransformedShape(shape);
+		Rectangle2D bounds = transformed.getBounds2D();
+		if (outline) {
+			double margin = Math.max(currentState.lineAttributes.width, 1) * getAbsoluteScale() / 2;
+			bounds.setRect(bounds.getX() - margin, bounds.getY() - margin, bounds.getWidth() + margin * 2,
+					bounds.getHeight() + margin * 2);
+		}
+		String clip = getClipAttribute(bounds);
+		if (clip == null)
+			return;
+		String style = getStyleClass(outline ? getStrokeStyle() : getFillStyle());
+		StringBuilder data = new StringBuilder();
+		double[] coordinates = new double[6];
+		for (PathIterator i = transformed.getPathIterator(null); !i.isDone(); i.next()) {
+			switch (i.currentSegment(coordinates)) {
+			case PathIterator.SEG_MOVETO -> appendSegment(data, 'M', coordinates, 1);
+			case PathIterator.SEG_LINETO -> appendSegment(data, 'L', coordinates, 1);
+			case PathIterator.SEG_QUADTO -> appendSegment(data, 'Q', coordinates, 2);
+			case PathIterator.SEG_CUBICTO -> appendSegment(data, 'C', coordinates, 3);
+			default -> data.append('Z');
+			}
+		}
+		write("<path class=\"" + style + "\"" + clip + " d=\"" + data + "\"/>\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	private static void appendSegment(StringBuilder data, char type, double[] coordinates, int points) {
+		data.append(type);
+		for (int i = 0; i < points * 2; i++) {
+			if (i > 0)
+				data.append(' ');
+			data.append(format(coordinates[i]));
+		}
+	}
+
+	private Path2D createPath(PointList points, boolean closed) {
+		Path2D.Float path = new Path2D.Float(Path2D.WIND_EVEN_ODD, points.size());
+		int[] coordinates = points.toIntArray();
+		for (int i = 0; i < points.size(); i++) {
+			if (i == 0)
+				path.moveTo(coordinates[0], coordinates[1]);
+			else
+				path.lineTo(coordinates[i * 2], coordinates[i * 2 + 1]);
+		}
+		if (closed)
+			path.closePath();
+		return path;
+	}
+
+	/**
+	 * @see Graphics#clipRect(Rectangle)
+	 */
+	@Override
+	public void clipRect(Rectangle r) {
+		Rectangle2D.intersect(currentState.clip, toDocument(r), currentState.clip);
+	}
+
+	private Rectangle2D toDocument(Rectangle r) {
+		return currentState.transform.createTransformedShape(new Rectangle2D.Double(r.x, r.y, r.width, r.height))
+				.getBounds2D();
+	}
+
+	/**
+	 * Completes the document and flushes the writer. The writer is not closed.
+	 *
+	 * @see Graphics#dispose()
+	 */
+	@Override
+	public void dispose() {
+		if (disposed)
+			return;
+		disposed = true;
+		write("</svg>\n"); //$NON-NLS-1$
+		try {
+			out.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		styles.clear();
+		clips.clear();
+		images.clear();
+	}
+
+	/**
+	 * @see Graphics#drawArc(int, int, int, int, int, int)
+	 */
+	@Override
+	public void drawArc(int x, int y, int w, int h, int offset, int length) {
+		writeShape(new Arc2D.Float(x, y, w, h, offset, length, Arc2D.OPEN), true);
+	}
+
+	/**
+	 * @see Graphics#drawFocus(int, int, int, int)
+	 */
+	@Override
+	public void drawFocus(int x, int y, int w, int h) {
+		LineAttributes attributes = currentState.lineAttributes;
+		int style = attributes.style;
+		attributes.style = SWT.LINE_DOT;
+		drawRectangle(x, y, w, h);
+		attributes.style = style;
+	}
+
+	/**
+	 * Writes the image as a PNG the first time it is drawn, and refers to it
+	 * afterwards.
+	 *
+	 * @see Graphics#drawImage(Image, int, int)
+	 */
+	@Override
+	public void drawImage(Image srcImage, int x, int y) {
+		org.eclipse.swt.graphics.Rectangle size = srcImage.getBounds();
+		drawImage(srcImage, 0, 0, size.width, size.height, x, y, size.width, size.height);
+	}
+
+	/**
+	 * @see Graphics#drawImage(Image, int, int, int, int, int, int, int, int)
+	 */
+	@Override
+	public void drawImage(Image srcImage, int x1, int y1, int w1, int h1, int x2, int y2, int w2, int h2) {
+		if (w1 <= 0 || h1 <= 0)
+			return;
+		Rectangle2D bounds = currentState.transform
+				.createTransformedShape(new Rectangle2D.Double(x2, y2, w2, h2)).getBounds2D();
+		String clip = getClipAttribute(bounds);
+		if (clip == null)
+			return;
+		String id = images.get(srcImage);
+		if (id == null) {
+			id = nextId("i"); //$NON-NLS-1$
+			images.put(srcImage, id);
+			ByteArrayOutputStream png = new ByteArrayOutputStream();
+			try {
+				ImageIO.write(BufferedImageGraphics.toAWT(srcImage.getImageData()), "png", png); //$NON-NLS-1$
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			org.eclipse.swt.graphics.Rectangle size = srcImage.getBounds();
+			write("<defs><image id=\"" + id + "\" width=\"" + size.width + "\" height=\"" + size.height //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ "\" xlink:href=\"data:image/png;base64," + Base64.getEncoder().encodeToString(png.toByteArray()) //$NON-NLS-1$
+					+ "\"/></defs>\n"); //$NON-NLS-1$
+		}
+		// Map the source area onto the target area, and cut off the rest
+		AffineTransform transform = new AffineTransform(currentState.transform);
+		transform.translate(x2, y2);
+		transform.scale((double) w2 / w1, (double) h2 / h1);
+		transform.translate(-x1, -y1);
+		String imageClip = ""; //$NON-NLS-1$
+		org.eclipse.swt.graphics.Rectangle size = srcImage.getBounds();
+		if (x1 != 0 || y1 != 0 || w1 != size.width || h1 != size.height) {
+			String clipId = nextId("c"); //$NON-NLS-1$
+			write("<clipPath id=\"" + clipId + "\"><rect x=\"" + x1 + "\" y=\"" + y1 + "\" width=\"" + w1 //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					+ "\" height=\"" + h1 + "\"/></clipPath>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			imageClip = " clip-path=\"url(#" + clipId + ")\""; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		double[] m = new double[6];
+		transform.getMatrix(m);
+		String opacity = currentState.alpha == 255 ? "" : " opacity=\"" + format(currentState.alpha / 255.0) + "\""; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		write("<g" + clip + opacity + "><use xlink:href=\"#" + id + "\"" + imageClip + " transform=\"matrix(" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				+ format(m[0]) + " " + format(m[1]) + " " + format(m[2]) + " " + format(m[3]) + " " + format(m[4]) //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				+ " " + format(m[5]) + ")\"/></g>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * @see Graphics#drawLine(int, int, int, int)
+	 */
+	@Override
+	public void drawLine(int x1, int y1, int x2, int y2) {
+		writeShape(new Line2D.Float(x1, y1, x2, y2), true);
+	}
+
+	/**
+	 * @see Graphics#drawOval(int, int, int, int)
+	 */
+	@Override
+	public void drawOval(int x, int y, int w, int h) {
+		writeShape(new Ellipse2D.Float(x, y, w, h), true);
+	}
+
+	/**
+	 * @see Graphics#drawPolygon(PointList)
+	 */
+	@Override
+	public void drawPolygon(PointList points) {
+		writeShape(createPath(points, true), true);
+	}
+
+	/**
+	 * @see Graphics#drawPolyline(PointList)
+	 */
+	@Override
+	public void drawPolyline(PointList points) {
+		writeShape(createPath(points, false), true);
+	}
+
+	/**
+	 * @see Graphics#drawRectangle(int, int, int, int)
+	 */
+	@Override
+	public void drawRectangle(int x, int y, int width, int height) {
+		writeShape(new Rectangle2D.Float(x, y, width, height), true);
+	}
+
+	/**
+	 * @see Graphics#drawRoundRectangle(Rectangle, int, int)
+	 */
+	@Override
+	public void drawRoundRectangle(Rectangle r, int arcWidth, int arcHeight) {
+		writeShape(new RoundRectangle2D.Float(r.x, r.y, r.width, r.height, arcWidth, arcHeight), true);
+	}
+
+	/**
+	 * @see Graphics#drawString(String, int, int)
+	 */
+	@Override
+	public void drawString(String s, int x, int y) {
+		writeText(new String[] { s }, x, y, false);
+	}
+
+	/**
+	 * @see Graphics#drawText(String, int, int)
+	 */
+	@Override
+	public void drawText(String s, int x, int y) {
+		writeText(s.split("\r\n|\r|\n", -1), x, y, false); //$NON-NLS-1$
+	}
+
+	/**
+	 * @see Graphics#drawText(String, int, int, int)
+	 */
+	@Override
+	public void drawText(String s, int x, int y, int style) {
+		String[] lines = (style & SWT.DRAW_DELIMITER) != 0 ? s.split("\r\n|\r|\n", -1) : new String[] { s }; //$NON-NLS-1$
+		writeText(lines, x, y, (style & SWT.DRAW_TRANSPARENT) == 0);
+	}
+
+	private double getFontSize() {
+		Font font = currentState.font;
+		return font == null ? 12 : font.getFontData()[0].height * 96 / 72f;
+	}
+
+	private String getFontStyle() {
+		Font font = currentState.font;
+		if (font == null)
+			return DEFAULT_FONT;
+		FontData data = font.getFontData()[0];
+		StringBuilder style = new StringBuilder("font-family:'").append(data.getName().replace("'", "")) //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				.append("';font-size:").append(format(getFontSize())).append("px"); //$NON-NLS-1$ //$NON-NLS-2$
+		if ((data.getStyle() & SWT.BOLD) != 0)
+			style.append(";font-weight:bold"); //$NON-NLS-1$
+		if ((data.getStyle() & SWT.ITALIC) != 0)
+			style.append(";font-style:italic"); //$NON-NLS-1$
+		return style.toString();
+	}
+
+	/**
+	 * Writes each line as a text element, hanging from its top. The extent of the
+	 * text is estimated from the font size, which is only used for clipping and
+	 * for filling the background.
+	 */
+	private void writeText(String[] lines, int x, int y, boolean fill) {
+		double size = getFontSize();
+		double lineHeight = Math.ceil(size * 1.2);
+		int length = 0;
+		for (String line : lines)
+			length = Math.max(length, line.length());
+		Rectangle extent = new Rectangle(x, y, (int) Math.ceil(length * size * 0.6),
+				(int) (lineHeight * lines.length));
+		if (fill)
+			fillRectangle(extent);
+		String clip = getClipAttribute(toDocument(extent));
+		if (clip == null)
+			return;
+		Color color = currentState.fgColor;
+		String style = getStyleClass(getFontStyle() + ";fill:" + toHex(color, DEFAULT_FOREGROUND) //$NON-NLS-1$
+				+ ";dominant-baseline:text-before-edge;white-space:pre" + getOpacity(color)); //$NON-NLS-1$
+		double[] m = new double[6];
+		currentState.transform.getMatrix(m);
+		String transform = " transform=\"matrix(" + format(m[0]) + " " + format(m[1]) + " " + format(m[2]) + " " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				+ format(m[3]) + " " + format(m[4]) + " " + format(m[5]) + ")\""; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		write("<g" + clip + transform + ">"); //$NON-NLS-1$ //$NON-NLS-2$
+		for (int i = 0; i < lines.length; i++) {
+			if (!lines[i].isEmpty())
+				write("<text class=\"" + style + "\" x=\"" + x + "\" y=\"" + format(y + i * lineHeight) + "\">" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+						+ escape(lines[i]) + "</text>"); //$NON-NLS-1$
+		}
+		write("</g>\n"); //$NON-NLS-1$
+	}
+
+	/**
+	 * @see Graphics#fillArc(int, int, int, int, int, int)
+	 */
+	@Override
+	public void fillArc(int x, int y, int w, int h, int offset, int length) {
+		writeShape(new Arc2D.Float(x, y, w, h, offset, length, Arc2D.PIE), false);
+	}
+
+	/**
+	 * @see Graphics#fillGradient(int, int, int, int, boolean)
+	 */
+	@Override
+	public void fillGradient(int x, int y, int w, int h, boolean vertical) {
+		String from = toHex(currentState.fgColor, DEFAULT_FOREGROUND);
+		String to = toHex(currentState.bgColor, DEFAULT_BACKGROUND);
+		String key = "gradient:" + from + to + vertical; //$NON-NLS-1$
+		String id = styles.get(key);
+		if (id == null) {
+			id = nextId("g"); //$NON-NLS-1$
+			styles.put(key, id);
+			write("<defs><linearGradient id=\"" + id + "\" x2=\"" + (vertical ? 0 : 1) + "\" y2=\"" + (vertical ? 1 : 0) //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					+ "\"><stop offset=\"0\" stop-color=\"" + from + "\"/><stop offset=\"1\" stop-color=\"" + to //$NON-NLS-1$ //$NON-NLS-2$
+					+ "\"/></linearGradient></defs>\n"); //$NON-NLS-1$
+		}
+		String style = getStyleClass("fill:url(#" + id + ");stroke:none" + getOpacity(null)); //$NON-NLS-1$ //$NON-NLS-2$
+		Rectangle2D bounds = currentState.transform.createTransformedShape(new Rectangle2D.Float(x, y, w, h))
+				.getBounds2D();
+		String clip = getClipAttribute(bounds);
+		if (clip != null)
+			write("<rect class=\"" + style + "\"" + clip + " x=\"" + format(bounds.getX()) + "\" y=\"" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					+ format(bounds.getY()) + "\" width=\"" + format(bounds.getWidth()) + "\" height=\"" //$NON-NLS-1$ //$NON-NLS-2$
+					+ format(bounds.getHeight()) + "\"/>\n"); //$NON-NLS-1$
+	}
+
+	/**
+	 * @see Graphics#fillOval(int, int, int, int)
+	 */
+	@Override
+	public void fillOval(int x, int y, int w, int h) {
+		writeShape(new Ellipse2D.Float(x, y, w, h), false);
+	}
+
+	/**
+	 * @see Graphics#fillPolygon(PointList)
+	 */
+	@Override
+	public void fillPolygon(PointList points) {
+		writeShape(createPath(points, true), false);
+	}
+
+	/**
+	 * @see Graphics#fillRectangle(int, int, int, int)
+	 */
+	@Override
+	public void fillRectangle(int x, int y, int width, int height) {
+		writeShape(new Rectangle2D.Float(x, y, width, height), false);
+	}
+
+	/**
+	 * @see Graphics#fillRoundRectangle(Rectangle, int, int)
+	 */
+	@Override
+	public void fillRoundRectangle(Rectangle r, int arcWidth, int arcHeight) {
+		writeShape(new RoundRectangle2D.Float(r.x, r.y, r.width, r.height, arcWidth, arcHeight), false);
+	}
+
+	/**
+	 * @see Graphics#fillString(String, int, int)
+	 */
+	@Override
+	public void fillString(String s, int x, int y) {
+		writeText(new String[] { s }, x, y, true);
+	}
+
+	/**
+	 * @see Graphics#fillText(String, int, int)
+	 */
+	@Override
+	public void fillText(String s, int x, int y) {
+		writeText(s.split("\r\n|\r|\n", -1), x, y, true); //$NON-NLS-1$
+	}
+
+	/**
+	 * @see Graphics#getAbsoluteScale()
+	 */
+	@Override
+	public double getAbsoluteScale() {
+		AffineTransform transform = currentState.transform;
+		return Math.hypot(transform.getScaleX(), transform.getShearY());
+	}
+
+	/**
+	 * Returns <code>true</code>, as transformations and the other advanced
+	 * features are always available.
+	 *
+	 * @see Graphics#getAdvanced()
+	 */
+	@Override
+	public boolean getAdvanced() {
+		return true;
+	}
+
+	/**
+	 * @see Graphics#getAlpha()
+	 */
+	@Override
+	public int getAlpha() {
+		return currentState.alpha;
+	}
+
+	/**
+	 * @see Graphics#getAntialias()
+	 */
+	@Override
+	public int getAntialias() {
+		return currentState.antialias;
+	}
+
+	/**
+	 * Returns the color set last, or <code>null</code> if no color has been set,
+	 * in which case white is used.
+	 *
+	 * @see Graphics#getBackgroundColor()
+	 */
+	@Override
+	public Color getBackgroundColor() {
+		return currentState.bgColor;
+	}
+
+	/**
+	 * @see Graphics#getClip(Rectangle)
+	 */
+	@Override
+	public Rectangle getClip(Rectangle rect) {
+		try {
+			Rectangle2D clip = currentState.transform.createInverse().createTransformedShape(currentState.clip)
+					.getBounds2D();
+			int x = (int) Math.floor(clip.getX());
+			int y = (int) Math.floor(clip.getY());
+			return rect.setBounds(x, y, (int) Math.ceil(clip.getMaxX()) - x, (int) Math.ceil(clip.getMaxY()) - y);
+		} catch (NoninvertibleTransformException e) {
+			return rect.setBounds(0, 0, 0, 0);
+		}
+	}
+
+	/**
+	 * @see Graphics#getFillRule()
+	 */
+	@Override
+	public int getFillRule() {
+		return currentState.fillRule;
+	}
+
+	/**
+	 * Returns the font set last, or <code>null</code> if no font has been set, in
+	 * which case a 12 pixel sans-serif font is used.
+	 *
+	 * @see Graphics#getFont()
+	 */
+	@Override
+	public Font getFont() {
+		return currentState.font;
+	}
+
+	/**
+	 * Returns <code>null</code>, as SWT font metrics can not be created without a
+	 * <code>GC</code>. Text is scaled by {@link #scale(double)} instead.
+	 *
+	 * @see Graphics#getFontMetrics()
+	 */
+	@Override
+	public FontMetrics getFontMetrics() {
+		return null;
+	}
+
+	/**
+	 * Returns the color set last, or <code>null</code> if no color has been set,
+	 * in which case black is used.
+	 *
+	 * @see Graphics#getForegroundColor()
+	 */
+	@Override
+	public Color getForegroundColor() {
+		return currentState.fgColor;
+	}
+
+	/**
+	 * @see Graphics#getInterpolation()
+	 */
+	@Override
+	public int getInterpolation() {
+		return currentState.interpolation;
+	}
+
+	/**
+	 * @see Graphics#getLineAttributes()
+	 */
+	@Override
+	public LineAttributes getLineAttributes() {
+		return currentState.clone().lineAttributes;
+	}
+
+	/**
+	 * @see Graphics#getLineCap()
+	 */
+	@Override
+	public int getLineCap() {
+		return currentState.lineAttributes.cap;
+	}
+
+	/**
+	 * @see Graphics#getLineJoin()
+	 */
+	@Override
+	public int getLineJoin() {
+		return currentState.lineAttributes.join;
+	}
+
+	/**
+	 * @see Graphics#getLineMiterLimit()
+	 */
+	@Override
+	public float getLineMiterLimit() {
+		return currentState.lineAttributes.miterLimit;
+	}
+
+	/**
+	 * @see Graphics#getLineStyle()
+	 */
+	@Override
+	public int getLineStyle() {
+		return currentState.lineAttributes.style;
+	}
+
+	/**
+	 * @see Graphics#getLineWidth()
+	 */
+	@Override
+	public int getLineWidth() {
+		return (int) currentState.lineAttributes.width;
+	}
+
+	/**
+	 * @see Graphics#getLineWidthFloat()
+	 */
+	@Override
+	public float getLineWidthFloat() {
+		return currentState.lineAttributes.width;
+	}
+
+	/**
+	 * @see Graphics#getTextAntialias()
+	 */
+	@Override
+	public int getTextAntialias() {
+		return currentState.textAntialias;
+	}
+
+	/**
+	 * @see Graphics#getXORMode()
+	 */
+	@Override
+	public boolean getXORMode() {
+		return currentState.xorMode;
+	}
+
+	/**
+	 * @see Graphics#popState()
+	 */
+	@Override
+	public void popState() {
+		currentState = stack.remove(stack.size() - 1);
+	}
+
+	/**
+	 * @see Graphics#pushState()
+	 */
+	@Override
+	public void pushState() {
+		stack.add(currentState.clone());
+	}
+
+	/**
+	 * @see Graphics#restoreState()
+	 */
+	@Override
+	public void restoreState() {
+		currentState = stack.get(stack.size() - 1).clone();
+	}
+
+	/**
+	 * @see Graphics#rotate(float)
+	 */
+	@Override
+	public void rotate(float degrees) {
+		currentState.transform.rotate(Math.toRadians(degrees));
+	}
+
+	/**
+	 * @see Graphics#scale(double)
+	 */
+	@Override
+	public void scale(double amount) {
+		currentState.transform.scale(amount, amount);
+	}
+
+	/**
+	 * @see Graphics#scale(float, float)
+	 */
+	@Override
+	public void scale(float horizontal, float vertical) {
+		currentState.transform.scale(horizontal, vertical);
+	}
+
+	/**
+	 * Has no effect, as advanced graphics are always used.
+	 *
+	 * @see Graphics#setAdvanced(boolean)
+	 */
+	@Override
+	public void setAdvanced(boolean advanced) {
+	}
+
+	/**
+	 * @see Graphics#setAlpha(int)
+	 */
+	@Override
+	public void setAlpha(int alpha) {
+		currentState.alpha = alpha;
+	}
+
+	/**
+	 * Has no effect on the document, which is antialiased by its viewer.
+	 *
+	 * @see Graphics#setAntialias(int)
+	 */
+	@Override
+	public void setAntialias(int value) {
+		currentState.antialias = value;
+	}
+
+	/**
+	 * @see Graphics#setBackgroundColor(Color)
+	 */
+	@Override
+	public void setBackgroundColor(Color rgb) {
+		currentState.bgColor = rgb;
+	}
+
+	/**
+	 * @see Graphics#setClip(Rectangle)
+	 */
+	@Override
+	public void setClip(Rectangle r) {
+		currentState.clip = toDocument(r);
+	}
+
+	/**
+	 * @see Graphics#setFillRule(int)
+	 */
+	@Override
+	public void setFillRule(int rule) {
+		currentState.fillRule = rule;
+	}
+
+	/**
+	 * @see Graphics#setFont(Font)
+	 */
+	@Override
+	public void setFont(Font f) {
+		currentState.font = f;
+	}
+
+	/**
+	 * @see Graphics#setForegroundColor(Color)
+	 */
+	@Override
+	public void setForegroundColor(Color rgb) {
+		currentState.fgColor = rgb;
+	}
+
+	/**
+	 * @see Graphics#setInterpolation(int)
+	 */
+	@Override
+	public void setInterpolation(int interpolation) {
+		currentState.interpolation = interpolation;
+	}
+
+	/**
+	 * @see Graphics#setLineAttributes(LineAttributes)
+	 */
+	@Override
+	public void setLineAttributes(LineAttributes attributes) {
+		currentState.lineAttributes = new LineAttributes(attributes.width, attributes.cap, attributes.join,
+				attributes.style, attributes.dash == null ? null : attributes.dash.clone(), attributes.dashOffset,
+				attributes.miterLimit);
+	}
+
+	/**
+	 * @see Graphics#setLineCap(int)
+	 */
+	@Override
+	public void setLineCap(int cap) {
+		currentState.lineAttributes.cap = cap;
+	}
+
+	/**
+	 * @see Graphics#setLineDash(int[])
+	 */
+	@Override
+	public void setLineDash(int[] dash) {
+		if (dash == null) {
+			setLineDash((float[]) null);
+			return;
+		}
+		float[] value = new float[dash.length];
+		for (int i = 0; i < dash.length; i++)
+			value[i] = dash[i];
+		setLineDash(value);
+	}
+
+	/**
+	 * @see Graphics#setLineDash(float[])
+	 */
+	@Override
+	public void setLineDash(float[] value) {
+		LineAttributes attributes = currentState.lineAttributes;
+		attributes.dash = value == null ? null : value.clone();
+		attributes.style = value == null ? SWT.LINE_SOLID : SWT.LINE_CUSTOM;
+	}
+
+	/**
+	 * @see Graphics#setLineDashOffset(float)
+	 */
+	@Override
+	public void setLineDashOffset(float value) {
+		currentState.lineAttributes.dashOffset = value;
+	}
+
+	/**
+	 * @see Graphics#setLineJoin(int)
+	 */
+	@Override
+	public void setLineJoin(int join) {
+		currentState.lineAttributes.join = join;
+	}
+
+	/**
+	 * @see Graphics#setLineMiterLimit(float)
+	 */
+	@Override
+	public void setLineMiterLimit(float miterLimit) {
+		currentState.lineAttributes.miterLimit = miterLimit;
+	}
+
+	/**
+	 * @see Graphics#setLineStyle(int)
+	 */
+	@Override
+	public void setLineStyle(int style) {
+		currentState.lineAttributes.style = style;
+	}
+
+	/**
+	 * @see Graphics#setLineWidth(int)
+	 */
+	@Override
+	public void setLineWidth(int width) {
+		setLineWidthFloat(width);
+	}
+
+	/**
+	 * @see Graphics#setLineWidthFloat(float)
+	 */
+	@Override
+	public void setLineWidthFloat(float width) {
+		currentState.lineAttributes.width = width;
+	}
+
+	/**
+	 * @see Graphics#setTextAntialias(int)
+	 */
+	@Override
+	public void setTextAntialias(int value) {
+		currentState.textAntialias = value;
+	}
+
+	/**
+	 * Has no effect on the document, which can not express XOR mode.
+	 *
+	 * @see Graphics#setXORMode(boolean)
+	 */
+	@Override
+	public void setXORMode(boolean b) {
+		currentState.xorMode = b;
+	}
+
+	/**
+	 * @see Graphics#shear(float, float)
+	 */
+	@Override
+	public void shear(float horz, float vert) {
+		currentState.transform.shear(horz, vert);
+	}
+
+	/**
+	 * @see Graphics#translate(int, int)
+	 */
+	@Override
+	public void translate(int dx, int dy) {
+		currentState.transform.translate(dx, dy);
+	}
+
+	/**
+	 * @see Graphics#translate(float, float)
+	 */
+	@Override
+	public void translate(float dx, float dy) {
+		currentState.transform.translate(dx, dy);
+	}
+
+}
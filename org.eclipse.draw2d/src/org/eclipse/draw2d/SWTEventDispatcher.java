@@ -52,6 +52,9 @@ public class SWTEventDispatcher extends EventDispatcher {
 	private ToolTipHelper toolTipHelper;
 	private FocusTraverseManager focusManager = new FocusTraverseManager();
 
+	private boolean cacheHitTests;
+	private HitTestResult hitTestResult;
+
 	/**
 	 * Implements {@link EventDispatcher.AccessibilityDispatcher} but does nothing
 	 * in the implementation.
@@ -288,6 +291,52 @@ public class SWTEventDispatcher extends EventDispatcher {
 		receive(me);
 	}
 
+	/**
+	 * Returns the figure at the given location which is accepted by the search, as
+	 * returned by {@link IFigure#findFigureAt(int, int, TreeSearch)} of the root
+	 * figure. While a mouse move is dispatched, all searches at the location of
+	 * the event, including the ones performed by this dispatcher, share a single
+	 * traversal of the figure tree. Handlers of the event should therefore not
+	 * modify the figure tree before searching it.
+	 *
+	 * @param x      the x coordinate
+	 * @param y      the y coordinate
+	 * @param search the search
+	 * @return the figure found, or <code>null</code>
+	 * @since 3.15
+	 */
+	public IFigure findFigureAt(int x, int y, TreeSearch search) {
+		HitTestResult result = getHitTestResult(x, y);
+		if (result == null)
+			return root.findFigureAt(x, y, search);
+		return result.findFigureAt(search);
+	}
+
+	private IFigure findMouseEventTargetAt(int x, int y) {
+		HitTestResult result = getHitTestResult(x, y);
+		if (result == null)
+			return root.findMouseEventTargetAt(x, y);
+		return result.findMouseEventTargetAt();
+	}
+
+	private HitTestResult getHitTestResult(int x, int y) {
+		if (!cacheHitTests)
+			return null;
+		if (hitTestResult == null || !hitTestResult.isFor(root, x, y))
+			hitTestResult = new HitTestResult(root, x, y);
+		return hitTestResult;
+	}
+
+	/**
+	 * Starts or stops sharing hit tests while an event is dispatched.
+	 *
+	 * @param value <code>true</code> while the figure tree does not change
+	 */
+	void setCacheHitTests(boolean value) {
+		cacheHitTests = value;
+		hitTestResult = null;
+	}
+
 	/**
 	 * @see EventDispatcher#getAccessibilityDispatcher()
 	 */
@@ -389,7 +438,7 @@ public class SWTEventDispatcher extends EventDispatcher {
 			if (mouseTarget != null)
 				currentEvent = new MouseEvent(this, mouseTarget, me);
 		} else {
-			IFigure f = root.findMouseEventTargetAt(me.x, me.y);
+			IFigure f = findMouseEventTargetAt(me.x, me.y);
 			if (f == mouseTarget) {
 				if (mouseTarget != null)
 					currentEvent = new MouseEvent(this, mouseTarget, me);
@@ -563,6 +612,7 @@ public class SWTEventDispatcher extends EventDispatcher {
 	@Override
 	public void setRoot(IFigure figure) {
 		root = figure;
+		hitTestResult = null;
 	}
 
 	/**
@@ -584,7 +634,7 @@ public class SWTEventDispatcher extends EventDispatcher {
 	 */
 	protected void updateFigureUnderCursor(org.eclipse.swt.events.MouseEvent me) {
 		if (!captured) {
-			IFigure f = root.findFigureAt(me.x, me.y);
+			IFigure f = findFigureAt(me.x, me.y, Figure.IdentitySearch.INSTANCE);
 			setFigureUnderCursor(f);
 			if (cursorTarget != hoverSource)
 				updateHoverSource(me);
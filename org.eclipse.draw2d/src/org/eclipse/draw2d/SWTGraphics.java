@@ -244,6 +244,7 @@ public class SWTGraphics extends Graphics {
 	private final LazyState appliedState = new LazyState();
 	private final State currentState = new State();
 
+	private double absoluteScale = 1.0;
 	private boolean elementsNeedUpdate;
 	private GC gc;
 
@@ -651,6 +652,14 @@ public class SWTGraphics extends Graphics {
 		gc.drawText(s, x + translateX, y + translateY, false);
 	}
 
+	/**
+	 * @see Graphics#getAbsoluteScale()
+	 */
+	@Override
+	public double getAbsoluteScale() {
+		return absoluteScale;
+	}
+
 	/**
 	 * @see Graphics#getAlpha()
 	 */
@@ -1018,6 +1027,7 @@ public class SWTGraphics extends Graphics {
 
 		initTransform(true);
 		transform.scale(horizontal, vertical);
+		absoluteScale *= Math.abs(horizontal);
 		gc.setTransform(transform);
 		elementsNeedUpdate = true;
 
@@ -1030,6 +1040,7 @@ public class SWTGraphics extends Graphics {
 		if (!elementsNeedUpdate && currentState.affineMatrix == m)
 			return;
 		currentState.affineMatrix = m;
+		absoluteScale = m == null ? 1.0 : Math.hypot(m[0], m[1]);
 		if (m != null)
 			transform.setElements(m[0], m[1], m[2], m[3], m[4], m[5]);
 		else if (transform != null) {
@@ -25,9 +25,12 @@ import org.eclipse.draw2d.geometry.Rectangle;
  */
 public class ScalablePolygonShape extends AbstractPointListShape {
 
-	private static final Rectangle TEMPLATEBOUNDS = Rectangle.SINGLETON;
-
-	private PointList scaledPoints;
+	/**
+	 * The points scaled to the bounds, computed when they are needed. The field
+	 * is volatile so that figures painted by several threads see the complete
+	 * list.
+	 */
+	private volatile PointList scaledPoints;
 
 	@Override
 	protected boolean shapeContainsPoint(int x, int y) {
@@ -52,25 +55,25 @@ public class ScalablePolygonShape extends AbstractPointListShape {
 	}
 
 	private Rectangle getTemplateBounds() {
-		TEMPLATEBOUNDS.setLocation(0, 0);
-		TEMPLATEBOUNDS.setSize(0, 0);
+		Rectangle templateBounds = new Rectangle();
 		int[] intArray = points.toIntArray();
 		for (int i = 0; i < intArray.length;) {
 			int x = intArray[i++];
-			if (x > TEMPLATEBOUNDS.width) {
-				TEMPLATEBOUNDS.width = x;
+			if (x > templateBounds.width) {
+				templateBounds.width = x;
 			}
 			int y = intArray[i++];
-			if (y > TEMPLATEBOUNDS.height) {
-				TEMPLATEBOUNDS.height = y;
+			if (y > templateBounds.height) {
+				templateBounds.height = y;
 			}
 		}
-		return TEMPLATEBOUNDS;
+		return templateBounds;
 	}
 
 	public PointList getScaledPoints() {
-		if (scaledPoints != null) {
-			return scaledPoints;
+		PointList scaled = scaledPoints;
+		if (scaled != null) {
+			return scaled;
 		}
 		Rectangle pointsBounds = getTemplateBounds();
 		Rectangle actualBounds = getBounds();
@@ -86,7 +89,9 @@ public class ScalablePolygonShape extends AbstractPointListShape {
 			pointsArray[i] = (int) (Math.floor(pointsArray[i] * xScale) + halfLineWidth);
 			pointsArray[i + 1] = (int) (Math.floor(pointsArray[i + 1] * yScale) + halfLineWidth);
 		}
-		return scaledPoints = new PointList(pointsArray);
+		scaled = new PointList(pointsArray);
+		scaledPoints = scaled;
+		return scaled;
 	}
 
 	@Override
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import org.eclipse.draw2d.geometry.Geometry;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * A hierarchy of bounding boxes over the segments of a polyline. Runs of
+ * consecutive segments form the leaves of a complete binary tree, and each
+ * inner node stores the union of its children's boxes. Queries only test the
+ * segments whose boxes are near the query, and do not allocate.
+ */
+final class SegmentBoundsTree {
+
+	/**
+	 * The number of segments in a leaf.
+	 */
+	static final int LEAF_SIZE = 4;
+
+	private final int[] points;
+	private final int pointCount;
+	private final int leafCount;
+	private final int capacity;
+	/** minimum x, minimum y, maximum x and maximum y of each node, inclusive */
+	private final int[] bounds;
+
+	/**
+	 * Builds the tree for the current points of the given list. The tree does not
+	 * follow later changes of the list.
+	 *
+	 * @param list the points
+	 */
+	SegmentBoundsTree(PointList list) {
+		pointCount = list.size();
+		points = new int[pointCount * 2];
+		System.arraycopy(list.toIntArray(), 0, points, 0, points.length);
+		int segments = Math.max(pointCount - 1, 0);
+		leafCount = (segments + LEAF_SIZE - 1) / LEAF_SIZE;
+		int size = 1;
+		while (size < leafCount) {
+			size *= 2;
+		}
+		capacity = size;
+		bounds = new int[capacity * 8];
+		for (int node = 1; node < capacity * 2; node++) {
+			setEmpty(node);
+		}
+		for (int leaf = 0; leaf < leafCount; leaf++) {
+			int node = capacity + leaf;
+			int last = Math.min(pointCount - 1, (leaf + 1) * LEAF_SIZE);
+			for (int i = leaf * LEAF_SIZE; i <= last; i++) {
+				include(node, points[2 * i], points[2 * i + 1], points[2 * i], points[2 * i + 1]);
+			}
+		}
+		for (int node = capacity - 1; node > 0; node--) {
+			int left = 2 * node;
+			int right = left + 1;
+			include(node, bounds[4 * left], bounds[4 * left + 1], bounds[4 * left + 2], bounds[4 * left + 3]);
+			include(node, bounds[4 * right], bounds[4 * right + 1], bounds[4 * right + 2], bounds[4 * right + 3]);
+		}
+	}
+
+	private void setEmpty(int node) {
+		bounds[4 * node] = bounds[4 * node + 1] = Integer.MAX_VALUE;
+		bounds[4 * node + 2] = bounds[4 * node + 3] = Integer.MIN_VALUE;
+	}
+
+	private void include(int node, int minX, int minY, int maxX, int maxY) {
+		int i = 4 * node;
+		bounds[i] = Math.min(bounds[i], minX);
+		bounds[i + 1] = Math.min(bounds[i + 1], minY);
+		bounds[i + 2] = Math.max(bounds[i + 2], maxX);
+		bounds[i + 3] = Math.max(bounds[i + 3], maxY);
+	}
+
+	private boolean overlaps(int node, int minX, int minY, int maxX, int maxY) {
+		int i = 4 * node;
+		return bounds[i] <= maxX && bounds[i + 2] >= minX && bounds[i + 1] <= maxY && bounds[i + 3] >= minY;
+	}
+
+	/**
+	 * @return the number of leaves
+	 */
+	int getLeafCount() {
+		return leafCount;
+	}
+
+	/**
+	 * Stores the bounds of the segments of a leaf in the given rectangle.
+	 *
+	 * @param leaf   the index of the leaf
+	 * @param result the rectangle to set
+	 * @return the given rectangle
+	 */
+	Rectangle getLeafBounds(int leaf, Rectangle result) {
+		int i = 4 * (capacity + leaf);
+		return result.setBounds(bounds[i], bounds[i + 1], bounds[i + 2] - bounds[i] + 1,
+				bounds[i + 3] - bounds[i + 1] + 1);
+	}
+
+	/**
+	 * Returns the same result as
+	 * {@link Geometry#polylineContainsPoint(PointList, int, int, int)}.
+	 *
+	 * @param x         the x coordinate
+	 * @param y         the y coordinate
+	 * @param tolerance the tolerance
+	 * @return whether a segment contains the point
+	 */
+	boolean containsPoint(int x, int y, int tolerance) {
+		return leafCount > 0 && containsPoint(1, x, y, tolerance);
+	}
+
+	private boolean containsPoint(int node, int x, int y, int tolerance) {
+		if (!overlaps(node, x - tolerance, y - tolerance, x + tolerance, y + tolerance)) {
+			return false;
+		}
+		if (node < capacity) {
+			return containsPoint(2 * node, x, y, tolerance) || containsPoint(2 * node + 1, x, y, tolerance);
+		}
+		int leaf = node - capacity;
+		int last = Math.min(pointCount - 1, (leaf + 1) * LEAF_SIZE);
+		for (int i = leaf * LEAF_SIZE; i < last; i++) {
+			if (Geometry.segmentContainsPoint(points[2 * i], points[2 * i + 1], points[2 * i + 2], points[2 * i + 3], x,
+					y, tolerance)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the same result as {@link PointList#intersects(Rectangle)}.
+	 *
+	 * @param r the rectangle
+	 * @return whether a point lies in or a segment crosses the rectangle
+	 */
+	boolean intersects(Rectangle r) {
+		if (r.isEmpty()) {
+			return false;
+		}
+		if (pointCount == 1) {
+			return r.contains(points[0], points[1]);
+		}
+		return leafCount > 0 && intersects(1, r);
+	}
+
+	private boolean intersects(int node, Rectangle r) {
+		int right = r.x + r.width - 1;
+		int bottom = r.y + r.height - 1;
+		if (!overlaps(node, r.x, r.y, right, bottom)) {
+			return false;
+		}
+		if (node < capacity) {
+			return intersects(2 * node, r) || intersects(2 * node + 1, r);
+		}
+		int leaf = node - capacity;
+		int last = Math.min(pointCount - 1, (leaf + 1) * LEAF_SIZE);
+		for (int i = leaf * LEAF_SIZE; i < last; i++) {
+			int x1 = points[2 * i];
+			int y1 = points[2 * i + 1];
+			int x2 = points[2 * i + 2];
+			int y2 = points[2 * i + 3];
+			if (r.contains(x1, y1) || r.contains(x2, y2) || Geometry.linesIntersect(r.x, r.y, right, bottom, x1, y1, x2, y2)
+					|| Geometry.linesIntersect(right, r.y, r.x, bottom, x1, y1, x2, y2)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
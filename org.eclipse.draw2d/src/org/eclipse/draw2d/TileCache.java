@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Renders a figure into fixed-size image tiles and paints it by copying the
+ * tiles. Tiles are invalidated by listening to the dirty regions that the
+ * figure and its descendants report to the update manager, so repaints caused
+ * by other figures are satisfied from the cache.
+ * <P>
+ * The tiles are aligned to the top-left corner of the figure's bounds. They
+ * contain the figure's background color, so a transparent figure hides
+ * whatever is painted below it. The cache is only used while painting at a
+ * scale of 1; otherwise the figure is painted directly.
+ * <P>
+ * At most {@link #MAX_PIXELS} pixels are cached. When more tiles are needed,
+ * the least recently painted ones are disposed, so scrolling over a large
+ * figure does not keep every region ever shown.
+ * <P>
+ * {@link CachedLayer} and {@link CachedFreeformLayer} only forward to their
+ * cache, which implements all of the caching for both.
+ */
+final class TileCache implements UpdateListener {
+
+	/**
+	 * The default width and height of a tile in pixels.
+	 */
+	static final int DEFAULT_TILE_SIZE = 256;
+
+	/**
+	 * The most pixels kept in tiles, 64 MB at 32 bits per pixel.
+	 */
+	static final long MAX_PIXELS = 4096L * 4096L;
+
+	private final IFigure figure;
+
+	private final Consumer<Graphics> painter;
+
+	private final int tileSize;
+
+	private final Map<Long, Image> tiles;
+
+	private final Set<Long> validTiles = new HashSet<>();
+
+	private int originX;
+
+	private int originY;
+
+	private UpdateManager updateManager;
+
+	/**
+	 * @param figure   the cached figure
+	 * @param painter  paints the figure without using the cache
+	 * @param tileSize the width and height of a tile in pixels
+	 */
+	TileCache(IFigure figure, Consumer<Graphics> painter, int tileSize) {
+		if (tileSize <= 0)
+			throw new IllegalArgumentException("Tile size must be positive"); //$NON-NLS-1$
+		this.figure = figure;
+		this.painter = painter;
+		this.tileSize = tileSize;
+		int maxTiles = (int) Math.max(1, MAX_PIXELS / ((long) tileSize * tileSize));
+		tiles = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Image> eldest) {
+				if (size() <= maxTiles)
+					return false;
+				eldest.getValue().dispose();
+				validTiles.remove(eldest.getKey());
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Starts listening to the dirty regions of the figure's update manager.
+	 */
+	void hook() {
+		updateManager = figure.getUpdateManager();
+		updateManager.addUpdateListener(this);
+	}
+
+	/**
+	 * Stops listening to dirty regions and disposes all tiles.
+	 */
+	void unhook() {
+		if (updateManager != null) {
+			updateManager.removeUpdateListener(this);
+			updateManager = null;
+		}
+		dispose();
+	}
+
+	/**
+	 * Disposes all tiles.
+	 */
+	void dispose() {
+		tiles.values().forEach(Image::dispose);
+		tiles.clear();
+		validTiles.clear();
+	}
+
+	/**
+	 * Marks all tiles invalid, so they are rendered again on the next paint.
+	 */
+	void invalidate() {
+		validTiles.clear();
+	}
+
+	/**
+	 * Marks the tiles intersecting the given rectangle invalid. The rectangle is in
+	 * the coordinates of the figure's bounds.
+	 *
+	 * @param rect the invalid region
+	 */
+	void invalidate(Rectangle rect) {
+		if (rect.isEmpty() || validTiles.isEmpty())
+			return;
+		int firstColumn = Math.floorDiv(rect.x - originX, tileSize);
+		int lastColumn = Math.floorDiv(rect.right() - 1 - originX, tileSize);
+		int firstRow = Math.floorDiv(rect.y - originY, tileSize);
+		int lastRow = Math.floorDiv(rect.bottom() - 1 - originY, tileSize);
+		if ((long) (lastColumn - firstColumn + 1) * (lastRow - firstRow + 1) > validTiles.size()) {
+			validTiles.removeIf(key -> {
+				int column = (int) (key.longValue() >> 32);
+				int row = (int) key.longValue();
+				return column >= firstColumn && column <= lastColumn && row >= firstRow && row <= lastRow;
+			});
+			return;
+		}
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				validTiles.remove(Long.valueOf(key(column, row)));
+			}
+		}
+	}
+
+	private static long key(int column, int row) {
+		return ((long) column << 32) | (row & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Paints the figure by copying its tiles, rendering invalid tiles first.
+	 *
+	 * @param graphics the graphics, in the coordinates of the figure's bounds
+	 */
+	void paint(Graphics graphics) {
+		Display display = Display.getCurrent();
+		if (graphics.getAbsoluteScale() != 1.0 || display == null) {
+			painter.accept(graphics);
+			return;
+		}
+		Rectangle bounds = figure.getBounds();
+		if (bounds.x != originX || bounds.y != originY) {
+			// the tile grid moved along with the figure
+			invalidate();
+			originX = bounds.x;
+			originY = bounds.y;
+		}
+		Rectangle clip = graphics.getClip(new Rectangle()).intersect(bounds);
+		if (clip.isEmpty())
+			return;
+		int firstColumn = Math.floorDiv(clip.x - originX, tileSize);
+		int lastColumn = Math.floorDiv(clip.right() - 1 - originX, tileSize);
+		int firstRow = Math.floorDiv(clip.y - originY, tileSize);
+		int lastRow = Math.floorDiv(clip.bottom() - 1 - originY, tileSize);
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				Image tile = getTile(display, column, row, bounds);
+				graphics.drawImage(tile, originX + column * tileSize, originY + row * tileSize);
+			}
+		}
+	}
+
+	private Image getTile(Display display, int column, int row, Rectangle bounds) {
+		Long key = Long.valueOf(key(column, row));
+		Image tile = tiles.get(key);
+		if (tile == null) {
+			tile = new Image(display, tileSize, tileSize);
+			tiles.put(key, tile);
+		} else if (validTiles.contains(key)) {
+			return tile;
+		}
+		int x = originX + column * tileSize;
+		int y = originY + row * tileSize;
+		GC gc = new GC(tile);
+		SWTGraphics graphics = new SWTGraphics(gc);
+		try {
+			graphics.translate(-x, -y);
+			if (figure.getBackgroundColor() != null) {
+				graphics.setBackgroundColor(figure.getBackgroundColor());
+				graphics.fillRectangle(x, y, tileSize, tileSize);
+			}
+			if (figure.getForegroundColor() != null)
+				graphics.setForegroundColor(figure.getForegroundColor());
+			if (figure.getFont() != null)
+				graphics.setFont(figure.getFont());
+			graphics.clipRect(new Rectangle(x, y, tileSize, tileSize).intersect(bounds));
+			graphics.pushState();
+			painter.accept(graphics);
+			graphics.popState();
+		} finally {
+			graphics.dispose();
+			gc.dispose();
+		}
+		validTiles.add(key);
+		return tile;
+	}
+
+	/**
+	 * Invalidates the tiles covered by dirty regions of the figure or its
+	 * descendants.
+	 *
+	 * @see UpdateListener#notifyPainting(Rectangle, Map)
+	 */
+	@Override
+	public void notifyPainting(Rectangle damage, Map<IFigure, Rectangle> dirtyRegions) {
+		if (validTiles.isEmpty())
+			return;
+		dirtyRegions.forEach((dirtyFigure, region) -> {
+			Rectangle rect = new Rectangle(region);
+			IFigure walker = dirtyFigure;
+			while (walker != figure) {
+				walker = walker.getParent();
+				if (walker == null)
+					return;
+				walker.translateToParent(rect);
+			}
+			invalidate(rect);
+		});
+	}
+
+	/**
+	 * @see UpdateListener#notifyValidating()
+	 */
+	@Override
+	public void notifyValidating() {
+	}
+
+	/**
+	 * Disposes all tiles when the update manager is disposed together with its
+	 * control, as the figure is not necessarily removed before.
+	 *
+	 * @see UpdateListener#notifyDisposed()
+	 */
+	@Override
+	public void notifyDisposed() {
+		unhook();
+	}
+
+}
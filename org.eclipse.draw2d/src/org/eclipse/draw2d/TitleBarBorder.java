@@ -126,8 +126,7 @@ public class TitleBarBorder extends AbstractLabeledBorder {
 	 */
 	@Override
 	public void paint(IFigure figure, Graphics g, Insets insets) {
-		tempRect.setBounds(getPaintRectangle(figure, insets));
-		Rectangle rec = tempRect;
+		Rectangle rec = getPaintRectangle(figure, insets);
 		rec.height = Math.min(rec.height, getTextExtents(figure).height + padding.getHeight());
 		g.clipRect(rec);
 		g.setBackgroundColor(fillColor);
@@ -38,4 +38,14 @@ public interface UpdateListener {
 	 */
 	void notifyValidating();
 
+	/**
+	 * Notifies the listener that the listened to object has been disposed, e.g.
+	 * because its control has been disposed. Listeners should release the
+	 * resources they hold for it. The default implementation does nothing.
+	 * 
+	 * @since 3.15
+	 */
+	default void notifyDisposed() {
+	}
+
 }
@@ -104,10 +104,16 @@ public abstract class UpdateManager {
 	}
 
 	/**
-	 * Called when the EditPartViewer is being disposed.
+	 * Called when the EditPartViewer is being disposed. Notifies the listeners,
+	 * so they can release their resources.
 	 */
 	public void dispose() {
+		if (disposed)
+			return;
 		disposed = true;
+		UpdateListener localListeners[] = listeners;
+		for (int i = 0; i < localListeners.length; i++)
+			localListeners[i].notifyDisposed();
 	}
 
 	/**
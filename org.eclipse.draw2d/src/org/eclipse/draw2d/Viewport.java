@@ -32,6 +32,24 @@ public class Viewport extends Figure implements PropertyChangeListener {
 	private boolean trackHeight = false;
 	private boolean ignoreScroll = false;
 	private RangeModel horiztonalRangeModel = null, verticalRangeModel = null;
+	private Scroller scroller;
+
+	/**
+	 * Moves the pixels showing the contents of a viewport when its view location
+	 * changes, so that only the newly exposed area has to be painted.
+	 */
+	interface Scroller {
+		/**
+		 * Moves the pixels of the viewport's client area by the given amount. One of
+		 * the amounts is zero.
+		 * 
+		 * @param dx the horizontal amount
+		 * @param dy the vertical amount
+		 * @return <code>false</code> if the pixels could not be moved, and the
+		 *         viewport must be repainted
+		 */
+		boolean scroll(int dx, int dy);
+	}
 
 	{
 		setLayoutManager(new ViewportLayout());
@@ -184,7 +202,8 @@ public class Viewport extends Figure implements PropertyChangeListener {
 				if (!ignoreScroll) {
 					localRevalidate();
 					if (useGraphicsTranslate()) {
-						repaint();
+						if (!scroll(event))
+							repaint();
 						fireMoved();
 					}
 				}
@@ -193,6 +212,16 @@ public class Viewport extends Figure implements PropertyChangeListener {
 		}
 	}
 
+	private boolean scroll(PropertyChangeEvent event) {
+		if (scroller == null || !(event.getOldValue() instanceof Integer oldValue)
+				|| !(event.getNewValue() instanceof Integer newValue))
+			return false;
+		int delta = oldValue.intValue() - newValue.intValue();
+		if (event.getSource() == getHorizontalRangeModel())
+			return scroller.scroll(delta, 0);
+		return scroller.scroll(0, delta);
+	}
+
 	/**
 	 * Sets extents of {@link RangeModel RangeModels} to the client area of this
 	 * Viewport. Sets RangeModel minimums to zero. Sets RangeModel maximums to this
@@ -279,6 +308,16 @@ public class Viewport extends Figure implements PropertyChangeListener {
 		ignoreScroll = value;
 	}
 
+	/**
+	 * Sets the scroller which moves the pixels of this viewport when its view
+	 * location changes. The viewport is repainted if there is none.
+	 * 
+	 * @param scroller <code>null</code> or the scroller
+	 */
+	void setScroller(Scroller scroller) {
+		this.scroller = scroller;
+	}
+
 	/**
 	 * Sets the vertical location of the Viewport's view to the passed value.
 	 * 
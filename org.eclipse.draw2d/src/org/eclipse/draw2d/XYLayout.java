@@ -46,19 +46,20 @@ public class XYLayout extends AbstractLayout {
 			if (r == null)
 				continue;
 
-			if (r.width == -1 || r.height == -1) {
-				Dimension preferredSize = child.getPreferredSize(r.width, r.height);
-				r = r.getCopy();
-				if (r.width == -1)
-					r.width = preferredSize.width;
-				if (r.height == -1)
-					r.height = preferredSize.height;
+			int width = r.width;
+			int height = r.height;
+			if (width == -1 || height == -1) {
+				Dimension preferredSize = child.getPreferredSize(width, height);
+				if (width == -1)
+					width = preferredSize.width;
+				if (height == -1)
+					height = preferredSize.height;
 			}
-			rect.union(r);
+			if (width > 0 && height > 0)
+				rect.union(r.x, r.y, width, height);
 		}
-		Dimension d = rect.getSize();
 		Insets insets = f.getInsets();
-		return new Dimension(d.width + insets.getWidth(), d.height + insets.getHeight())
+		return new Dimension(rect.width + insets.getWidth(), rect.height + insets.getHeight())
 				.union(getBorderPreferredSize(f));
 	}
 
@@ -77,7 +78,7 @@ public class XYLayout extends AbstractLayout {
 	 * @return the origin
 	 */
 	public Point getOrigin(IFigure parent) {
-		return parent.getClientArea().getLocation();
+		return parent.getClientArea(Rectangle.SINGLETON).getLocation();
 	}
 
 	/**
@@ -90,21 +91,22 @@ public class XYLayout extends AbstractLayout {
 	@Override
 	public void layout(IFigure parent) {
 		Point offset = getOrigin(parent);
+		// setBounds copies the given bounds, so one rectangle serves all children
+		Rectangle bounds = new Rectangle();
 		for (IFigure f : parent.getChildren()) {
-			Rectangle bounds = (Rectangle) getConstraint(f);
-			if (bounds == null)
+			Rectangle constraint = (Rectangle) getConstraint(f);
+			if (constraint == null)
 				continue;
 
+			bounds.setBounds(constraint);
 			if (bounds.width == -1 || bounds.height == -1) {
 				Dimension preferredSize = f.getPreferredSize(bounds.width, bounds.height);
-				bounds = bounds.getCopy();
 				if (bounds.width == -1)
 					bounds.width = preferredSize.width;
 				if (bounds.height == -1)
 					bounds.height = preferredSize.height;
 			}
-			bounds = bounds.getTranslated(offset);
-			f.setBounds(bounds);
+			f.setBounds(bounds.translate(offset));
 		}
 	}
 
@@ -115,10 +115,22 @@ public class Geometry {
 	}
 
 	/**
-	 * @return true if the least distance between point (px,py) and segment (x1,y1)
-	 *         - (x2,y2) is less then specified tolerance
+	 * Returns whether the least distance between point (px,py) and segment (x1,y1)
+	 * - (x2,y2) is less then specified tolerance. This is the test
+	 * {@link #polylineContainsPoint(PointList, int, int, int)} performs for each
+	 * segment.
+	 *
+	 * @param x1        x coordinate of the segment's start
+	 * @param y1        y coordinate of the segment's start
+	 * @param x2        x coordinate of the segment's end
+	 * @param y2        y coordinate of the segment's end
+	 * @param px        x coordinate of the point
+	 * @param py        y coordinate of the point
+	 * @param tolerance the tolerance
+	 * @return true if the point is on the segment
+	 * @since 3.15
 	 */
-	private static boolean segmentContainsPoint(int x1, int y1, int x2, int y2, int px, int py, int tolerance) {
+	public static boolean segmentContainsPoint(int x1, int y1, int x2, int y2, int px, int py, int tolerance) {
 		/*
 		 * Point should be located inside Rectangle(x1 -+ tolerance, y1 -+ tolerance, x2
 		 * +- tolerance, y2 +- tolerance)
@@ -441,6 +441,19 @@ public class Rectangle implements Cloneable, java.io.Serializable, Translatable
 		return new Point(x, y);
 	}
 
+	/**
+	 * Stores the upper left hand corner of the rectangle in the given Point,
+	 * without allocating a new one.
+	 * 
+	 * @param result the Point to set
+	 * @return <code>result</code> for convenience
+	 * @see #getLocation()
+	 * @since 3.15
+	 */
+	public Point getLocation(Point result) {
+		return result.setLocation(x, y);
+	}
+
 	/**
 	 * <P>
 	 * Returns an integer which represents the position of the given point with
@@ -570,6 +583,19 @@ public class Rectangle implements Cloneable, java.io.Serializable, Translatable
 		return new Dimension(width, height);
 	}
 
+	/**
+	 * Stores the dimensions of this Rectangle in the given Dimension, without
+	 * allocating a new one.
+	 * 
+	 * @param result the Dimension to set
+	 * @return <code>result</code> for convenience
+	 * @see #getSize()
+	 * @since 3.15
+	 */
+	public Dimension getSize(Dimension result) {
+		return result.setSize(width, height);
+	}
+
 	/**
 	 * Returns a new Point which represents the middle point of the top side of this
 	 * Rectangle.
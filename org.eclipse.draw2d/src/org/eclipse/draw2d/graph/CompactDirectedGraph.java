@@ -0,0 +1,561 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.graph;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.eclipse.draw2d.PositionConstants;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Insets;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.PointList;
+
+/**
+ * A directed graph which stores its nodes and edges in primitive arrays rather
+ * than in {@link Node} and {@link Edge} objects. Nodes and edges are identified
+ * by their index, in the order in which they were added. The adjacency of the
+ * nodes is kept in compressed sparse row form, so that a node costs a few
+ * <code>int</code>s plus one <code>int</code> per incident edge. This makes it
+ * possible to lay out graphs with hundreds of thousands of nodes using
+ * {@link CompactDirectedGraphLayout}.
+ * <P>
+ * A compact graph can be created from a {@link DirectedGraph} with
+ * {@link #create(DirectedGraph)}, and its layout can be copied back with
+ * {@link #applyTo(DirectedGraph)}. Subgraphs, attachment offsets and the width
+ * and padding of individual edges are not supported.
+ *
+ * @since 3.15
+ */
+public class CompactDirectedGraph {
+
+	private static final int DEFAULT_EDGE_PADDING = 10;
+
+	int direction = PositionConstants.SOUTH;
+	Insets defaultPadding = new Insets(16);
+	Insets margin = new Insets();
+	int edgePadding = DEFAULT_EDGE_PADDING;
+
+	int nodeCount;
+	int[] width;
+	int[] height;
+	int[] x;
+	int[] y;
+	int[] rank;
+	/** top, left, bottom and right padding of each node, or null if not set */
+	int[] padding;
+
+	int edgeCount;
+	int[] source;
+	int[] target;
+	int[] delta;
+	int[] weight;
+	boolean[] feedback;
+
+	int[] outgoingStart;
+	int[] outgoing;
+	int[] incomingStart;
+	int[] incoming;
+
+	int[] pointStart;
+	int[] points;
+	Dimension size = new Dimension();
+
+	/**
+	 * Creates an empty graph.
+	 */
+	public CompactDirectedGraph() {
+		this(16, 16);
+	}
+
+	/**
+	 * Creates an empty graph with room for the given number of nodes and edges.
+	 *
+	 * @param nodeCapacity the expected number of nodes
+	 * @param edgeCapacity the expected number of edges
+	 */
+	public CompactDirectedGraph(int nodeCapacity, int edgeCapacity) {
+		nodeCapacity = Math.max(nodeCapacity, 1);
+		edgeCapacity = Math.max(edgeCapacity, 1);
+		width = new int[nodeCapacity];
+		height = new int[nodeCapacity];
+		x = new int[nodeCapacity];
+		y = new int[nodeCapacity];
+		rank = new int[nodeCapacity];
+		source = new int[edgeCapacity];
+		target = new int[edgeCapacity];
+		delta = new int[edgeCapacity];
+		weight = new int[edgeCapacity];
+		feedback = new boolean[edgeCapacity];
+	}
+
+	/**
+	 * Creates a compact copy of the given graph. Its nodes and edges keep the
+	 * indices they have in the graph's lists.
+	 *
+	 * @param graph the graph to copy
+	 * @return the compact graph
+	 * @throws IllegalArgumentException if the graph contains subgraphs or edges
+	 *                                  to nodes which are not part of the graph
+	 */
+	public static CompactDirectedGraph create(DirectedGraph graph) {
+		CompactDirectedGraph result = new CompactDirectedGraph(graph.nodes.size(), graph.edges.size());
+		result.direction = graph.getDirection();
+		result.defaultPadding = new Insets(graph.getDefaultPadding());
+		result.margin = new Insets(graph.getMargin());
+		// the nodes' own indices belong to the graph and are left untouched
+		Map<Node, Integer> indices = new IdentityHashMap<>(graph.nodes.size());
+		for (Node node : graph.nodes) {
+			if (node instanceof Subgraph || node.getParent() != null) {
+				throw new IllegalArgumentException("Subgraphs are not supported: " + node); //$NON-NLS-1$
+			}
+			int index = result.addNode(node.width, node.height);
+			if (node.getPadding() != null) {
+				result.setPadding(index, node.getPadding());
+			}
+			indices.put(node, Integer.valueOf(index));
+		}
+		for (Edge edge : graph.edges) {
+			Integer source = indices.get(edge.source);
+			Integer target = indices.get(edge.target);
+			if (source == null || target == null) {
+				throw new IllegalArgumentException("Edge to a node outside of the graph: " + edge); //$NON-NLS-1$
+			}
+			result.addEdge(source.intValue(), target.intValue(), edge.getDelta(), edge.weight);
+		}
+		return result;
+	}
+
+	/**
+	 * Copies the layout of this graph to the graph it was created from. The
+	 * location and rank of every node and the points of every edge are set.
+	 *
+	 * @param graph the graph this graph was created from
+	 */
+	public void applyTo(DirectedGraph graph) {
+		if (graph.nodes.size() != nodeCount || graph.edges.size() != edgeCount) {
+			throw new IllegalArgumentException("The graph does not match"); //$NON-NLS-1$
+		}
+		for (int i = 0; i < nodeCount; i++) {
+			Node node = graph.nodes.get(i);
+			node.x = x[i];
+			node.y = y[i];
+			node.rank = rank[i];
+		}
+		for (int i = 0; i < edgeCount; i++) {
+			Edge edge = graph.edges.get(i);
+			edge.setFeedback(feedback[i]);
+			edge.vNodes = null;
+			edge.setPoints(getPoints(i));
+		}
+		graph.size = getLayoutSize();
+	}
+
+	/**
+	 * Adds a node of the given size.
+	 *
+	 * @param width  the node's width
+	 * @param height the node's height
+	 * @return the index of the new node
+	 */
+	public int addNode(int width, int height) {
+		if (nodeCount == this.width.length) {
+			int capacity = nodeCount * 2;
+			this.width = Arrays.copyOf(this.width, capacity);
+			this.height = Arrays.copyOf(this.height, capacity);
+			x = Arrays.copyOf(x, capacity);
+			y = Arrays.copyOf(y, capacity);
+			rank = Arrays.copyOf(rank, capacity);
+			if (padding != null) {
+				padding = Arrays.copyOf(padding, capacity * 4);
+			}
+		}
+		this.width[nodeCount] = width;
+		this.height[nodeCount] = height;
+		if (padding != null) {
+			Arrays.fill(padding, nodeCount * 4, nodeCount * 4 + 4, -1);
+		}
+		invalidate();
+		return nodeCount++;
+	}
+
+	/**
+	 * Adds an edge with a minimum rank separation and a weight of 1.
+	 *
+	 * @param source the index of the source node
+	 * @param target the index of the target node
+	 * @return the index of the new edge
+	 */
+	public int addEdge(int source, int target) {
+		return addEdge(source, target, 1, 1);
+	}
+
+	/**
+	 * Adds an edge.
+	 *
+	 * @param source the index of the source node
+	 * @param target the index of the target node
+	 * @param delta  the minimum rank separation of the nodes
+	 * @param weight the weight of the edge
+	 * @return the index of the new edge
+	 * @see Edge#Edge(Node, Node, int, int)
+	 */
+	public int addEdge(int source, int target, int delta, int weight) {
+		if (source < 0 || source >= nodeCount || target < 0 || target >= nodeCount) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (edgeCount == this.source.length) {
+			int capacity = edgeCount * 2;
+			this.source = Arrays.copyOf(this.source, capacity);
+			this.target = Arrays.copyOf(this.target, capacity);
+			this.delta = Arrays.copyOf(this.delta, capacity);
+			this.weight = Arrays.copyOf(this.weight, capacity);
+			feedback = Arrays.copyOf(feedback, capacity);
+		}
+		this.source[edgeCount] = source;
+		this.target[edgeCount] = target;
+		this.delta[edgeCount] = delta;
+		this.weight[edgeCount] = weight;
+		invalidate();
+		return edgeCount++;
+	}
+
+	private void invalidate() {
+		outgoingStart = null;
+		pointStart = null;
+	}
+
+	/**
+	 * Builds the adjacency arrays if the graph has changed since they were built.
+	 */
+	void buildAdjacency() {
+		if (outgoingStart != null) {
+			return;
+		}
+		outgoingStart = new int[nodeCount + 1];
+		incomingStart = new int[nodeCount + 1];
+		for (int e = 0; e < edgeCount; e++) {
+			outgoingStart[source[e] + 1]++;
+			incomingStart[target[e] + 1]++;
+		}
+		for (int i = 0; i < nodeCount; i++) {
+			outgoingStart[i + 1] += outgoingStart[i];
+			incomingStart[i + 1] += incomingStart[i];
+		}
+		outgoing = new int[edgeCount];
+		incoming = new int[edgeCount];
+		int[] outgoingNext = Arrays.copyOf(outgoingStart, nodeCount);
+		int[] incomingNext = Arrays.copyOf(incomingStart, nodeCount);
+		for (int e = 0; e < edgeCount; e++) {
+			outgoing[outgoingNext[source[e]]++] = e;
+			incoming[incomingNext[target[e]]++] = e;
+		}
+	}
+
+	/**
+	 * @return the number of nodes
+	 */
+	public int getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * @return the number of edges
+	 */
+	public int getEdgeCount() {
+		return edgeCount;
+	}
+
+	/**
+	 * @param node the index of a node
+	 * @return the node's width
+	 */
+	public int getWidth(int node) {
+		return width[checkNode(node)];
+	}
+
+	/**
+	 * @param node the index of a node
+	 * @return the node's height
+	 */
+	public int getHeight(int node) {
+		return height[checkNode(node)];
+	}
+
+	/**
+	 * @param node the index of a node
+	 * @return the node's x coordinate, valid after the graph has been laid out
+	 */
+	public int getX(int node) {
+		return x[checkNode(node)];
+	}
+
+	/**
+	 * @param node the index of a node
+	 * @return the node's y coordinate, valid after the graph has been laid out
+	 */
+	public int getY(int node) {
+		return y[checkNode(node)];
+	}
+
+	/**
+	 * @param node the index of a node
+	 * @return the node's rank, valid after the graph has been laid out
+	 */
+	public int getRank(int node) {
+		return rank[checkNode(node)];
+	}
+
+	/**
+	 * Returns the number of edges leaving the given node.
+	 *
+	 * @param node the index of a node
+	 * @return the number of outgoing edges
+	 */
+	public int getOutgoingCount(int node) {
+		checkNode(node);
+		buildAdjacency();
+		return outgoingStart[node + 1] - outgoingStart[node];
+	}
+
+	/**
+	 * Returns an edge leaving the given node.
+	 *
+	 * @param node the index of a node
+	 * @param i    the index of the edge among the outgoing edges of the node
+	 * @return the index of the edge
+	 */
+	public int getOutgoing(int node, int i) {
+		if (i < 0 || i >= getOutgoingCount(node)) {
+			throw new IndexOutOfBoundsException();
+		}
+		return outgoing[outgoingStart[node] + i];
+	}
+
+	/**
+	 * Returns the number of edges entering the given node.
+	 *
+	 * @param node the index of a node
+	 * @return the number of incoming edges
+	 */
+	public int getIncomingCount(int node) {
+		checkNode(node);
+		buildAdjacency();
+		return incomingStart[node + 1] - incomingStart[node];
+	}
+
+	/**
+	 * Returns an edge entering the given node.
+	 *
+	 * @param node the index of a node
+	 * @param i    the index of the edge among the incoming edges of the node
+	 * @return the index of the edge
+	 */
+	public int getIncoming(int node, int i) {
+		if (i < 0 || i >= getIncomingCount(node)) {
+			throw new IndexOutOfBoundsException();
+		}
+		return incoming[incomingStart[node] + i];
+	}
+
+	/**
+	 * @param edge the index of an edge
+	 * @return the index of the edge's source node
+	 */
+	public int getSource(int edge) {
+		return source[checkEdge(edge)];
+	}
+
+	/**
+	 * @param edge the index of an edge
+	 * @return the index of the edge's target node
+	 */
+	public int getTarget(int edge) {
+		return target[checkEdge(edge)];
+	}
+
+	/**
+	 * Returns whether the edge was reversed to break a cycle during the layout.
+	 *
+	 * @param edge the index of an edge
+	 * @return <code>true</code> if the edge is a feedback edge
+	 */
+	public boolean isFeedback(int edge) {
+		return feedback[checkEdge(edge)];
+	}
+
+	/**
+	 * Returns the path of the edge from its source to its target. The path is
+	 * available after the graph has been laid out.
+	 *
+	 * @param edge the index of an edge
+	 * @return a new point list, or <code>null</code> if the graph has not been laid
+	 *         out
+	 */
+	public PointList getPoints(int edge) {
+		checkEdge(edge);
+		if (pointStart == null) {
+			return null;
+		}
+		PointList list = new PointList(pointStart[edge + 1] - pointStart[edge]);
+		for (int i = pointStart[edge]; i < pointStart[edge + 1]; i++) {
+			list.addPoint(new Point(points[2 * i], points[2 * i + 1]));
+		}
+		return list;
+	}
+
+	/**
+	 * Returns the effective padding of the given node.
+	 *
+	 * @param node the index of a node
+	 * @return a new insets
+	 */
+	public Insets getPadding(int node) {
+		checkNode(node);
+		if (padding == null || padding[node * 4] == -1) {
+			return new Insets(defaultPadding);
+		}
+		return new Insets(padding[node * 4], padding[node * 4 + 1], padding[node * 4 + 2], padding[node * 4 + 3]);
+	}
+
+	/**
+	 * Sets the padding of the given node, overriding the default padding.
+	 *
+	 * @param node    the index of a node
+	 * @param padding the padding, or <code>null</code> to use the default padding
+	 */
+	public void setPadding(int node, Insets padding) {
+		checkNode(node);
+		if (this.padding == null) {
+			if (padding == null) {
+				return;
+			}
+			this.padding = new int[width.length * 4];
+			Arrays.fill(this.padding, -1);
+		}
+		if (padding == null) {
+			Arrays.fill(this.padding, node * 4, node * 4 + 4, -1);
+		} else {
+			this.padding[node * 4] = padding.top;
+			this.padding[node * 4 + 1] = padding.left;
+			this.padding[node * 4 + 2] = padding.bottom;
+			this.padding[node * 4 + 3] = padding.right;
+		}
+	}
+
+	int getPaddingTop(int node) {
+		return padding == null || padding[node * 4] == -1 ? defaultPadding.top : padding[node * 4];
+	}
+
+	int getPaddingLeft(int node) {
+		return padding == null || padding[node * 4] == -1 ? defaultPadding.left : padding[node * 4 + 1];
+	}
+
+	int getPaddingBottom(int node) {
+		return padding == null || padding[node * 4] == -1 ? defaultPadding.bottom : padding[node * 4 + 2];
+	}
+
+	int getPaddingRight(int node) {
+		return padding == null || padding[node * 4] == -1 ? defaultPadding.right : padding[node * 4 + 3];
+	}
+
+	/**
+	 * @return the default padding of the nodes
+	 * @see DirectedGraph#getDefaultPadding()
+	 */
+	public Insets getDefaultPadding() {
+		return defaultPadding;
+	}
+
+	/**
+	 * @param insets the default padding of the nodes
+	 * @see DirectedGraph#setDefaultPadding(Insets)
+	 */
+	public void setDefaultPadding(Insets insets) {
+		defaultPadding = insets;
+	}
+
+	/**
+	 * @return the space around the graph
+	 * @see DirectedGraph#getMargin()
+	 */
+	public Insets getMargin() {
+		return margin;
+	}
+
+	/**
+	 * @param insets the space around the graph
+	 * @see DirectedGraph#setMargin(Insets)
+	 */
+	public void setMargin(Insets insets) {
+		margin = insets;
+	}
+
+	/**
+	 * @return the layout direction
+	 * @see DirectedGraph#getDirection()
+	 */
+	public int getDirection() {
+		return direction;
+	}
+
+	/**
+	 * @param direction {@link PositionConstants#SOUTH} or
+	 *                  {@link PositionConstants#EAST}
+	 * @see DirectedGraph#setDirection(int)
+	 */
+	public void setDirection(int direction) {
+		this.direction = direction;
+	}
+
+	/**
+	 * Returns the space between an edge and the nodes next to it.
+	 *
+	 * @return the padding of all edges
+	 */
+	public int getEdgePadding() {
+		return edgePadding;
+	}
+
+	/**
+	 * Sets the space between an edge and the nodes next to it.
+	 *
+	 * @param padding the padding of all edges
+	 * @see Edge#setPadding(int)
+	 */
+	public void setEdgePadding(int padding) {
+		edgePadding = padding;
+	}
+
+	/**
+	 * @return the size of the graph after it has been laid out
+	 * @see DirectedGraph#getLayoutSize()
+	 */
+	public Dimension getLayoutSize() {
+		return size.getCopy();
+	}
+
+	private int checkNode(int node) {
+		if (node < 0 || node >= nodeCount) {
+			throw new IndexOutOfBoundsException(node);
+		}
+		return node;
+	}
+
+	private int checkEdge(int edge) {
+		if (edge < 0 || edge >= edgeCount) {
+			throw new IndexOutOfBoundsException(edge);
+		}
+		return edge;
+	}
+
+}
@@ -0,0 +1,696 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.graph;
+
+import java.util.Arrays;
+
+import org.eclipse.draw2d.PositionConstants;
+import org.eclipse.draw2d.geometry.Insets;
+
+/**
+ * Lays out a {@link CompactDirectedGraph}. The layout follows the same steps as
+ * {@link DirectedGraphLayout}, but works on primitive arrays only, so that its
+ * memory use grows by a few <code>int</code>s per node, edge and edge bend:
+ * <OL>
+ * <LI>Cycles are broken by reversing the back edges of a depth first search.
+ * <LI>Nodes are assigned to ranks along the longest path, after which nodes
+ * with more outgoing than incoming weight are moved towards their targets.
+ * <LI>Edges spanning several ranks are split at virtual nodes.
+ * <LI>Crossings are reduced by alternating barycenter sweeps, keeping the
+ * ordering with the fewest crossings.
+ * <LI>Nodes are placed horizontally by moving them towards their neighbors
+ * while keeping their order and separation within their ranks.
+ * </OL>
+ * The result is comparable to, but not the same as, the result of
+ * {@link DirectedGraphLayout}, which solves the rank assignment and the
+ * horizontal placement exactly at a much higher cost.
+ *
+ * @since 3.15
+ */
+public class CompactDirectedGraphLayout {
+
+	private static final int MAX_SWEEPS = 24;
+	private static final int PATIENCE = 4;
+	private static final int PLACEMENT_SWEEPS = 8;
+	// see VirtualNodeCreation
+	private static final int INNER_EDGE_X = 2;
+	private static final int LONG_EDGE_X = 8;
+
+	/**
+	 * Lays out the given graph.
+	 *
+	 * @param graph the graph to layout
+	 */
+	public void visit(CompactDirectedGraph graph) {
+		if (graph.nodeCount == 0) {
+			return;
+		}
+		boolean transposed = graph.direction != PositionConstants.SOUTH;
+		if (transposed) {
+			transpose(graph, false);
+		}
+		try {
+			new Layering(graph).run();
+		} finally {
+			if (transposed) {
+				transpose(graph, true);
+			}
+		}
+	}
+
+	private static void transpose(CompactDirectedGraph g, boolean result) {
+		int[] temp = g.width;
+		g.width = g.height;
+		g.height = temp;
+		if (g.padding != null) {
+			for (int i = 0; i < g.padding.length; i += 2) {
+				int swap = g.padding[i];
+				g.padding[i] = g.padding[i + 1];
+				g.padding[i + 1] = swap;
+			}
+		}
+		g.defaultPadding = transpose(g.defaultPadding);
+		g.margin = transpose(g.margin);
+		if (result) {
+			temp = g.x;
+			g.x = g.y;
+			g.y = temp;
+			if (g.points != null) {
+				for (int i = 0; i < g.points.length; i += 2) {
+					int swap = g.points[i];
+					g.points[i] = g.points[i + 1];
+					g.points[i + 1] = swap;
+				}
+			}
+			g.size.transpose();
+		}
+	}
+
+	private static Insets transpose(Insets insets) {
+		return new Insets(insets.left, insets.top, insets.right, insets.bottom);
+	}
+
+	/**
+	 * The state of a single layout. Nodes of the layered graph are the nodes of
+	 * the graph followed by the virtual nodes, and segments join nodes of adjacent
+	 * ranks.
+	 */
+	private static final class Layering {
+
+		private final CompactDirectedGraph g;
+		private final int n;
+
+		private int size;
+		private int[] rank;
+		private int[] width;
+		private int[] paddingLeft;
+		private int[] paddingRight;
+		private int[] x;
+		private int[] virtualStart;
+
+		private int segmentCount;
+		private int[] upper;
+		private int[] lower;
+		private int[] segmentWeight;
+		private int[] downStart;
+		private int[] down;
+		private int[] upStart;
+		private int[] up;
+
+		private int rankCount;
+		private int[] rankStart;
+		private int[] order;
+		private int[] position;
+		private int maxRankSize;
+		private int[] rankY;
+		private int[] rankHeight;
+
+		private long[] keys;
+		private int[] buffer = new int[16];
+
+		Layering(CompactDirectedGraph graph) {
+			g = graph;
+			n = graph.nodeCount;
+		}
+
+		void run() {
+			g.buildAdjacency();
+			breakCycles();
+			assignRanks();
+			createVirtualNodes();
+			initOrder();
+			reduceCrossings();
+			placeHorizontally();
+			placeVertically();
+			routeEdges();
+		}
+
+		private boolean isLoop(int e) {
+			return g.source[e] == g.target[e];
+		}
+
+		private int head(int e) {
+			return g.feedback[e] ? g.target[e] : g.source[e];
+		}
+
+		private int tail(int e) {
+			return g.feedback[e] ? g.source[e] : g.target[e];
+		}
+
+		private void breakCycles() {
+			Arrays.fill(g.feedback, 0, g.edgeCount, false);
+			byte[] state = new byte[n];
+			int[] stack = new int[n];
+			int[] cursor = new int[n];
+			for (int root = 0; root < n; root++) {
+				if (state[root] != 0) {
+					continue;
+				}
+				int depth = 0;
+				stack[depth++] = root;
+				state[root] = 1;
+				cursor[root] = g.outgoingStart[root];
+				while (depth > 0) {
+					int node = stack[depth - 1];
+					if (cursor[node] == g.outgoingStart[node + 1]) {
+						state[node] = 2;
+						depth--;
+						continue;
+					}
+					int e = g.outgoing[cursor[node]++];
+					int t = g.target[e];
+					if (state[t] == 1) {
+						g.feedback[e] = t != node;
+					} else if (state[t] == 0) {
+						state[t] = 1;
+						cursor[t] = g.outgoingStart[t];
+						stack[depth++] = t;
+					}
+				}
+			}
+		}
+
+		private void assignRanks() {
+			int[] ranks = g.rank;
+			int[] pending = new int[n];
+			for (int e = 0; e < g.edgeCount; e++) {
+				if (!isLoop(e)) {
+					pending[tail(e)]++;
+				}
+			}
+			int[] queue = new int[n];
+			int count = 0;
+			for (int i = 0; i < n; i++) {
+				ranks[i] = 0;
+				if (pending[i] == 0) {
+					queue[count++] = i;
+				}
+			}
+			for (int head = 0; head < count; head++) {
+				int node = queue[head];
+				for (int i = g.outgoingStart[node]; i < g.outgoingStart[node + 1]; i++) {
+					count = relax(g.outgoing[i], node, ranks, pending, queue, count);
+				}
+				for (int i = g.incomingStart[node]; i < g.incomingStart[node + 1]; i++) {
+					count = relax(g.incoming[i], node, ranks, pending, queue, count);
+				}
+			}
+
+			// pull nodes towards their targets if that shortens more edges than it
+			// stretches, in reverse topological order so that targets are final
+			int min = Integer.MAX_VALUE;
+			for (int i = n - 1; i >= 0; i--) {
+				int node = queue[i];
+				int balance = 0;
+				int limit = Integer.MAX_VALUE;
+				for (int j = g.outgoingStart[node]; j < g.outgoingStart[node + 1]; j++) {
+					int e = g.outgoing[j];
+					if (isLoop(e)) {
+						continue;
+					}
+					if (head(e) == node) {
+						balance += g.weight[e];
+						limit = Math.min(limit, ranks[tail(e)] - g.delta[e]);
+					} else {
+						balance -= g.weight[e];
+					}
+				}
+				for (int j = g.incomingStart[node]; j < g.incomingStart[node + 1]; j++) {
+					int e = g.incoming[j];
+					if (isLoop(e)) {
+						continue;
+					}
+					if (head(e) == node) {
+						balance += g.weight[e];
+						limit = Math.min(limit, ranks[tail(e)] - g.delta[e]);
+					} else {
+						balance -= g.weight[e];
+					}
+				}
+				if (balance > 0 && limit != Integer.MAX_VALUE && limit > ranks[node]) {
+					ranks[node] = limit;
+				}
+				min = Math.min(min, ranks[node]);
+			}
+			rankCount = 0;
+			for (int i = 0; i < n; i++) {
+				ranks[i] -= min;
+				rankCount = Math.max(rankCount, ranks[i] + 1);
+			}
+		}
+
+		private int relax(int e, int node, int[] ranks, int[] pending, int[] queue, int count) {
+			if (isLoop(e) || head(e) != node) {
+				return count;
+			}
+			int t = tail(e);
+			ranks[t] = Math.max(ranks[t], ranks[node] + g.delta[e]);
+			if (--pending[t] == 0) {
+				queue[count++] = t;
+			}
+			return count;
+		}
+
+		private void createVirtualNodes() {
+			size = n;
+			segmentCount = 0;
+			virtualStart = new int[g.edgeCount];
+			for (int e = 0; e < g.edgeCount; e++) {
+				int span = isLoop(e) ? 0 : g.rank[tail(e)] - g.rank[head(e)];
+				virtualStart[e] = size;
+				if (span > 0) {
+					size += span - 1;
+					segmentCount += span;
+				}
+			}
+			rank = Arrays.copyOf(g.rank, size);
+			width = Arrays.copyOf(g.width, size);
+			paddingLeft = new int[size];
+			paddingRight = new int[size];
+			for (int i = 0; i < n; i++) {
+				paddingLeft[i] = g.getPaddingLeft(i);
+				paddingRight[i] = g.getPaddingRight(i);
+			}
+			upper = new int[segmentCount];
+			lower = new int[segmentCount];
+			segmentWeight = new int[segmentCount];
+			int s = 0;
+			for (int e = 0; e < g.edgeCount; e++) {
+				int span = isLoop(e) ? 0 : g.rank[tail(e)] - g.rank[head(e)];
+				if (span <= 0) {
+					continue;
+				}
+				int previous = head(e);
+				for (int k = 0; k <= span - 1; k++) {
+					int next;
+					if (k == span - 1) {
+						next = tail(e);
+					} else {
+						next = virtualStart[e] + k;
+						rank[next] = g.rank[head(e)] + k + 1;
+						width[next] = 1;
+						paddingLeft[next] = paddingRight[next] = g.edgePadding;
+					}
+					upper[s] = previous;
+					lower[s] = next;
+					if (span == 1) {
+						segmentWeight[s] = g.weight[e];
+					} else if (k == 0 || k == span - 1) {
+						segmentWeight[s] = g.weight[e] * INNER_EDGE_X;
+					} else {
+						segmentWeight[s] = g.weight[e] * LONG_EDGE_X;
+					}
+					s++;
+					previous = next;
+				}
+			}
+			downStart = new int[size + 1];
+			upStart = new int[size + 1];
+			for (s = 0; s < segmentCount; s++) {
+				downStart[upper[s] + 1]++;
+				upStart[lower[s] + 1]++;
+			}
+			for (int i = 0; i < size; i++) {
+				downStart[i + 1] += downStart[i];
+				upStart[i + 1] += upStart[i];
+			}
+			down = new int[segmentCount];
+			up = new int[segmentCount];
+			int[] downNext = Arrays.copyOf(downStart, size);
+			int[] upNext = Arrays.copyOf(upStart, size);
+			for (s = 0; s < segmentCount; s++) {
+				down[downNext[upper[s]]++] = s;
+				up[upNext[lower[s]]++] = s;
+			}
+		}
+
+		/**
+		 * Orders the ranks in the order in which a depth first search along the
+		 * segments discovers the nodes.
+		 */
+		private void initOrder() {
+			rankStart = new int[rankCount + 1];
+			for (int i = 0; i < size; i++) {
+				rankStart[rank[i] + 1]++;
+			}
+			maxRankSize = 0;
+			for (int r = 0; r < rankCount; r++) {
+				maxRankSize = Math.max(maxRankSize, rankStart[r + 1]);
+				rankStart[r + 1] += rankStart[r];
+			}
+			order = new int[size];
+			position = new int[size];
+			int[] next = Arrays.copyOf(rankStart, rankCount);
+			boolean[] visited = new boolean[size];
+			int[] stack = new int[size];
+			int[] cursor = new int[size];
+			for (int root = 0; root < n; root++) {
+				if (visited[root]) {
+					continue;
+				}
+				int depth = 0;
+				stack[depth++] = root;
+				visited[root] = true;
+				cursor[root] = downStart[root];
+				place(root, next);
+				while (depth > 0) {
+					int node = stack[depth - 1];
+					if (cursor[node] == downStart[node + 1]) {
+						depth--;
+						continue;
+					}
+					int t = lower[down[cursor[node]++]];
+					if (!visited[t]) {
+						visited[t] = true;
+						cursor[t] = downStart[t];
+						place(t, next);
+						stack[depth++] = t;
+					}
+				}
+			}
+		}
+
+		private void place(int node, int[] next) {
+			int index = next[rank[node]]++;
+			order[index] = node;
+			position[node] = index - rankStart[rank[node]];
+		}
+
+		private void reduceCrossings() {
+			keys = new long[maxRankSize];
+			int[] fenwick = new int[maxRankSize + 1];
+			long fewest = countCrossings(fenwick);
+			int[] best = order.clone();
+			int stale = 0;
+			for (int sweep = 0; sweep < MAX_SWEEPS && fewest > 0 && stale < PATIENCE; sweep++) {
+				for (int r = 1; r < rankCount; r++) {
+					sortRank(r, true);
+				}
+				for (int r = rankCount - 2; r >= 0; r--) {
+					sortRank(r, false);
+				}
+				long crossings = countCrossings(fenwick);
+				if (crossings < fewest) {
+					fewest = crossings;
+					System.arraycopy(order, 0, best, 0, size);
+					stale = 0;
+				} else {
+					stale++;
+				}
+			}
+			order = best;
+			for (int r = 0; r < rankCount; r++) {
+				for (int i = rankStart[r]; i < rankStart[r + 1]; i++) {
+					position[order[i]] = i - rankStart[r];
+				}
+			}
+		}
+
+		/**
+		 * Sorts a rank by the barycenter of the neighbors in the rank above or below.
+		 * Positions are taken relative to the size of their rank, and nodes without
+		 * neighbors keep their relative position.
+		 */
+		private void sortRank(int r, boolean useUpper) {
+			int start = rankStart[r];
+			int count = rankStart[r + 1] - start;
+			int neighborRank = useUpper ? r - 1 : r + 1;
+			double neighborCount = rankStart[neighborRank + 1] - rankStart[neighborRank];
+			int[] adjacencyStart = useUpper ? upStart : downStart;
+			int[] adjacency = useUpper ? up : down;
+			int[] ends = useUpper ? upper : lower;
+			for (int i = 0; i < count; i++) {
+				int node = order[start + i];
+				double total = 0;
+				int neighbors = adjacencyStart[node + 1] - adjacencyStart[node];
+				for (int j = adjacencyStart[node]; j < adjacencyStart[node + 1]; j++) {
+					total += position[ends[adjacency[j]]] + 0.5;
+				}
+				double value = neighbors == 0 ? (i + 0.5) / count : total / neighbors / neighborCount;
+				keys[i] = (Math.round(value * (1 << 30)) << 31) | i;
+			}
+			Arrays.sort(keys, 0, count);
+			for (int i = 0; i < count; i++) {
+				int node = order[start + (int) (keys[i] & Integer.MAX_VALUE)];
+				keys[i] = node;
+			}
+			for (int i = 0; i < count; i++) {
+				int node = (int) keys[i];
+				order[start + i] = node;
+				position[node] = i;
+			}
+		}
+
+		/**
+		 * Counts the crossings between all pairs of adjacent ranks, counting for
+		 * each segment the segments from earlier upper nodes which end further right
+		 * using a Fenwick tree.
+		 */
+		private long countCrossings(int[] fenwick) {
+			long crossings = 0;
+			for (int r = 0; r < rankCount - 1; r++) {
+				int lowerCount = rankStart[r + 2] - rankStart[r + 1];
+				Arrays.fill(fenwick, 0, lowerCount + 1, 0);
+				int inserted = 0;
+				for (int i = rankStart[r]; i < rankStart[r + 1]; i++) {
+					int node = order[i];
+					int count = downStart[node + 1] - downStart[node];
+					if (count > buffer.length) {
+						buffer = new int[count * 2];
+					}
+					for (int j = 0; j < count; j++) {
+						int p = position[lower[down[downStart[node] + j]]];
+						int k = j;
+						while (k > 0 && buffer[k - 1] > p) {
+							buffer[k] = buffer[k - 1];
+							k--;
+						}
+						buffer[k] = p;
+					}
+					for (int j = 0; j < count; j++) {
+						int p = buffer[j] + 1;
+						int atMost = 0;
+						for (int k = p; k > 0; k -= k & -k) {
+							atMost += fenwick[k];
+						}
+						crossings += inserted - atMost;
+						for (int k = p; k <= lowerCount; k += k & -k) {
+							fenwick[k]++;
+						}
+						inserted++;
+					}
+				}
+			}
+			return crossings;
+		}
+
+		private void placeHorizontally() {
+			x = new int[size];
+			for (int r = 0; r < rankCount; r++) {
+				int current = 0;
+				for (int i = rankStart[r]; i < rankStart[r + 1]; i++) {
+					int node = order[i];
+					x[node] = current + paddingLeft[node];
+					current = x[node] + width[node] + paddingRight[node];
+				}
+			}
+			double[] desired = new double[maxRankSize];
+			double[] weights = new double[maxRankSize];
+			int[] offsets = new int[maxRankSize];
+			int[] blockStart = new int[maxRankSize];
+			double[] blockWeight = new double[maxRankSize];
+			double[] blockTotal = new double[maxRankSize];
+			for (int sweep = 0; sweep < PLACEMENT_SWEEPS; sweep++) {
+				for (int r = 1; r < rankCount; r++) {
+					placeRank(r, true, false, desired, weights, offsets, blockStart, blockWeight, blockTotal);
+				}
+				for (int r = rankCount - 2; r >= 0; r--) {
+					placeRank(r, false, true, desired, weights, offsets, blockStart, blockWeight, blockTotal);
+				}
+			}
+			for (int r = 0; r < rankCount; r++) {
+				placeRank(r, true, true, desired, weights, offsets, blockStart, blockWeight, blockTotal);
+			}
+
+			int left = Integer.MAX_VALUE;
+			int right = Integer.MIN_VALUE;
+			for (int i = 0; i < size; i++) {
+				left = Math.min(left, x[i] - paddingLeft[i]);
+				right = Math.max(right, x[i] + width[i] + paddingRight[i]);
+			}
+			int shift = g.margin.left - left;
+			for (int i = 0; i < size; i++) {
+				x[i] += shift;
+			}
+			System.arraycopy(x, 0, g.x, 0, n);
+			g.size.width = right + shift + g.margin.right;
+		}
+
+		/**
+		 * Moves the nodes of a rank as close as possible to the weighted average of
+		 * their neighbors, in the least squares sense, without changing their order
+		 * or violating their separation. This is an isotonic regression solved by
+		 * pooling adjacent violators.
+		 */
+		private void placeRank(int r, boolean useUpper, boolean useLower, double[] desired, double[] weights,
+				int[] offsets, int[] blockStart, double[] blockWeight, double[] blockTotal) {
+			int start = rankStart[r];
+			int count = rankStart[r + 1] - start;
+			int blocks = 0;
+			for (int i = 0; i < count; i++) {
+				int node = order[start + i];
+				if (i == 0) {
+					offsets[i] = 0;
+				} else {
+					int previous = order[start + i - 1];
+					offsets[i] = offsets[i - 1] + width[previous] + paddingRight[previous] + paddingLeft[node];
+				}
+				double total = 0;
+				double weight = 0;
+				if (useUpper) {
+					for (int j = upStart[node]; j < upStart[node + 1]; j++) {
+						int s = up[j];
+						total += segmentWeight[s] * (x[upper[s]] + width[upper[s]] / 2.0);
+						weight += segmentWeight[s];
+					}
+				}
+				if (useLower) {
+					for (int j = downStart[node]; j < downStart[node + 1]; j++) {
+						int s = down[j];
+						total += segmentWeight[s] * (x[lower[s]] + width[lower[s]] / 2.0);
+						weight += segmentWeight[s];
+					}
+				}
+				if (weight > 0) {
+					desired[i] = total / weight - width[node] / 2.0 - offsets[i];
+					weights[i] = weight;
+				} else {
+					// unconnected nodes follow their neighbors in the rank
+					desired[i] = x[node] - offsets[i];
+					weights[i] = 1e-3;
+				}
+
+				blockStart[blocks] = i;
+				blockWeight[blocks] = weights[i];
+				blockTotal[blocks] = weights[i] * desired[i];
+				blocks++;
+				while (blocks > 1 && blockTotal[blocks - 2] / blockWeight[blocks - 2] > blockTotal[blocks - 1]
+						/ blockWeight[blocks - 1]) {
+					blockWeight[blocks - 2] += blockWeight[blocks - 1];
+					blockTotal[blocks - 2] += blockTotal[blocks - 1];
+					blocks--;
+				}
+			}
+			for (int b = 0; b < blocks; b++) {
+				int end = b == blocks - 1 ? count : blockStart[b + 1];
+				long value = Math.round(blockTotal[b] / blockWeight[b]);
+				for (int i = blockStart[b]; i < end; i++) {
+					x[order[start + i]] = (int) (value + offsets[i]);
+				}
+			}
+		}
+
+		private void placeVertically() {
+			rankY = new int[rankCount];
+			rankHeight = new int[rankCount];
+			int current = g.margin.top;
+			for (int r = 0; r < rankCount; r++) {
+				int top = 0;
+				int bottom = 0;
+				int height = 0;
+				for (int i = rankStart[r]; i < rankStart[r + 1]; i++) {
+					int node = order[i];
+					if (node < n) {
+						top = Math.max(top, g.getPaddingTop(node));
+						bottom = Math.max(bottom, g.getPaddingBottom(node));
+						height = Math.max(height, g.height[node]);
+					}
+				}
+				rankY[r] = current + top;
+				rankHeight[r] = height;
+				current = rankY[r] + height + bottom;
+			}
+			for (int i = 0; i < n; i++) {
+				g.y[i] = rankY[rank[i]];
+			}
+			g.size.height = current + g.margin.bottom;
+		}
+
+		/**
+		 * Routes every edge from the bottom of its source through the virtual nodes
+		 * to the top of its target. Reversed edges are routed in the opposite
+		 * direction and their points are stored backwards.
+		 */
+		private void routeEdges() {
+			int[] pointStart = new int[g.edgeCount + 1];
+			for (int e = 0; e < g.edgeCount; e++) {
+				int span = isLoop(e) ? 0 : rank[tail(e)] - rank[head(e)];
+				pointStart[e + 1] = pointStart[e] + 2 + 2 * Math.max(span - 1, 0);
+			}
+			int[] points = new int[pointStart[g.edgeCount] * 2];
+			for (int e = 0; e < g.edgeCount; e++) {
+				int from = isLoop(e) ? g.source[e] : head(e);
+				int to = isLoop(e) ? g.target[e] : tail(e);
+				int span = rank[to] - rank[from];
+				int index = pointStart[e] * 2;
+				points[index++] = x[from] + width[from] / 2;
+				points[index++] = g.y[from] + g.height[from];
+				for (int k = 0; k < span - 1; k++) {
+					int node = virtualStart[e] + k;
+					int center = x[node] + width[node] / 2;
+					points[index++] = center;
+					points[index++] = rankY[rank[node]];
+					points[index++] = center;
+					points[index++] = rankY[rank[node]] + rankHeight[rank[node]];
+				}
+				points[index++] = x[to] + width[to] / 2;
+				points[index] = g.y[to];
+				if (g.feedback[e]) {
+					reverse(points, pointStart[e], pointStart[e + 1]);
+				}
+			}
+			g.pointStart = pointStart;
+			g.points = points;
+		}
+
+		private static void reverse(int[] points, int start, int end) {
+			for (int i = start, j = end - 1; i < j; i++, j--) {
+				int temp = points[2 * i];
+				points[2 * i] = points[2 * j];
+				points[2 * j] = temp;
+				temp = points[2 * i + 1];
+				points[2 * i + 1] = points[2 * j + 1];
+				points[2 * j + 1] = temp;
+			}
+		}
+	}
+
+}
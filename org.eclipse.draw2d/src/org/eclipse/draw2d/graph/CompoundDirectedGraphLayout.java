@@ -50,7 +50,7 @@ public final class CompoundDirectedGraphLayout extends DirectedGraphLayout {
 		steps.add(new RankAssignmentSolver());
 		steps.add(new CompoundPopulateRanks());
 		steps.add(new CompoundVerticalPlacement());
-		steps.add(new MinCross(new CompoundRankSorter()));
+		steps.add(new MinCross(CompoundRankSorter::new));
 		steps.add(new SortSubgraphs());
 		steps.add(new CompoundHorizontalPlacement());
 	}
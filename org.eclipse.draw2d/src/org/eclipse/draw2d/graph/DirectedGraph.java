@@ -53,6 +53,7 @@ public class DirectedGraph {
 	public RankList ranks = new RankList();
 
 	Node forestRoot;
+	LayoutSeed seed;
 	Insets margin = new Insets();
 	int[] rankLocations;
 	int[][] cellLocations;
@@ -330,6 +330,10 @@ public class Edge {
 		return isFeedback;
 	}
 
+	void setFeedback(boolean feedback) {
+		isFeedback = feedback;
+	}
+
 	/**
 	 * For internal use only. Returns the node opposite the given node on this edge.
 	 *
@@ -12,10 +12,13 @@ package org.eclipse.draw2d.graph;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Assigns the X and width values for nodes in a directed graph.
@@ -313,8 +316,9 @@ class HorizontalPlacement extends SpanningTreeVisitor {
 		allClusters.add(cluster);
 		growCluster(root, cluster);
 
-		for (int i = 0; i < prime.edges.size(); i++) {
-			Edge e = prime.edges.get(i);
+		// collapsed edges are removed from the graph's edge list in one pass
+		Set<Edge> collapsed = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Edge e : prime.edges) {
 			NodeCluster sourceCluster = clusterMap.get(e.source);
 			NodeCluster targetCluster = clusterMap.get(e.target);
 
@@ -329,10 +333,13 @@ class HorizontalPlacement extends SpanningTreeVisitor {
 				sourceCluster.addRightNeighbor(targetCluster, link);
 				targetCluster.addLeftNeighbor(sourceCluster, link);
 			} else {
-				prime.removeEdge(link.processEdge(e));
-				i--;
+				Edge obsolete = link.processEdge(e);
+				obsolete.source.outgoing.remove(obsolete);
+				obsolete.target.incoming.remove(obsolete);
+				collapsed.add(obsolete);
 			}
 		}
+		prime.edges.removeIf(collapsed::contains);
 		allClusters.forEach(NodeCluster::initValues);
 	}
 
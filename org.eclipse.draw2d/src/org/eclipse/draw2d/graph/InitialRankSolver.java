@@ -41,27 +41,30 @@ class InitialRankSolver extends GraphVisitor {
 		if (graph.nodes.isEmpty()) {
 			return;
 		}
-		NodeList unranked = new NodeList(graph.nodes);
-		NodeList rankMe = new NodeList();
-		while (!unranked.isEmpty()) {
-			rankMe.clear();
-			for (int i = 0; i < unranked.size();) {
-				Node node = unranked.get(i);
-				if (node.incoming.isCompletelyFlagged()) {
-					rankMe.add(node);
-					unranked.remove(i);
-				} else {
-					i++;
-				}
-			}
-			if (rankMe.isEmpty()) {
-				throw new RuntimeException("Cycle detected in graph"); //$NON-NLS-1$
+		// nodes are ranked once all of their incoming edges have been flagged,
+		// workingInts[0] counts the incoming edges which are not flagged yet
+		Deque<Node> rankMe = new ArrayDeque<>();
+		for (Node node : graph.nodes) {
+			node.workingInts[0] = node.incoming.size();
+			if (node.workingInts[0] == 0) {
+				rankMe.add(node);
 			}
-			for (Node node : rankMe) {
-				assignMinimumRank(node);
-				node.outgoing.setFlags(true);
+		}
+		int ranked = 0;
+		while (!rankMe.isEmpty()) {
+			Node node = rankMe.poll();
+			assignMinimumRank(node);
+			ranked++;
+			for (Edge e : node.outgoing) {
+				e.flag = true;
+				if (--e.target.workingInts[0] == 0) {
+					rankMe.add(e.target);
+				}
 			}
 		}
+		if (ranked < graph.nodes.size()) {
+			throw new RuntimeException("Cycle detected in graph"); //$NON-NLS-1$
+		}
 
 		connectForest();
 	}
@@ -106,8 +109,9 @@ class InitialRankSolver extends GraphVisitor {
 		}
 	}
 
-	private static void assignMinimumRank(Node node) {
-		int rank = 0;
+	private void assignMinimumRank(Node node) {
+		// an incremental layout keeps nodes at least at their previous rank
+		int rank = graph.seed == null ? 0 : graph.seed.getRank(node);
 		for (Edge e : node.incoming) {
 			rank = Math.max(rank, e.delta + e.source.rank);
 		}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.graph;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.draw2d.PositionConstants;
+
+/**
+ * The result of a previous layout, used to seed the ranks and the order of the
+ * nodes of an incremental layout. Nodes are matched by their
+ * {@link Node#data data}.
+ *
+ * @since 3.15
+ */
+final class LayoutSeed {
+
+	private final Map<Object, Node> nodes = new HashMap<>();
+
+	private final boolean transposed;
+
+	/**
+	 * @param previous a graph which has been laid out
+	 */
+	LayoutSeed(DirectedGraph previous) {
+		for (Node node : previous.nodes) {
+			if (node.data != null) {
+				nodes.putIfAbsent(node.data, node);
+			}
+		}
+		transposed = previous.getDirection() != PositionConstants.SOUTH;
+	}
+
+	/**
+	 * Returns the node of the previous layout which matches the given node.
+	 *
+	 * @param node a node of the graph being laid out
+	 * @return the previous node, or <code>null</code>
+	 */
+	Node getPrevious(Node node) {
+		if (node.data == null || node instanceof VirtualNode) {
+			return null;
+		}
+		return nodes.get(node.data);
+	}
+
+	/**
+	 * Returns the minimum rank of the given node, which is its previous rank.
+	 *
+	 * @param node a node of the graph being laid out
+	 * @return the previous rank, or 0 for new nodes
+	 */
+	int getRank(Node node) {
+		Node previous = getPrevious(node);
+		return previous == null ? 0 : previous.rank;
+	}
+
+	/**
+	 * Orders the nodes within each rank by their previous position. Nodes which
+	 * have not been laid out before, including virtual nodes, are placed at the
+	 * average position of their neighbors, or after their predecessor in the
+	 * rank if none of their neighbors have a position.
+	 *
+	 * @param g the graph with populated ranks
+	 */
+	void orderRanks(DirectedGraph g) {
+		for (Rank rank : g.ranks) {
+			for (Node node : rank) {
+				Node previous = getPrevious(node);
+				if (previous == null) {
+					node.sortValue = Double.NaN;
+				} else if (transposed) {
+					node.sortValue = previous.y + previous.height / 2.0;
+				} else {
+					node.sortValue = previous.x + previous.width / 2.0;
+				}
+			}
+		}
+		for (Rank rank : g.ranks) {
+			for (Node node : rank) {
+				if (Double.isNaN(node.sortValue)) {
+					node.sortValue = getAveragePosition(node.incoming, true);
+				}
+			}
+		}
+		for (int row = g.ranks.size() - 1; row >= 0; row--) {
+			Rank rank = g.ranks.getRank(row);
+			double predecessor = Double.NEGATIVE_INFINITY;
+			for (Node node : rank) {
+				if (Double.isNaN(node.sortValue)) {
+					node.sortValue = getAveragePosition(node.outgoing, false);
+				}
+				if (Double.isNaN(node.sortValue)) {
+					node.sortValue = predecessor;
+				}
+				predecessor = node.sortValue;
+			}
+			// stable, so that nodes at the same position keep their order
+			rank.sort(Comparator.comparingDouble(node -> node.sortValue));
+		}
+	}
+
+	private static double getAveragePosition(EdgeList edges, boolean sources) {
+		double total = 0;
+		int count = 0;
+		for (Edge e : edges) {
+			Node neighbor = sources ? e.source : e.target;
+			if (!Double.isNaN(neighbor.sortValue)) {
+				total += neighbor.sortValue;
+				count++;
+			}
+		}
+		return count == 0 ? Double.NaN : total / count;
+	}
+
+}
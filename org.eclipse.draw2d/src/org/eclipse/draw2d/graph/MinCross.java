@@ -10,6 +10,19 @@
  *******************************************************************************/
 package org.eclipse.draw2d.graph;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.eclipse.draw2d.geometry.Insets;
+
 /**
  * Sweeps up and down the ranks rearranging them so as to reduce edge crossings.
  * 
@@ -20,10 +33,18 @@ class MinCross extends GraphVisitor {
 
 	static final int MAX = 45;
 
-	private DirectedGraph g;
+	/**
+	 * The number of sweeps without fewer crossings after which the sweeps stop.
+	 */
+	static final int PATIENCE = 10;
+
 	private RankSorter sorter = new RankSorter();
+	private Supplier<RankSorter> sorterFactory;
+	private int restarts = 1;
+	private Executor executor;
 
 	public MinCross() {
+		sorterFactory = RankSorter::new;
 	}
 
 	/**
@@ -33,24 +54,159 @@ class MinCross extends GraphVisitor {
 		setRankSorter(sorter);
 	}
 
+	/**
+	 * Constructs a MinCross which creates additional sorters for restarts using
+	 * the given factory.
+	 *
+	 * @param sorterFactory creates the rank sorters
+	 */
+	MinCross(Supplier<RankSorter> sorterFactory) {
+		this(sorterFactory.get());
+		this.sorterFactory = sorterFactory;
+	}
+
 	public void setRankSorter(RankSorter sorter) {
 		this.sorter = sorter;
+		// the factory may not match the given sorter
+		sorterFactory = null;
+	}
+
+	/**
+	 * Sets the number of orderings to compute. The first ordering starts from the
+	 * ranks as they are. Each additional ordering starts from a random
+	 * permutation of the ranks, is computed on a copy of the ranks by the
+	 * executor, and replaces the first one if it has fewer crossings. Restarts
+	 * require a sorter factory.
+	 *
+	 * @param restarts the number of orderings
+	 */
+	void setRestarts(int restarts) {
+		this.restarts = Math.max(1, restarts);
+	}
+
+	/**
+	 * Sets the executor computing the additional orderings, or <code>null</code>
+	 * to use the common fork join pool.
+	 *
+	 * @param executor the executor
+	 */
+	void setExecutor(Executor executor) {
+		this.executor = executor;
 	}
 
-	void solve() {
+	/**
+	 * Sweeps up and down the ranks until there are no crossings, the number of
+	 * crossings has not decreased for {@link #PATIENCE} sweeps, or {@link #MAX}
+	 * sweeps have been performed. The ordering with the fewest crossings is kept.
+	 *
+	 * @param g      the graph
+	 * @param sorter the initialized sorter
+	 * @return the number of crossings
+	 */
+	static long solve(DirectedGraph g, RankSorter sorter) {
 		Rank rank;
-		for (int loop = 0; loop < MAX; loop++) {
+		long crossings = countCrossings(g);
+		long fewestCrossings = crossings;
+		Node[][] bestOrder = null;
+		int stale = 0;
+		for (int loop = 0; loop < MAX && fewestCrossings > 0 && stale < PATIENCE; loop++) {
 			for (int row = 1; row < g.ranks.size(); row++) {
 				rank = g.ranks.getRank(row);
 				sorter.sortRankIncoming(g, rank, row, (double) loop / MAX);
 			}
-			if (loop == MAX - 1)
+			if (loop < MAX - 1) {
+				for (int row = g.ranks.size() - 2; row >= 0; row--) {
+					rank = g.ranks.getRank(row);
+					sorter.sortRankOutgoing(g, rank, row, (double) loop / MAX);
+				}
+			}
+			crossings = countCrossings(g);
+			if (crossings < fewestCrossings) {
+				fewestCrossings = crossings;
+				bestOrder = saveOrder(g, bestOrder);
+				stale = 0;
+			} else {
+				stale++;
+			}
+		}
+		// later sweeps may have made things worse again
+		if (crossings > fewestCrossings && bestOrder != null) {
+			restoreOrder(g, bestOrder);
+		}
+		return fewestCrossings;
+	}
+
+	private static Node[][] saveOrder(DirectedGraph g, Node[][] order) {
+		if (order == null) {
+			order = new Node[g.ranks.size()][];
+		}
+		for (int row = 0; row < g.ranks.size(); row++) {
+			order[row] = g.ranks.getRank(row).toArray(order[row] == null ? new Node[0] : order[row]);
+		}
+		return order;
+	}
+
+	private static void restoreOrder(DirectedGraph g, Node[][] order) {
+		for (int row = 0; row < g.ranks.size(); row++) {
+			Rank rank = g.ranks.getRank(row);
+			for (int i = 0; i < rank.size(); i++) {
+				rank.set(i, order[row][i]);
+			}
+			rank.assignIndices();
+		}
+	}
+
+	/**
+	 * Counts the crossings between the edges joining adjacent ranks, using the
+	 * indices of the nodes within their ranks. Edges spanning more than one rank
+	 * are ignored.
+	 *
+	 * @param g the graph
+	 * @return the number of crossings
+	 */
+	static long countCrossings(DirectedGraph g) {
+		long crossings = 0;
+		int[] targets = new int[16];
+		int[] tree = new int[16];
+		for (int row = 0; row < g.ranks.size() - 1; row++) {
+			Rank rank = g.ranks.getRank(row);
+			Rank next = g.ranks.getRank(row + 1);
+			int count = 0;
+			for (Node node : rank) {
+				int first = count;
+				for (Edge e : node.outgoing) {
+					if (e.target.rank == row + 1) {
+						if (count == targets.length) {
+							targets = Arrays.copyOf(targets, count * 2);
+						}
+						targets[count++] = e.target.index;
+					}
+				}
+				Arrays.sort(targets, first, count);
+			}
+			if (count < 2) {
 				continue;
-			for (int row = g.ranks.size() - 2; row >= 0; row--) {
-				rank = g.ranks.getRank(row);
-				sorter.sortRankOutgoing(g, rank, row, (double) loop / MAX);
+			}
+			// count the inversions of the target indices using a Fenwick tree
+			int size = next.total + 1;
+			if (tree.length < size) {
+				tree = new int[size];
+			} else {
+				Arrays.fill(tree, 0, size, 0);
+			}
+			for (int i = 0; i < count; i++) {
+				int index = targets[i];
+				int smallerOrEqual = 0;
+				for (int j = index; j > 0; j -= j & -j) {
+					smallerOrEqual += tree[j];
+				}
+				crossings += i - smallerOrEqual;
+				for (int j = index; j < size; j += j & -j) {
+					tree[j]++;
+				}
 			}
 		}
+		return crossings;
 	}
 
 	/**
@@ -58,10 +214,156 @@ class MinCross extends GraphVisitor {
 	 */
 	@Override
 	public void visit(DirectedGraph g) {
+		if (g.seed != null) {
+			// keep the previous order, only local optimizations are applied
+			g.seed.orderRanks(g);
+			sorter.init(g);
+			sorter.optimize(g);
+			return;
+		}
+		List<Restart> copies = new ArrayList<>();
+		List<CompletableFuture<Long>> results = new ArrayList<>();
+		if (sorterFactory != null) {
+			// the copies must be taken before the ranks are sorted
+			for (int i = 1; i < restarts; i++) {
+				Restart restart = new Restart(g, sorterFactory.get(), i);
+				copies.add(restart);
+				results.add(executor == null ? CompletableFuture.supplyAsync(restart::solve)
+						: CompletableFuture.supplyAsync(restart::solve, executor));
+			}
+		}
 		sorter.init(g);
-		this.g = g;
-		solve();
+		long crossings = solve(g, sorter);
+		Restart best = null;
+		for (int i = 0; i < copies.size(); i++) {
+			long restartCrossings;
+			try {
+				restartCrossings = results.get(i).join().longValue();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				throw e;
+			}
+			if (restartCrossings < crossings) {
+				crossings = restartCrossings;
+				best = copies.get(i);
+			}
+		}
+		if (best != null) {
+			best.apply(g);
+		}
 		sorter.optimize(g);
 	}
 
+	/**
+	 * A randomized ordering of a copy of the graph's ranks. The copy contains the
+	 * ranked nodes, the edges between them and the subgraphs containing them, so
+	 * that it can be sorted independently of the graph.
+	 */
+	private static final class Restart {
+
+		private final DirectedGraph copy = new DirectedGraph();
+		private final RankSorter sorter;
+		private final Random random;
+
+		Restart(DirectedGraph g, RankSorter sorter, long seed) {
+			this.sorter = sorter;
+			random = new Random(seed);
+			sorter.flipflop = new Random(seed);
+			Map<Node, Node> copies = new IdentityHashMap<>();
+			for (int row = 0; row < g.ranks.size(); row++) {
+				Rank rankCopy = copy.ranks.getRank(row);
+				for (Node node : g.ranks.getRank(row)) {
+					Node nodeCopy = copyNode(node, copies);
+					nodeCopy.rank = node.rank;
+					rankCopy.add(nodeCopy);
+					copy.nodes.add(nodeCopy);
+				}
+			}
+			Map<Edge, Edge> edgeCopies = new IdentityHashMap<>();
+			for (Rank rank : g.ranks) {
+				for (Node node : rank) {
+					for (Edge e : node.outgoing) {
+						Node target = copies.get(e.target);
+						if (target != null) {
+							Edge edgeCopy = new Edge(copies.get(node), target);
+							edgeCopies.put(e, edgeCopy);
+							copy.edges.add(edgeCopy);
+						}
+					}
+				}
+			}
+			// keep the incoming edges in their original order as well
+			for (Rank rank : g.ranks) {
+				for (Node node : rank) {
+					EdgeList incoming = copies.get(node).incoming;
+					incoming.clear();
+					for (Edge e : node.incoming) {
+						Edge edgeCopy = edgeCopies.get(e);
+						if (edgeCopy != null) {
+							incoming.add(edgeCopy);
+						}
+					}
+				}
+			}
+		}
+
+		private static Node copyNode(Node node, Map<Node, Node> copies) {
+			Node nodeCopy = copies.get(node);
+			if (nodeCopy != null) {
+				return nodeCopy;
+			}
+			Subgraph parent = null;
+			if (node.getParent() != null) {
+				parent = (Subgraph) copyNode(node.getParent(), copies);
+			}
+			if (node instanceof SubgraphBoundary && parent != null) {
+				// ranked boundaries are the heads and tails of their parents
+				Subgraph original = node.getParent();
+				if (original.head == node) {
+					nodeCopy = parent.head = new SubgraphBoundary(parent, new Insets(), SubgraphBoundary.TOP);
+				} else {
+					nodeCopy = parent.tail = new SubgraphBoundary(parent, new Insets(), SubgraphBoundary.BOTTOM);
+				}
+				nodeCopy.data = node;
+			} else if (node instanceof Subgraph) {
+				nodeCopy = new Subgraph(node, parent);
+			} else {
+				nodeCopy = new Node(node, parent);
+			}
+			nodeCopy.setRowConstraint(node.getRowConstraint());
+			copies.put(node, nodeCopy);
+			return nodeCopy;
+		}
+
+		long solve() {
+			sorter.init(copy);
+			// the sorter orders the ranks by their constraints and nesting, so the
+			// ranks are permuted afterwards
+			for (Rank rank : copy.ranks) {
+				NestingTree tree = NestingTree.buildNestingTreeForRank(rank);
+				tree.shuffle(random);
+				rank.clear();
+				tree.repopulateRank(rank);
+				rank.assignIndices();
+			}
+			return MinCross.solve(copy, sorter);
+		}
+
+		/**
+		 * Orders the ranks of the graph like the ranks of the copy.
+		 */
+		void apply(DirectedGraph g) {
+			for (int row = 0; row < g.ranks.size(); row++) {
+				Rank rank = g.ranks.getRank(row);
+				Rank rankCopy = copy.ranks.getRank(row);
+				for (int i = 0; i < rank.size(); i++) {
+					rank.set(i, (Node) rankCopy.get(i).data);
+				}
+				rank.assignIndices();
+			}
+		}
+	}
+
 }
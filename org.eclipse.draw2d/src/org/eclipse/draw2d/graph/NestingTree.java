@@ -11,13 +11,16 @@
 package org.eclipse.draw2d.graph;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 class NestingTree {
 
-	List contents = new ArrayList();
+	List<Object> contents = new ArrayList<>();
 	boolean isLeaf = true;
 	int size;
 	double sortValue;
@@ -140,6 +143,42 @@ class NestingTree {
 		return true;
 	}
 
+	/**
+	 * Randomly permutes the contents of this tree and of its subtrees. Nodes and
+	 * subgraphs with a row constraint keep their order among each other.
+	 *
+	 * @param random the source of the permutation
+	 */
+	void shuffle(Random random) {
+		Collections.shuffle(contents, random);
+		List<Object> constrained = new ArrayList<>();
+		for (Object o : contents) {
+			if (getRowOrder(o) != -1) {
+				constrained.add(o);
+			}
+		}
+		constrained.sort(Comparator.comparingInt(NestingTree::getRowOrder));
+		int next = 0;
+		for (int i = 0; i < contents.size(); i++) {
+			Object o = contents.get(i);
+			if (getRowOrder(o) != -1) {
+				contents.set(i, constrained.get(next++));
+			}
+		}
+		for (Object o : contents) {
+			if (o instanceof NestingTree nt) {
+				nt.shuffle(random);
+			}
+		}
+	}
+
+	private static int getRowOrder(Object o) {
+		if (o instanceof NestingTree nt) {
+			return nt.subgraph.getRowConstraint();
+		}
+		return ((Node) o).getRowConstraint();
+	}
+
 	@Override
 	public String toString() {
 		return "Nesting:" + subgraph; //$NON-NLS-1$
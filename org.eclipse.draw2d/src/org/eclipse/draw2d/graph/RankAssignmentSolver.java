@@ -12,6 +12,8 @@ package org.eclipse.draw2d.graph;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * Assigns the final rank assignment for a DirectedGraph with an initial
@@ -23,9 +25,24 @@ import java.util.Deque;
 class RankAssignmentSolver extends SpanningTreeVisitor {
 
 	DirectedGraph graph;
-	EdgeList spanningTree;
+
+	/**
+	 * The tree edges with a negative cut value, in the order in which their cut
+	 * values were last computed. A set, as they are removed and added again
+	 * whenever a cut value is repaired.
+	 */
+	Set<Edge> spanningTree;
 	boolean searchDirection;
 
+	/**
+	 * The nodes indexed by their postorder number in the spanning tree, so that
+	 * the nodes of a subtree can be visited without scanning the whole graph.
+	 */
+	Node[] postorder;
+
+	private Node[] pathNodes;
+	private int[] pathIndices;
+
 	int depthFirstCutValue(Edge edge, int count) {
 		Node n = getTreeTail(edge);
 		setTreeMin(n, count);
@@ -65,35 +82,41 @@ class RankAssignmentSolver extends SpanningTreeVisitor {
 	 * @return Edge
 	 */
 	Edge enter(Node branch) {
-		Node n;
 		Edge result = null;
 		int minSlack = Integer.MAX_VALUE;
+		int resultIndex = -1;
 		boolean incoming = getParentEdge(branch).target != branch;
 		// searchDirection = !searchDirection;
-		for (int i = 0; i < graph.nodes.size(); i++) {
-			if (searchDirection) {
-				n = graph.nodes.get(i);
+		for (int i = getTreeMin(branch); i <= getTreeMax(branch); i++) {
+			Node n = postorder[i];
+			// among edges of equal slack, prefer the last node of the graph, or the
+			// first one if searching forward
+			int index = searchDirection ? -getGraphIndex(n) : getGraphIndex(n);
+			EdgeList edges;
+			if (incoming) {
+				edges = n.incoming;
 			} else {
-				n = graph.nodes.get(graph.nodes.size() - 1 - i);
+				edges = n.outgoing;
 			}
-			if (subtreeContains(branch, n)) {
-				EdgeList edges;
-				if (incoming) {
-					edges = n.incoming;
-				} else {
-					edges = n.outgoing;
+			for (Edge e : edges) {
+				if (e.tree || subtreeContains(branch, e.opposite(n))) {
+					continue;
 				}
-				for (Edge e : edges) {
-					if (!subtreeContains(branch, e.opposite(n)) && !e.tree && e.getSlack() < minSlack) {
-						result = e;
-						minSlack = e.getSlack();
-					}
+				int slack = e.getSlack();
+				if (slack < minSlack || (slack == minSlack && index > resultIndex)) {
+					result = e;
+					minSlack = slack;
+					resultIndex = index;
 				}
 			}
 		}
 		return result;
 	}
 
+	private static int getGraphIndex(Node n) {
+		return n.workingInts[2];
+	}
+
 	int getTreeMax(Node n) {
 		return n.workingInts[1];
 	}
@@ -103,8 +126,14 @@ class RankAssignmentSolver extends SpanningTreeVisitor {
 	}
 
 	void initCutValues() {
+		postorder = new Node[graph.nodes.size() + 1];
+		pathNodes = new Node[graph.nodes.size()];
+		pathIndices = new int[graph.nodes.size()];
+		for (int i = 0; i < graph.nodes.size(); i++) {
+			graph.nodes.get(i).workingInts[2] = i;
+		}
 		Node root = graph.nodes.get(0);
-		spanningTree = new EdgeList();
+		spanningTree = new LinkedHashSet<>();
 		setTreeMin(root, 1);
 		setTreeMax(root, 1);
 
@@ -178,6 +207,7 @@ class RankAssignmentSolver extends SpanningTreeVisitor {
 			repairCutValues(enter);
 
 			Node commonAncestor = enterHead;
+			Node oldParent = leaveHead;
 
 			while (!subtreeContains(commonAncestor, leaveHead)) {
 				repairCutValues(getParentEdge(commonAncestor));
@@ -187,7 +217,7 @@ class RankAssignmentSolver extends SpanningTreeVisitor {
 				repairCutValues(getParentEdge(leaveHead));
 				leaveHead = getTreeParent(leaveHead);
 			}
-			updateMinMax(commonAncestor, getTreeMin(commonAncestor));
+			updatePostorder(leaveTail, enterTail, oldParent, commonAncestor);
 			tightenEdge(enter);
 		}
 	}
@@ -221,6 +251,7 @@ class RankAssignmentSolver extends SpanningTreeVisitor {
 
 	void setTreeMax(Node n, int value) {
 		n.workingInts[1] = value;
+		postorder[value] = n;
 	}
 
 	void setTreeMin(Node n, int value) {
@@ -237,20 +268,89 @@ class RankAssignmentSolver extends SpanningTreeVisitor {
 		if (tail == edge.target) {
 			delta = -delta;
 		}
-		for (Node n : graph.nodes) {
-			if (subtreeContains(tail, n)) {
-				n.rank += delta;
-			}
+		for (int i = getTreeMin(tail); i <= getTreeMax(tail); i++) {
+			postorder[i].rank += delta;
 		}
 	}
 
 	int updateMinMax(Node root, int count) {
+		// iterative depth-first traversal, as the spanning tree may be very deep
+		int depth = 0;
+		pathNodes[0] = root;
+		pathIndices[0] = 0;
 		setTreeMin(root, count);
-		for (Edge e : getSpanningTreeChildren(root)) {
-			count = updateMinMax(getTreeTail(e), count);
+		while (depth >= 0) {
+			Node n = pathNodes[depth];
+			EdgeList children = getSpanningTreeChildren(n);
+			int i = pathIndices[depth];
+			if (i < children.size()) {
+				pathIndices[depth] = i + 1;
+				Node child = getTreeTail(children.get(i));
+				setTreeMin(child, count);
+				depth++;
+				pathNodes[depth] = child;
+				pathIndices[depth] = 0;
+			} else {
+				setTreeMax(n, count++);
+				depth--;
+			}
 		}
-		setTreeMax(root, count);
-		return count + 1;
+		return count;
+	}
+
+	/**
+	 * Updates the postorder numbers after a subtree has been moved. The subtree
+	 * still carries its old numbers, has been re-rooted at <code>root</code> and
+	 * appended to the children of its new parent. Only the nodes between the old
+	 * and the new position of the subtree in postorder are renumbered, instead of
+	 * the whole subtree of the common ancestor.
+	 *
+	 * @param oldRoot        the old root of the moved subtree
+	 * @param root           the new root of the moved subtree
+	 * @param oldParent      the old parent of the moved subtree
+	 * @param commonAncestor the common ancestor of the old and new parent
+	 */
+	void updatePostorder(Node oldRoot, Node root, Node oldParent, Node commonAncestor) {
+		int min = getTreeMin(oldRoot);
+		int max = getTreeMax(oldRoot);
+		int size = max - min + 1;
+		Node parent = getTreeParent(root);
+		int parentMax = getTreeMax(parent);
+		int start;
+		if (max < parentMax) {
+			for (int i = max + 1; i < parentMax; i++) {
+				shiftPostorder(postorder[i], -size);
+			}
+			start = parentMax - size;
+		} else {
+			for (int i = min - 1; i >= parentMax; i--) {
+				shiftPostorder(postorder[i], size);
+			}
+			start = parentMax;
+		}
+		updateMinMax(root, start);
+		// only the ancestors of the old and new position may span both regions
+		for (Node n = oldParent; n != commonAncestor; n = getTreeParent(n)) {
+			updateTreeMin(n);
+		}
+		for (Node n = parent; n != commonAncestor; n = getTreeParent(n)) {
+			updateTreeMin(n);
+		}
+		updateTreeMin(commonAncestor);
+	}
+
+	private void shiftPostorder(Node n, int delta) {
+		setTreeMin(n, getTreeMin(n) + delta);
+		setTreeMax(n, getTreeMax(n) + delta);
+	}
+
+	private void updateTreeMin(Node n) {
+		// children are not necessarily numbered in the order of the list
+		int min = getTreeMax(n);
+		for (Edge e : getSpanningTreeChildren(n)) {
+			min = Math.min(min, getTreeMin(getTreeTail(e)));
+		}
+		setTreeMin(n, min);
 	}
 
 	void updateSubgraph(Node root) {
@@ -55,19 +55,8 @@ class RankSorter {
 	}
 
 	double evaluateNodeIncoming() {
-		boolean change = false;
 		EdgeList incoming = node.incoming;
-		do {
-			change = false;
-			for (int i = 0; i < incoming.size() - 1; i++) {
-				if (incoming.getSourceIndex(i) > incoming.getSourceIndex(i + 1)) {
-					Edge e = incoming.get(i);
-					incoming.set(i, incoming.get(i + 1));
-					incoming.set(i + 1, e);
-					change = true;
-				}
-			}
-		} while (change);
+		sortBySourceIndex(incoming);
 
 		int n = incoming.size();
 		if (n == 0) {
@@ -99,19 +88,8 @@ class RankSorter {
 	}
 
 	double evaluateNodeOutgoing() {
-		boolean change = false;
 		EdgeList outgoing = node.outgoing;
-		do {
-			change = false;
-			for (int i = 0; i < outgoing.size() - 1; i++) {
-				if (outgoing.getTargetIndex(i) > outgoing.getTargetIndex(i + 1)) {
-					Edge e = outgoing.get(i);
-					outgoing.set(i, outgoing.get(i + 1));
-					outgoing.set(i + 1, e);
-					change = true;
-				}
-			}
-		} while (change);
+		sortByTargetIndex(outgoing);
 
 		int n = outgoing.size();
 		if (n == 0) {
@@ -141,6 +119,34 @@ class RankSorter {
 		return (l + r) / 2.0;
 	}
 
+	/*
+	 * Stable insertion sorts, as the edge lists are usually sorted already from
+	 * the previous sweep.
+	 */
+	private static void sortBySourceIndex(EdgeList edges) {
+		for (int i = 1; i < edges.size(); i++) {
+			Edge e = edges.get(i);
+			int j = i;
+			while (j > 0 && edges.getSourceIndex(j - 1) > e.source.index) {
+				edges.set(j, edges.get(j - 1));
+				j--;
+			}
+			edges.set(j, e);
+		}
+	}
+
+	private static void sortByTargetIndex(EdgeList edges) {
+		for (int i = 1; i < edges.size(); i++) {
+			Edge e = edges.get(i);
+			int j = i;
+			while (j > 0 && edges.getTargetIndex(j - 1) > e.target.index) {
+				edges.set(j, edges.get(j - 1));
+				j--;
+			}
+			edges.set(j, e);
+		}
+	}
+
 	public void sortRankIncoming(DirectedGraph g, Rank rank, int row, double progress) {
 		this.currentRow = row;
 		this.rank = rank;
@@ -10,6 +10,10 @@
  *******************************************************************************/
 package org.eclipse.draw2d.graph;
 
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 /**
  * Finds a tight spanning tree from the graphs edges which induce a valid rank
  * assignment. This process requires that the nodes be initially given a
@@ -23,32 +27,118 @@ class TightSpanningTreeSolver extends SpanningTreeVisitor {
 	protected DirectedGraph graph;
 	protected CandidateList candidates = new CandidateList();
 
+	/**
+	 * The edges leaving the tree. Besides the edges, the list maintains a tournament
+	 * tree over their slacks, so that the first edge with the least slack can be
+	 * found in logarithmic time. The slack of a candidate is stored relative to
+	 * the offset of the tree's members, so the keys never change while the
+	 * members are shifted.
+	 */
 	static final class CandidateList {
-		private Edge[] edges = new Edge[10];
+		private static final int NONE = Integer.MAX_VALUE;
+		private Edge[] edges = new Edge[16];
+		private final Map<Edge, Integer> positions = new IdentityHashMap<>();
+		/**
+		 * Minimum keys of the candidates whose target resp. source is a member,
+		 * stored as complete binary trees with the candidates at the leaves.
+		 */
+		private int[] targetKeys = newTree(16);
+		private int[] sourceKeys = newTree(16);
 		private int size;
 
+		private static int[] newTree(int capacity) {
+			int[] tree = new int[2 * capacity];
+			Arrays.fill(tree, NONE);
+			return tree;
+		}
+
+		/**
+		 * Adds a candidate. Exactly one end of the edge must be flagged as a member.
+		 *
+		 * @param edge the edge
+		 */
 		public void add(Edge edge) {
-			if (size == edges.length - 1) {
-				Edge[] newEdges = new Edge[edges.length * 2];
-				System.arraycopy(edges, 0, newEdges, 0, edges.length);
-				edges = newEdges;
+			if (size == edges.length) {
+				grow();
+			}
+			positions.put(edge, Integer.valueOf(size));
+			edges[size] = edge;
+			int key = edge.getSlack();
+			if (edge.target.flag) {
+				setKey(size, key, NONE);
+			} else {
+				setKey(size, NONE, key);
+			}
+			size++;
+		}
+
+		private void grow() {
+			int capacity = edges.length * 2;
+			edges = Arrays.copyOf(edges, capacity);
+			int[] newTargetKeys = newTree(capacity);
+			int[] newSourceKeys = newTree(capacity);
+			System.arraycopy(targetKeys, targetKeys.length / 2, newTargetKeys, capacity, size);
+			System.arraycopy(sourceKeys, sourceKeys.length / 2, newSourceKeys, capacity, size);
+			for (int i = capacity - 1; i > 0; i--) {
+				newTargetKeys[i] = Math.min(newTargetKeys[2 * i], newTargetKeys[2 * i + 1]);
+				newSourceKeys[i] = Math.min(newSourceKeys[2 * i], newSourceKeys[2 * i + 1]);
+			}
+			targetKeys = newTargetKeys;
+			sourceKeys = newSourceKeys;
+		}
+
+		private void setKey(int position, int targetKey, int sourceKey) {
+			int i = position + edges.length;
+			targetKeys[i] = targetKey;
+			sourceKeys[i] = sourceKey;
+			for (i /= 2; i > 0; i /= 2) {
+				targetKeys[i] = Math.min(targetKeys[2 * i], targetKeys[2 * i + 1]);
+				sourceKeys[i] = Math.min(sourceKeys[2 * i], sourceKeys[2 * i + 1]);
 			}
-			edges[size++] = edge;
 		}
 
 		public Edge getEdge(int index) {
 			return edges[index];
 		}
 
-		public void remove(Edge edge) {
-			for (int i = 0; i < size; i++) {
-				if (edges[i] == edge) {
-					edges[i] = edges[size - 1];
-					size--;
-					return;
+		/**
+		 * Returns the first candidate with the least slack, given the offset of the
+		 * members.
+		 *
+		 * @param offset the member offset
+		 * @return the first candidate with the least slack
+		 */
+		Edge getMinimum(int offset) {
+			long min = Math.min(slack(targetKeys[1], offset), slack(sourceKeys[1], -offset));
+			int i = 1;
+			while (i < edges.length) {
+				i *= 2;
+				if (slack(targetKeys[i], offset) != min && slack(sourceKeys[i], -offset) != min) {
+					i++;
 				}
 			}
-			throw new RuntimeException("Remove called on invalid Edge"); //$NON-NLS-1$
+			return edges[i - edges.length];
+		}
+
+		private static long slack(int key, int offset) {
+			return key == NONE ? Long.MAX_VALUE : (long) key + offset;
+		}
+
+		public void remove(Edge edge) {
+			Integer position = positions.remove(edge);
+			if (position == null) {
+				throw new RuntimeException("Remove called on invalid Edge"); //$NON-NLS-1$
+			}
+			int i = position.intValue();
+			size--;
+			if (i < size) {
+				edges[i] = edges[size];
+				positions.put(edges[i], position);
+				int leaf = size + edges.length;
+				setKey(i, targetKeys[leaf], sourceKeys[leaf]);
+			}
+			edges[size] = null;
+			setKey(size, NONE, NONE);
 		}
 
 		public int size() {
@@ -58,6 +148,13 @@ class TightSpanningTreeSolver extends SpanningTreeVisitor {
 
 	protected NodeList members = new NodeList();
 
+	/**
+	 * The amount by which the ranks of all members have been shifted since they
+	 * joined the tree. A member's actual rank is its rank plus this offset, which
+	 * avoids adjusting every member whenever an edge is added.
+	 */
+	private int memberOffset;
+
 	@Override
 	public void visit(DirectedGraph graph) {
 		this.graph = graph;
@@ -66,7 +163,7 @@ class TightSpanningTreeSolver extends SpanningTreeVisitor {
 	}
 
 	Node addEdge(Edge edge) {
-		int delta = edge.getSlack();
+		int delta = getSlack(edge);
 		edge.tree = true;
 		Node node;
 		if (edge.target.flag) {
@@ -79,11 +176,23 @@ class TightSpanningTreeSolver extends SpanningTreeVisitor {
 			setParentEdge(node, edge);
 			getSpanningTreeChildren(edge.source).add(edge);
 		}
-		members.adjustRank(delta);
+		memberOffset += delta;
+		node.rank -= memberOffset;
 		addNode(node);
 		return node;
 	}
 
+	/**
+	 * Returns the slack of a candidate edge, taking the offset of the member at
+	 * one of its ends into account.
+	 */
+	private int getSlack(Edge edge) {
+		if (edge.target.flag) {
+			return edge.getSlack() + memberOffset;
+		}
+		return edge.getSlack() - memberOffset;
+	}
+
 	private static boolean isNodeReachable(Node node) {
 		return node.flag;
 	}
@@ -143,18 +252,10 @@ class TightSpanningTreeSolver extends SpanningTreeVisitor {
 			if (candidates.size() == 0) {
 				throw new RuntimeException("graph is not fully connected");//$NON-NLS-1$
 			}
-			int minSlack = Integer.MAX_VALUE, slack;
-			Edge minEdge = null, edge;
-			for (int i = 0; i < candidates.size() && minSlack > 0; i++) {
-				edge = candidates.getEdge(i);
-				slack = edge.getSlack();
-				if (slack < minSlack) {
-					minSlack = slack;
-					minEdge = edge;
-				}
-			}
-			addEdge(minEdge);
+			addEdge(candidates.getMinimum(memberOffset));
 		}
+		members.adjustRank(memberOffset);
+		memberOffset = 0;
 		graph.nodes.normalizeRanks();
 	}
 
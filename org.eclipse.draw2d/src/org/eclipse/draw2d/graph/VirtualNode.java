@@ -92,8 +92,8 @@ public class VirtualNode extends Node {
 	 */
 	@Override
 	public String toString() {
-		if (data instanceof Edge)
-			return "VN[" + (((Edge) data).vNodes.indexOf(this) + 1) //$NON-NLS-1$
+		if (data instanceof Edge edge && edge.vNodes != null)
+			return "VN[" + (edge.vNodes.indexOf(this) + 1) //$NON-NLS-1$
 					+ "](" + data + ")"; //$NON-NLS-1$ //$NON-NLS-2$
 		return super.toString();
 	}
@@ -11,6 +11,8 @@
 
 package org.eclipse.draw2d.graph;
 
+import java.util.List;
+
 import org.eclipse.draw2d.geometry.Insets;
 
 /**
@@ -53,7 +55,7 @@ class VirtualNodeCreation extends RevertableChange {
 		Subgraph s = GraphUtilities.getCommonAncestor(edge.source, edge.target);
 
 		for (int i = 0; i < size; i++) {
-			nodes[i] = currentNode = new VirtualNode("Virtual" + i + ':' + edge, s); //$NON-NLS-1$
+			nodes[i] = currentNode = new VirtualNode(edge, s);
 			currentNode.width = edge.width;
 			if (s != null) {
 				currentNode.nestingIndex = s.nestingIndex;
@@ -85,12 +87,21 @@ class VirtualNodeCreation extends RevertableChange {
 		edge.start = edges[0].start;
 		edge.end = edges[edges.length - 1].end;
 		edge.vNodes = new NodeList();
-		for (int i = 0; i < edges.length; i++) {
-			graph.removeEdge(edges[i]);
+		for (Node node : nodes) {
+			edge.vNodes.add(node);
+		}
+		// The virtual edges and nodes were appended to the graph, and the changes
+		// are reverted in reverse order, so they are removed from the end of its
+		// lists instead of searching them from the start.
+		for (int i = edges.length - 1; i >= 0; i--) {
+			Edge e = edges[i];
+			removeLast(graph.edges, e);
+			e.source.outgoing.remove(e);
+			e.target.incoming.remove(e);
 		}
-		for (int i = 0; i < nodes.length; i++) {
-			edge.vNodes.add(nodes[i]);
-			graph.removeNode(nodes[i]);
+		for (int i = nodes.length - 1; i >= 0; i--) {
+			removeLast(graph.nodes, nodes[i]);
+			graph.ranks.getRank(nodes[i].rank).remove(nodes[i]);
 		}
 		edge.source.outgoing.add(edge);
 		edge.target.incoming.add(edge);
@@ -98,4 +109,11 @@ class VirtualNodeCreation extends RevertableChange {
 		graph.edges.add(edge);
 	}
 
+	private static <T> void removeLast(List<T> list, T element) {
+		int index = list.lastIndexOf(element);
+		if (index != -1) {
+			list.remove(index);
+		}
+	}
+
 }
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.draw2d.parts;
 
+import java.util.BitSet;
 import java.util.Map;
 
 import org.eclipse.swt.SWT;
@@ -44,16 +45,25 @@ public class Thumbnail extends Figure implements UpdateListener {
 
 	/**
 	 * This updates the Thumbnail by breaking the thumbnail {@link Image} into
-	 * several tiles and updating each tile individually.
+	 * several tiles and updating each tile individually. Only the tiles covered by
+	 * the dirty regions of the source figure are updated, unless the size of the
+	 * source figure or of the thumbnail has changed. Damage reported while an
+	 * update is pending or running is merged into that update.
 	 */
 	class ThumbnailUpdater implements Runnable {
-		private static final int MIN_TILE_SIZE = 256;
+		private static final int MIN_TILE_SIZE = 64;
 		private static final int MAX_NUMBER_OF_TILES = 16;
+		// delay in milliseconds before a partial update starts, so that the damage
+		// of subsequent paints is merged into it
+		private static final int UPDATE_DELAY = 50;
 		private int currentHTile, currentVTile;
 		private int hTiles, vTiles;
 		private Dimension tileSize;
 		private Dimension sourceSize; // the source size that was used for the
 										// tileSize computation
+		private Rectangle sourceBounds; // the source rectangle the tiles map to
+		private final BitSet pendingTiles = new BitSet();
+		private boolean needsFullUpdate = true;
 		private boolean isActive = true;
 
 		private boolean isRunning = false;
@@ -69,6 +79,8 @@ public class Thumbnail extends Figure implements UpdateListener {
 		public void deactivate() {
 			setActive(false);
 			stop();
+			pendingTiles.clear();
+			needsFullUpdate = true;
 			if (thumbnailImage != null) {
 				thumbnailImage.dispose();
 				thumbnailImage = null;
@@ -94,6 +106,40 @@ public class Thumbnail extends Figure implements UpdateListener {
 			return currentVTile;
 		}
 
+		/**
+		 * Marks the tiles covering the given region of the source figure for update.
+		 * The region is in the coordinates of the source figure's bounds.
+		 *
+		 * @param region the damaged region of the source figure
+		 * @return <code>false</code> if the region could not be mapped to tiles, in
+		 *         which case the next update will update all tiles
+		 */
+		boolean invalidate(Rectangle region) {
+			if (needsFullUpdate || tileSize == null || thumbnailImageSize == null || thumbnailImageSize.isEmpty()
+					|| !getSourceRectangle().equals(sourceBounds)) {
+				needsFullUpdate = true;
+				return false;
+			}
+			double scaleX = thumbnailImageSize.width / (double) sourceBounds.width;
+			double scaleY = thumbnailImageSize.height / (double) sourceBounds.height;
+			// include a pixel on each side for anti-aliased edges
+			int x1 = Math.max((int) Math.floor((region.x - sourceBounds.x) * scaleX) - 1, 0);
+			int y1 = Math.max((int) Math.floor((region.y - sourceBounds.y) * scaleY) - 1, 0);
+			int x2 = Math.min((int) Math.ceil((region.right() - sourceBounds.x) * scaleX) + 1,
+					thumbnailImageSize.width);
+			int y2 = Math.min((int) Math.ceil((region.bottom() - sourceBounds.y) * scaleY) + 1,
+					thumbnailImageSize.height);
+			if (x1 >= x2 || y1 >= y2) {
+				return true;
+			}
+			int lastH = Math.min((x2 - 1) / tileSize.width, hTiles - 1);
+			int lastV = Math.min((y2 - 1) / tileSize.height, vTiles - 1);
+			for (int v = y1 / tileSize.height; v <= lastV; v++) {
+				pendingTiles.set(v * hTiles + x1 / tileSize.width, v * hTiles + lastH + 1);
+			}
+			return true;
+		}
+
 		/**
 		 * Returns <code>true</code> if this ThumbnailUpdater is active. An inactive
 		 * updater has disposed of its {@link Image}. The updater may be active and not
@@ -117,27 +163,33 @@ public class Thumbnail extends Figure implements UpdateListener {
 
 		/**
 		 * Resets the number of vertical and horizontal tiles, as well as the tile size
-		 * and current tile index.
+		 * and current tile index, and marks all tiles for update.
 		 */
 		public void resetTileValues() {
 			// Keep track of source size that matches the computed tile size.
-			sourceSize = getSourceRectangle().getSize();
-
-			// Compute number of horizontal and vertical tiles and the size of
-			// each tile (while the last tile in horizontal and vertical
-			// direction may be smaller); ensure that all tiles except those on
-			// the bottom and right border will have at least a size of
-			// MIN_TILE_SIZE size and that at most MAX_NUMBER_OF_TILES tiles
-			// will be created.
-			hTiles = Math.min((int) Math.ceil((float) sourceSize.width / (float) MIN_TILE_SIZE), MAX_NUMBER_OF_TILES);
-			vTiles = Math.min((int) Math.ceil((float) sourceSize.height / (float) MIN_TILE_SIZE), MAX_NUMBER_OF_TILES);
-			tileSize = new Dimension((int) Math.ceil((float) sourceSize.width / (float) hTiles),
-					(int) Math.ceil((float) sourceSize.height / (float) vTiles));
+			sourceBounds = getSourceRectangle().getCopy();
+			sourceSize = sourceBounds.getSize();
+
+			// Compute number of horizontal and vertical tiles of the thumbnail
+			// image and the size of each tile (while the last tile in
+			// horizontal and vertical direction may be smaller); ensure that
+			// all tiles except those on the bottom and right border will have
+			// at least a size of MIN_TILE_SIZE size and that at most
+			// MAX_NUMBER_OF_TILES tiles will be created.
+			hTiles = Math.max(
+					Math.min((int) Math.ceil((float) targetSize.width / (float) MIN_TILE_SIZE), MAX_NUMBER_OF_TILES), 1);
+			vTiles = Math.max(
+					Math.min((int) Math.ceil((float) targetSize.height / (float) MIN_TILE_SIZE), MAX_NUMBER_OF_TILES), 1);
+			tileSize = new Dimension((int) Math.ceil((float) targetSize.width / (float) hTiles),
+					(int) Math.ceil((float) targetSize.height / (float) vTiles));
 
 			// Reset the current indices so that the next update will start with
 			// the first tile in horizontal and vertical direction
 			currentHTile = 0;
 			currentVTile = 0;
+			pendingTiles.clear();
+			pendingTiles.set(0, hTiles * vTiles);
+			needsFullUpdate = false;
 		}
 
 		/** Restarts the updater. */
@@ -152,9 +204,10 @@ public class Thumbnail extends Figure implements UpdateListener {
 		 * Scaling of the source Image is done inside
 		 * {@link GC#drawImage(Image, int, int, int, int, int, int, int, int)} since the
 		 * source and target sizes are different. The current tile indexes are
-		 * incremented and if more updating is necesary, this {@link Runnable} is called
-		 * again in a {@link Display#timerExec(int, Runnable)}. If no more updating is
-		 * required, {@link #stop()} is called.
+		 * advanced to the next tile that needs updating and if more updating is
+		 * necesary, this {@link Runnable} is called again in a
+		 * {@link Display#asyncExec(Runnable)}. If no more updating is required,
+		 * {@link #stop()} is called.
 		 */
 		@Override
 		public void run() {
@@ -162,13 +215,31 @@ public class Thumbnail extends Figure implements UpdateListener {
 				return;
 			}
 
-			int v = getCurrentVTile();
+			int index = pendingTiles.nextSetBit(getCurrentVTile() * hTiles + getCurrentHTile());
+			if (index < 0) {
+				index = pendingTiles.nextSetBit(0);
+			}
+			if (index >= 0) {
+				pendingTiles.clear(index);
+				updateTile(index % hTiles, index / hTiles);
+				setCurrentHTile((index + 1) % hTiles);
+				setCurrentVTile((index + 1) / hTiles % vTiles);
+			}
+
+			if (!pendingTiles.isEmpty()) {
+				Display.getCurrent().asyncExec(this);
+			} else {
+				stop();
+				repaint();
+			}
+		}
+
+		private void updateTile(int h, int v) {
 			int sy1 = v * tileSize.height;
-			int sy2 = Math.min((v + 1) * tileSize.height, sourceSize.height);
+			int sy2 = Math.min((v + 1) * tileSize.height, targetSize.height);
 
-			int h = getCurrentHTile();
 			int sx1 = h * tileSize.width;
-			int sx2 = Math.min((h + 1) * tileSize.width, sourceSize.width);
+			int sx2 = Math.min((h + 1) * tileSize.width, targetSize.width);
 
 			// Mac fix - create new Tile Graphics instances
 			if (isMac) {
@@ -195,28 +266,6 @@ public class Thumbnail extends Figure implements UpdateListener {
 
 			// Copy the painted tile image into the thumbnail image.
 			thumbnailGC.drawImage(tileImage, 0, 0, sx2 - sx1, sy2 - sy1, sx1, sy1, sx2 - sx1, sy2 - sy1);
-
-			if (getCurrentHTile() < (hTiles - 1)) {
-				setCurrentHTile(getCurrentHTile() + 1);
-			} else {
-				setCurrentHTile(0);
-				if (getCurrentVTile() < (vTiles - 1)) {
-					setCurrentVTile(getCurrentVTile() + 1);
-				} else {
-					setCurrentVTile(0);
-				}
-			}
-
-			if (getCurrentHTile() != 0 || getCurrentVTile() != 0) {
-				Display.getCurrent().asyncExec(this);
-			} else if (isDirty()) {
-				setDirty(false);
-				Display.getCurrent().asyncExec(this);
-				repaint();
-			} else {
-				stop();
-				repaint();
-			}
 		}
 
 		/**
@@ -248,8 +297,9 @@ public class Thumbnail extends Figure implements UpdateListener {
 
 		/**
 		 * Starts this updater. This method initializes all the necessary resources and
-		 * puts this {@link Runnable} on the asynch queue. If this updater is not active
-		 * or is already running, this method just returns.
+		 * puts this {@link Runnable} on the asynch queue. If only some tiles need to be
+		 * updated, the update is delayed shortly to merge subsequent damage into it. If
+		 * this updater is not active or is already running, this method just returns.
 		 */
 		public void start() {
 			if (!isActive() || isRunning()) {
@@ -259,7 +309,11 @@ public class Thumbnail extends Figure implements UpdateListener {
 			isRunning = true;
 			setDirty(false);
 
-			resetTileValues();
+			boolean partial = !needsFullUpdate && !pendingTiles.isEmpty() && targetSize.equals(thumbnailImageSize)
+					&& getSourceRectangle().equals(sourceBounds);
+			if (!partial) {
+				resetTileValues();
+			}
 
 			if (!targetSize.equals(thumbnailImageSize)) {
 				resetThumbnailImage();
@@ -279,7 +333,11 @@ public class Thumbnail extends Figure implements UpdateListener {
 
 			setScales(targetSize.width / (float) sourceSize.width, targetSize.height / (float) sourceSize.height);
 
-			Display.getCurrent().asyncExec(this);
+			if (partial) {
+				Display.getCurrent().timerExec(UPDATE_DELAY, this);
+			} else {
+				Display.getCurrent().asyncExec(this);
+			}
 		}
 
 		/** Create new GC, SWTGraphics, and ScaledGraphics instances */
@@ -518,16 +576,28 @@ public class Thumbnail extends Figure implements UpdateListener {
 	 */
 	@Override
 	public void notifyPainting(Rectangle damage, Map<IFigure, Rectangle> dirtyRegions) {
-		for (IFigure current : dirtyRegions.keySet()) {
-			while (current != null) {
-				if (current == getSource()) {
-					setDirty(true);
-					repaint();
-					return;
-				}
+		boolean changed = false;
+		for (Map.Entry<IFigure, Rectangle> entry : dirtyRegions.entrySet()) {
+			// translate the region into the coordinates of the source's bounds
+			Rectangle region = entry.getValue().getCopy();
+			IFigure current = entry.getKey();
+			while (current != null && current != getSource()) {
 				current = current.getParent();
+				if (current != null) {
+					current.translateToParent(region);
+				}
+			}
+			if (current == null) {
+				continue;
+			}
+			changed = true;
+			if (!updater.invalidate(region) || !updater.isRunning()) {
+				setDirty(true);
 			}
 		}
+		if (changed) {
+			repaint();
+		}
 	}
 
 	/**
@@ -522,9 +522,9 @@ public class TextFlow extends InlineFlow {
 	@Override
 	protected void paintFigure(Graphics g) {
 		TextFragmentBox frag;
-		g.getClip(Rectangle.SINGLETON);
-		int yStart = Rectangle.SINGLETON.y;
-		int yEnd = Rectangle.SINGLETON.bottom();
+		Rectangle clip = g.getClip(new Rectangle());
+		int yStart = clip.y;
+		int yEnd = clip.bottom();
 
 		for (int i = 0; i < fragments.size(); i++) {
 			frag = (TextFragmentBox) fragments.get(i);
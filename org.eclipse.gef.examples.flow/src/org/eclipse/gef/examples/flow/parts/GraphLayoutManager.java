@@ -23,6 +23,7 @@ import org.eclipse.draw2d.graph.CompoundDirectedGraphLayout;
 class GraphLayoutManager extends AbstractLayout {
 
 	private ActivityDiagramPart diagram;
+	private CompoundDirectedGraph previous;
 
 	GraphLayoutManager(ActivityDiagramPart diagram) {
 		this.diagram = diagram;
@@ -47,7 +48,8 @@ class GraphLayoutManager extends AbstractLayout {
 		Map partsToNodes = new HashMap();
 		diagram.contributeNodesToGraph(graph, null, partsToNodes);
 		diagram.contributeEdgesToGraph(graph, partsToNodes);
-		new CompoundDirectedGraphLayout().visit(graph);
+		new CompoundDirectedGraphLayout().visit(graph, previous);
+		previous = graph;
 		diagram.applyGraphResults(graph, partsToNodes);
 	}
 
@@ -41,9 +41,9 @@ public class LogicFlowBorder extends org.eclipse.draw2d.LineBorder {
 	@Override
 	public void paint(IFigure figure, Graphics graphics, Insets insets) {
 		Rectangle bounds = figure.getBounds();
-		tempRect.setBounds(new Rectangle(bounds.x, bounds.y, grabBarWidth, bounds.height));
+		Rectangle grabBar = new Rectangle(bounds.x, bounds.y, grabBarWidth, bounds.height);
 		graphics.setBackgroundColor(LogicColorConstants.logicGreen);
-		graphics.fillRectangle(tempRect);
+		graphics.fillRectangle(grabBar);
 		super.paint(figure, graphics, insets);
 	}
 
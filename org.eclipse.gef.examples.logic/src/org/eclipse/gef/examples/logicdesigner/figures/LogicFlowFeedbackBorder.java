@@ -41,8 +41,8 @@ public class LogicFlowFeedbackBorder extends LogicFlowBorder {
 		// graphics.drawLine(r.right() - 1, r.bottom() - 1, r.right() - 1, r.y +
 		// 1);
 
-		tempRect.setBounds(new Rectangle(r.x, r.y, grabBarWidth, r.height));
+		Rectangle grabBar = new Rectangle(r.x, r.y, grabBarWidth, r.height);
 
-		graphics.fillRectangle(tempRect);
+		graphics.fillRectangle(grabBar);
 	}
 }
@@ -80,6 +80,10 @@ public class ShapesEditor extends GraphicalEditorWithFlyoutPalette {
 	/** Create a new ShapesEditor instance. This is called by the Workspace. */
 	public ShapesEditor() {
 		setEditDomain(new DefaultEditDomain(this));
+		// merge the moves and resizes of a shape made in one gesture
+		getCommandStack().setCoalescingWindow(1000);
+		// refresh each edit part only once per executed, undone or redone command
+		getCommandStack().addCommandStackEventListener(getEditDomain().getRefreshTransaction());
 	}
 
 	/**
@@ -25,7 +25,7 @@ import org.eclipse.gef.examples.shapes.model.Shape;
  */
 public class ShapeSetConstraintCommand extends Command {
 	/** Stores the new size and location. */
-	private final Rectangle newBounds;
+	private Rectangle newBounds;
 	/** Stores the old size and location. */
 	private Rectangle oldBounds;
 	/** A request to move/resize an edit part. */
@@ -65,6 +65,29 @@ public class ShapeSetConstraintCommand extends Command {
 				|| RequestConstants.REQ_RESIZE.equals(type) || RequestConstants.REQ_RESIZE_CHILDREN.equals(type));
 	}
 
+	/**
+	 * Moves and resizes of the same shape made in one gesture, e.g. when stepping
+	 * through its handles with the keyboard, are merged, so that they can be
+	 * undone at once.
+	 * 
+	 * @see org.eclipse.gef.commands.Command#canCoalesce(org.eclipse.gef.commands.Command)
+	 */
+	@Override
+	public boolean canCoalesce(Command command) {
+		return command instanceof ShapeSetConstraintCommand other && other.shape == shape;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.eclipse.gef.commands.Command#coalesce(org.eclipse.gef.commands.Command)
+	 */
+	@Override
+	public void coalesce(Command command) {
+		newBounds = ((ShapeSetConstraintCommand) command).newBounds;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
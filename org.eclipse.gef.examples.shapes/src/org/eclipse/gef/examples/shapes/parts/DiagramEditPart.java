@@ -140,7 +140,7 @@ class DiagramEditPart extends AbstractGraphicalEditPart implements PropertyChang
 		// the ShapeDiagram instance and must cause a call of refreshChildren()
 		// to update the diagram's contents.
 		if (ShapesDiagram.CHILD_ADDED_PROP.equals(prop) || ShapesDiagram.CHILD_REMOVED_PROP.equals(prop)) {
-			refreshChildren();
+			requestRefresh(REFRESH_CHILDREN);
 		}
 	}
 
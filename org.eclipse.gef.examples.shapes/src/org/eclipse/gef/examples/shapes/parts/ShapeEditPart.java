@@ -276,11 +276,11 @@ class ShapeEditPart extends AbstractGraphicalEditPart implements PropertyChangeL
 	public void propertyChange(PropertyChangeEvent evt) {
 		String prop = evt.getPropertyName();
 		if (Shape.SIZE_PROP.equals(prop) || Shape.LOCATION_PROP.equals(prop)) {
-			refreshVisuals();
+			requestRefresh(REFRESH_VISUALS);
 		} else if (Shape.SOURCE_CONNECTIONS_PROP.equals(prop)) {
-			refreshSourceConnections();
+			requestRefresh(REFRESH_SOURCE_CONNECTIONS);
 		} else if (Shape.TARGET_CONNECTIONS_PROP.equals(prop)) {
-			refreshTargetConnections();
+			requestRefresh(REFRESH_TARGET_CONNECTIONS);
 		}
 	}
 
@@ -46,7 +46,9 @@ public class BlockEditPolicy extends GraphicalEditPolicy {
 
 	private static Command checkForConversion(TextLocation location) {
 		TextRun run = (TextRun) location.part.getModel();
-		String prefix = run.getText().substring(0, location.offset);
+		// only the characters just before the caret can complete a macro
+		int length = Math.min(location.offset, 6);
+		String prefix = run.getText(location.offset - length, length);
 		if (prefix.endsWith("<b>")) { //$NON-NLS-1$
 			Container converted = new InlineContainer(Container.TYPE_INLINE);
 			converted.getStyle().setBold(true);
@@ -56,14 +58,14 @@ public class BlockEditPolicy extends GraphicalEditPolicy {
 					new ModelLocation(boldText, 0));
 			command.setEndLocation(new ModelLocation(boldText, 1));
 			return command;
-		} else if (prefix.equals("()")) { //$NON-NLS-1$
+		} else if (location.offset == 2 && prefix.equals("()")) { //$NON-NLS-1$
 			ConvertElementCommand command;
 			Container list = new Block(Container.TYPE_BULLETED_LIST);
 			TextRun bullet = new TextRun("", TextRun.TYPE_BULLET); //$NON-NLS-1$
 			list.add(bullet);
 			command = new ConvertElementCommand(run, 0, 2, list, new ModelLocation(bullet, 0));
 			return command;
-		} else if (prefix.equals("import")) { //$NON-NLS-1$
+		} else if (location.offset == 6 && prefix.equals("import")) { //$NON-NLS-1$
 			ConvertElementCommand command;
 			Container imports = new Block(Container.TYPE_IMPORT_DECLARATIONS);
 			TextRun statement = new TextRun("", TextRun.TYPE_IMPORT); //$NON-NLS-1$
@@ -34,6 +34,11 @@ public class Notifier implements Serializable {
 			listeners.firePropertyChange(prop, old, newValue);
 	}
 
+	protected void fireIndexedPropertyChange(String prop, int index, Object old, Object newValue) {
+		if (listeners != null)
+			listeners.fireIndexedPropertyChange(prop, index, old, newValue);
+	}
+
 	public void removePropertyChangeListener(PropertyChangeListener l) {
 		if (listeners != null)
 			listeners.removePropertyChangeListener(l);
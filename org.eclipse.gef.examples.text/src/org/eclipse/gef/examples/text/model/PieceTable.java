@@ -0,0 +1,274 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.gef.examples.text.model;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.eclipse.core.runtime.Assert;
+
+/**
+ * The characters of a {@link TextRun}, stored as a sequence of pieces of
+ * immutable buffers. Inserted text is appended to a buffer which is never
+ * modified otherwise, so edits only split and join pieces. The pieces are kept
+ * in a treap ordered by position, so inserting and removing text take
+ * logarithmic time in the number of pieces, plus the length of the text
+ * inserted or removed. Typing at the end of the previous insertion extends its
+ * piece instead of adding a new one.
+ */
+final class PieceTable {
+
+	private static final class Piece {
+		final CharSequence buffer;
+		final int start;
+		int length;
+		final int priority;
+		/** the number of characters in this subtree */
+		int size;
+		Piece left;
+		Piece right;
+
+		Piece(CharSequence buffer, int start, int length, int priority) {
+			this.buffer = buffer;
+			this.start = start;
+			this.length = length;
+			this.priority = priority;
+			this.size = length;
+		}
+	}
+
+	private final StringBuilder added = new StringBuilder();
+	private Piece root;
+
+	/**
+	 * Creates a table holding the given text.
+	 *
+	 * @param text the initial text
+	 */
+	PieceTable(String text) {
+		if (!text.isEmpty())
+			root = createPiece(text, 0, text.length());
+	}
+
+	private PieceTable(Piece root) {
+		this.root = root;
+	}
+
+	private static Piece createPiece(CharSequence buffer, int start, int length) {
+		return new Piece(buffer, start, length, ThreadLocalRandom.current().nextInt());
+	}
+
+	private static int size(Piece piece) {
+		return piece == null ? 0 : piece.size;
+	}
+
+	private static void update(Piece piece) {
+		piece.size = size(piece.left) + piece.length + size(piece.right);
+	}
+
+	/**
+	 * Splits the given tree so that <code>out[0]</code> holds its first
+	 * <code>offset</code> characters and <code>out[1]</code> the rest.
+	 */
+	private static void split(Piece piece, int offset, Piece[] out) {
+		if (piece == null) {
+			out[0] = out[1] = null;
+			return;
+		}
+		int leftSize = size(piece.left);
+		if (offset <= leftSize) {
+			split(piece.left, offset, out);
+			piece.left = out[1];
+			update(piece);
+			out[1] = piece;
+		} else if (offset >= leftSize + piece.length) {
+			split(piece.right, offset - leftSize - piece.length, out);
+			piece.right = out[0];
+			update(piece);
+			out[0] = piece;
+		} else {
+			int cut = offset - leftSize;
+			Piece tail = new Piece(piece.buffer, piece.start + cut, piece.length - cut, piece.priority);
+			piece.length = cut;
+			tail.right = piece.right;
+			piece.right = null;
+			update(piece);
+			update(tail);
+			out[0] = piece;
+			out[1] = tail;
+		}
+	}
+
+	private static Piece merge(Piece first, Piece second) {
+		if (first == null)
+			return second;
+		if (second == null)
+			return first;
+		if (first.priority > second.priority) {
+			first.right = merge(first.right, second);
+			update(first);
+			return first;
+		}
+		second.left = merge(first, second.left);
+		update(second);
+		return second;
+	}
+
+	/**
+	 * @return the number of characters
+	 */
+	int length() {
+		return size(root);
+	}
+
+	/**
+	 * Inserts the given text at the given offset.
+	 *
+	 * @param offset the offset
+	 * @param text   the text to insert
+	 */
+	void insert(int offset, String text) {
+		Assert.isTrue(offset >= 0 && offset <= length());
+		if (text.isEmpty())
+			return;
+		if (offset > 0 && extend(offset, text))
+			return;
+		int start = added.length();
+		added.append(text);
+		Piece[] parts = new Piece[2];
+		split(root, offset, parts);
+		root = merge(merge(parts[0], createPiece(added, start, text.length())), parts[1]);
+	}
+
+	/**
+	 * Appends the text to the piece ending at the given offset, if that piece
+	 * ends at the end of the buffer of added text.
+	 */
+	private boolean extend(int offset, String text) {
+		Piece piece = root;
+		int position = offset - 1;
+		while (true) {
+			int leftSize = size(piece.left);
+			if (position < leftSize) {
+				piece = piece.left;
+			} else if (position < leftSize + piece.length) {
+				if (position != leftSize + piece.length - 1 || piece.buffer != added
+						|| piece.start + piece.length != added.length())
+					return false;
+				break;
+			} else {
+				position -= leftSize + piece.length;
+				piece = piece.right;
+			}
+		}
+		added.append(text);
+		int length = text.length();
+		// the same descent again, growing each subtree on the path
+		piece = root;
+		position = offset - 1;
+		while (true) {
+			piece.size += length;
+			int leftSize = size(piece.left);
+			if (position < leftSize) {
+				piece = piece.left;
+			} else if (position < leftSize + piece.length) {
+				piece.length += length;
+				return true;
+			} else {
+				position -= leftSize + piece.length;
+				piece = piece.right;
+			}
+		}
+	}
+
+	/**
+	 * Removes the given range.
+	 *
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 * @return the removed text
+	 */
+	String remove(int offset, int length) {
+		Assert.isTrue(offset >= 0 && length >= 0 && offset + length <= length());
+		Piece[] parts = new Piece[2];
+		split(root, offset, parts);
+		Piece first = parts[0];
+		split(parts[1], length, parts);
+		StringBuilder result = new StringBuilder(length);
+		append(parts[0], result);
+		root = merge(first, parts[1]);
+		return result.toString();
+	}
+
+	/**
+	 * Removes the text from the given offset to the end, and returns it as a new
+	 * table. The buffers are shared with this table.
+	 *
+	 * @param offset the offset
+	 * @return the table holding the removed text
+	 */
+	PieceTable split(int offset) {
+		Assert.isTrue(offset >= 0 && offset <= length());
+		Piece[] parts = new Piece[2];
+		split(root, offset, parts);
+		root = parts[0];
+		return new PieceTable(parts[1]);
+	}
+
+	/**
+	 * Returns the text in the given range.
+	 *
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 * @return the text
+	 */
+	String getText(int offset, int length) {
+		Assert.isTrue(offset >= 0 && length >= 0 && offset + length <= length());
+		StringBuilder result = new StringBuilder(length);
+		append(root, offset, offset + length, result);
+		return result.toString();
+	}
+
+	private static void append(Piece piece, StringBuilder result) {
+		if (piece == null)
+			return;
+		append(piece.left, result);
+		result.append(piece.buffer, piece.start, piece.start + piece.length);
+		append(piece.right, result);
+	}
+
+	/**
+	 * Appends the characters of the subtree between begin and end, relative to
+	 * the subtree.
+	 */
+	private static void append(Piece piece, int begin, int end, StringBuilder result) {
+		if (piece == null || begin >= end)
+			return;
+		int leftSize = size(piece.left);
+		if (begin < leftSize)
+			append(piece.left, begin, Math.min(end, leftSize), result);
+		int pieceBegin = Math.max(begin - leftSize, 0);
+		int pieceEnd = Math.min(end - leftSize, piece.length);
+		if (pieceBegin < pieceEnd)
+			result.append(piece.buffer, piece.start + pieceBegin, piece.start + pieceEnd);
+		int rightBegin = leftSize + piece.length;
+		if (end > rightBegin)
+			append(piece.right, Math.max(begin - rightBegin, 0), end - rightBegin, result);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder(length());
+		append(root, result);
+		return result.toString();
+	}
+
+}
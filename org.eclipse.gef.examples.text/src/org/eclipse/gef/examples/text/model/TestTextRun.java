@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.gef.examples.text.model;
+
+import java.beans.IndexedPropertyChangeEvent;
+import java.beans.PropertyChangeEvent;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+public class TestTextRun extends TestCase {
+
+	public void testRandomEdits() {
+		Random random = new Random(3);
+		StringBuilder expected = new StringBuilder("The quick brown fox"); //$NON-NLS-1$
+		TextRun run = new TextRun(expected.toString());
+		for (int i = 0; i < 5000; i++) {
+			int offset = random.nextInt(expected.length() + 1);
+			switch (random.nextInt(4)) {
+			case 0:
+				String inserted = Integer.toString(i);
+				run.insertText(inserted, offset);
+				expected.insert(offset, inserted);
+				break;
+			case 1:
+				int length = random.nextInt(expected.length() - offset + 1);
+				assertEquals(expected.substring(offset, offset + length), run.removeRange(offset, length));
+				expected.delete(offset, offset + length);
+				break;
+			case 2:
+				String overwritten = expected.substring(offset, Math.min(offset + 2, expected.length()));
+				assertEquals(overwritten, run.overwriteText("ab", offset)); //$NON-NLS-1$
+				expected.replace(offset, offset + overwritten.length(), "ab"); //$NON-NLS-1$
+				break;
+			default:
+				int end = offset + random.nextInt(expected.length() - offset + 1);
+				assertEquals(expected.substring(offset, end), run.getText(offset, end - offset));
+			}
+			assertEquals(expected.length(), run.size());
+			if (i % 100 == 0)
+				assertEquals(expected.toString(), run.getText());
+		}
+		assertEquals(expected.toString(), run.getText());
+	}
+
+	public void testSubdivide() {
+		TextRun run = new TextRun("abcdef", TextRun.TYPE_CODE); //$NON-NLS-1$
+		run.insertText("XY", 3); //$NON-NLS-1$
+		TextRun tail = run.subdivideRun(4);
+		assertEquals("abcX", run.getText()); //$NON-NLS-1$
+		assertEquals("Ydef", tail.getText()); //$NON-NLS-1$
+		assertEquals(TextRun.TYPE_CODE, tail.getType());
+		// the halves share buffers, but are edited independently
+		run.insertText("1", 4); //$NON-NLS-1$
+		tail.insertText("2", 0); //$NON-NLS-1$
+		assertEquals("abcX1", run.getText()); //$NON-NLS-1$
+		assertEquals("2Ydef", tail.getText()); //$NON-NLS-1$
+	}
+
+	public void testEvents() {
+		TextRun run = new TextRun("hello"); //$NON-NLS-1$
+		List<PropertyChangeEvent> events = new ArrayList<>();
+		run.addPropertyChangeListener(events::add);
+		run.insertText(" world", 5); //$NON-NLS-1$
+		run.removeRange(0, 1);
+		run.overwriteText("J", 0); //$NON-NLS-1$
+		assertEquals("Jllo world", run.getText()); //$NON-NLS-1$
+		assertEquals(3, events.size());
+		assertEdit(events.get(0), 5, "", " world"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEdit(events.get(1), 0, "h", ""); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEdit(events.get(2), 0, "e", "J"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static void assertEdit(PropertyChangeEvent event, int offset, String removed, String inserted) {
+		assertEquals("text", event.getPropertyName()); //$NON-NLS-1$
+		assertEquals(offset, ((IndexedPropertyChangeEvent) event).getIndex());
+		assertEquals(removed, event.getOldValue());
+		assertEquals(inserted, event.getNewValue());
+	}
+
+	public void testSerialization() throws Exception {
+		TextRun run = new TextRun("abc", TextRun.TYPE_IMPORT); //$NON-NLS-1$
+		run.insertText("123", 1); //$NON-NLS-1$
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(run);
+		}
+		TextRun copy;
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			copy = (TextRun) in.readObject();
+		}
+		assertEquals("a123bc", copy.getText()); //$NON-NLS-1$
+		assertEquals(TextRun.TYPE_IMPORT, copy.getType());
+		copy.insertText("!", 6); //$NON-NLS-1$
+		assertEquals("a123bc!", copy.getText()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Replays a long typing session, with backspaces and jumps of the caret, in a
+	 * run of 100,000 characters.
+	 */
+	public void testTypingSession() {
+		Random random = new Random(5);
+		char[] initial = new char[100000];
+		for (int i = 0; i < initial.length; i++)
+			initial[i] = (char) ('a' + random.nextInt(26));
+		StringBuilder expected = new StringBuilder().append(initial);
+		TextRun run = new TextRun(expected.toString());
+		int caret = expected.length() / 2;
+		for (int i = 0; i < 100000; i++) {
+			int action = random.nextInt(20);
+			if (action == 0) {
+				caret = random.nextInt(expected.length() + 1);
+			} else if (action < 4 && caret > 0) {
+				caret--;
+				run.removeRange(caret, 1);
+				expected.deleteCharAt(caret);
+			} else {
+				String typed = String.valueOf((char) ('a' + random.nextInt(26)));
+				run.insertText(typed, caret);
+				expected.insert(caret, typed);
+				caret++;
+			}
+			if (caret >= 6)
+				assertEquals(expected.substring(caret - 6, caret), run.getText(caret - 6, 6));
+		}
+		assertEquals(expected.length(), run.size());
+		assertEquals(expected.toString(), run.getText());
+	}
+
+}
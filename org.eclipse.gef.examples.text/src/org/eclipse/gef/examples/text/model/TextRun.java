@@ -11,6 +11,11 @@
 
 package org.eclipse.gef.examples.text.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
+
 import org.eclipse.core.runtime.Assert;
 
 /**
@@ -26,23 +31,40 @@ public class TextRun extends ModelElement {
 	public static final int TYPE_UNDERLINE = 4;
 	public static final int TYPE_CODE = 5;
 
-	private String text;
+	/**
+	 * The text is serialized as a single string, as it was before the piece table.
+	 */
+	private static final ObjectStreamField[] serialPersistentFields = {
+			new ObjectStreamField("text", String.class) }; //$NON-NLS-1$
+
+	private transient PieceTable table;
+
+	/**
+	 * The text as a string, or <code>null</code> if it has changed since it was
+	 * last requested.
+	 */
+	private transient String text;
 
 	/**
 	 * @since 3.1
 	 */
 	public TextRun(String text) {
-		this.text = text;
+		setTable(new PieceTable(text));
 	}
 
 	/**
 	 * @since 3.1
 	 */
 	public TextRun(String text, int type) {
-		this.text = text;
+		this(text);
 		this.type = type;
 	}
 
+	private void setTable(PieceTable table) {
+		this.table = table;
+		text = null;
+	}
+
 	/**
 	 * Divide this Run into two runs at the given offset. The second run is return.
 	 * 
@@ -51,36 +73,67 @@ public class TextRun extends ModelElement {
 	 * @return the second half
 	 */
 	public TextRun subdivideRun(int offset) {
-		String remainder = removeRange(offset, size() - offset);
-		return new TextRun(remainder, getType());
+		Assert.isTrue(offset <= size());
+		TextRun result = new TextRun("", getType()); //$NON-NLS-1$
+		String removed = table.getText(offset, size() - offset);
+		result.setTable(table.split(offset));
+		text = null;
+		fireIndexedPropertyChange("text", offset, removed, ""); //$NON-NLS-1$ //$NON-NLS-2$
+		return result;
 	}
 
 	public String getText() {
+		if (text == null)
+			text = table.toString();
 		return text;
 	}
 
+	/**
+	 * Returns a range of the text, without building the whole text.
+	 * 
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 * @return the text in the range
+	 */
+	public String getText(int offset, int length) {
+		return table.getText(offset, length);
+	}
+
+	/**
+	 * Inserts text at the given offset. Listeners are notified with an
+	 * {@link java.beans.IndexedPropertyChangeEvent} whose index is the offset and
+	 * whose new value is the inserted text.
+	 */
 	public void insertText(String someText, int offset) {
-		text = text.substring(0, offset) + someText + text.substring(offset, text.length());
-		firePropertyChange("text", null, text); //$NON-NLS-1$
+		table.insert(offset, someText);
+		text = null;
+		fireIndexedPropertyChange("text", offset, "", someText); //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
 	public String overwriteText(String someText, int offset) {
-		String result = text.substring(offset, Math.min(offset + someText.length(), text.length()));
-		text = text.substring(0, offset) + someText + text.substring(offset + result.length());
-		firePropertyChange("text", null, text); //$NON-NLS-1$
+		String result = table.remove(offset, Math.min(someText.length(), size() - offset));
+		table.insert(offset, someText);
+		text = null;
+		fireIndexedPropertyChange("text", offset, result, someText); //$NON-NLS-1$
 		return result;
 	}
 
+	/**
+	 * Removes a range of the text. Listeners are notified with an
+	 * {@link java.beans.IndexedPropertyChangeEvent} whose index is the offset and
+	 * whose old value is the removed text.
+	 */
 	public String removeRange(int offset, int length) {
-		Assert.isTrue(offset <= text.length());
-		Assert.isTrue(offset + length <= text.length());
-		String result = text.substring(offset, offset + length);
-		text = text.substring(0, offset) + text.substring(offset + length);
-		firePropertyChange("text", null, text); //$NON-NLS-1$
+		Assert.isTrue(offset <= size());
+		Assert.isTrue(offset + length <= size());
+		String result = table.remove(offset, length);
+		text = null;
+		fireIndexedPropertyChange("text", offset, result, ""); //$NON-NLS-1$ //$NON-NLS-2$
 		return result;
 	}
 
 	public void setText(String text) {
+		setTable(new PieceTable(text));
 		this.text = text;
 		firePropertyChange("text", null, text); //$NON-NLS-1$
 	}
@@ -90,12 +143,21 @@ public class TextRun extends ModelElement {
 	 */
 	@Override
 	public int size() {
-		return getText().length();
+		return table.length();
 	}
 
 	@Override
 	public String toString() {
-		return text;
+		return getText();
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.putFields().put("text", getText()); //$NON-NLS-1$
+		out.writeFields();
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		setTable(new PieceTable((String) in.readFields().get("text", ""))); //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
 }
\ No newline at end of file
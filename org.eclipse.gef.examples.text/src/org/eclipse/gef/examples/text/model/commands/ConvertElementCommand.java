@@ -38,7 +38,7 @@ public class ConvertElementCommand extends ExampleTextCommand {
 		this.offset = begin;
 		this.converted = converted;
 		this.caret = caret;
-		removed = text.getText().substring(begin, end).toCharArray();
+		removed = text.getText(begin, end - begin).toCharArray();
 	}
 
 	@Override
@@ -25,7 +25,7 @@ public class RemoveText extends MiniEdit {
 	public RemoveText(TextRun run, int begin, int end) {
 		this.run = run;
 		this.offset = begin;
-		this.chars = run.getText().substring(offset, end).toCharArray();
+		this.chars = run.getText(offset, end - offset).toCharArray();
 	}
 
 	@Override
@@ -1,12 +1,17 @@
 package org.eclipse.gef.test;
 
+import java.io.IOException;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.gef.EditDomain;
 import org.eclipse.gef.commands.Command;
+import org.eclipse.gef.commands.CommandJournal;
 import org.eclipse.gef.commands.CommandStack;
 import org.eclipse.gef.commands.CommandStackEvent;
 import org.eclipse.gef.commands.CommandStackEventListener;
+import org.eclipse.gef.tools.AbstractTool;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -139,4 +144,264 @@ public class CommandStackTest extends Assert {
 		Assert.assertNotEquals(0, ((CommandStackEvent) commandStackEvents.get(1)).getDetail() & CommandStack.POST_MASK);
 
 	}
+
+	@Test
+	public void testUndoMemoryLimit() {
+		CommandStack stack = new CommandStack();
+		stack.setUndoMemoryLimit(250);
+		SizedCommand first = new SizedCommand(100);
+		stack.execute(first);
+		stack.execute(new SizedCommand(100));
+		Assert.assertEquals(200, stack.getRetainedSize());
+		Assert.assertFalse(first.disposed);
+
+		stack.execute(new SizedCommand(100));
+		Assert.assertTrue(first.disposed);
+		Assert.assertEquals(200, stack.getRetainedSize());
+		Assert.assertEquals(2, stack.getCommands().length);
+
+		// a single command exceeding the limit is kept
+		stack.execute(new SizedCommand(1000));
+		Assert.assertEquals(1, stack.getCommands().length);
+		Assert.assertTrue(stack.canUndo());
+	}
+
+	@Test
+	public void testCommandJournal() throws IOException {
+		CommandStack stack = new CommandStack();
+		stack.setUndoMemoryLimit(250);
+		stack.setCommandJournal(new CommandJournal());
+		for (int i = 0; i < 5; i++) {
+			stack.execute(new SizedCommand(100));
+		}
+		stack.markSaveLocation();
+		Assert.assertEquals(2, stack.getCommands().length);
+		Assert.assertEquals(3, stack.getCommandJournal().size());
+
+		// querying the stack does not restore from the journal
+		Assert.assertTrue(stack.canUndo());
+		Assert.assertNotNull(stack.getUndoCommand());
+		Assert.assertEquals(3, stack.getCommandJournal().size());
+
+		// undoing the last command in memory restores the next one right away
+		stack.undo();
+		stack.undo();
+		Assert.assertEquals(2, stack.getCommandJournal().size());
+		Assert.assertEquals(3, stack.getCommands().length);
+		for (int i = 0; i < 2; i++) {
+			stack.redo();
+		}
+
+		for (int i = 0; i < 5; i++) {
+			Assert.assertTrue(stack.canUndo());
+			stack.undo();
+			Assert.assertTrue(stack.isDirty());
+		}
+		Assert.assertFalse(stack.canUndo());
+		Assert.assertTrue(stack.getCommandJournal().isEmpty());
+		for (int i = 0; i < 5; i++) {
+			stack.redo();
+		}
+		Assert.assertFalse(stack.isDirty());
+		stack.dispose();
+	}
+
+	@Test
+	public void testCoalescing() {
+		final List commandStackEvents = new ArrayList();
+		CommandStack stack = new CommandStack();
+		stack.setCoalescingWindow(60000);
+		stack.addCommandStackEventListener(new CommandStackEventListener() {
+			@Override
+			public void stackChanged(CommandStackEvent event) {
+				commandStackEvents.add(event);
+			}
+		});
+		int[] model = new int[1];
+		stack.execute(new IncrementCommand(model));
+		stack.execute(new IncrementCommand(model));
+		stack.execute(new IncrementCommand(model));
+		Assert.assertEquals(1, stack.getCommands().length);
+		Assert.assertEquals(3, model[0]);
+		// merged commands are still executed within pre and post events
+		Assert.assertEquals(6, commandStackEvents.size());
+
+		stack.undo();
+		Assert.assertEquals(0, model[0]);
+		stack.redo();
+		Assert.assertEquals(3, model[0]);
+
+		// undo and redo end the coalescing unit
+		stack.execute(new IncrementCommand(model));
+		Assert.assertEquals(2, stack.getCommands().length);
+
+		stack.endCoalescing();
+		stack.execute(new IncrementCommand(model));
+		Assert.assertEquals(3, stack.getCommands().length);
+
+		// commands are not merged across the save location
+		stack.markSaveLocation();
+		stack.execute(new IncrementCommand(model));
+		Assert.assertEquals(4, stack.getCommands().length);
+		Assert.assertTrue(stack.isDirty());
+		Assert.assertEquals(6, model[0]);
+	}
+
+	@SuppressWarnings("deprecation")
+	@Test
+	public void testCoalescingNotifications() {
+		final List<CommandStackEvent> commandStackEvents = new ArrayList<>();
+		final int[] stackChanges = new int[1];
+		CommandStack stack = new CommandStack();
+		stack.setCoalescingWindow(60000);
+		stack.addCommandStackEventListener(commandStackEvents::add);
+		stack.addCommandStackListener(event -> stackChanges[0]++);
+		int[] model = new int[1];
+		Command first = new IncrementCommand(model);
+		stack.execute(first);
+		Assert.assertEquals(1, stackChanges[0]);
+
+		Command second = new IncrementCommand(model);
+		stack.execute(second);
+		Assert.assertEquals(4, commandStackEvents.size());
+		Assert.assertSame(second, commandStackEvents.get(2).getCommand());
+		Assert.assertEquals(CommandStack.PRE_EXECUTE, commandStackEvents.get(2).getDetail());
+		Assert.assertSame(second, commandStackEvents.get(3).getCommand());
+		Assert.assertEquals(CommandStack.POST_EXECUTE, commandStackEvents.get(3).getDetail());
+		stack.execute(new IncrementCommand(model));
+		// stack listeners are notified once when the unit ends
+		Assert.assertEquals(1, stackChanges[0]);
+		stack.endCoalescing();
+		Assert.assertEquals(2, stackChanges[0]);
+		stack.endCoalescing();
+		Assert.assertEquals(2, stackChanges[0]);
+
+		// a unit without merged commands needs no further notification
+		stack.execute(new IncrementCommand(model));
+		Assert.assertEquals(3, stackChanges[0]);
+		stack.endCoalescing();
+		Assert.assertEquals(3, stackChanges[0]);
+
+		// undoing notifies stack listeners also for the merged commands
+		stack.execute(new IncrementCommand(model));
+		stack.execute(new IncrementCommand(model));
+		Assert.assertEquals(4, stackChanges[0]);
+		stack.undo();
+		Assert.assertEquals(5, stackChanges[0]);
+		stack.endCoalescing();
+		Assert.assertEquals(5, stackChanges[0]);
+		Assert.assertEquals(4, model[0]);
+	}
+
+	@SuppressWarnings("deprecation")
+	@Test
+	public void testCoalescingThroughTool() {
+		final int[] stackChanges = new int[1];
+		EditDomain domain = new EditDomain();
+		CommandStack stack = domain.getCommandStack();
+		stack.setCoalescingWindow(60000);
+		stack.addCommandStackListener(event -> stackChanges[0]++);
+		ExecutingTool tool = new ExecutingTool();
+		domain.setActiveTool(tool);
+		int[] model = new int[1];
+		tool.execute(new IncrementCommand(model));
+		tool.execute(new IncrementCommand(model));
+		Assert.assertEquals(1, stack.getCommands().length);
+		Assert.assertEquals(1, stackChanges[0]);
+
+		// switching tools ends the gesture
+		domain.loadDefaultTool();
+		Assert.assertEquals(2, stackChanges[0]);
+		domain.setActiveTool(tool);
+		tool.execute(new IncrementCommand(model));
+		Assert.assertEquals(2, stack.getCommands().length);
+		Assert.assertEquals(3, model[0]);
+	}
+
+	@Test
+	public void testCoalescingUndoMemoryLimit() {
+		CommandStack stack = new CommandStack();
+		stack.setCoalescingWindow(60000);
+		stack.setUndoMemoryLimit(250);
+		SizedCommand first = new SizedCommand(100);
+		stack.execute(first);
+		int[] model = new int[1];
+		stack.execute(new IncrementCommand(model));
+		Assert.assertEquals(200, stack.getRetainedSize());
+
+		// the merged command grows to 200 bytes, which pushes out the first one
+		stack.execute(new IncrementCommand(model));
+		Assert.assertTrue(first.disposed);
+		Assert.assertEquals(1, stack.getCommands().length);
+		Assert.assertEquals(200, stack.getRetainedSize());
+	}
+
+	private static class ExecutingTool extends AbstractTool {
+
+		@Override
+		protected String getCommandName() {
+			return null;
+		}
+
+		void execute(Command command) {
+			executeCommand(command);
+		}
+	}
+
+	private static class IncrementCommand extends Command {
+		private final int[] model;
+
+		private int amount = 1;
+
+		IncrementCommand(int[] model) {
+			this.model = model;
+		}
+
+		@Override
+		public boolean canCoalesce(Command command) {
+			return command instanceof IncrementCommand other && other.model == model;
+		}
+
+		@Override
+		public void coalesce(Command command) {
+			amount += ((IncrementCommand) command).amount;
+		}
+
+		@Override
+		public long getRetainedSize() {
+			return amount * 100;
+		}
+
+		@Override
+		public void execute() {
+			model[0] += amount;
+		}
+
+		@Override
+		public void undo() {
+			model[0] -= amount;
+		}
+	}
+
+	private static class SizedCommand extends Command implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final long size;
+
+		private transient boolean disposed;
+
+		SizedCommand(long size) {
+			this.size = size;
+		}
+
+		@Override
+		public void dispose() {
+			disposed = true;
+		}
+
+		@Override
+		public long getRetainedSize() {
+			return size;
+		}
+	}
 }
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.EditPartListener;
+import org.eclipse.gef.GraphicalEditPart;
+import org.eclipse.gef.editparts.AbstractGraphicalEditPart;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EditPartChildrenTest extends Assert {
+
+	private static class TestGraphicalEditPart extends AbstractGraphicalEditPart {
+
+		List<Object> modelChildren = new ArrayList<>();
+		int addChildVisualsCalls;
+		int removeChildVisualsCalls;
+
+		TestGraphicalEditPart(Object model) {
+			setModel(model);
+		}
+
+		@Override
+		protected void register() {
+			// do nothing
+		}
+
+		@Override
+		protected void unregister() {
+			// do nothing
+		}
+
+		@Override
+		protected IFigure createFigure() {
+			return new Figure();
+		}
+
+		@Override
+		protected void createEditPolicies() {
+			// do nothing
+		}
+
+		@Override
+		protected List<?> getModelChildren() {
+			return modelChildren;
+		}
+
+		@Override
+		protected EditPart createChild(Object model) {
+			return new TestGraphicalEditPart(model);
+		}
+
+		@Override
+		protected void addChildVisuals(List<? extends EditPart> newChildren, int index) {
+			addChildVisualsCalls++;
+			super.addChildVisuals(newChildren, index);
+		}
+
+		@Override
+		protected void removeChildVisuals(List<? extends EditPart> oldChildren) {
+			removeChildVisualsCalls++;
+			super.removeChildVisuals(oldChildren);
+		}
+
+		void refreshModelChildren(Object... models) {
+			modelChildren = Arrays.asList(models);
+			refreshChildren();
+		}
+	}
+
+	private static class PerChildEditPart extends TestGraphicalEditPart {
+
+		int addChildVisualCalls;
+		int removeChildVisualCalls;
+
+		PerChildEditPart(Object model) {
+			super(model);
+		}
+
+		@Override
+		protected void addChildVisual(EditPart childEditPart, int index) {
+			addChildVisualCalls++;
+			super.addChildVisual(childEditPart, index);
+		}
+
+		@Override
+		protected void removeChildVisual(EditPart childEditPart) {
+			removeChildVisualCalls++;
+			super.removeChildVisual(childEditPart);
+		}
+	}
+
+	private static void assertChildren(TestGraphicalEditPart parent, Object... models) {
+		List<? extends GraphicalEditPart> children = parent.getChildren();
+		List<? extends IFigure> figures = parent.getFigure().getChildren();
+		assertEquals(models.length, children.size());
+		assertEquals(models.length, figures.size());
+		for (int i = 0; i < models.length; i++) {
+			assertSame(models[i], children.get(i).getModel());
+			assertSame(parent, children.get(i).getParent());
+			assertSame(children.get(i).getFigure(), figures.get(i));
+		}
+	}
+
+	@Test
+	public void test_refreshChildrenAddsAtOnce() {
+		TestGraphicalEditPart parent = new TestGraphicalEditPart("parent"); //$NON-NLS-1$
+		List<Integer> addedIndices = new ArrayList<>();
+		parent.addEditPartListener(new EditPartListener.Stub() {
+			@Override
+			public void childAdded(EditPart child, int index) {
+				assertSame(child, parent.getChildren().get(index));
+				addedIndices.add(Integer.valueOf(index));
+			}
+		});
+
+		parent.refreshModelChildren("a", "b", "c"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertChildren(parent, "a", "b", "c"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(1, parent.addChildVisualsCalls);
+		assertEquals(Arrays.asList(0, 1, 2), addedIndices);
+
+		// Two runs of new models around an existing one
+		addedIndices.clear();
+		parent.refreshModelChildren("x", "y", "b", "z", "c"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		assertChildren(parent, "x", "y", "b", "z", "c"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		assertEquals(3, parent.addChildVisualsCalls);
+		assertEquals(Arrays.asList(0, 1, 3), addedIndices);
+	}
+
+	@Test
+	public void test_refreshChildrenRemovesAtOnce() {
+		TestGraphicalEditPart parent = new TestGraphicalEditPart("parent"); //$NON-NLS-1$
+		parent.refreshModelChildren("a", "b", "c", "d"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		List<EditPart> removed = new ArrayList<>(parent.getChildren());
+		removed.remove(2);
+		List<Integer> removingIndices = new ArrayList<>();
+		parent.addEditPartListener(new EditPartListener.Stub() {
+			@Override
+			public void removingChild(EditPart child, int index) {
+				assertSame(child, parent.getChildren().get(index));
+				removingIndices.add(Integer.valueOf(index));
+			}
+		});
+
+		parent.refreshModelChildren("c"); //$NON-NLS-1$
+		assertChildren(parent, "c"); //$NON-NLS-1$
+		assertEquals(1, parent.removeChildVisualsCalls);
+		// "c" is moved to the front before the others are removed
+		assertEquals(Arrays.asList(3, 2, 1), removingIndices);
+		for (EditPart child : removed)
+			assertNull(child.getParent());
+	}
+
+	@Test
+	public void test_refreshChildrenCallsOverriddenVisualMethods() {
+		PerChildEditPart parent = new PerChildEditPart("parent"); //$NON-NLS-1$
+		parent.refreshModelChildren("a", "b", "c"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertChildren(parent, "a", "b", "c"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(3, parent.addChildVisualCalls);
+
+		parent.refreshModelChildren("a", "b"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertChildren(parent, "a", "b"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(1, parent.removeChildVisualCalls);
+	}
+
+}
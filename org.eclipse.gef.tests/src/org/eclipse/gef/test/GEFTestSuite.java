@@ -23,7 +23,8 @@ import org.junit.runners.Suite;
 	PaletteCustomizerTest.class,
 	ToolUtilitiesTest.class,
 	DragEditPartsTrackerTest.class,
-	CommandStackTest.class
+	CommandStackTest.class,
+	EditPartChildrenTest.class
 })
 public class GEFTestSuite {
 }
@@ -10,6 +10,9 @@
  *******************************************************************************/
 
 package org.eclipse.gef.test;
+import java.util.Arrays;
+import java.util.List;
+
 import org.eclipse.draw2d.Figure;
 import org.eclipse.draw2d.IFigure;
 import org.eclipse.gef.EditPart;
@@ -88,4 +91,24 @@ public class ToolUtilitiesTest extends Assert {
 		EditPart result = ToolUtilities.findCommonAncestor(editpartParent, editpartChild);
 		assertTrue(editpartParent == result);
 	}
+
+	@Test
+	public void test_getSelectionWithoutDependants() {
+		TestGraphicalEditPart editpartParent = new TestGraphicalEditPart();
+		TestGraphicalEditPart editpartChild1 = new TestGraphicalEditPart();
+		TestGraphicalEditPart editpartChild2 = new TestGraphicalEditPart();
+		TestGraphicalEditPart editpartChild3 = new TestGraphicalEditPart();
+
+		editpartParent.addChild(editpartChild1);
+		editpartChild1.addChild(editpartChild2);
+		editpartParent.addChild(editpartChild3);
+
+		List result = ToolUtilities
+				.getSelectionWithoutDependants(Arrays.asList(editpartChild2, editpartChild1, editpartChild3));
+		assertEquals(Arrays.asList(editpartChild1, editpartChild3), result);
+
+		result = ToolUtilities.getSelectionWithoutDependants(
+				Arrays.asList(editpartChild2, editpartChild3, editpartParent, editpartChild1));
+		assertEquals(Arrays.asList(editpartParent), result);
+	}
 }
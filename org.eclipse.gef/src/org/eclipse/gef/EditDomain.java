@@ -21,6 +21,7 @@ import org.eclipse.swt.events.TraverseEvent;
 import org.eclipse.swt.widgets.Event;
 
 import org.eclipse.gef.commands.CommandStack;
+import org.eclipse.gef.editparts.RefreshTransaction;
 import org.eclipse.gef.palette.PaletteListener;
 import org.eclipse.gef.palette.PaletteRoot;
 import org.eclipse.gef.palette.ToolEntry;
@@ -42,6 +43,7 @@ public class EditDomain {
 	private Tool activeTool;
 	private List viewers = new ArrayList();
 	private CommandStack commandStack = new CommandStack();
+	private final RefreshTransaction refreshTransaction = new RefreshTransaction();
 
 	/**
 	 * Listens to the PaletteViewer for changes in selection, and sets the Domain's
@@ -117,6 +119,17 @@ public class EditDomain {
 		return commandStack;
 	}
 
+	/**
+	 * Returns the transaction which defers the refreshes of the EditParts in this
+	 * domain's viewers.
+	 * 
+	 * @return the refresh transaction
+	 * @since 3.16
+	 */
+	public RefreshTransaction getRefreshTransaction() {
+		return refreshTransaction;
+	}
+
 	/**
 	 * Returns the default tool for this edit domain. This will be a
 	 * {@link org.eclipse.gef.tools.SelectionTool} unless specifically replaced
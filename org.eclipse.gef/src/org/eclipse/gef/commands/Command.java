@@ -62,6 +62,37 @@ public abstract class Command {
 		return true;
 	}
 
+	/**
+	 * Returns whether the specified Command, which has just been executed, can be
+	 * merged into this Command. A {@link CommandStack} with a
+	 * {@link CommandStack#setCoalescingWindow(long) coalescing window} asks the
+	 * Command on top of its undo stack, so that consecutive high-frequency edits
+	 * like nudging or repeated resizing become a single undoable unit. The default
+	 * implementation returns <code>false</code>. Subclasses overriding this method
+	 * must also override {@link #coalesce(Command)}.
+	 * 
+	 * @param command the Command executed after this one
+	 * @return <code>true</code> if the Command can be merged into this Command
+	 * @since 3.16
+	 */
+	public boolean canCoalesce(Command command) {
+		return false;
+	}
+
+	/**
+	 * Merges the specified, already executed Command into this Command. Afterwards,
+	 * undoing this Command must also undo the effect of the specified Command, and
+	 * redoing it must redo both. The specified Command is not referenced by the
+	 * stack afterwards. This method is only called if
+	 * {@link #canCoalesce(Command)} returned <code>true</code>; the default
+	 * implementation does nothing.
+	 * 
+	 * @param command the Command to merge into this one
+	 * @since 3.16
+	 */
+	public void coalesce(Command command) {
+	}
+
 	/**
 	 * Returns a Command that represents the chaining of a specified Command to this
 	 * Command. The Command being chained will <code>execute()</code> after this
@@ -111,6 +142,21 @@ public abstract class Command {
 		return debugLabel + ' ' + getLabel();
 	}
 
+	/**
+	 * Returns an estimate of the number of bytes this command retains in order to
+	 * be undone or redone, e.g. for captured model snapshots. The estimate is
+	 * used by a {@link CommandStack} with an
+	 * {@link CommandStack#setUndoMemoryLimit(long) undo memory limit}. It should
+	 * not change while the command is on the stack. The default implementation
+	 * returns <code>0</code>.
+	 * 
+	 * @return the estimated retained size in bytes
+	 * @since 3.16
+	 */
+	public long getRetainedSize() {
+		return 0;
+	}
+
 	/**
 	 * @return a String used to describe this command to the User
 	 */
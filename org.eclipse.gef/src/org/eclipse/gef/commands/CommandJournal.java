@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.commands;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A journal to which a {@link CommandStack} spills the oldest commands of its
+ * undo stack when its {@link CommandStack#setUndoMemoryLimit(long) memory
+ * limit} is exceeded. Spilled commands are restored when the user has undone
+ * all commands that are still held in memory, so they can still be undone.
+ * <P>
+ * The journal is a stack: {@link #restore()} returns the command that has been
+ * {@link #store(Command) stored} most recently. The default implementation
+ * writes compressed, serialized commands to a temporary file and therefore only
+ * accepts commands which implement {@link Serializable}. Such commands must not
+ * hold references to live model objects, but must be able to locate the model
+ * they operate on after being deserialized (e.g. by identifiers). Clients may
+ * override {@link #writeCommand(Command, OutputStream)} and
+ * {@link #readCommand(InputStream)} to use a different encoding.
+ * <P>
+ * Stored commands are not disposed by the journal. A journal is owned by a
+ * single command stack.
+ *
+ * @since 3.16
+ */
+public class CommandJournal {
+
+	private final File file;
+
+	private RandomAccessFile data;
+
+	private long[] offsets = new long[16];
+
+	private int count;
+
+	/**
+	 * Constructs a journal backed by a temporary file that is deleted when the
+	 * journal is {@link #close() closed} or the virtual machine terminates.
+	 *
+	 * @throws IOException if the temporary file cannot be created
+	 */
+	public CommandJournal() throws IOException {
+		this(File.createTempFile("gef-commands", ".journal")); //$NON-NLS-1$ //$NON-NLS-2$
+		file.deleteOnExit();
+	}
+
+	/**
+	 * Constructs a journal backed by the given file. Any previous content of the
+	 * file is discarded.
+	 *
+	 * @param file the file to write the journal to
+	 * @throws IOException if the file cannot be opened
+	 */
+	public CommandJournal(File file) throws IOException {
+		this.file = file;
+		data = new RandomAccessFile(file, "rw"); //$NON-NLS-1$
+		data.setLength(0);
+	}
+
+	/**
+	 * Returns whether the given command can be stored in this journal. By default,
+	 * a command can be stored if it is {@link Serializable}.
+	 *
+	 * @param command the command
+	 * @return <code>true</code> if the command can be stored
+	 */
+	public boolean canStore(Command command) {
+		return command instanceof Serializable;
+	}
+
+	/**
+	 * Removes all commands from this journal.
+	 */
+	public void clear() {
+		count = 0;
+		try {
+			data.setLength(0);
+		} catch (IOException e) {
+			// the content is unreachable anyway
+		}
+	}
+
+	/**
+	 * Clears this journal and deletes its file. The journal must not be used
+	 * afterwards.
+	 */
+	public void close() {
+		count = 0;
+		try {
+			data.close();
+		} catch (IOException e) {
+			// nothing left to release
+		}
+		file.delete();
+	}
+
+	/**
+	 * @return <code>true</code> if the journal contains no commands
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	/**
+	 * Reads a command previously written by {@link #writeCommand(Command,
+	 * OutputStream)}.
+	 *
+	 * @param in the stream to read from
+	 * @return the command
+	 * @throws IOException if the command cannot be read
+	 */
+	protected Command readCommand(InputStream in) throws IOException {
+		try (ObjectInputStream objects = new ObjectInputStream(in)) {
+			return (Command) objects.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Removes and returns the most recently stored command.
+	 *
+	 * @return the restored command, or <code>null</code> if the journal is empty
+	 *         or the command cannot be read
+	 */
+	public Command restore() {
+		if (count == 0) {
+			return null;
+		}
+		long start = offsets[--count];
+		try {
+			byte[] bytes = new byte[(int) (data.length() - start)];
+			data.seek(start);
+			data.readFully(bytes);
+			data.setLength(start);
+			return readCommand(new InflaterInputStream(new ByteArrayInputStream(bytes)));
+		} catch (IOException e) {
+			// older commands can not be undone without this one
+			clear();
+			return null;
+		}
+	}
+
+	/**
+	 * @return the number of commands in this journal
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Appends the given command to this journal.
+	 *
+	 * @param command the command to store
+	 * @return <code>true</code> if the command has been stored,
+	 *         <code>false</code> if it cannot be stored
+	 */
+	public boolean store(Command command) {
+		if (!canStore(command)) {
+			return false;
+		}
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (DeflaterOutputStream out = new DeflaterOutputStream(bytes)) {
+				writeCommand(command, out);
+			}
+			long start = data.length();
+			data.seek(start);
+			data.write(bytes.toByteArray());
+			if (count == offsets.length) {
+				long[] grown = new long[count * 2];
+				System.arraycopy(offsets, 0, grown, 0, count);
+				offsets = grown;
+			}
+			offsets[count++] = start;
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Writes the given command to the stream. By default, the command is written
+	 * using Java serialization.
+	 *
+	 * @param command the command, for which {@link #canStore(Command)} returned
+	 *                <code>true</code>
+	 * @param out     the stream to write to
+	 * @throws IOException if the command cannot be written
+	 */
+	protected void writeCommand(Command command, OutputStream out) throws IOException {
+		ObjectOutputStream objects = new ObjectOutputStream(out);
+		objects.writeObject(command);
+		objects.flush();
+	}
+
+}
@@ -26,6 +26,17 @@ import java.util.Stack;
  * the last executed or redone command is different than the command that was at
  * the top of the undo stack when {@link #markSaveLocation()} was last called.
  * Initially, the undo stack is empty, and not dirty.
+ * <P>
+ * Besides limiting the number of commands that can be undone, the stack can be
+ * limited by the estimated number of bytes its commands retain (see
+ * {@link Command#getRetainedSize()}). The oldest commands exceeding
+ * {@link #setUndoMemoryLimit(long) the memory limit} are either disposed, or
+ * spilled to a {@link #setCommandJournal(CommandJournal) journal} from which
+ * they are restored once all newer commands have been undone.
+ * <P>
+ * Commands executed in quick succession can be merged into a single undoable
+ * unit by setting a {@link #setCoalescingWindow(long) coalescing window}. See
+ * {@link Command#canCoalesce(Command)}.
  * 
  * @author hudsonr
  */
@@ -133,14 +144,36 @@ public class CommandStack {
 	 */
 	protected List listeners = new ArrayList();
 
-	private Stack redoable = new Stack();
+	private Stack<Command> redoable = new Stack<>();
 
 	private int saveLocation = 0;
 
-	private Stack undoable = new Stack();
+	private Stack<Command> undoable = new Stack<>();
 
 	private int undoLimit = 0;
 
+	private long undoMemoryLimit = -1;
+
+	private long retainedSize = 0;
+
+	private CommandJournal journal;
+
+	private long coalescingWindow = 0;
+
+	/**
+	 * The command on top of the undo stack into which commands may currently be
+	 * merged, or <code>null</code>.
+	 */
+	private Command coalescingTarget;
+
+	private long lastExecution;
+
+	/**
+	 * Whether commands have been merged into the current coalescing unit since
+	 * stack listeners were last notified.
+	 */
+	private boolean coalescedChanges;
+
 	/**
 	 * Constructs a new command stack. By default, there is no undo limit, and
 	 * isDirty() will return <code>false</code>.
@@ -178,7 +211,7 @@ public class CommandStack {
 	public boolean canRedo() {
 		if (redoable.size() == 0)
 			return false;
-		return ((Command) redoable.peek()).canRedo();
+		return redoable.peek().canRedo();
 	}
 
 	/**
@@ -187,7 +220,7 @@ public class CommandStack {
 	public boolean canUndo() {
 		if (undoable.size() == 0)
 			return false;
-		return ((Command) undoable.peek()).canUndo();
+		return undoable.peek().canUndo();
 	}
 
 	/**
@@ -197,6 +230,35 @@ public class CommandStack {
 	public void dispose() {
 		flushUndo();
 		flushRedo();
+		if (journal != null)
+			journal.close();
+	}
+
+	/**
+	 * Ends the current coalescing unit, so that the next executed Command is not
+	 * merged into the Command on top of the undo stack. If Commands have been
+	 * merged into the unit, stack listeners receive a single
+	 * {@link CommandStackListener#commandStackChanged(EventObject) stackChanged}
+	 * notification for them. Tools call this at the end of each gesture, e.g. when
+	 * a drag ends or the viewer loses focus.
+	 * 
+	 * @see #setCoalescingWindow(long)
+	 * @since 3.16
+	 */
+	public void endCoalescing() {
+		boolean changed = coalescedChanges;
+		closeCoalescingUnit();
+		if (changed)
+			notifyListeners();
+	}
+
+	/**
+	 * Ends the current coalescing unit without notifying stack listeners. Callers
+	 * notify them afterwards.
+	 */
+	private void closeCoalescingUnit() {
+		coalescingTarget = null;
+		coalescedChanges = false;
 	}
 
 	/**
@@ -209,6 +271,14 @@ public class CommandStack {
 	 * notification.
 	 * <P>
 	 * If the command is <code>null</code> or cannot be executed, nothing happens.
+	 * <P>
+	 * If a {@link #setCoalescingWindow(long) coalescing window} is set and the
+	 * previous command has been executed within it, the command is
+	 * {@link Command#coalesce(Command) merged} into the previous command if that
+	 * {@link Command#canCoalesce(Command) accepts} it. In that case, the undo stack
+	 * keeps its shape. Event listeners still receive {@link #PRE_EXECUTE} and
+	 * {@link #POST_EXECUTE} for the merged command, while stack listeners are
+	 * notified once for all merged commands when the unit ends.
 	 * 
 	 * @param command the Command to execute
 	 * @see CommandStackEventListener
@@ -217,20 +287,42 @@ public class CommandStack {
 		if (command == null || !command.canExecute())
 			return;
 		flushRedo();
+		long now = coalescingWindow > 0 ? System.currentTimeMillis() : 0;
+		Command target = getCoalescingTarget(command, now);
+		if (target != null) {
+			notifyListeners(command, PRE_EXECUTE);
+			try {
+				command.execute();
+				retainedSize -= target.getRetainedSize();
+				target.coalesce(command);
+				retainedSize += target.getRetainedSize();
+				lastExecution = now;
+				// the merged command may have grown past the limit
+				trimToUndoMemoryLimit();
+				coalescedChanges = true;
+			} finally {
+				notifyListeners(command, POST_EXECUTE);
+			}
+			return;
+		}
+		closeCoalescingUnit();
 		notifyListeners(command, PRE_EXECUTE);
 		try {
 			command.execute();
 			if (getUndoLimit() > 0) {
-				while (undoable.size() >= getUndoLimit()) {
-					((Command) undoable.remove(0)).dispose();
-					if (saveLocation > -1)
-						saveLocation--;
-				}
+				while (undoable.size() >= getUndoLimit())
+					evictOldest();
 			}
-			if (saveLocation > undoable.size())
+			if (saveLocation > getUndoDepth())
 				saveLocation = -1; // The save point was somewhere in the redo
 									// stack
 			undoable.push(command);
+			retainedSize += command.getRetainedSize();
+			trimToUndoMemoryLimit();
+			if (coalescingWindow > 0) {
+				coalescingTarget = command;
+				lastExecution = now;
+			}
 			notifyListeners();
 		} finally {
 			notifyListeners(command, POST_EXECUTE);
@@ -243,6 +335,7 @@ public class CommandStack {
 	 */
 	public void flush() {
 		notifyListeners(null, PRE_FLUSH);
+		closeCoalescingUnit();
 		flushRedo();
 		flushUndo();
 		saveLocation = 0;
@@ -250,21 +343,88 @@ public class CommandStack {
 		notifyListeners(null, POST_FLUSH);
 	}
 
+	/**
+	 * Returns the command on top of the undo stack into which the given command
+	 * can be merged, or <code>null</code> if it has to be pushed separately.
+	 */
+	private Command getCoalescingTarget(Command command, long now) {
+		if (coalescingTarget == null || undoable.isEmpty() || undoable.peek() != coalescingTarget)
+			return null;
+		if (now - lastExecution > coalescingWindow)
+			return null;
+		// merging would move the save point into the merged command
+		if (saveLocation == getUndoDepth())
+			return null;
+		return coalescingTarget.canCoalesce(command) ? coalescingTarget : null;
+	}
+
+	/**
+	 * Removes the oldest command from the undo stack until the retained size meets
+	 * the undo memory limit. The command on top of the stack is always kept.
+	 */
+	private void trimToUndoMemoryLimit() {
+		if (getUndoMemoryLimit() < 0)
+			return;
+		while (retainedSize > getUndoMemoryLimit() && undoable.size() > 1)
+			evictOldest();
+	}
+
+	/**
+	 * Removes the oldest command from the undo stack. It is spilled to the
+	 * journal if possible, and disposed otherwise.
+	 */
+	private void evictOldest() {
+		Command command = undoable.remove(0);
+		retainedSize -= command.getRetainedSize();
+		int removed = 1;
+		if (journal != null) {
+			if (journal.store(command))
+				return;
+			// older commands can not be undone without this one
+			removed += journal.size();
+			journal.clear();
+		}
+		command.dispose();
+		if (saveLocation > -1)
+			saveLocation = Math.max(saveLocation - removed, -1);
+	}
+
 	private void flushRedo() {
 		while (!redoable.isEmpty())
-			((Command) redoable.pop()).dispose();
+			disposeCommand(redoable.pop());
 	}
 
 	private void flushUndo() {
 		while (!undoable.isEmpty())
-			((Command) undoable.pop()).dispose();
+			disposeCommand(undoable.pop());
+		if (journal != null)
+			journal.clear();
+	}
+
+	private void disposeCommand(Command command) {
+		retainedSize -= command.getRetainedSize();
+		command.dispose();
 	}
 
 	/**
+	 * Returns the journal to which commands exceeding the undo memory limit are
+	 * spilled.
+	 * 
+	 * @return the journal, or <code>null</code>
+	 * @since 3.16
+	 */
+	public CommandJournal getCommandJournal() {
+		return journal;
+	}
+
+	/**
+	 * Returns all commands held in memory. Commands which have been spilled to the
+	 * {@link #getCommandJournal() journal} are not included.
+	 * 
 	 * @return an array containing all commands in the order they were executed
 	 */
 	public Object[] getCommands() {
-		List commands = new ArrayList(undoable);
+		List<Command> commands = new ArrayList<>(undoable);
 		for (int i = redoable.size() - 1; i >= 0; i--) {
 			commands.add(redoable.get(i));
 		}
@@ -279,7 +439,7 @@ public class CommandStack {
 	 * @return the top of the <i>redo</i> stack, which may be <code>null</code>
 	 */
 	public Command getRedoCommand() {
-		return redoable.isEmpty() ? null : (Command) redoable.peek();
+		return redoable.isEmpty() ? null : redoable.peek();
 	}
 
 	/**
@@ -290,7 +450,19 @@ public class CommandStack {
 	 * @return the top of the <i>undo</i> stack, which may be <code>null</code>
 	 */
 	public Command getUndoCommand() {
-		return undoable.isEmpty() ? null : (Command) undoable.peek();
+		return undoable.isEmpty() ? null : undoable.peek();
+	}
+
+	/**
+	 * Returns the coalescing window in milliseconds. <code>0</code> indicates that
+	 * commands are never merged.
+	 * 
+	 * @return the coalescing window
+	 * @see #setCoalescingWindow(long)
+	 * @since 3.16
+	 */
+	public long getCoalescingWindow() {
+		return coalescingWindow;
 	}
 
 	/**
@@ -304,6 +476,37 @@ public class CommandStack {
 		return undoLimit;
 	}
 
+	/**
+	 * Returns the undo memory limit. The undo memory limit is the maximum number
+	 * of bytes that the commands on the stacks may retain, as estimated by
+	 * {@link Command#getRetainedSize()}. <code>-1</code> is used to indicate no
+	 * limit.
+	 * 
+	 * @return the undo memory limit in bytes
+	 * @since 3.16
+	 */
+	public long getUndoMemoryLimit() {
+		return undoMemoryLimit;
+	}
+
+	/**
+	 * Returns the estimated number of bytes retained by the commands on the undo
+	 * and redo stacks. Commands spilled to the journal are not included.
+	 * 
+	 * @return the retained size in bytes
+	 * @see Command#getRetainedSize()
+	 * @since 3.16
+	 */
+	public long getRetainedSize() {
+		return retainedSize;
+	}
+
+	private int getUndoDepth() {
+		if (journal == null)
+			return undoable.size();
+		return journal.size() + undoable.size();
+	}
+
 	/**
 	 * Returns true if the stack is dirty. The stack is dirty whenever the last
 	 * executed or redone command is different than the command that was at the top
@@ -312,7 +515,7 @@ public class CommandStack {
 	 * @return <code>true</code> if the stack is dirty
 	 */
 	public boolean isDirty() {
-		return undoable.size() != saveLocation;
+		return getUndoDepth() != saveLocation;
 	}
 
 	/**
@@ -322,7 +525,8 @@ public class CommandStack {
 	 */
 	public void markSaveLocation() {
 		notifyListeners(null, PRE_MARK_SAVE);
-		saveLocation = undoable.size();
+		closeCoalescingUnit();
+		saveLocation = getUndoDepth();
 		notifyListeners();
 		notifyListeners(null, POST_MARK_SAVE);
 	}
@@ -361,7 +565,8 @@ public class CommandStack {
 		// Assert.isTrue(canRedo())
 		if (!canRedo())
 			return;
-		Command command = (Command) redoable.pop();
+		Command command = redoable.pop();
+		closeCoalescingUnit();
 		notifyListeners(command, PRE_REDO);
 		try {
 			command.redo();
@@ -372,6 +577,26 @@ public class CommandStack {
 		}
 	}
 
+	/**
+	 * Moves the most recently spilled command back onto the undo stack once all
+	 * commands held in memory have been undone. This is done as soon as the undo
+	 * stack runs empty, so that the query methods never touch the journal.
+	 */
+	private void restoreFromJournal() {
+		if (!undoable.isEmpty() || journal == null || journal.isEmpty())
+			return;
+		int depth = journal.size();
+		Command command = journal.restore();
+		if (command == null) {
+			// the journal could not be read and has been cleared
+			if (saveLocation > -1)
+				saveLocation = saveLocation < depth ? -1 : saveLocation - depth;
+			return;
+		}
+		undoable.push(command);
+		retainedSize += command.getRetainedSize();
+	}
+
 	/**
 	 * Removes the first occurrence of the specified listener.
 	 * 
@@ -391,6 +616,27 @@ public class CommandStack {
 		listeners.remove(listener);
 	}
 
+	/**
+	 * Sets the coalescing window. If a command is executed within the given number
+	 * of milliseconds after the previous one, and the previous command is still
+	 * on top of the undo stack and {@link Command#canCoalesce(Command) accepts}
+	 * it, the command is merged into the previous command instead of being pushed
+	 * separately. Whether commands are merged is decided by their type or key in
+	 * {@link Command#canCoalesce(Command)}; the window only limits how far apart
+	 * they may be. Undoing, redoing, flushing and marking the save location end the
+	 * current coalescing unit, as does {@link #endCoalescing()}. Tools end it at
+	 * the end of each gesture, so that commands of separate gestures are not
+	 * merged. <code>0</code> disables coalescing, which is the default.
+	 * 
+	 * @param coalescingWindow the coalescing window in milliseconds
+	 * @since 3.16
+	 */
+	public void setCoalescingWindow(long coalescingWindow) {
+		this.coalescingWindow = coalescingWindow;
+		if (coalescingWindow <= 0)
+			endCoalescing();
+	}
+
 	/**
 	 * Sets the undo limit. The undo limit is the maximum number of atomic
 	 * operations that the User can undo. <code>-1</code> is used to indicate no
@@ -402,6 +648,39 @@ public class CommandStack {
 		this.undoLimit = undoLimit;
 	}
 
+	/**
+	 * Sets the undo memory limit. The undo memory limit is the maximum number of
+	 * bytes that the commands on the stacks may retain, as estimated by
+	 * {@link Command#getRetainedSize()}. Whenever a command is executed, the
+	 * oldest commands on the undo stack are removed until the limit is met again,
+	 * while the executed command itself is always kept. <code>-1</code> is used
+	 * to indicate no limit.
+	 * 
+	 * @param undoMemoryLimit the undo memory limit in bytes
+	 * @since 3.16
+	 */
+	public void setUndoMemoryLimit(long undoMemoryLimit) {
+		this.undoMemoryLimit = undoMemoryLimit;
+	}
+
+	/**
+	 * Sets the journal to which commands are spilled when they are removed from
+	 * the undo stack because the {@link #setUndoLimit(int) undo limit} or the
+	 * {@link #setUndoMemoryLimit(long) undo memory limit} has been exceeded.
+	 * Spilled commands are restored once all newer commands have been undone, so
+	 * they can still be undone. Commands the journal can not store are disposed,
+	 * together with all older commands in the journal. The journal is closed when
+	 * the stack is disposed.
+	 * 
+	 * @param journal the journal, or <code>null</code> to dispose removed
+	 *                commands
+	 * @since 3.16
+	 */
+	public void setCommandJournal(CommandJournal journal) {
+		this.journal = journal;
+		restoreFromJournal();
+	}
+
 	/**
 	 * Undoes the most recently executed (or redone) Command. The Command is popped
 	 * from the undo stack to and pushed onto the redo stack. This method should
@@ -411,11 +690,13 @@ public class CommandStack {
 		if (!canUndo())
 			return;
 		// Assert.isTrue(canUndo());
-		Command command = (Command) undoable.pop();
+		Command command = undoable.pop();
+		closeCoalescingUnit();
 		notifyListeners(command, PRE_UNDO);
 		try {
 			command.undo();
 			redoable.push(command);
+			restoreFromJournal();
 			notifyListeners();
 		} finally {
 			notifyListeners(command, POST_UNDO);
@@ -117,6 +117,18 @@ public class CompoundCommand extends Command {
 		return true;
 	}
 
+	/**
+	 * Appends the specified, already executed Command. Undoing this
+	 * CompoundCommand undoes it before all other contained Commands.
+	 *
+	 * @see org.eclipse.gef.commands.Command#coalesce(Command)
+	 * @since 3.16
+	 */
+	@Override
+	public void coalesce(Command command) {
+		add(command);
+	}
+
 	/**
 	 * Disposes all contained Commands.
 	 *
@@ -169,6 +181,21 @@ public class CompoundCommand extends Command {
 		return commandList.get(0).getLabel();
 	}
 
+	/**
+	 * Returns the sum of the retained sizes of all contained Commands.
+	 *
+	 * @see org.eclipse.gef.commands.Command#getRetainedSize()
+	 * @since 3.16
+	 */
+	@Override
+	public long getRetainedSize() {
+		long size = 0;
+		for (Command command : commandList) {
+			size += command.getRetainedSize();
+		}
+		return size;
+	}
+
 	/**
 	 * @return <code>true</code> if the CompoundCommand is empty
 	 */
@@ -11,11 +11,14 @@
 package org.eclipse.gef.editparts;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IAdaptable;
@@ -70,6 +73,31 @@ public abstract class AbstractEditPart implements EditPart, RequestConstants, IA
 	 */
 	protected static final int MAX_FLAG = FLAG_FOCUS;
 
+	/**
+	 * Refresh kind indicating that {@link #refreshVisuals()} must be called.
+	 *
+	 * @see #requestRefresh(int)
+	 * @since 3.16
+	 */
+	public static final int REFRESH_VISUALS = 1;
+
+	/**
+	 * Refresh kind indicating that {@link #refreshChildren()} must be called.
+	 *
+	 * @see #requestRefresh(int)
+	 * @since 3.16
+	 */
+	public static final int REFRESH_CHILDREN = 2;
+
+	/**
+	 * The left-most bit that is reserved by this class for refresh kinds.
+	 * Subclasses may define additional kinds starting at
+	 * <code>(MAX_REFRESH_KIND << 1)</code>.
+	 *
+	 * @since 3.16
+	 */
+	protected static final int MAX_REFRESH_KIND = REFRESH_CHILDREN;
+
 	private Object model;
 	private int flags;
 	private EditPart parent;
@@ -229,6 +257,53 @@ public abstract class AbstractEditPart implements EditPart, RequestConstants, IA
 	 */
 	protected abstract void addChildVisual(EditPart child, int index);
 
+	/**
+	 * Adds the given child EditParts to this EditPart, starting at the given index.
+	 * The children go through the same steps as in {@link #addChild(EditPart, int)},
+	 * but the {@link #children} List grows once and the visuals of all children
+	 * are added together with {@link #addChildVisuals(List, int)}, before the
+	 * children are notified and activated. This method does not call
+	 * {@link #addChild(EditPart, int)}.
+	 *
+	 * @param newChildren the EditParts to add, in order
+	 * @param index       the index of the first child, or -1 to append them
+	 * @since 3.16
+	 */
+	protected void addChildren(List<? extends EditPart> newChildren, int index) {
+		newChildren.forEach(Assert::isNotNull);
+		if (newChildren.isEmpty())
+			return;
+		if (index == -1)
+			index = getChildren().size();
+		if (children == null)
+			children = new ArrayList<>(newChildren.size());
+
+		children.addAll(index, newChildren);
+		newChildren.forEach(child -> child.setParent(this));
+		addChildVisuals(newChildren, index);
+		for (int i = 0; i < newChildren.size(); i++) {
+			EditPart child = newChildren.get(i);
+			child.addNotify();
+			if (isActive())
+				child.activate();
+			fireChildAdded(child, index + i);
+		}
+	}
+
+	/**
+	 * Adds the visuals of the given children, as
+	 * {@link #addChildVisual(EditPart, int)} does for each of them. Subclasses may
+	 * override to add all visuals at once.
+	 *
+	 * @param newChildren the EditParts being added
+	 * @param index       the position of the first child
+	 * @since 3.16
+	 */
+	protected void addChildVisuals(List<? extends EditPart> newChildren, int index) {
+		for (int i = 0; i < newChildren.size(); i++)
+			addChildVisual(newChildren.get(i), index + i);
+	}
+
 	/**
 	 * Adds an EditPartListener.
 	 * 
@@ -724,6 +799,49 @@ public abstract class AbstractEditPart implements EditPart, RequestConstants, IA
 		refreshChildren();
 	}
 
+	/**
+	 * Performs the given kinds of refreshes immediately. This method is called by
+	 * {@link #requestRefresh(int)}, either directly or when the active
+	 * {@link RefreshTransaction} is committed. Subclasses defining additional
+	 * refresh kinds should extend this method.
+	 *
+	 * @param kinds the bitwise OR of the refresh kinds, such as
+	 *              {@link #REFRESH_VISUALS}
+	 * @since 3.16
+	 */
+	protected void performRefresh(int kinds) {
+		if ((kinds & REFRESH_VISUALS) != 0) {
+			refreshVisuals();
+		}
+		if ((kinds & REFRESH_CHILDREN) != 0) {
+			refreshChildren();
+		}
+	}
+
+	/**
+	 * Refreshes the given parts of this EditPart in response to a model change. If
+	 * a {@link RefreshTransaction} of the viewer's EditDomain is active, the
+	 * refresh is deferred until the transaction is committed, and multiple
+	 * requests are merged into a single refresh. Otherwise, the refresh is
+	 * performed immediately. Clients applying many model changes at once should
+	 * call this method instead of calling {@link #refreshVisuals()} or
+	 * {@link #refreshChildren()} directly.
+	 *
+	 * @param kinds the bitwise OR of the refresh kinds, such as
+	 *              {@link #REFRESH_VISUALS}
+	 * @since 3.16
+	 */
+	protected void requestRefresh(int kinds) {
+		if (isActive() && getViewer().getEditDomain() != null) {
+			RefreshTransaction transaction = getViewer().getEditDomain().getRefreshTransaction();
+			if (transaction.isActive()) {
+				transaction.markDirty(this, kinds);
+				return;
+			}
+		}
+		performRefresh(kinds);
+	}
+
 	/**
 	 * Updates the set of children EditParts so that it is in sync with the model
 	 * children. This method is called from {@link #refresh()}, and may also be
@@ -734,8 +852,12 @@ public abstract class AbstractEditPart implements EditPart, RequestConstants, IA
 	 * <P>
 	 * The update is performed by comparing the existing EditParts with the set of
 	 * model children returned from {@link #getModelChildren()}. EditParts whose
-	 * models no longer exist are {@link #removeChild(EditPart) removed}. New models
-	 * have their EditParts {@link #createChild(Object) created}.
+	 * models no longer exist are removed together with
+	 * {@link #removeChildren(Collection)}. New models have their EditParts
+	 * {@link #createChild(Object) created}, and consecutive new EditParts are
+	 * added together with {@link #addChildren(List, int)}. If a subclass overrides
+	 * {@link #addChild(EditPart, int)} or {@link #removeChild(EditPart)}, that
+	 * method is called for each child instead.
 	 * <P>
 	 * This method should <em>not</em> be overridden.
 	 * 
@@ -752,6 +874,7 @@ public abstract class AbstractEditPart implements EditPart, RequestConstants, IA
 
 		List modelObjects = getModelChildren();
 		List<? extends EditPart> curChildren = getChildren();
+		boolean addAtOnce = !OVERRIDES_ADD_CHILD.get(getClass()).booleanValue();
 		int i;
 		for (i = 0; i < modelObjects.size(); i++) {
 			Object curModel = modelObjects.get(i);
@@ -765,7 +888,16 @@ public abstract class AbstractEditPart implements EditPart, RequestConstants, IA
 
 			if (editPart != null)
 				reorderChild(editPart, i);
-			else {
+			else if (addAtOnce) {
+				// Create and insert the EditParts of all consecutive new models
+				int index = i;
+				List<EditPart> newChildren = new ArrayList<>();
+				do {
+					newChildren.add(createChild(modelObjects.get(i++)));
+				} while (i < modelObjects.size() && !modelToEditPart.containsKey(modelObjects.get(i)));
+				addChildren(newChildren, index);
+				i--;
+			} else {
 				// An EditPart for this model doesn't exist yet. Create and insert one.
 				editPart = createChild(curModel);
 				addChild(editPart, i);
@@ -775,12 +907,42 @@ public abstract class AbstractEditPart implements EditPart, RequestConstants, IA
 		// remove the remaining EditParts
 		int size = curChildren.size();
 		if (i < size) {
-			List<EditPart> trash = new ArrayList<>(size - i);
-			for (; i < size; i++) {
-				trash.add(curChildren.get(i));
+			List<EditPart> trash = new ArrayList<>(curChildren.subList(i, size));
+			if (OVERRIDES_REMOVE_CHILD.get(getClass()).booleanValue())
+				trash.forEach(this::removeChild);
+			else
+				removeChildren(trash);
+		}
+	}
+
+	private static final ClassValue<Boolean> OVERRIDES_ADD_CHILD = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return Boolean.valueOf(overrides(type, AbstractEditPart.class, "addChild", EditPart.class, int.class)); //$NON-NLS-1$
+		}
+	};
+
+	private static final ClassValue<Boolean> OVERRIDES_REMOVE_CHILD = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return Boolean.valueOf(overrides(type, AbstractEditPart.class, "removeChild", EditPart.class)); //$NON-NLS-1$
+		}
+	};
+
+	/**
+	 * Returns whether the given class, or one of its superclasses below the given
+	 * base class, declares the given method.
+	 */
+	static boolean overrides(Class<?> type, Class<?> base, String name, Class<?>... parameterTypes) {
+		for (Class<?> c = type; c != base; c = c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod(name, parameterTypes);
+				return true;
+			} catch (NoSuchMethodException e) {
+				// not declared by this class
 			}
-			trash.forEach(this::removeChild);
 		}
+		return false;
 	}
 
 	/**
@@ -875,6 +1037,53 @@ public abstract class AbstractEditPart implements EditPart, RequestConstants, IA
 	 */
 	protected abstract void removeChildVisual(EditPart child);
 
+	/**
+	 * Removes the given child EditParts. The children go through the same steps as
+	 * in {@link #removeChild(EditPart)}, from the last one to the first one, but
+	 * the visuals of all children are removed together with
+	 * {@link #removeChildVisuals(List)}, and the {@link #children} List is
+	 * compacted once. EditParts which are not children of this EditPart are
+	 * ignored. This method does not call {@link #removeChild(EditPart)}.
+	 *
+	 * @param oldChildren the EditParts to remove
+	 * @since 3.16
+	 */
+	protected void removeChildren(Collection<? extends EditPart> oldChildren) {
+		if (oldChildren.isEmpty() || getChildren().isEmpty())
+			return;
+		Set<EditPart> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+		removed.addAll(oldChildren);
+		List<EditPart> trash = new ArrayList<>(removed.size());
+		for (int index = children.size() - 1; index >= 0; index--) {
+			EditPart child = children.get(index);
+			if (removed.contains(child)) {
+				fireRemovingChild(child, index);
+				if (isActive())
+					child.deactivate();
+				child.removeNotify();
+				trash.add(child);
+			}
+		}
+		if (trash.isEmpty())
+			return;
+		removeChildVisuals(trash);
+		trash.forEach(child -> child.setParent(null));
+		children.removeIf(removed::contains);
+	}
+
+	/**
+	 * Removes the visuals of the given children, as
+	 * {@link #removeChildVisual(EditPart)} does for each of them. Subclasses may
+	 * override to remove all visuals at once.
+	 *
+	 * @param oldChildren the EditParts being removed, from the last one to the
+	 *                    first one
+	 * @since 3.16
+	 */
+	protected void removeChildVisuals(List<? extends EditPart> oldChildren) {
+		oldChildren.forEach(this::removeChildVisual);
+	}
+
 	/**
 	 * No reason to override
 	 * 
@@ -21,6 +21,7 @@ import org.eclipse.swt.accessibility.AccessibleControlEvent;
 
 import org.eclipse.core.runtime.IAdaptable;
 
+import org.eclipse.draw2d.Figure;
 import org.eclipse.draw2d.IFigure;
 import org.eclipse.draw2d.LayoutManager;
 import org.eclipse.draw2d.geometry.Point;
@@ -48,6 +49,24 @@ import org.eclipse.gef.Request;
  */
 public abstract class AbstractGraphicalEditPart extends AbstractEditPart implements GraphicalEditPart {
 
+	/**
+	 * Refresh kind indicating that {@link #refreshSourceConnections()} must be
+	 * called.
+	 *
+	 * @see #requestRefresh(int)
+	 * @since 3.16
+	 */
+	public static final int REFRESH_SOURCE_CONNECTIONS = MAX_REFRESH_KIND << 1;
+
+	/**
+	 * Refresh kind indicating that {@link #refreshTargetConnections()} must be
+	 * called.
+	 *
+	 * @see #requestRefresh(int)
+	 * @since 3.16
+	 */
+	public static final int REFRESH_TARGET_CONNECTIONS = MAX_REFRESH_KIND << 2;
+
 	/**
 	 * The Figure
 	 */
@@ -208,6 +227,44 @@ public abstract class AbstractGraphicalEditPart extends AbstractEditPart impleme
 		getContentPane().add(child, index);
 	}
 
+	/**
+	 * Adds the children's Figures to the {@link #getContentPane() contentPane} at
+	 * once, if it is a {@link Figure}. If a subclass overrides
+	 * {@link #addChildVisual(EditPart, int)}, that method is called for each child
+	 * instead.
+	 *
+	 * @see org.eclipse.gef.editparts.AbstractEditPart#addChildVisuals(List, int)
+	 * @since 3.16
+	 */
+	@Override
+	protected void addChildVisuals(List<? extends EditPart> newChildren, int index) {
+		if (getContentPane() instanceof Figure contentPane
+				&& !OVERRIDES_ADD_CHILD_VISUAL.get(getClass()).booleanValue())
+			contentPane.addAll(getFigures(newChildren), index);
+		else
+			super.addChildVisuals(newChildren, index);
+	}
+
+	private static List<IFigure> getFigures(List<? extends EditPart> editParts) {
+		List<IFigure> figures = new ArrayList<>(editParts.size());
+		editParts.forEach(editPart -> figures.add(((GraphicalEditPart) editPart).getFigure()));
+		return figures;
+	}
+
+	private static final ClassValue<Boolean> OVERRIDES_ADD_CHILD_VISUAL = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return Boolean.valueOf(overrides(type, AbstractGraphicalEditPart.class, "addChildVisual", EditPart.class, int.class)); //$NON-NLS-1$
+		}
+	};
+
+	private static final ClassValue<Boolean> OVERRIDES_REMOVE_CHILD_VISUAL = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return Boolean.valueOf(overrides(type, AbstractGraphicalEditPart.class, "removeChildVisual", EditPart.class)); //$NON-NLS-1$
+		}
+	};
+
 	/**
 	 * @see org.eclipse.gef.GraphicalEditPart#addNodeListener(org.eclipse.gef.NodeListener)
 	 */
@@ -597,6 +654,23 @@ public abstract class AbstractGraphicalEditPart extends AbstractEditPart impleme
 		targetConnections.remove(connection);
 	}
 
+	/**
+	 * Extends {@link AbstractEditPart#performRefresh(int)} to handle
+	 * {@link #REFRESH_SOURCE_CONNECTIONS} and {@link #REFRESH_TARGET_CONNECTIONS}.
+	 *
+	 * @since 3.16
+	 */
+	@Override
+	protected void performRefresh(int kinds) {
+		super.performRefresh(kinds);
+		if ((kinds & REFRESH_SOURCE_CONNECTIONS) != 0) {
+			refreshSourceConnections();
+		}
+		if ((kinds & REFRESH_TARGET_CONNECTIONS) != 0) {
+			refreshTargetConnections();
+		}
+	}
+
 	/**
 	 * Extends {@link AbstractEditPart#refresh()} to refresh two additional
 	 * structural features: <i>source</i> and <i>target</i> connections. Subclasses
@@ -756,6 +830,24 @@ public abstract class AbstractGraphicalEditPart extends AbstractEditPart impleme
 		getContentPane().remove(child);
 	}
 
+	/**
+	 * Removes the children's Figures from the {@link #getContentPane()
+	 * contentPane} at once, if it is a {@link Figure}. If a subclass overrides
+	 * {@link #removeChildVisual(EditPart)}, that method is called for each child
+	 * instead.
+	 *
+	 * @see AbstractEditPart#removeChildVisuals(List)
+	 * @since 3.16
+	 */
+	@Override
+	protected void removeChildVisuals(List<? extends EditPart> oldChildren) {
+		if (getContentPane() instanceof Figure contentPane
+				&& !OVERRIDES_REMOVE_CHILD_VISUAL.get(getClass()).booleanValue())
+			contentPane.removeAll(getFigures(oldChildren));
+		else
+			super.removeChildVisuals(oldChildren);
+	}
+
 	/**
 	 * @see org.eclipse.gef.GraphicalEditPart#removeNodeListener(org.eclipse.gef.NodeListener)
 	 */
@@ -10,9 +10,12 @@
  *******************************************************************************/
 package org.eclipse.gef.editparts;
 
+import java.util.Map;
+
 import org.eclipse.draw2d.*;
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.gef.SnapToGrid;
 
 /**
@@ -40,6 +43,28 @@ public class GridLayer extends FreeformLayer {
 	 */
 	protected Point origin = new Point();
 
+	private boolean tiled = true;
+	private GridTile tile;
+	private UpdateManager updateManager;
+	/**
+	 * Disposes the tile together with the update manager, as the layer is not
+	 * removed when its viewer is disposed.
+	 */
+	private final UpdateListener disposeListener = new UpdateListener() {
+		@Override
+		public void notifyPainting(Rectangle damage, Map<IFigure, Rectangle> dirtyRegions) {
+		}
+
+		@Override
+		public void notifyValidating() {
+		}
+
+		@Override
+		public void notifyDisposed() {
+			disposeTile();
+		}
+	};
+
 	/**
 	 * Constructor Sets the default grid color: ColorConstants.lightGray
 	 */
@@ -48,6 +73,19 @@ public class GridLayer extends FreeformLayer {
 		setForegroundColor(ColorConstants.lineForeground);
 	}
 
+	/**
+	 * Listens to the update manager, so that the image of the grid cells is
+	 * disposed when the update manager is.
+	 * 
+	 * @see org.eclipse.draw2d.Figure#addNotify()
+	 */
+	@Override
+	public void addNotify() {
+		super.addNotify();
+		updateManager = getUpdateManager();
+		updateManager.addUpdateListener(disposeListener);
+	}
+
 	/**
 	 * Overridden to indicate no preferred size. The grid layer should not affect
 	 * the size of the layered pane in which it is placed.
@@ -59,6 +97,18 @@ public class GridLayer extends FreeformLayer {
 		return new Dimension();
 	}
 
+	/**
+	 * Returns whether the grid is painted by repeating an image of a block of grid
+	 * cells, rather than by drawing each line.
+	 * 
+	 * @return <code>true</code> if the grid is painted with an image
+	 * @since 3.16
+	 * @see #setTiled(boolean)
+	 */
+	public boolean isTiled() {
+		return tiled;
+	}
+
 	/**
 	 * @see org.eclipse.draw2d.Figure#paintFigure(org.eclipse.draw2d.Graphics)
 	 */
@@ -78,9 +128,38 @@ public class GridLayer extends FreeformLayer {
 	 * @see FigureUtilities#paintGrid(Graphics, IFigure, Point, int, int)
 	 */
 	protected void paintGrid(Graphics g) {
+		if (tiled) {
+			tile = GridTile.get(tile, g, origin, gridX, gridY);
+			if (tile != null) {
+				tile.paint(g, origin);
+				return;
+			}
+		}
 		FigureUtilities.paintGrid(g, this, origin, gridX, gridY);
 	}
 
+	/**
+	 * Disposes the image of the grid cells.
+	 * 
+	 * @see org.eclipse.draw2d.Figure#removeNotify()
+	 */
+	@Override
+	public void removeNotify() {
+		if (updateManager != null) {
+			updateManager.removeUpdateListener(disposeListener);
+			updateManager = null;
+		}
+		disposeTile();
+		super.removeNotify();
+	}
+
+	private void disposeTile() {
+		if (tile != null) {
+			tile.dispose();
+			tile = null;
+		}
+	}
+
 	/**
 	 * Sets the origin of the grid. The origin is used only to determine the offset
 	 * from 0,0.
@@ -92,6 +171,7 @@ public class GridLayer extends FreeformLayer {
 			p = new Point();
 		if (!origin.equals(p)) {
 			origin = p;
+			disposeTile();
 			repaint();
 		}
 	}
@@ -111,6 +191,26 @@ public class GridLayer extends FreeformLayer {
 		if (!spacing.equals(gridX, gridY)) {
 			gridX = spacing.width != 0 ? spacing.width : gridX;
 			gridY = spacing.height != 0 ? spacing.height : gridY;
+			disposeTile();
+			repaint();
+		}
+	}
+
+	/**
+	 * Sets whether the grid is painted by repeating an image of a block of grid
+	 * cells. The image is rendered for the current scale, spacing and color, and
+	 * is rendered again when any of them changes. This avoids drawing thousands of
+	 * lines at a small spacing, but is only used for solid lines, and when the
+	 * block spans a whole number of pixels at the current scale. Otherwise, each
+	 * line is drawn. The default is <code>true</code>.
+	 * 
+	 * @param tiled whether the grid is painted with an image
+	 * @since 3.16
+	 */
+	public void setTiled(boolean tiled) {
+		if (this.tiled != tiled) {
+			this.tiled = tiled;
+			disposeTile();
 			repaint();
 		}
 	}
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.editparts;
+
+import java.util.Arrays;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * An image of a block of grid cells, rendered in device pixels for one scale,
+ * which is repeated to fill the clip of a {@link GridLayer}. A block spans a
+ * whole number of pixels at its scale, so the copies line up without drifting.
+ */
+final class GridTile {
+
+	/** the preferred size of a tile, in pixels */
+	private static final int TILE_SIZE = 512;
+	/** the most cells along one axis which are tried to get a whole number */
+	private static final int MAX_CELLS = 64;
+
+	private final int gridX;
+	private final int gridY;
+	private final double scale;
+	private final int phaseX;
+	private final int phaseY;
+	private final int lineWidth;
+	private final RGB color;
+	/** the size of the tile in layer coordinates */
+	private final int width;
+	private final int height;
+	private Image image;
+
+	private GridTile(int gridX, int gridY, double scale, int phaseX, int phaseY, int lineWidth, RGB color,
+			int width, int height) {
+		this.gridX = gridX;
+		this.gridY = gridY;
+		this.scale = scale;
+		this.phaseX = phaseX;
+		this.phaseY = phaseY;
+		this.lineWidth = lineWidth;
+		this.color = color;
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Returns a tile for painting the given grid with the given graphics. The
+	 * given tile is returned if it still matches, otherwise it is disposed.
+	 * Returns <code>null</code> if the grid can not be tiled at the current scale,
+	 * or if the graphics don't draw plain lines.
+	 *
+	 * @param tile   the tile painted last time, or <code>null</code>
+	 * @param g      the graphics
+	 * @param origin the origin of the grid
+	 * @param gridX  the horizontal spacing
+	 * @param gridY  the vertical spacing
+	 * @return the tile, or <code>null</code>
+	 */
+	static GridTile get(GridTile tile, Graphics g, Point origin, int gridX, int gridY) {
+		double scale = g.getAbsoluteScale();
+		int lineWidth = Math.max(1, (int) Math.round(g.getLineWidthFloat() * scale));
+		RGB color = g.getForegroundColor().getRGB();
+		int phaseX = phase(origin.x, scale);
+		int phaseY = phase(origin.y, scale);
+		boolean plain = g.getLineStyle() == SWT.LINE_SOLID && !g.getXORMode();
+		if (tile != null) {
+			if (plain && tile.gridX == gridX && tile.gridY == gridY && tile.scale == scale && tile.phaseX == phaseX
+					&& tile.phaseY == phaseY && tile.lineWidth == lineWidth && tile.color.equals(color))
+				return tile;
+			tile.dispose();
+		}
+		if (gridX <= 0 || gridY <= 0 || !plain)
+			return null;
+		int cellsX = getCellsPerTile(gridX, scale);
+		int cellsY = getCellsPerTile(gridY, scale);
+		if (cellsX == 0 || cellsY == 0)
+			return null;
+		return new GridTile(gridX, gridY, scale, phaseX, phaseY, lineWidth, color, cellsX * gridX, cellsY * gridY);
+	}
+
+	/**
+	 * Returns the offset of the grid lines within a pixel, in 1/256ths.
+	 */
+	private static int phase(int origin, double scale) {
+		double position = origin * scale;
+		return (int) ((position - Math.floor(position)) * 256);
+	}
+
+	/**
+	 * Returns the number of cells along one axis of a tile, so that the tile
+	 * spans a whole number of pixels close to {@link #TILE_SIZE}, or 0 if there
+	 * is no such number.
+	 */
+	private static int getCellsPerTile(int spacing, double scale) {
+		for (int cells = 1; cells <= MAX_CELLS; cells++) {
+			double pixels = cells * spacing * scale;
+			if (pixels > TILE_SIZE * 2)
+				return 0;
+			if (Math.abs(pixels - Math.rint(pixels)) < 1e-6)
+				return cells * Math.max(1, (int) (TILE_SIZE / pixels));
+		}
+		return 0;
+	}
+
+	/**
+	 * Fills the clip of the graphics with copies of the tile.
+	 *
+	 * @param g      the graphics
+	 * @param origin the origin of the grid
+	 */
+	void paint(Graphics g, Point origin) {
+		if (image == null)
+			image = new Image(null, createImageData());
+		org.eclipse.swt.graphics.Rectangle size = image.getBounds();
+		Rectangle clip = g.getClip(new Rectangle());
+		int left = origin.x + Math.floorDiv(clip.x - origin.x, width) * width;
+		int top = origin.y + Math.floorDiv(clip.y - origin.y, height) * height;
+		for (int y = top; y < clip.bottom(); y += height)
+			for (int x = left; x < clip.right(); x += width)
+				g.drawImage(image, 0, 0, size.width, size.height, x, y, width, height);
+	}
+
+	/**
+	 * Renders the grid lines of the tile into transparent image data.
+	 */
+	private ImageData createImageData() {
+		int pixelsX = (int) Math.rint(width * scale);
+		int pixelsY = (int) Math.rint(height * scale);
+		ImageData data = new ImageData(pixelsX, pixelsY, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		int pixel = data.palette.getPixel(color);
+		int[] row = new int[pixelsX];
+		Arrays.fill(row, pixel);
+		for (int y = 0; y < pixelsY; y++)
+			data.setPixels(0, y, pixelsX, row, 0);
+		byte[] alpha = new byte[pixelsX * pixelsY];
+		boolean[] columns = getLines(pixelsX, gridX, phaseX);
+		boolean[] rows = getLines(pixelsY, gridY, phaseY);
+		for (int y = 0; y < pixelsY; y++)
+			for (int x = 0; x < pixelsX; x++)
+				if (rows[y] || columns[x])
+					alpha[y * pixelsX + x] = (byte) 255;
+		data.alphaData = alpha;
+		return data;
+	}
+
+	/**
+	 * Returns which pixels along one axis are covered by a grid line.
+	 */
+	private boolean[] getLines(int pixels, int spacing, int phase) {
+		boolean[] lines = new boolean[pixels];
+		for (int line = 0;; line++) {
+			int center = (int) Math.floor(phase / 256.0 + line * spacing * scale);
+			if (center >= pixels)
+				return lines;
+			// Wrap around, so that wide lines also cover the start of the next tile
+			for (int i = 0; i < lineWidth; i++)
+				lines[Math.floorMod(center - lineWidth / 2 + i, pixels)] = true;
+		}
+	}
+
+	/**
+	 * Disposes the image of the tile.
+	 */
+	void dispose() {
+		if (image != null) {
+			image.dispose();
+			image = null;
+		}
+	}
+
+}
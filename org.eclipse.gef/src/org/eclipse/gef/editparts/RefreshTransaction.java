@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.gef.editparts;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.draw2d.UpdateManager;
+
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.GraphicalEditPart;
+import org.eclipse.gef.commands.Command;
+import org.eclipse.gef.commands.CommandStack;
+import org.eclipse.gef.commands.CommandStackEvent;
+import org.eclipse.gef.commands.CommandStackEventListener;
+
+/**
+ * Defers the refreshes of EditParts while model changes are being applied.
+ * While a transaction is active, {@link AbstractEditPart#requestRefresh(int)}
+ * only records which parts of an EditPart are dirty. When the outermost
+ * transaction is committed, every dirty EditPart is refreshed once, parents
+ * before their children, and the update managers of the affected figures
+ * validate once.
+ * <P>
+ * Each {@link org.eclipse.gef.EditDomain} owns a transaction, which is used by
+ * the EditParts in its viewers. Transactions can be nested. To wrap every
+ * execution, undo and redo of a command stack into a transaction, add the
+ * transaction as a {@link CommandStackEventListener} to the stack:
+ *
+ * <PRE>
+ * domain.getCommandStack().addCommandStackEventListener(domain.getRefreshTransaction());
+ * </PRE>
+ *
+ * @since 3.16
+ */
+public class RefreshTransaction implements CommandStackEventListener {
+
+	private static final int PRE_CHANGE = CommandStack.PRE_EXECUTE | CommandStack.PRE_UNDO | CommandStack.PRE_REDO;
+
+	private static final int POST_CHANGE = CommandStack.POST_EXECUTE | CommandStack.POST_UNDO
+			| CommandStack.POST_REDO;
+
+	private int depth;
+
+	private final Map<AbstractEditPart, Integer> dirtyParts = new LinkedHashMap<>();
+
+	/**
+	 * Begins a (possibly nested) transaction.
+	 */
+	public void begin() {
+		depth++;
+	}
+
+	/**
+	 * Commits the innermost transaction. If it is the outermost one, all recorded
+	 * refreshes are performed.
+	 */
+	public void commit() {
+		if (depth == 0) {
+			return;
+		}
+		if (--depth == 0) {
+			flush();
+		}
+	}
+
+	/**
+	 * Executes the command on the given stack within a transaction.
+	 *
+	 * @param stack   the command stack
+	 * @param command the command to execute
+	 */
+	public void execute(CommandStack stack, Command command) {
+		begin();
+		try {
+			stack.execute(command);
+		} finally {
+			commit();
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if a transaction is active
+	 */
+	public boolean isActive() {
+		return depth > 0;
+	}
+
+	/**
+	 * Records that the given parts of the EditPart need to be refreshed when the
+	 * transaction is committed.
+	 *
+	 * @param part  the EditPart
+	 * @param kinds the bitwise OR of the refresh kinds, such as
+	 *              {@link AbstractEditPart#REFRESH_VISUALS}
+	 */
+	void markDirty(AbstractEditPart part, int kinds) {
+		dirtyParts.merge(part, Integer.valueOf(kinds), (a, b) -> Integer.valueOf(a.intValue() | b.intValue()));
+	}
+
+	private void flush() {
+		Set<UpdateManager> updateManagers = Collections.newSetFromMap(new IdentityHashMap<>());
+		while (!dirtyParts.isEmpty()) {
+			List<Map.Entry<AbstractEditPart, Integer>> entries = new ArrayList<>(dirtyParts.entrySet());
+			dirtyParts.clear();
+			// parents first, as refreshing their children may remove dirty parts
+			entries.sort((a, b) -> getDepth(a.getKey()) - getDepth(b.getKey()));
+			for (Map.Entry<AbstractEditPart, Integer> entry : entries) {
+				AbstractEditPart part = entry.getKey();
+				if (!part.isActive()) {
+					continue;
+				}
+				part.performRefresh(entry.getValue().intValue());
+				if (part instanceof GraphicalEditPart graphicalPart) {
+					updateManagers.add(graphicalPart.getFigure().getUpdateManager());
+				}
+			}
+		}
+		updateManagers.forEach(UpdateManager::performValidation);
+	}
+
+	private static int getDepth(EditPart part) {
+		int result = 0;
+		for (EditPart parent = part.getParent(); parent != null; parent = parent.getParent()) {
+			result++;
+		}
+		return result;
+	}
+
+	/**
+	 * Begins a transaction before a command is executed, undone or redone, and
+	 * commits it afterwards.
+	 *
+	 * @see CommandStackEventListener#stackChanged(CommandStackEvent)
+	 */
+	@Override
+	public void stackChanged(CommandStackEvent event) {
+		if ((event.getDetail() & PRE_CHANGE) != 0) {
+			begin();
+		} else if ((event.getDetail() & POST_CHANGE) != 0) {
+			commit();
+		}
+	}
+
+}
@@ -71,8 +71,7 @@ public final class CornerTriangleBorder extends AbstractBorder {
 	public void paint(IFigure figure, Graphics graphics, Insets insets) {
 		// Don't paint the center of the figure.
 		int width = 1, edgeSize;
-		Rectangle rect = tempRect;
-		tempRect.setBounds(getPaintRectangle(figure, insets));
+		Rectangle rect = getPaintRectangle(figure, insets);
 		rect.width--;
 		rect.height--;
 		rect.shrink(width / 2, width / 2);
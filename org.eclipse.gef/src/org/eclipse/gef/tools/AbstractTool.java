@@ -49,6 +49,7 @@ import org.eclipse.gef.MouseWheelHandler;
 import org.eclipse.gef.RequestConstants;
 import org.eclipse.gef.Tool;
 import org.eclipse.gef.commands.Command;
+import org.eclipse.gef.commands.CommandStack;
 import org.eclipse.gef.commands.CommandStackEvent;
 import org.eclipse.gef.commands.CommandStackEventListener;
 import org.eclipse.gef.editparts.LayerManager;
@@ -385,9 +386,22 @@ public abstract class AbstractTool extends org.eclipse.gef.util.FlagSupport impl
 		setState(STATE_TERMINAL);
 		operationSet = null;
 		current = null;
+		// switching to another tool ends the gesture
+		if (getDomain().getActiveTool() == this)
+			endCoalescing();
 		getDomain().getCommandStack().removeCommandStackEventListener(commandStackListener);
 	}
 
+	/**
+	 * Ends the coalescing unit of the command stack at the end of a gesture, so
+	 * that commands executed by the next gesture are not merged into it.
+	 * 
+	 * @see CommandStack#endCoalescing()
+	 */
+	void endCoalescing() {
+		getDomain().getCommandStack().endCoalescing();
+	}
+
 	/**
 	 * Prints a string in the GEF Debug console if the Tools debug option is
 	 * selected.
@@ -445,6 +459,7 @@ public abstract class AbstractTool extends org.eclipse.gef.util.FlagSupport impl
 	public void focusLost(FocusEvent event, EditPartViewer viewer) {
 		setViewer(viewer);
 		handleFocusLost();
+		endCoalescing();
 	}
 
 	/**
@@ -1152,6 +1167,8 @@ public abstract class AbstractTool extends org.eclipse.gef.util.FlagSupport impl
 		getCurrentInput().setInput(me);
 		getCurrentInput().setMouseButton(me.button, false);
 		handleButtonUp(me.button);
+		// releasing a button ends a drag
+		endCoalescing();
 	}
 
 	/**
@@ -12,8 +12,10 @@ package org.eclipse.gef.tools;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.KeyEvent;
@@ -21,12 +23,17 @@ import org.eclipse.swt.graphics.Cursor;
 
 import org.eclipse.core.runtime.Platform;
 
+import org.eclipse.draw2d.ColorConstants;
+import org.eclipse.draw2d.FigureUtilities;
+import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw2d.IFigure;
 import org.eclipse.draw2d.PositionConstants;
+import org.eclipse.draw2d.Shape;
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PrecisionPoint;
 import org.eclipse.draw2d.geometry.PrecisionRectangle;
+import org.eclipse.draw2d.geometry.Rectangle;
 
 import org.eclipse.gef.AutoexposeHelper;
 import org.eclipse.gef.EditPart;
@@ -69,11 +76,46 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 	private static final int FLAG_SOURCE_FEEDBACK = SelectEditPartTracker.MAX_FLAG << 1;
 	/** Max flag */
 	protected static final int MAX_FLAG = FLAG_SOURCE_FEEDBACK;
-	private List<IFigure> exclusionSet;
+	private Set<IFigure> exclusionSet;
 	private PrecisionPoint sourceRelativeStartPoint;
 	private SnapToHelper snapToHelper;
 	private PrecisionRectangle sourceRectangle, compoundSrcRect;
 	private boolean cloneActive;
+	private int bulkFeedbackThreshold = Integer.MAX_VALUE;
+	private GhostFeedback bulkFeedback;
+
+	/**
+	 * A single ghost figure showing the outlines of all dragged edit parts. The
+	 * outlines are stored relative to the figure's location, so moving the figure
+	 * does not touch them.
+	 */
+	private static class GhostFeedback extends Shape {
+		private final List<Rectangle> outlines = new ArrayList<>();
+		private final PrecisionRectangle absoluteBounds;
+
+		GhostFeedback(PrecisionRectangle absoluteBounds) {
+			this.absoluteBounds = absoluteBounds;
+			FigureUtilities.makeGhostShape(this);
+			setLineStyle(Graphics.LINE_DOT);
+			setForegroundColor(ColorConstants.white);
+		}
+
+		@Override
+		protected void fillShape(Graphics graphics) {
+			for (Rectangle outline : outlines) {
+				graphics.fillRectangle(outline.x + getBounds().x, outline.y + getBounds().y, outline.width,
+						outline.height);
+			}
+		}
+
+		@Override
+		protected void outlineShape(Graphics graphics) {
+			for (Rectangle outline : outlines) {
+				graphics.drawRectangle(outline.x + getBounds().x, outline.y + getBounds().y, outline.width - 1,
+						outline.height - 1);
+			}
+		}
+	}
 
 	/**
 	 * Constructs a new DragEditPartsTracker with the given source edit part.
@@ -252,6 +294,7 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 		eraseSourceFeedback();
 		super.deactivate();
 		exclusionSet = null;
+		bulkFeedback = null;
 		sourceRelativeStartPoint = null;
 		sourceRectangle = null;
 		compoundSrcRect = null;
@@ -266,6 +309,12 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 		if (!getFlag(FLAG_SOURCE_FEEDBACK))
 			return;
 		setFlag(FLAG_SOURCE_FEEDBACK, false);
+		if (bulkFeedback != null) {
+			if (bulkFeedback.getParent() != null)
+				bulkFeedback.getParent().remove(bulkFeedback);
+			bulkFeedback = null;
+			return;
+		}
 		List editParts = getOperationSet();
 		for (int i = 0; i < editParts.size(); i++) {
 			EditPart editPart = (EditPart) editParts.get(i);
@@ -340,7 +389,19 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 	}
 
 	/**
-	 * Returns a list of all the edit parts in the
+	 * Returns the number of dragged edit parts from which on the source feedback
+	 * is shown by the tracker itself.
+	 * 
+	 * @return the bulk feedback threshold
+	 * @see #setBulkFeedbackThreshold(int)
+	 * @since 3.16
+	 */
+	public int getBulkFeedbackThreshold() {
+		return bulkFeedbackThreshold;
+	}
+
+	/**
+	 * Returns a set of all the edit parts in the
 	 * {@link AbstractTool#getOperationSet() operation set}, plus the
 	 * {@link org.eclipse.draw2d.ConnectionLayer}.
 	 * 
@@ -350,7 +411,7 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 	protected Collection<IFigure> getExclusionSet() {
 		if (exclusionSet == null) {
 			List set = getOperationSet();
-			exclusionSet = new ArrayList<>(set.size() + 1);
+			exclusionSet = new HashSet<>(set.size() + 1);
 			for (int i = 0; i < set.size(); i++) {
 				GraphicalEditPart editpart = (GraphicalEditPart) set.get(i);
 				exclusionSet.add(editpart.getFigure());
@@ -568,6 +629,23 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 		}
 	}
 
+	/**
+	 * Sets the number of dragged edit parts from which on the source feedback is
+	 * shown by the tracker itself instead of by the edit parts. In that case, a
+	 * single ghost figure with the outlines of all dragged figures is added to the
+	 * feedback layer and only moved while dragging, so large selections can be
+	 * dragged without asking every edit part to update its feedback on every mouse
+	 * move. Custom source feedback of the edit parts is not shown then. By default,
+	 * the edit parts always show their own feedback.
+	 * 
+	 * @param threshold the minimum size of the operation set for which the
+	 *                  aggregated feedback is shown
+	 * @since 3.16
+	 */
+	public void setBulkFeedbackThreshold(int threshold) {
+		bulkFeedbackThreshold = threshold;
+	}
+
 	/**
 	 * Enables cloning if the value is true.
 	 * 
@@ -598,10 +676,16 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 
 	/**
 	 * Asks the edit parts in the {@link AbstractTool#getOperationSet() operation
-	 * set} to show source feedback.
+	 * set} to show source feedback. If the operation set has reached the
+	 * {@link #setBulkFeedbackThreshold(int) bulk feedback threshold}, a single
+	 * aggregated ghost figure is shown instead.
 	 */
 	protected void showSourceFeedback() {
 		List editParts = getOperationSet();
+		if (editParts.size() >= bulkFeedbackThreshold && showBulkSourceFeedback()) {
+			setFlag(FLAG_SOURCE_FEEDBACK, true);
+			return;
+		}
 		for (int i = 0; i < editParts.size(); i++) {
 			EditPart editPart = (EditPart) editParts.get(i);
 			editPart.showSourceFeedback(getTargetRequest());
@@ -609,6 +693,50 @@ public class DragEditPartsTracker extends SelectEditPartTracker {
 		setFlag(FLAG_SOURCE_FEEDBACK, true);
 	}
 
+	private boolean showBulkSourceFeedback() {
+		LayerManager layerManager = (LayerManager) getCurrentViewer().getEditPartRegistry().get(LayerManager.ID);
+		IFigure layer = layerManager == null ? null : layerManager.getLayer(LayerConstants.FEEDBACK_LAYER);
+		if (layer == null)
+			return false;
+		if (bulkFeedback == null)
+			bulkFeedback = createBulkFeedback(layer);
+		PrecisionRectangle rect = bulkFeedback.absoluteBounds.getPreciseCopy();
+		rect.translate(((ChangeBoundsRequest) getTargetRequest()).getMoveDelta());
+		layer.translateToRelative(rect);
+		bulkFeedback.setLocation(rect.getTopLeft());
+		return true;
+	}
+
+	private GhostFeedback createBulkFeedback(IFigure layer) {
+		List<?> editParts = getOperationSet();
+		List<PrecisionRectangle> outlines = new ArrayList<>(editParts.size());
+		PrecisionRectangle union = null;
+		for (int i = 0; i < editParts.size(); i++) {
+			IFigure figure = ((GraphicalEditPart) editParts.get(i)).getFigure();
+			PrecisionRectangle bounds;
+			if (figure instanceof HandleBounds)
+				bounds = new PrecisionRectangle(((HandleBounds) figure).getHandleBounds());
+			else
+				bounds = new PrecisionRectangle(figure.getBounds());
+			figure.translateToAbsolute(bounds);
+			outlines.add(bounds);
+			if (union == null)
+				union = bounds.getPreciseCopy();
+			else
+				union.union((Rectangle) bounds);
+		}
+		GhostFeedback feedback = new GhostFeedback(union);
+		PrecisionRectangle relativeUnion = union.getPreciseCopy();
+		layer.translateToRelative(relativeUnion);
+		for (PrecisionRectangle outline : outlines) {
+			layer.translateToRelative(outline);
+			feedback.outlines.add(outline.translate(-relativeUnion.preciseX(), -relativeUnion.preciseY()).getCopy());
+		}
+		feedback.setBounds(relativeUnion);
+		layer.add(feedback);
+		return feedback;
+	}
+
 	/**
 	 * Extended to activate cloning and to update the captured source dimensions
 	 * when applicable.
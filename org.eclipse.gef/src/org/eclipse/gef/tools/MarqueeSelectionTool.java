@@ -12,9 +12,11 @@ package org.eclipse.gef.tools;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.swt.SWT;
@@ -25,6 +27,7 @@ import org.eclipse.jface.viewers.StructuredSelection;
 
 import org.eclipse.draw2d.ColorConstants;
 import org.eclipse.draw2d.Connection;
+import org.eclipse.draw2d.ConnectionLayer;
 import org.eclipse.draw2d.Cursors;
 import org.eclipse.draw2d.Figure;
 import org.eclipse.draw2d.FigureUtilities;
@@ -219,6 +222,12 @@ public class MarqueeSelectionTool extends AbstractTool {
 
 	private Request targetRequest;
 
+	/**
+	 * The connections touched by the marquee, per connection layer, while the
+	 * marquee selection is calculated.
+	 */
+	private Map<ConnectionLayer, Set<Connection>> touchedConnections;
+
 	/**
 	 * Creates a new MarqueeSelectionTool of default type
 	 * {@link #BEHAVIOR_NODES_CONTAINED}.
@@ -305,11 +314,16 @@ public class MarqueeSelectionTool extends AbstractTool {
 		// process all edit parts and determine which are affected by the
 		// current marquee selection
 		Collection marqueeSelectedEditParts = new ArrayList();
-		for (Iterator iterator = editPartsToProcess.iterator(); iterator.hasNext();) {
-			GraphicalEditPart editPart = (GraphicalEditPart) iterator.next();
-			if (isMarqueeSelectable(editPart) && isPrimaryMarqueeSelectedEditPart(editPart)) {
-				marqueeSelectedEditParts.add(editPart);
+		touchedConnections = new HashMap<>();
+		try {
+			for (Iterator iterator = editPartsToProcess.iterator(); iterator.hasNext();) {
+				GraphicalEditPart editPart = (GraphicalEditPart) iterator.next();
+				if (isMarqueeSelectable(editPart) && isPrimaryMarqueeSelectedEditPart(editPart)) {
+					marqueeSelectedEditParts.add(editPart);
+				}
 			}
+		} finally {
+			touchedConnections = null;
 		}
 		return marqueeSelectedEditParts;
 	}
@@ -589,7 +603,7 @@ public class MarqueeSelectionTool extends AbstractTool {
 					Rectangle relMarqueeRect = Rectangle.SINGLETON;
 					figure.translateToRelative(relMarqueeRect.setBounds(marqueeSelectionRectangle));
 					if (marqueeBehavior == BEHAVIOR_CONNECTIONS_TOUCHED) {
-						included = ((Connection) figure).getPoints().intersects(relMarqueeRect);
+						included = isTouched((Connection) figure, relMarqueeRect);
 					} else if (marqueeBehavior == BEHAVIOR_CONNECTIONS_CONTAINED) {
 						included = relMarqueeRect.contains(((Connection) figure).getPoints().getBounds());
 					}
@@ -608,6 +622,19 @@ public class MarqueeSelectionTool extends AbstractTool {
 		return included;
 	}
 
+	/**
+	 * Returns whether the points of the connection touch the marquee. Connections
+	 * on a {@link ConnectionLayer} are looked up in the layer's index, which is
+	 * queried once per layer.
+	 */
+	private boolean isTouched(Connection connection, Rectangle relMarqueeRect) {
+		if (touchedConnections == null || !(connection.getParent() instanceof ConnectionLayer layer))
+			return connection.getPoints().intersects(relMarqueeRect);
+		Rectangle rect = relMarqueeRect.getCopy();
+		return touchedConnections.computeIfAbsent(layer, l -> new HashSet<>(l.findConnectionsTouching(rect)))
+				.contains(connection);
+	}
+
 	/**
 	 * Determines which edit parts are indirectly affected by the current marquee
 	 * selection through those edit parts being directly affected. In case of
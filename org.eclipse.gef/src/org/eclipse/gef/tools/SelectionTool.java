@@ -494,7 +494,9 @@ public class SelectionTool extends TargetingTool {
 	}
 
 	/**
-	 * Forwards the key up event to the drag tracker, if one exists.
+	 * Forwards the key up event to the drag tracker, if one exists. Unless a
+	 * keyboard drag continues, releasing the key ends the gesture, so that the
+	 * commands of the drag are not merged with later ones.
 	 * 
 	 * @see org.eclipse.gef.Tool#keyUp(KeyEvent, org.eclipse.gef.EditPartViewer)
 	 */
@@ -503,6 +505,8 @@ public class SelectionTool extends TargetingTool {
 		if (getDragTracker() != null)
 			getDragTracker().keyUp(evt, viewer);
 		super.keyUp(evt, viewer);
+		if (isInState(STATE_INITIAL))
+			endCoalescing();
 	}
 
 	/**
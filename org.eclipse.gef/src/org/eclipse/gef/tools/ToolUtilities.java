@@ -12,8 +12,10 @@ package org.eclipse.gef.tools;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.gef.EditPart;
 import org.eclipse.gef.EditPartViewer;
@@ -32,14 +34,7 @@ public class ToolUtilities {
 	 * @return the selection excluding dependants
 	 */
 	public static List getSelectionWithoutDependants(EditPartViewer viewer) {
-		List selectedParts = viewer.getSelectedEditParts();
-		List result = new ArrayList();
-		for (int i = 0; i < selectedParts.size(); i++) {
-			EditPart editpart = (EditPart) selectedParts.get(i);
-			if (!isAncestorContainedIn(selectedParts, editpart))
-				result.add(editpart);
-		}
-		return result;
+		return getSelectionWithoutDependants(viewer.getSelectedEditParts());
 	}
 
 	/**
@@ -50,10 +45,14 @@ public class ToolUtilities {
 	 * @return the selection excluding dependants
 	 */
 	public static List getSelectionWithoutDependants(List selectedParts) {
+		// a hash set keeps the ancestor lookups constant for large selections
+		Set<EditPart> selection = new HashSet<>(selectedParts.size());
+		for (Object part : selectedParts)
+			selection.add((EditPart) part);
 		List result = new ArrayList();
 		for (int i = 0; i < selectedParts.size(); i++) {
 			EditPart editpart = (EditPart) selectedParts.get(i);
-			if (!isAncestorContainedIn(selectedParts, editpart))
+			if (!isAncestorContainedIn(selection, editpart))
 				result.add(editpart);
 		}
 		return result;
@@ -78,7 +77,9 @@ public class ToolUtilities {
 	}
 
 	/**
-	 * Checks if collection contains any ancestor of editpart <code>ep</code>
+	 * Checks if collection contains any ancestor of editpart <code>ep</code>. The
+	 * collection is probed once per ancestor, so a {@link Set} should be passed
+	 * for large collections.
 	 * 
 	 * @param c  - collection of editparts
 	 * @param ep - the editparts to check ancestors for
@@ -172,8 +172,13 @@ public class GraphicalViewerImpl extends AbstractEditPartViewer implements Graph
 				return editpart != null && (condition == null || condition.evaluate(editpart));
 			}
 		}
-		IFigure figure = getLightweightSystem().getRootFigure().findFigureAt(pt.x, pt.y,
-				new ConditionalTreeSearch(exclude));
+		// during mouse moves, the dispatcher reuses the hit test of the event
+		IFigure figure;
+		if (eventDispatcher != null)
+			figure = eventDispatcher.findFigureAt(pt.x, pt.y, new ConditionalTreeSearch(exclude));
+		else
+			figure = getLightweightSystem().getRootFigure().findFigureAt(pt.x, pt.y,
+					new ConditionalTreeSearch(exclude));
 		EditPart part = null;
 		while (part == null && figure != null) {
 			part = (EditPart) getVisualPartMap().get(figure);
@@ -12,10 +12,12 @@ package org.eclipse.zest.core.viewers.internal;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeSet;
 
 import org.eclipse.draw2d.IFigure;
@@ -43,6 +45,12 @@ import org.eclipse.zest.layouts.LayoutAlgorithm;
  * @author Del Myers
  */
 public abstract class AbstractStructuredGraphViewer extends AbstractZoomableViewer {
+	/**
+	 * The vertical gap, in pixels, between the bottom of the neighbours of a new
+	 * node and its top, when it is placed by an incremental layout.
+	 */
+	private static final int NEIGHBOUR_GAP = 20;
+
 	/**
 	 * Contains top-level styles for the entire graph. Set in the constructor. *
 	 */
@@ -63,6 +71,29 @@ public abstract class AbstractStructuredGraphViewer extends AbstractZoomableView
 	private HashMap nodesMap = new HashMap();
 	private HashMap connectionsMap = new HashMap();
 
+	/**
+	 * If true, input changes and full refreshes reuse the existing graph items
+	 * instead of rebuilding the whole graph.
+	 */
+	private boolean incrementalRefresh = false;
+
+	/**
+	 * If true, an incremental refresh places new nodes next to their existing
+	 * neighbours instead of running the layout algorithm over the whole graph.
+	 */
+	private boolean incrementalLayout = false;
+
+	/**
+	 * The model elements that have been created or reused during the current
+	 * synchronization. <code>null</code> if no synchronization is in progress.
+	 */
+	private Set synchronizedElements = null;
+
+	/**
+	 * The nodes that have been newly created during the current synchronization.
+	 */
+	private List createdNodes = null;
+
 	/**
 	 * The constraint adapters
 	 */
@@ -194,6 +225,67 @@ public abstract class AbstractStructuredGraphViewer extends AbstractZoomableView
 		return this.constraintAdapters;
 	}
 
+	/**
+	 * Sets whether changes to the input and refreshes of the input are applied
+	 * incrementally. If enabled, the graph items of elements that are still
+	 * provided by the content provider are kept (including their figures, location
+	 * and size) and only restyled, items are created for new elements and only
+	 * the items of elements that have disappeared are disposed. Otherwise the
+	 * whole graph is rebuilt.
+	 * 
+	 * @param incrementalRefresh <code>true</code> to refresh incrementally
+	 * @since 1.10
+	 */
+	public void setIncrementalRefresh(boolean incrementalRefresh) {
+		this.incrementalRefresh = incrementalRefresh;
+	}
+
+	/**
+	 * Returns whether changes to the input are applied incrementally.
+	 * 
+	 * @return <code>true</code> if the graph is refreshed incrementally
+	 * @see #setIncrementalRefresh(boolean)
+	 * @since 1.10
+	 */
+	public boolean isIncrementalRefresh() {
+		return incrementalRefresh;
+	}
+
+	/**
+	 * Sets whether an incremental refresh lays out only the nodes that have been
+	 * added. If enabled, the existing nodes keep their current positions and every
+	 * new node is placed next to the nodes it is connected to, so the layout
+	 * algorithm is not run over the whole graph. This only has an effect if
+	 * {@link #setIncrementalRefresh(boolean) incremental refresh} is enabled.
+	 * 
+	 * @param incrementalLayout <code>true</code> to lay out incrementally
+	 * @since 1.10
+	 */
+	public void setIncrementalLayout(boolean incrementalLayout) {
+		this.incrementalLayout = incrementalLayout;
+	}
+
+	/**
+	 * Returns whether an incremental refresh lays out only the added nodes.
+	 * 
+	 * @return <code>true</code> if the layout is applied incrementally
+	 * @see #setIncrementalLayout(boolean)
+	 * @since 1.10
+	 */
+	public boolean isIncrementalLayout() {
+		return incrementalLayout;
+	}
+
+	/**
+	 * Returns whether the graph is currently being synchronized with the content
+	 * provider, in which case existing items must not be cleared.
+	 * 
+	 * @return <code>true</code> if a synchronization is in progress
+	 */
+	boolean isSynchronizing() {
+		return synchronizedElements != null;
+	}
+
 	/**
 	 * Sets the layout algorithm for this viewer. Subclasses may place restrictions
 	 * on the algorithms that it accepts.
@@ -234,11 +326,18 @@ public abstract class AbstractStructuredGraphViewer extends AbstractZoomableView
 	
 	GraphNode addGraphModelContainer(Object element) {
 		GraphNode node = this.getGraphModelNode(element);
+		if (node != null && !(node instanceof GraphContainer)) {
+			// the element has gained children since the node was created
+			removeGraphModelNode(element);
+			node = null;
+		}
 		if (node == null) {
 			node = new GraphContainer((Graph) getControl(), SWT.NONE);
 			this.nodesMap.put(element, node);
 			node.setData(element);
+			nodeCreated(node);
 		}
+		markSynchronized(element);
 		return node;
 	}
 
@@ -248,7 +347,9 @@ public abstract class AbstractStructuredGraphViewer extends AbstractZoomableView
 			node = new GraphNode(container, SWT.NONE);
 			this.nodesMap.put(element, node);
 			node.setData(element);
+			nodeCreated(node);
 		}
+		markSynchronized(element);
 		return node;
 	}
 	
@@ -292,7 +393,9 @@ public abstract class AbstractStructuredGraphViewer extends AbstractZoomableView
 				this.nodesMap.put(element, node);
 				node.setData(element);
 			}
+			nodeCreated(node);
 		}
+		markSynchronized(element);
 		return node;
 	}
 
@@ -303,10 +406,23 @@ public abstract class AbstractStructuredGraphViewer extends AbstractZoomableView
 			this.connectionsMap.put(element, connection);
 			connection.setData(element);
 		}
+		markSynchronized(element);
 		return connection;
 
 	}
 
+	private void markSynchronized(Object element) {
+		if (synchronizedElements != null) {
+			synchronizedElements.add(element);
+		}
+	}
+
+	private void nodeCreated(GraphNode node) {
+		if (createdNodes != null) {
+			createdNodes.add(node);
+		}
+	}
+
 	GraphConnection getGraphModelConnection(Object obj) {
 		return (GraphConnection) this.connectionsMap.get(obj);
 	}
@@ -347,7 +463,11 @@ public abstract class AbstractStructuredGraphViewer extends AbstractZoomableView
 			return;
 		}
 		if (element == getInput()) {
-			getFactory().refreshGraph(getGraphControl());
+			if (isIncrementalRefresh()) {
+				synchronizeGraph();
+			} else {
+				getFactory().refreshGraph(getGraphControl());
+			}
 		} else {
 			getFactory().refresh(getGraphControl(), element);
 		}
@@ -473,6 +593,17 @@ public abstract class AbstractStructuredGraphViewer extends AbstractZoomableView
 		factory.setConnectionStyle(getConnectionStyle());
 		factory.setNodeStyle(getNodeStyle());
 
+		if (isIncrementalRefresh()) {
+			((Graph) getControl()).setNodeStyle(getNodeStyle());
+			((Graph) getControl()).setConnectionStyle(getConnectionStyle());
+			// an empty graph has no positions to start from
+			boolean wasEmpty = nodesMap.isEmpty();
+			if (synchronizeGraph() && (wasEmpty || !isIncrementalLayout())) {
+				applyLayout();
+			}
+			return;
+		}
+
 		// Save the old map so we can set the size and position of any nodes
 		// that are the same
 		Map oldNodesMap = nodesMap;
@@ -520,6 +651,89 @@ public abstract class AbstractStructuredGraphViewer extends AbstractZoomableView
 		applyLayout();
 	}
 
+	/**
+	 * Brings the graph in line with the content provider without rebuilding it.
+	 * The factory is asked to build the graph again, which restyles and reuses the
+	 * items of elements that already have one. Afterwards, the items of all
+	 * elements that have not been provided again are disposed. If incremental
+	 * layout is enabled, the newly created nodes are placed next to their
+	 * neighbours.
+	 * 
+	 * @return <code>true</code> if nodes or connections have been added or removed
+	 */
+	private boolean synchronizeGraph() {
+		Set oldNodeElements = new HashSet(nodesMap.keySet());
+		Set oldConnectionElements = new HashSet(connectionsMap.keySet());
+		Set elements = new HashSet();
+		List newNodes = new ArrayList();
+		synchronizedElements = elements;
+		createdNodes = newNodes;
+		try {
+			getFactory().createGraphModel(getGraphControl());
+		} finally {
+			synchronizedElements = null;
+			createdNodes = null;
+		}
+
+		boolean changed = !newNodes.isEmpty();
+		// connections first, so that disposing nodes does not leave stale
+		// entries in the connections map
+		for (Iterator i = oldConnectionElements.iterator(); i.hasNext();) {
+			Object element = i.next();
+			if (!elements.contains(element)) {
+				removeGraphModelConnection(element);
+			}
+		}
+		for (Iterator i = oldNodeElements.iterator(); i.hasNext();) {
+			Object element = i.next();
+			if (!elements.contains(element)) {
+				removeGraphModelNode(element);
+				changed = true;
+			}
+		}
+		changed |= !oldConnectionElements.equals(connectionsMap.keySet());
+		if (isIncrementalLayout()) {
+			placeNearNeighbours(newNodes);
+		}
+		return changed;
+	}
+
+	/**
+	 * Places each of the given nodes below the center of its already placed
+	 * neighbours, {@link #NEIGHBOUR_GAP} pixels below their average bottom edge.
+	 * Nodes without placed neighbours keep their location.
+	 * 
+	 * @param newNodes the newly created nodes
+	 */
+	private void placeNearNeighbours(List newNodes) {
+		Set unplaced = new HashSet(newNodes);
+		for (Iterator i = newNodes.iterator(); i.hasNext();) {
+			GraphNode node = (GraphNode) i.next();
+			if (node.isDisposed()) {
+				continue;
+			}
+			int count = 0;
+			double x = 0;
+			double y = 0;
+			List connections = new ArrayList(node.getSourceConnections());
+			connections.addAll(node.getTargetConnections());
+			for (Iterator j = connections.iterator(); j.hasNext();) {
+				GraphConnection connection = (GraphConnection) j.next();
+				GraphNode neighbour = connection.getSource() == node ? connection.getDestination()
+						: connection.getSource();
+				if (neighbour != node && !unplaced.contains(neighbour)) {
+					x += neighbour.getLocation().x;
+					y += neighbour.getLocation().y + neighbour.getSize().height;
+					count++;
+				}
+			}
+			if (count > 0) {
+				node.setLocation(x / count, y / count + NEIGHBOUR_GAP);
+				unplaced.remove(node);
+			}
+		}
+	}
+
 	/**
 	 * Returns the factory used to create the model. This must not be called before
 	 * the content provider is set.
@@ -173,7 +173,7 @@ public abstract class AbstractStylingModelFactory implements IStylingGraphModelF
 		GraphNode dn = viewer.getGraphModelNode(dest);
 		if (oldConnection != null) {
 			if (sn != oldConnection.getSource() || dn != oldConnection.getDestination()) {
-				viewer.removeGraphModelConnection(oldConnection);
+				viewer.removeGraphModelConnection(element);
 			} else {
 				styleItem(oldConnection);
 				return oldConnection;
@@ -368,12 +368,16 @@ public abstract class AbstractStylingModelFactory implements IStylingGraphModelF
 
 	/**
 	 * Builds the graph model from the viewer's content provider. There is no
-	 * guarantee that the model will be cleared before this method is called.
+	 * guarantee that the model will be cleared before this method is called. If
+	 * the viewer is synchronizing the graph incrementally, the existing items are
+	 * kept and reused.
 	 * 
 	 * @param graph
 	 */
 	protected void doBuildGraph(Graph model) {
-		clearGraph(model);
+		if (!viewer.isSynchronizing()) {
+			clearGraph(model);
+		}
 		model.setConnectionStyle(getConnectionStyle());
 		model.setNodeStyle(getNodeStyle());
 		model.setConstraintAdapters(getConstraintAdapters());
@@ -10,10 +10,13 @@
 package org.eclipse.zest.core.widgets;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionEvent;
@@ -113,6 +116,8 @@ public class Graph extends FigureCanvas implements IContainer {
 	private ZestRootLayer zestRootLayer;
 
 	private boolean hasPendingLayoutRequest;
+	private int structureVersion;
+	private LayoutInputs layoutInputs;
 	private boolean enableHideNodes;
 
 	/**
@@ -374,6 +379,38 @@ public class Graph extends FigureCanvas implements IContainer {
 		super.dispose();
 	}
 
+	/**
+	 * Opens all containers of this graph. The nodes around the containers are
+	 * shifted in one pass, with a single animation.
+	 *
+	 * @param animate whether to animate the change
+	 * @since 1.10
+	 */
+	public void expandAll(boolean animate) {
+		GraphContainer.setExpanded(this, getContainers(), true, animate);
+	}
+
+	/**
+	 * Closes all containers of this graph. The nodes around the containers are
+	 * shifted in one pass, with a single animation.
+	 *
+	 * @param animate whether to animate the change
+	 * @since 1.10
+	 */
+	public void collapseAll(boolean animate) {
+		GraphContainer.setExpanded(this, getContainers(), false, animate);
+	}
+
+	private List<GraphContainer> getContainers() {
+		List<GraphContainer> containers = new ArrayList<>();
+		for (GraphNode node : nodes) {
+			if (node instanceof GraphContainer container) {
+				containers.add(container);
+			}
+		}
+		return containers;
+	}
+
 	/**
 	 * Runs the layout on this graph. It uses the reveal listener to run the layout
 	 * only if the view is visible. Otherwise it will be deferred until after the
@@ -1004,48 +1041,43 @@ public class Graph extends FigureCanvas implements IContainer {
 	LayoutRelationship[] getConnectionsToLayout(List<GraphNode> nodesToLayout) {
 		// @tag zest.bug.156528-Filters.follows : make sure not to layout
 		// filtered connections, if the style says so.
-		LayoutRelationship[] entities;
-		if (ZestStyles.checkStyle(style, ZestStyles.IGNORE_INVISIBLE_LAYOUT)) {
-			LinkedList<LayoutRelationship> connectionList = new LinkedList<>();
-			for (GraphConnection next : this.getConnections()) {
-				if (next.isVisible() && nodesToLayout.contains(next.getSource())
-						&& nodesToLayout.contains(next.getDestination())) {
-					connectionList.add(next.getLayoutRelationship());
-				}
-			}
-			entities = connectionList.toArray(new LayoutRelationship[] {});
-		} else {
-			LinkedList<LayoutRelationship> nodeList = new LinkedList<>();
-			for (GraphConnection next : this.getConnections()) {
-				if (nodesToLayout.contains(next.getSource()) && nodesToLayout.contains(next.getDestination())) {
-					nodeList.add(next.getLayoutRelationship());
-				}
+		boolean ignoreInvisible = ZestStyles.checkStyle(style, ZestStyles.IGNORE_INVISIBLE_LAYOUT);
+		Set<GraphNode> nodeSet = Collections.newSetFromMap(new IdentityHashMap<>(nodesToLayout.size() * 2));
+		nodeSet.addAll(nodesToLayout);
+		List<LayoutRelationship> relationships = new ArrayList<>(connections.size());
+		for (GraphConnection next : connections) {
+			if ((!ignoreInvisible || next.isVisible()) && nodeSet.contains(next.getSource())
+					&& nodeSet.contains(next.getDestination())) {
+				relationships.add(next.getLayoutRelationship());
 			}
-			entities = nodeList.toArray(new LayoutRelationship[] {});
 		}
-		return entities;
+		return relationships.toArray(new LayoutRelationship[relationships.size()]);
 	}
 
 	LayoutEntity[] getNodesToLayout(List<? extends GraphNode> nodes) {
 		// @tag zest.bug.156528-Filters.follows : make sure not to layout
 		// filtered nodes, if the style says so.
-		LayoutEntity[] entities;
-		if (ZestStyles.checkStyle(style, ZestStyles.IGNORE_INVISIBLE_LAYOUT)) {
-			LinkedList<LayoutEntity> nodeList = new LinkedList<>();
-			for (GraphNode next : nodes) {
-				if (next.isVisible()) {
-					nodeList.add(next.getLayoutEntity());
-				}
-			}
-			entities = nodeList.toArray(new LayoutEntity[] {});
-		} else {
-			LinkedList<LayoutEntity> nodeList = new LinkedList<>();
-			for (GraphNode next : nodes) {
-				nodeList.add(next.getLayoutEntity());
+		boolean ignoreInvisible = ZestStyles.checkStyle(style, ZestStyles.IGNORE_INVISIBLE_LAYOUT);
+		LayoutEntity[] entities = new LayoutEntity[nodes.size()];
+		int count = 0;
+		for (GraphNode next : nodes) {
+			if (!ignoreInvisible || next.isVisible()) {
+				entities[count++] = next.getLayoutEntity();
 			}
-			entities = nodeList.toArray(new LayoutEntity[] {});
 		}
-		return entities;
+		return count == entities.length ? entities : Arrays.copyOf(entities, count);
+	}
+
+	/**
+	 * Records that nodes or connections have been added, removed, shown or
+	 * hidden, so the inputs of the next layout are collected again.
+	 */
+	void structureChanged() {
+		structureVersion++;
+	}
+
+	int getStructureVersion() {
+		return structureVersion;
 	}
 
 	void removeConnection(GraphConnection connection) {
@@ -1054,6 +1086,7 @@ public class Graph extends FigureCanvas implements IContainer {
 		PolylineConnection targetContainerConnectionFigure = connection.getTargetContainerConnectionFigure();
 		connection.removeFigure();
 		this.getConnections().remove(connection);
+		structureChanged();
 		figure2ItemMap.remove(figure);
 		if (sourceContainerConnectionFigure != null) {
 			figure2ItemMap.remove(sourceContainerConnectionFigure);
@@ -1073,6 +1106,7 @@ public class Graph extends FigureCanvas implements IContainer {
 			}
 		}
 		this.getNodes().remove(node);
+		structureChanged();
 		if (this.getSelection() != null) {
 			this.getSelection().remove(node);
 		}
@@ -1081,6 +1115,7 @@ public class Graph extends FigureCanvas implements IContainer {
 
 	void addConnection(GraphConnection connection, boolean addToEdgeLayer) {
 		connections.add(connection);
+		structureChanged();
 		if (addToEdgeLayer) {
 			zestRootLayer.addConnection(connection.getFigure());
 		}
@@ -1106,11 +1141,13 @@ public class Graph extends FigureCanvas implements IContainer {
 
 	void addNode(GraphNode node) {
 		nodes.add(node);
+		structureChanged();
 		zestRootLayer.addNode(node.getNodeFigure());
 	}
 
 	void addNode(GraphContainer graphContainer) {
 		nodes.add(graphContainer);
+		structureChanged();
 		zestRootLayer.addNode(graphContainer.getNodeFigure());
 	}
 
@@ -1215,8 +1252,12 @@ public class Graph extends FigureCanvas implements IContainer {
 		if (d.isEmpty()) {
 			return;
 		}
-		LayoutRelationship[] connectionsToLayout = getConnectionsToLayout(nodes);
-		LayoutEntity[] nodesToLayout = getNodesToLayout(getNodes());
+		if (layoutInputs == null) {
+			layoutInputs = new LayoutInputs(this, nodes);
+		}
+		layoutInputs.update(layoutAlgorithm);
+		LayoutRelationship[] connectionsToLayout = layoutInputs.getRelationships();
+		LayoutEntity[] nodesToLayout = layoutInputs.getEntities();
 
 		try {
 			if ((nodeStyle & ZestStyles.NODES_NO_LAYOUT_ANIMATION) == 0) {
@@ -517,6 +517,7 @@ public class GraphConnection extends GraphItem {
 	@Override
 	public void setVisible(boolean visible) {
 		// graphModel.addRemoveFigure(this, visible);
+		boolean wasVisible = this.visible;
 		if (getSource().isVisible() && getDestination().isVisible() && visible) {
 			this.getFigure().setVisible(visible);
 			if (sourceContainerConnectionFigure != null) {
@@ -536,7 +537,9 @@ public class GraphConnection extends GraphItem {
 			}
 			this.visible = false;
 		}
-
+		if (this.visible != wasVisible) {
+			graphModel.structureChanged();
+		}
 	}
 
 	/*
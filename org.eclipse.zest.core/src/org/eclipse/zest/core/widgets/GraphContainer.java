@@ -10,8 +10,7 @@
 package org.eclipse.zest.core.widgets;
 
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.Comparator;
 import java.util.List;
 
 import org.eclipse.swt.graphics.Image;
@@ -70,6 +69,7 @@ public class GraphContainer extends GraphNode implements IContainer {
 	public ZestRootLayer zestLayer;
 	private ScrollPane scrollPane;
 	private LayoutAlgorithm layoutAlgorithm;
+	private LayoutInputs layoutInputs;
 	private boolean isExpanded = false;
 	// private ScalableFreeformLayeredPane scalledLayer;
 	private AspectRatioFreeformLayer scalledLayer;
@@ -127,6 +127,15 @@ public class GraphContainer extends GraphNode implements IContainer {
 		if (animate) {
 			Animation.markBegin();
 		}
+		close(new VerticalNodeIndex(parent.getNodes()));
+		if (animate) {
+			Animation.run(ANIMATION_TIME);
+		}
+		// this.nodeFigure.getUpdateManager().performUpdate();
+		updateFigureForModel(getModelFigure());
+	}
+
+	private void close(VerticalNodeIndex index) {
 		isExpanded = false;
 
 		expandGraphLabel.setExpandedState(ExpandGraphLabel.CLOSED);
@@ -152,58 +161,7 @@ public class GraphContainer extends GraphNode implements IContainer {
 		}
 		Rectangle containerBounds = new Rectangle(this.getLocation(),
 				new Dimension(this.getSize().width, CONTAINER_HEIGHT + this.expandGraphLabel.getSize().height));
-		moveNodesUp(containerBounds, this);
-		if (animate) {
-			Animation.run(ANIMATION_TIME);
-		}
-		// this.nodeFigure.getUpdateManager().performUpdate();
-		updateFigureForModel(getModelFigure());
-	}
-
-	private static void addNodeToOrderedList(List orderedNodeList, GraphNode node) {
-		Iterator orderedNodeIterator = orderedNodeList.iterator();
-		int counter = 0;
-		while (orderedNodeIterator.hasNext()) {
-			// Look through the list of nodes below and find the right spot for
-			// this
-			GraphNode nextOrderedNode = (GraphNode) orderedNodeIterator.next();
-			if (nextOrderedNode.getLocation().y + nextOrderedNode.getBounds().height > node.getLocation().y
-					+ node.getBounds().height) {
-				break;
-			}
-			counter++;
-		}
-		// Place this in the right location
-		orderedNodeList.add(counter, node);
-	}
-
-	/**
-	 * Gets all the nodes below the yValue. The nodes are returned in order.
-	 *
-	 * @param nodes
-	 * @param yValue
-	 * @return
-	 */
-	private static List getOrderedNodesBelowY(List nodes, int yValue, GraphNode yValueNode) {
-		Iterator iterator = nodes.iterator();
-		LinkedList orderedNode = new LinkedList();
-		while (iterator.hasNext()) {
-			GraphNode node = (GraphNode) iterator.next();
-			if (node == yValueNode) {
-				continue;
-			}
-			if (node.getLocation().y + node.getBounds().height > yValue) {
-				// This node is below the container
-				addNodeToOrderedList(orderedNode, node);
-			}
-		}
-		// Convert this to an arrayList for faster access
-		List arrayList = new ArrayList();
-		iterator = orderedNode.iterator();
-		while (iterator.hasNext()) {
-			arrayList.add(iterator.next());
-		}
-		return arrayList;
+		moveNodesUp(containerBounds, this, index);
 	}
 
 	/**
@@ -214,13 +172,13 @@ public class GraphContainer extends GraphNode implements IContainer {
 	 * @param node
 	 * @return
 	 */
-	private static boolean nodeInStripe(int left, int right, GraphNode node) {
+	static boolean nodeInStripe(int left, int right, GraphNode node) {
 		return (node.getBounds().x < right && node.getBounds().x + node.getBounds().width > left);
 	}
 
 	void pack(Graph g) {
 		GraphNode highestNode = getHighestNode(g);
-		moveNodesUp(highestNode.getBounds(), highestNode);
+		moveNodesUp(highestNode.getBounds(), highestNode, new VerticalNodeIndex(parent.getNodes()));
 	}
 
 	/**
@@ -246,50 +204,29 @@ public class GraphContainer extends GraphNode implements IContainer {
 	 * @param containerBounds
 	 * @param graphContainer
 	 */
-	private void moveNodesUp(Rectangle containerBounds, GraphNode graphContainer) {
+	private static void moveNodesUp(Rectangle containerBounds, GraphNode graphContainer, VerticalNodeIndex index) {
 
 		// Get all nodes below this container, in order
-		List orderedNodesBelowY = getOrderedNodesBelowY(parent.getNodes(), containerBounds.y, graphContainer);
+		index.update(graphContainer);
+		List<GraphNode> nodesToConsider = index.getNodesBelow(containerBounds.y, graphContainer);
 		int leftSide = containerBounds.x;
 		int rightSide = containerBounds.x + containerBounds.width;
-		List nodesToConsider = new LinkedList(orderedNodesBelowY);
-		addNodeToOrderedList(orderedNodesBelowY, graphContainer);
 
-		while (nodesToConsider.size() > 0) {
-			GraphNode node = (GraphNode) nodesToConsider.get(0);
+		for (GraphNode node : nodesToConsider) {
 			if (nodeInStripe(leftSide, rightSide, node)) {
 				leftSide = Math.min(leftSide, node.getBounds().x);
 				rightSide = Math.max(rightSide, node.getBounds().x + node.getBounds().width);
 				// If this node is in the stripe, move it up
 				// the previous node
-				GraphNode previousNode = null;
-				int i = 0;
-				for (; i < orderedNodesBelowY.size(); i++) {
-					if (orderedNodesBelowY.get(i) == node) {
-						break;
-					}
-				}
-				int j = i - 1;
-				while (j >= 0) {
-					GraphNode pastNode = (GraphNode) orderedNodesBelowY.get(j);
-					// if (nodeInStripe(leftSide, rightSide, pastNode)) {
-					if (nodeInStripe(node.getBounds().x, node.getBounds().x + node.getBounds().width, pastNode)) {
-						previousNode = pastNode;
-						break;
-					}
-					j--;
-				}
+				GraphNode previousNode = index.findPrevious(node, containerBounds.y);
 				if (previousNode == null) {
 					previousNode = graphContainer;
 				}
 				int previousLocation = previousNode.getBounds().y + previousNode.getBounds().height + 2;
 
-				orderedNodesBelowY.remove(i);
 				node.setLocation(node.getLocation().x, previousLocation);
-				addNodeToOrderedList(orderedNodesBelowY, node);
-
+				index.update(node);
 			}
-			nodesToConsider.remove(node);
 		}
 	}
 
@@ -301,6 +238,16 @@ public class GraphContainer extends GraphNode implements IContainer {
 		if (animate) {
 			Animation.markBegin();
 		}
+		open(new VerticalNodeIndex(parent.getNodes()));
+		if (animate) {
+			Animation.run(ANIMATION_TIME);
+		}
+		this.getFigure().getUpdateManager().performValidation();
+		// this.nodeFigure.getUpdateManager().performUpdate();
+
+	}
+
+	private void open(VerticalNodeIndex index) {
 		isExpanded = true;
 
 		expandGraphLabel.setExpandedState(ExpandGraphLabel.OPEN);
@@ -321,15 +268,52 @@ public class GraphContainer extends GraphNode implements IContainer {
 		Rectangle containerBounds = new Rectangle(this.getLocation(),
 				new Dimension(this.getSize().width, CONTAINER_HEIGHT + this.expandGraphLabel.getSize().height));
 		// moveIntersectedNodes(containerBounds, this);
-		moveNodesDown(containerBounds, this);
-		moveNodesUp(containerBounds, this);
+		moveNodesDown(containerBounds, this, index);
+		moveNodesUp(containerBounds, this, index);
 		// pack(graph);
+	}
+
+	/**
+	 * Opens or closes the given containers of a graph with one animation. The
+	 * containers are processed from the top down, sharing one index of the nodes
+	 * they shift.
+	 *
+	 * @param graph      the graph
+	 * @param containers the containers to open or close
+	 * @param expanded   whether to open the containers
+	 * @param animate    whether to animate the change
+	 */
+	static void setExpanded(Graph graph, List<GraphContainer> containers, boolean expanded, boolean animate) {
+		List<GraphContainer> changed = new ArrayList<>();
+		for (GraphContainer container : containers) {
+			if (container.isExpanded != expanded) {
+				changed.add(container);
+			}
+		}
+		if (changed.isEmpty()) {
+			return;
+		}
+		changed.sort(Comparator.comparingInt(container -> container.getLocation().y));
+		if (animate) {
+			Animation.markBegin();
+		}
+		VerticalNodeIndex index = new VerticalNodeIndex(graph.getNodes());
+		for (GraphContainer container : changed) {
+			if (expanded) {
+				container.open(index);
+			} else {
+				container.close(index);
+			}
+		}
 		if (animate) {
 			Animation.run(ANIMATION_TIME);
 		}
-		this.getFigure().getUpdateManager().performValidation();
-		// this.nodeFigure.getUpdateManager().performUpdate();
-
+		if (!expanded) {
+			for (GraphContainer container : changed) {
+				container.updateFigureForModel(container.getModelFigure());
+			}
+		}
+		changed.get(0).getFigure().getUpdateManager().performValidation();
 	}
 
 	/**
@@ -337,26 +321,26 @@ public class GraphContainer extends GraphNode implements IContainer {
 	 * @param containerBounds
 	 * @param graphContainer
 	 */
-	private void moveNodesDown(Rectangle containerBounds, GraphContainer graphContainer) {
+	private static void moveNodesDown(Rectangle containerBounds, GraphContainer graphContainer,
+			VerticalNodeIndex index) {
 
 		// Find all nodes below here
-		List nodesBelowHere = getOrderedNodesBelowY(parent.getNodes(), containerBounds.y, graphContainer);
-		Iterator nodesBelowHereIterator = nodesBelowHere.iterator();
-		List nodesToMove = new LinkedList();
+		index.update(graphContainer);
+		List<GraphNode> nodesBelowHere = index.getNodesBelow(containerBounds.y, graphContainer);
+		List<GraphNode> nodesToMove = new ArrayList<>();
 		int left = containerBounds.x;
 		int right = containerBounds.x + containerBounds.width;
-		while (nodesBelowHereIterator.hasNext()) {
-			GraphNode node = (GraphNode) nodesBelowHereIterator.next();
+		for (GraphNode node : nodesBelowHere) {
 			if (nodeInStripe(left, right, node)) {
 				nodesToMove.add(node);
 				left = Math.min(left, node.getBounds().x);
 				right = Math.max(right, node.getBounds().x + node.getBounds().width);
 			}
 		}
-		List intersectingNodes = intersectingNodes(containerBounds, nodesToMove, graphContainer);
+		List<GraphNode> intersectingNodes = intersectingNodes(containerBounds, nodesToMove, graphContainer);
 		int delta = getMaxMovement(containerBounds, intersectingNodes);
 		if (delta > 0) {
-			shiftNodesDown(nodesToMove, delta);
+			shiftNodesDown(nodesToMove, delta, index);
 		}
 
 	}
@@ -406,11 +390,10 @@ public class GraphContainer extends GraphNode implements IContainer {
 	 * @param nodesToCheck
 	 * @return
 	 */
-	private List intersectingNodes(Rectangle bounds, List nodesToCheck, GraphNode node) {
-		List result = new LinkedList();
-		Iterator nodes = nodesToCheck.iterator();
-		while (nodes.hasNext()) {
-			GraphNode nodeToCheck = (GraphNode) nodes.next();
+	private static List<GraphNode> intersectingNodes(Rectangle bounds, List<GraphNode> nodesToCheck,
+			GraphNode node) {
+		List<GraphNode> result = new ArrayList<>();
+		for (GraphNode nodeToCheck : nodesToCheck) {
 			if (node == nodeToCheck) {
 				continue;
 			}
@@ -429,11 +412,9 @@ public class GraphContainer extends GraphNode implements IContainer {
 	 * @param nodesToMove
 	 * @return
 	 */
-	private int getMaxMovement(Rectangle bounds, List nodesToMove) {
-		Iterator iterator = nodesToMove.iterator();
+	private static int getMaxMovement(Rectangle bounds, List<GraphNode> nodesToMove) {
 		int maxMovement = 0;
-		while (iterator.hasNext()) {
-			GraphNode node = (GraphNode) iterator.next();
+		for (GraphNode node : nodesToMove) {
 			int yValue = node.getLocation().y;
 			int distanceFromBottom = (bounds.y + bounds.height) - yValue;
 			maxMovement = Math.max(maxMovement, distanceFromBottom);
@@ -446,13 +427,12 @@ public class GraphContainer extends GraphNode implements IContainer {
 	 *
 	 * @param nodesToShift
 	 * @param amount
+	 * @param index        the index to update
 	 */
-	private void shiftNodesDown(List nodesToShift, int amount) {
-		Iterator iterator = nodesToShift.iterator();
-		while (iterator.hasNext()) {
-			GraphNode node = (GraphNode) iterator.next();
-
+	private static void shiftNodesDown(List<GraphNode> nodesToShift, int amount, VerticalNodeIndex index) {
+		for (GraphNode node : nodesToShift) {
 			node.setLocation(node.getLocation().x, node.getLocation().y + amount);
+			index.update(node);
 		}
 	}
 
@@ -578,8 +558,12 @@ public class GraphContainer extends GraphNode implements IContainer {
 		if (d.isEmpty()) {
 			return;
 		}
-		LayoutRelationship[] connectionsToLayout = getGraph().getConnectionsToLayout(getNodes());
-		LayoutEntity[] nodesToLayout = getGraph().getNodesToLayout(getNodes());
+		if (layoutInputs == null) {
+			layoutInputs = new LayoutInputs(getGraph(), getNodes());
+		}
+		layoutInputs.update(layoutAlgorithm);
+		LayoutRelationship[] connectionsToLayout = layoutInputs.getRelationships();
+		LayoutEntity[] nodesToLayout = layoutInputs.getEntities();
 
 		try {
 			Animation.markBegin();
@@ -863,6 +847,7 @@ public class GraphContainer extends GraphNode implements IContainer {
 		zestLayer.addNode(node.getNodeFigure());
 		if (!childNodes.contains(node)) {
 			childNodes.add(node);
+			getGraph().structureChanged();
 		}
 		// container.add(node.getNodeFigure());
 		// graph.registerItem(node);
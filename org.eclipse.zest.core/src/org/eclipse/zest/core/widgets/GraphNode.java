@@ -667,6 +667,9 @@ public class GraphNode extends GraphItem {
 	@Override
 	public void setVisible(boolean visible) {
 		// graph.addRemoveFigure(this, visible);
+		if (this.visible != visible) {
+			graph.structureChanged();
+		}
 		this.visible = visible;
 		this.getNodeFigure().setVisible(visible);
 		List sConnections = (this).getSourceConnections();
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.core.widgets;
+
+import java.util.List;
+
+import org.eclipse.zest.layouts.LayoutAlgorithm;
+import org.eclipse.zest.layouts.LayoutEntity;
+import org.eclipse.zest.layouts.LayoutRelationship;
+
+/**
+ * The entities and relationships passed to the layout algorithm of a graph or
+ * container. They are collected again only when nodes or connections have been
+ * added, removed, shown or hidden since the last layout, or when the algorithm
+ * has changed, as algorithms may reorder the arrays.
+ */
+final class LayoutInputs {
+
+	private final Graph graph;
+	private final List<GraphNode> nodes;
+	private LayoutAlgorithm algorithm;
+	private int version;
+	private LayoutEntity[] entities;
+	private LayoutRelationship[] relationships;
+
+	/**
+	 * @param graph the graph owning the nodes
+	 * @param nodes the nodes to layout
+	 */
+	LayoutInputs(Graph graph, List<GraphNode> nodes) {
+		this.graph = graph;
+		this.nodes = nodes;
+	}
+
+	/**
+	 * Collects the inputs if they are out of date.
+	 *
+	 * @param layoutAlgorithm the algorithm the inputs are passed to
+	 */
+	void update(LayoutAlgorithm layoutAlgorithm) {
+		if (entities != null && version == graph.getStructureVersion() && algorithm == layoutAlgorithm) {
+			return;
+		}
+		relationships = graph.getConnectionsToLayout(nodes);
+		entities = graph.getNodesToLayout(nodes);
+		version = graph.getStructureVersion();
+		algorithm = layoutAlgorithm;
+	}
+
+	LayoutEntity[] getEntities() {
+		return entities;
+	}
+
+	LayoutRelationship[] getRelationships() {
+		return relationships;
+	}
+
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.core.widgets;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The nodes of a graph ordered by their bottom edge, top first. Nodes with the
+ * same bottom edge are ordered by the time they were last indexed. Containers
+ * use the index to find the nodes below them when they are opened or closed,
+ * and update it as they shift the nodes.
+ */
+final class VerticalNodeIndex {
+
+	private static final class Entry {
+		final GraphNode node;
+		int bottom;
+		long sequence;
+
+		Entry(GraphNode node) {
+			this.node = node;
+		}
+	}
+
+	private static final Comparator<Entry> ORDER = Comparator.<Entry>comparingInt(entry -> entry.bottom)
+			.thenComparingLong(entry -> entry.sequence);
+
+	private final TreeSet<Entry> entries = new TreeSet<>(ORDER);
+	private final Map<GraphNode, Entry> lookup = new IdentityHashMap<>();
+	private long nextSequence;
+
+	/**
+	 * Creates an index of the given nodes.
+	 *
+	 * @param nodes the nodes
+	 */
+	VerticalNodeIndex(List<? extends GraphNode> nodes) {
+		for (GraphNode node : nodes) {
+			update(node);
+		}
+	}
+
+	/**
+	 * Indexes the node under its current bounds, after the other nodes with the
+	 * same bottom edge. The node is added if it is not indexed yet.
+	 *
+	 * @param node the node which has moved or changed its size
+	 */
+	void update(GraphNode node) {
+		Entry entry = lookup.get(node);
+		if (entry == null) {
+			entry = new Entry(node);
+			lookup.put(node, entry);
+		} else {
+			entries.remove(entry);
+		}
+		entry.bottom = node.getLocation().y + node.getBounds().height;
+		entry.sequence = nextSequence++;
+		entries.add(entry);
+	}
+
+	/**
+	 * Returns the nodes whose bottom edge is below the given y value, in order.
+	 *
+	 * @param y        the y value
+	 * @param excluded a node to leave out
+	 * @return the nodes below y
+	 */
+	List<GraphNode> getNodesBelow(int y, GraphNode excluded) {
+		Entry key = new Entry(null);
+		key.bottom = y;
+		key.sequence = Long.MAX_VALUE;
+		List<GraphNode> result = new ArrayList<>();
+		for (Entry entry : entries.tailSet(key, false)) {
+			if (entry.node != excluded) {
+				result.add(entry.node);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the nearest node before the given one whose bottom edge is below the
+	 * given y value and which overlaps the node horizontally.
+	 *
+	 * @param node the node
+	 * @param y    the y value
+	 * @return the previous node, or <code>null</code>
+	 */
+	GraphNode findPrevious(GraphNode node, int y) {
+		int left = node.getBounds().x;
+		int right = left + node.getBounds().width;
+		Iterator<Entry> iterator = entries.headSet(lookup.get(node), false).descendingIterator();
+		while (iterator.hasNext()) {
+			Entry entry = iterator.next();
+			if (entry.bottom <= y) {
+				break;
+			}
+			if (GraphContainer.nodeInStripe(left, right, entry.node)) {
+				return entry.node;
+			}
+		}
+		return null;
+	}
+
+}
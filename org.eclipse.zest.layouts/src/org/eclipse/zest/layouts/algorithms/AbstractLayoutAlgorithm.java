@@ -14,9 +14,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.zest.layouts.Filter;
 import org.eclipse.zest.layouts.InvalidLayoutConfiguration;
@@ -671,27 +674,20 @@ public abstract class AbstractLayoutAlgorithm implements LayoutAlgorithm, Stoppa
 	/**
 	 * Verifies the endpoints of the relationships are entities in the
 	 * entitiesToLayout list. Allows other classes in this package to use this
-	 * method to verify the input
+	 * method to verify the input. The endpoints must be the same objects as the
+	 * entities.
 	 */
 	public static boolean verifyInput(LayoutEntity[] entitiesToLayout, LayoutRelationship[] relationshipsToConsider) {
+		if (relationshipsToConsider.length == 0) {
+			return true;
+		}
+		Set<LayoutEntity> entities = Collections.newSetFromMap(new IdentityHashMap<>(entitiesToLayout.length));
+		Collections.addAll(entities, entitiesToLayout);
 		boolean stillValid = true;
 		for (int i = 0; i < relationshipsToConsider.length; i++) {
 			LayoutRelationship relationship = relationshipsToConsider[i];
-			LayoutEntity source = relationship.getSourceInLayout();
-			LayoutEntity destination = relationship.getDestinationInLayout();
-			boolean containsSrc = false;
-			boolean containsDest = false;
-			int j = 0;
-			while (j < entitiesToLayout.length && !(containsSrc && containsDest)) {
-				if (entitiesToLayout[j].equals(source)) {
-					containsSrc = true;
-				}
-				if (entitiesToLayout[j].equals(destination)) {
-					containsDest = true;
-				}
-				j++;
-			}
-			stillValid = containsSrc && containsDest;
+			stillValid = entities.contains(relationship.getSourceInLayout())
+					&& entities.contains(relationship.getDestinationInLayout());
 		}
 		return stillValid;
 	}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.tests;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.zest.core.widgets.Graph;
+import org.eclipse.zest.core.widgets.GraphContainer;
+import org.eclipse.zest.core.widgets.GraphNode;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for opening and closing {@link GraphContainer}s.
+ */
+public class GraphContainerTests extends Assert {
+
+	private Shell shell;
+
+	@Before
+	public void setUp() {
+		shell = new Shell();
+	}
+
+	@After
+	public void tearDown() {
+		shell.dispose();
+	}
+
+	/**
+	 * Two containers above each other and a node below them, all in the same
+	 * stripe.
+	 */
+	private static GraphNode[] createStack(Graph graph) {
+		GraphContainer top = new GraphContainer(graph, SWT.NONE, "top"); //$NON-NLS-1$
+		GraphContainer bottom = new GraphContainer(graph, SWT.NONE, "bottom"); //$NON-NLS-1$
+		GraphNode node = new GraphNode(graph, SWT.NONE, "node"); //$NON-NLS-1$
+		top.setLocation(0, 0);
+		bottom.setLocation(0, bottom(top) + 2);
+		node.setLocation(0, bottom(bottom) + 2);
+		return new GraphNode[] { top, bottom, node };
+	}
+
+	private static int bottom(GraphNode node) {
+		return node.getLocation().y + node.getSize().height;
+	}
+
+	@Test
+	public void testExpandAllShiftsNodesBelow() {
+		Graph graph = new Graph(shell, SWT.NONE);
+		GraphNode[] stack = createStack(graph);
+		int closedY = stack[2].getLocation().y;
+
+		graph.expandAll(false);
+		assertTrue(stack[1].getLocation().y >= bottom(stack[0]));
+		assertTrue(stack[2].getLocation().y >= bottom(stack[1]));
+		assertTrue(stack[2].getLocation().y > closedY);
+
+		graph.collapseAll(false);
+		assertEquals(bottom(stack[0]) + 2, stack[1].getLocation().y);
+		assertEquals(closedY, stack[2].getLocation().y);
+	}
+
+	@Test
+	public void testExpandAllMatchesOpeningEachContainer() {
+		Graph graph = new Graph(shell, SWT.NONE);
+		GraphNode[] stack = createStack(graph);
+		graph.expandAll(false);
+
+		Graph reference = new Graph(shell, SWT.NONE);
+		GraphNode[] expected = createStack(reference);
+		((GraphContainer) expected[0]).open(false);
+		((GraphContainer) expected[1]).open(false);
+
+		for (int i = 0; i < stack.length; i++) {
+			assertEquals(expected[i].getLocation(), stack[i].getLocation());
+			assertEquals(expected[i].getSize(), stack[i].getSize());
+		}
+	}
+
+	@Test
+	public void testExpandAllTwiceKeepsLocations() {
+		Graph graph = new Graph(shell, SWT.NONE);
+		GraphNode[] stack = createStack(graph);
+		graph.expandAll(false);
+		int y = stack[2].getLocation().y;
+		// the containers are already open, nothing moves
+		graph.expandAll(false);
+		assertEquals(y, stack[2].getLocation().y);
+	}
+
+}
@@ -9,10 +9,12 @@
 package org.eclipse.zest.tests;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.jface.util.DelegatingDragAdapter;
 import org.eclipse.jface.viewers.ISelectionChangedListener;
+import org.eclipse.jface.viewers.LabelProvider;
 import org.eclipse.jface.viewers.SelectionChangedEvent;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.swt.SWT;
@@ -23,6 +25,7 @@ import org.eclipse.swt.dnd.Transfer;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.zest.core.viewers.GraphViewer;
+import org.eclipse.zest.core.viewers.IGraphContentProvider;
 import org.eclipse.zest.core.widgets.Graph;
 import org.eclipse.zest.core.widgets.GraphConnection;
 import org.eclipse.zest.core.widgets.GraphItem;
@@ -111,4 +114,51 @@ public class GraphViewerTests extends Assert {
 		viewer.getControl().notifyListeners(SWT.Selection, new Event());
 		assertFalse("Post selection listeners should be notified", selected.isEmpty());
 	}
+
+	/**
+	 * Assert that an incremental refresh keeps the items of elements that are
+	 * still part of the input and only disposes the items of removed elements.
+	 */
+	@Test
+	public void testIncrementalInputChange() {
+		viewer.setContentProvider(new ArrowContentProvider());
+		viewer.setLabelProvider(new LabelProvider());
+		viewer.setIncrementalRefresh(true);
+		viewer.setInput(Arrays.asList("a->b", "b->c"));
+		GraphNode a = (GraphNode) viewer.findGraphItem("a");
+		GraphNode c = (GraphNode) viewer.findGraphItem("c");
+		GraphConnection ab = (GraphConnection) viewer.findGraphItem("a->b");
+		a.setLocation(42, 24);
+
+		viewer.setInput(Arrays.asList("a->b", "a->d"));
+		assertSame("Nodes of remaining elements should be reused", a, viewer.findGraphItem("a"));
+		assertSame("Connections of remaining elements should be reused", ab, viewer.findGraphItem("a->b"));
+		assertEquals("Reused nodes should keep their location", 42, a.getLocation().x);
+		assertTrue("Nodes of removed elements should be disposed", c.isDisposed());
+		assertNull(viewer.findGraphItem("b->c"));
+		assertNotNull(viewer.findGraphItem("d"));
+		assertEquals(3, viewer.getGraphControl().getNodes().size());
+		assertEquals(2, viewer.getGraphControl().getConnections().size());
+	}
+
+	/**
+	 * Content provider for relationships of the form "source->destination".
+	 */
+	private static class ArrowContentProvider implements IGraphContentProvider {
+
+		@Override
+		public Object getSource(Object rel) {
+			return ((String) rel).split("->")[0];
+		}
+
+		@Override
+		public Object getDestination(Object rel) {
+			return ((String) rel).split("->")[1];
+		}
+
+		@Override
+		public Object[] getElements(Object input) {
+			return ((List) input).toArray();
+		}
+	}
 }
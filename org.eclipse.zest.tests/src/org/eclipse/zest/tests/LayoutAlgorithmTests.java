@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse GEF Contributors and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Eclipse GEF Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.zest.tests;
+
+import org.eclipse.zest.layouts.LayoutEntity;
+import org.eclipse.zest.layouts.LayoutRelationship;
+import org.eclipse.zest.layouts.algorithms.AbstractLayoutAlgorithm;
+import org.eclipse.zest.layouts.exampleStructures.SimpleNode;
+import org.eclipse.zest.layouts.exampleStructures.SimpleRelationship;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link AbstractLayoutAlgorithm} class.
+ */
+public class LayoutAlgorithmTests extends Assert {
+
+	@Test
+	public void testVerifyInput() {
+		SimpleNode a = new SimpleNode("a"); //$NON-NLS-1$
+		SimpleNode b = new SimpleNode("b"); //$NON-NLS-1$
+		SimpleNode c = new SimpleNode("c"); //$NON-NLS-1$
+		LayoutEntity[] entities = { a, b, c };
+
+		assertTrue(AbstractLayoutAlgorithm.verifyInput(entities, new LayoutRelationship[0]));
+		assertTrue(AbstractLayoutAlgorithm.verifyInput(entities,
+				new LayoutRelationship[] { new SimpleRelationship(a, b, false), new SimpleRelationship(c, a, false) }));
+	}
+
+	@Test
+	public void testVerifyInputWithUnknownEndpoint() {
+		SimpleNode a = new SimpleNode("a"); //$NON-NLS-1$
+		SimpleNode b = new SimpleNode("b"); //$NON-NLS-1$
+		LayoutEntity[] entities = { a, b };
+
+		assertFalse(AbstractLayoutAlgorithm.verifyInput(entities,
+				new LayoutRelationship[] { new SimpleRelationship(a, new SimpleNode("c"), false) })); //$NON-NLS-1$
+		assertFalse(AbstractLayoutAlgorithm.verifyInput(entities,
+				new LayoutRelationship[] { new SimpleRelationship(new SimpleNode("c"), b, false) })); //$NON-NLS-1$
+		// Endpoints are compared by identity, not with equals
+		assertFalse(AbstractLayoutAlgorithm.verifyInput(entities,
+				new LayoutRelationship[] { new SimpleRelationship(a, new SimpleNode("b"), false) })); //$NON-NLS-1$
+	}
+
+}
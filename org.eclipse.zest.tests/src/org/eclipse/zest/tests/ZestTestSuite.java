@@ -21,8 +21,10 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class) 
 @Suite.SuiteClasses({
 	GraphTests.class,
+	GraphContainerTests.class,
 	GraphSelectionTests.class,
-	GraphViewerTests.class
+	GraphViewerTests.class,
+	LayoutAlgorithmTests.class
 })
 public class ZestTestSuite {
 }